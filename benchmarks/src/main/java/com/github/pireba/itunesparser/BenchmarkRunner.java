@@ -0,0 +1,29 @@
+package com.github.pireba.itunesparser;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, so every benchmark reports its throughput and its allocation rate.<br>
+ * Takes the usual JMH command line options, e.g. a regular expression of the benchmarks or {@code -p tracks=1000000}.
+ * 
+ * <h2>Run the benchmarks</h2>
+ * <pre>
+ *  mvn -f benchmarks/pom.xml package
+ *  java -jar benchmarks/target/benchmarks.jar ParseBenchmark -p engine=PLIST
+ * </pre>
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+public class BenchmarkRunner {
+	
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		CommandLineOptions options = new CommandLineOptions(args);
+		new Runner(new OptionsBuilder().parent(options).addProfiler(GCProfiler.class).build()).run();
+	}
+}
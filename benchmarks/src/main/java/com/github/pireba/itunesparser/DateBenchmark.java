@@ -0,0 +1,86 @@
+package com.github.pireba.itunesparser;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the decoding of 1,024 dates of the XML File by the {@linkplain DateDecoder},
+ * from Strings as the DOM4J and StAX engines read them and from bytes as the PLIST engine reads them.
+ * {@code simpleDateFormat} is the baseline of the JDK.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DateBenchmark {
+	private static final int DATES = 1024;
+	
+	private final String[] strings = new String[DATES];
+	
+	private ByteBuffer bytes;
+	
+	private SimpleDateFormat format;
+	
+	@Setup
+	public void setup() {
+		this.format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.ROOT);
+		this.format.setTimeZone(TimeZone.getTimeZone("UTC"));
+		Random random = new Random(LibraryGenerator.DEFAULT_SEED);
+		StringBuilder all = new StringBuilder();
+		for ( int i=0; i<DATES; i++ ) {
+			this.strings[i] = this.format.format(new Date(1262304000000L + random.nextInt(300_000_000) * 1000L));
+			all.append(this.strings[i]);
+		}
+		this.bytes = ByteBuffer.wrap(all.toString().getBytes(StandardCharsets.US_ASCII));
+	}
+	
+	@Benchmark
+	public long decodeString() throws ParseException {
+		long sum = 0;
+		for ( String date : this.strings ) {
+			sum += DateDecoder.decode(date);
+		}
+		return sum;
+	}
+	
+	@Benchmark
+	public long decodeBytes() throws ParseException {
+		long sum = 0;
+		for ( int i=0; i<DATES; i++ ) {
+			sum += DateDecoder.decode(this.bytes, i * 20, i * 20 + 20);
+		}
+		return sum;
+	}
+	
+	@Benchmark
+	public long simpleDateFormat() throws ParseException {
+		long sum = 0;
+		for ( String date : this.strings ) {
+			sum += this.format.parse(date).getTime();
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,564 @@
+package com.github.pireba.itunesparser;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+/**
+ * Writes synthetic iTunes Library XML Files for the benchmarks.<br>
+ * The output only depends on the number of Tracks and the seed, so every run of a benchmark reads the same bytes.
+ * The key mix follows a real music library: every Track has the keys iTunes always writes,
+ * optional keys like Composer, Rating or Sort Artist are set with the share they usually have,
+ * and a few Tracks are podcasts or movies. Artists follow a skewed distribution and have albums of 8 to 14 Tracks.<br>
+ * The Playlists are the master Library and Music Playlists with every Track, the usual smart Playlists,
+ * and user Playlists in folders from 10 to a few thousand items, some with a Track which occurs twice.
+ * 
+ * <h2>Write a library with 100,000 Tracks</h2>
+ * <pre>
+ *  java -cp benchmarks.jar com.github.pireba.itunesparser.LibraryGenerator 100000 library.xml
+ * </pre>
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+public class LibraryGenerator {
+	/**
+	 * The default seed of the random numbers.
+	 */
+	public static final long DEFAULT_SEED = 42;
+	
+	/**
+	 * The first Track ID, iTunes starts numbering after a few internal IDs.
+	 */
+	private static final int FIRST_TRACK_ID = 76;
+	
+	private static final String[] GENRES = {
+		"Rock", "Pop", "Alternative", "Singer & Songwriter", "Jazz", "Classical", "Electronic", "Hip-Hop/Rap",
+		"R&B/Soul", "Country", "Blues", "Metal", "Soundtrack", "Folk", "Reggae", "World", "Dance", "Indie Rock"
+	};
+	
+	private static final String[] WORDS = {
+		"Love", "Night", "Light", "Heart", "Dream", "Fire", "River", "Home", "Road", "Sky", "Rain", "Gold",
+		"Summer", "Wild", "Blue", "Stone", "Shadow", "Ocean", "Song", "Time", "City", "Angel", "Storm", "Moon",
+		"Dancing", "Running", "Falling", "Broken", "Silent", "Electric", "Lost", "Young", "Midnight", "Paper"
+	};
+	
+	private static final String[] KINDS = {
+		"MPEG audio file", "AAC audio file", "Purchased AAC audio file", "Apple Music AAC audio file", "Apple Lossless audio file"
+	};
+	
+	/**
+	 * The number of Tracks.
+	 */
+	private final int tracks;
+	
+	/**
+	 * The seed of the random numbers.
+	 */
+	private final long seed;
+	
+	/**
+	 * True to write a few keys which are not known by the Parser.
+	 */
+	private boolean unknownKeys = false;
+	
+	/**
+	 * The format of the dates in the XML File.
+	 */
+	private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.ROOT);
+	
+	/**
+	 * The random numbers of the current run.
+	 */
+	private Random random;
+	
+	/**
+	 * The output of the current run.
+	 */
+	private Writer out;
+	
+	/**
+	 * Creates a new generator with the default seed.
+	 * @param tracks The number of Tracks.
+	 */
+	public LibraryGenerator(int tracks) {
+		this(tracks, DEFAULT_SEED);
+	}
+	
+	/**
+	 * Creates a new generator.
+	 * @param tracks The number of Tracks.
+	 * @param seed The seed of the random numbers.
+	 */
+	public LibraryGenerator(int tracks, long seed) {
+		if ( tracks < 1 ) {
+			throw new IllegalArgumentException("The number of Tracks must be at least 1: "+tracks);
+		}
+		this.tracks = tracks;
+		this.seed = seed;
+		this.dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+	}
+	
+	/**
+	 * Writes an XML File.
+	 * @param args The number of Tracks, the XML File and optionally the seed.
+	 * @throws IOException If the XML File can not be written.
+	 */
+	public static void main(String[] args) throws IOException {
+		if ( args.length < 2 ) {
+			System.err.println("Usage: LibraryGenerator <tracks> <file> [seed]");
+			System.exit(1);
+		}
+		int tracks = Integer.parseInt(args[0]);
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+		new LibraryGenerator(tracks, seed).write(new File(args[1]));
+	}
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Get the XML File with the given number of Tracks and the default seed in the temp directory and write it if it does not exist yet.<br>
+	 * Every fork of a benchmark reuses the XML File instead of writing it again.
+	 * @param tracks The number of Tracks.
+	 * @return The XML File.
+	 * @throws IOException If the XML File can not be written.
+	 */
+	public static File cached(int tracks) throws IOException {
+		File file = new File(System.getProperty("java.io.tmpdir"), "itunesparser-"+tracks+"-"+DEFAULT_SEED+".xml");
+		if ( ! file.isFile() ) {
+			File temp = File.createTempFile("itunesparser-", ".xml", file.getParentFile());
+			new LibraryGenerator(tracks).write(temp);
+			if ( ! temp.renameTo(file) && ! file.isFile() ) {
+				throw new IOException("The XML File can not be written: "+file);
+			}
+			temp.delete();
+		}
+		return file;
+	}
+	
+	/**
+	 * Writes the XML File.
+	 * @param file The XML File.
+	 * @throws IOException If the XML File can not be written.
+	 */
+	public void write(File file) throws IOException {
+		this.random = new Random(this.seed);
+		try ( Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8), 1 << 16) ) {
+			this.out = out;
+			this.writeLibrary();
+		} finally {
+			this.out = null;
+		}
+	}
+	
+	/**
+	 * Writes the whole plist.
+	 * @throws IOException If the XML File can not be written.
+	 */
+	private void writeLibrary() throws IOException {
+		this.out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		this.out.write("<!DOCTYPE plist PUBLIC \"-//Apple Computer//DTD PLIST 1.0//EN\" \"http://www.apple.com/DTDs/PropertyList-1.0.dtd\">\n");
+		this.out.write("<plist version=\"1.0\">\n<dict>\n");
+		this.integer(1, "Major Version", 1);
+		this.integer(1, "Minor Version", 1);
+		this.date(1, "Date", 1531670407000L);
+		this.string(1, "Application Version", "12.9.5.5");
+		this.integer(1, "Features", 5);
+		this.bool(1, "Show Content Ratings", true);
+		this.string(1, "Music Folder", "file:///Users/user/Music/iTunes/iTunes%20Media/");
+		this.string(1, "Library Persistent ID", this.persistentID());
+		
+		this.out.write("\t<key>Tracks</key>\n\t<dict>\n");
+		List<Integer> music = new ArrayList<Integer>();
+		List<Integer> podcasts = new ArrayList<Integer>();
+		List<Integer> loved = new ArrayList<Integer>();
+		int[] playCounts = new int[this.tracks];
+		int artist = 0, album = 0, albumTrack = 0, albumSize = 0;
+		for ( int i=0; i<this.tracks; i++ ) {
+			int trackID = FIRST_TRACK_ID + i * 2;
+			if ( albumTrack == albumSize ) {
+				artist = this.artist();
+				album++;
+				albumTrack = 0;
+				albumSize = 8 + this.random.nextInt(7);
+			}
+			albumTrack++;
+			int kind = this.random.nextInt(100);
+			playCounts[i] = this.writeTrack(trackID, artist, album, albumTrack, albumSize, kind);
+			if ( kind < 97 ) {
+				music.add(trackID);
+			} else if ( kind < 99 ) {
+				podcasts.add(trackID);
+			}
+			if ( this.random.nextInt(100) < 5 ) {
+				loved.add(trackID);
+			}
+		}
+		this.out.write("\t</dict>\n");
+		
+		this.out.write("\t<key>Playlists</key>\n\t<array>\n");
+		this.writePlaylists(music, podcasts, loved, playCounts);
+		this.out.write("\t</array>\n</dict>\n</plist>\n");
+	}
+	
+	/**
+	 * Writes a Track dict.
+	 * @param trackID The Track ID.
+	 * @param artist The number of the artist.
+	 * @param album The number of the album.
+	 * @param albumTrack The number of the Track on its album.
+	 * @param albumSize The number of Tracks of the album.
+	 * @param kind 0-96 for music, 97-98 for a podcast, 99 for a movie.
+	 * @return The play count.
+	 * @throws IOException If the XML File can not be written.
+	 */
+	private int writeTrack(int trackID, int artist, int album, int albumTrack, int albumSize, int kind) throws IOException {
+		Random random = this.random;
+		String name = this.title();
+		String artistName = "Artist "+artist;
+		String albumName = "Album "+album+" "+WORDS[album % WORDS.length];
+		long added = 1262304000000L + (long) random.nextInt(300_000_000) * 1000;
+		int playCount = random.nextInt(100) < 60 ? 1 + (int) Math.abs(random.nextGaussian() * 20) : 0;
+		
+		this.out.write("\t\t<key>"+trackID+"</key>\n\t\t<dict>\n");
+		this.integer(3, "Track ID", trackID);
+		this.string(3, "Name", name);
+		if ( random.nextInt(100) < 90 ) {
+			this.string(3, "Artist", artistName);
+		}
+		if ( random.nextInt(100) < 70 ) {
+			this.string(3, "Album Artist", artistName);
+		}
+		if ( random.nextInt(100) < 30 ) {
+			this.string(3, "Composer", "Composer "+(artist % 5000));
+		}
+		if ( random.nextInt(100) < 90 ) {
+			this.string(3, "Album", albumName);
+		}
+		if ( random.nextInt(100) < 85 ) {
+			this.string(3, "Genre", GENRES[(artist * 7 + album) % GENRES.length]);
+		}
+		this.string(3, "Kind", kind < 97 ? KINDS[album % KINDS.length] : kind < 99 ? "MPEG audio file" : "MPEG-4 video file");
+		this.integer(3, "Size", 2_000_000 + random.nextInt(15_000_000));
+		this.integer(3, "Total Time", 90_000 + random.nextInt(400_000));
+		if ( random.nextInt(100) < 60 ) {
+			this.integer(3, "Disc Number", 1);
+			this.integer(3, "Disc Count", 1);
+		}
+		if ( random.nextInt(100) < 85 ) {
+			this.integer(3, "Track Number", albumTrack);
+			this.integer(3, "Track Count", albumSize);
+		}
+		if ( random.nextInt(100) < 80 ) {
+			this.integer(3, "Year", 1960 + (album * 31 + artist) % 60);
+		}
+		if ( random.nextInt(100) < 5 ) {
+			this.integer(3, "BPM", 60 + random.nextInt(120));
+		}
+		this.date(3, "Date Modified", added + random.nextInt(1_000_000) * 1000L);
+		this.date(3, "Date Added", added);
+		this.integer(3, "Bit Rate", random.nextInt(100) < 70 ? 256 : 320);
+		this.integer(3, "Sample Rate", 44100);
+		if ( random.nextInt(100) < 5 ) {
+			this.string(3, "Comments", WORDS[random.nextInt(WORDS.length)]+" "+WORDS[random.nextInt(WORDS.length)]);
+		}
+		if ( playCount > 0 ) {
+			long played = added + random.nextInt(200_000_000) * 1000L;
+			this.integer(3, "Play Count", playCount);
+			this.out.write("\t\t\t<key>Play Date</key><integer>"+(played / 1000 + 2082844800L)+"</integer>\n");
+			this.date(3, "Play Date UTC", played);
+		}
+		if ( random.nextInt(100) < 10 ) {
+			this.integer(3, "Skip Count", 1 + random.nextInt(5));
+			this.date(3, "Skip Date", added + random.nextInt(200_000_000) * 1000L);
+		}
+		if ( random.nextInt(100) < 10 ) {
+			this.date(3, "Release Date", added - random.nextInt(300_000_000) * 1000L);
+		}
+		if ( random.nextInt(100) < 20 ) {
+			this.integer(3, "Rating", 20 * (1 + random.nextInt(5)));
+		}
+		if ( random.nextInt(100) < 15 ) {
+			this.integer(3, "Album Rating", 20 * (1 + random.nextInt(5)));
+			this.bool(3, "Album Rating Computed", true);
+		}
+		if ( random.nextInt(100) < 8 ) {
+			this.bool(3, "Compilation", true);
+		}
+		if ( random.nextInt(100) < 3 ) {
+			this.bool(3, "Explicit", true);
+		}
+		if ( random.nextInt(100) < 2 ) {
+			this.bool(3, "Disabled", true);
+		}
+		if ( random.nextInt(100) < 5 ) {
+			this.bool(3, "Part Of Gapless Album", true);
+		}
+		if ( random.nextInt(100) < 70 ) {
+			this.integer(3, "Artwork Count", 1);
+		}
+		if ( random.nextInt(100) < 40 ) {
+			this.integer(3, "Normalization", random.nextInt(10000));
+		}
+		if ( random.nextInt(100) < 15 ) {
+			this.string(3, "Sort Name", name.toLowerCase(Locale.ROOT));
+			this.string(3, "Sort Artist", "artist "+artist);
+			this.string(3, "Sort Album", albumName.toLowerCase(Locale.ROOT));
+		}
+		if ( kind >= 97 && kind < 99 ) {
+			this.bool(3, "Podcast", true);
+			this.bool(3, "Unplayed", playCount == 0);
+		}
+		if ( kind == 99 ) {
+			this.bool(3, "Has Video", true);
+			this.bool(3, "Movie", true);
+			this.integer(3, "Video Width", 1920);
+			this.integer(3, "Video Height", 1080);
+		}
+		if ( this.unknownKeys && random.nextInt(100) < 3 ) {
+			this.bool(3, "Apple Music", true);
+			this.bool(3, "Playlist Only", true);
+		}
+		this.string(3, "Persistent ID", this.persistentID());
+		if ( random.nextInt(100) < 90 ) {
+			this.string(3, "Track Type", "File");
+			if ( random.nextInt(100) < 10 ) {
+				this.bool(3, "Purchased", true);
+			}
+			this.string(3, "Location", "file:///Users/user/Music/iTunes/iTunes%20Media/Music/Artist%20"+artist
+					+"/Album%20"+album+"/"+String.format(Locale.ROOT, "%02d", albumTrack)+"%20"+name.replace(" ", "%20")+".m4a");
+			this.integer(3, "File Folder Count", 5);
+			this.integer(3, "Library Folder Count", 1);
+		} else {
+			this.string(3, "Track Type", "Remote");
+		}
+		this.out.write("\t\t</dict>\n");
+		return playCount;
+	}
+	
+	/**
+	 * Writes the Playlists.
+	 * @param music The Track IDs of the music Tracks.
+	 * @param podcasts The Track IDs of the podcasts.
+	 * @param loved The Track IDs of the loved Tracks.
+	 * @param playCounts The play counts by the index of the Track.
+	 * @throws IOException If the XML File can not be written.
+	 */
+	private void writePlaylists(List<Integer> music, List<Integer> podcasts, List<Integer> loved, int[] playCounts) throws IOException {
+		int playlistID = FIRST_TRACK_ID + this.tracks * 2;
+		
+		List<Integer> all = new ArrayList<Integer>(this.tracks);
+		for ( int i=0; i<this.tracks; i++ ) {
+			all.add(FIRST_TRACK_ID + i * 2);
+		}
+		this.startPlaylist("Library", playlistID++, null);
+		this.bool(3, "Master", true);
+		this.bool(3, "Visible", false);
+		this.bool(3, "All Items", true);
+		this.endPlaylist(all);
+		
+		this.startPlaylist("Music", playlistID++, null);
+		this.integer(3, "Distinguished Kind", 4);
+		this.bool(3, "Music", true);
+		this.bool(3, "All Items", true);
+		this.endPlaylist(music);
+		
+		if ( ! podcasts.isEmpty() ) {
+			this.startPlaylist("Podcasts", playlistID++, null);
+			this.integer(3, "Distinguished Kind", 10);
+			this.bool(3, "Podcasts", true);
+			this.bool(3, "All Items", true);
+			this.endPlaylist(podcasts);
+		}
+		
+		this.startSmartPlaylist("Loved", playlistID++);
+		this.endPlaylist(loved);
+		this.startSmartPlaylist("Recently Added", playlistID++);
+		this.endPlaylist(all.subList(Math.max(0, all.size() - Math.max(25, all.size() / 20)), all.size()));
+		this.startSmartPlaylist("Top 25 Most Played", playlistID++);
+		List<Integer> top = new ArrayList<Integer>();
+		for ( int i=0; i<this.tracks && top.size()<25; i++ ) {
+			if ( playCounts[i] > 40 ) {
+				top.add(FIRST_TRACK_ID + i * 2);
+			}
+		}
+		this.endPlaylist(top);
+		
+		// User Playlists in folders, mostly small, a few with thousands of items.
+		int playlists = 5 + this.tracks / 500;
+		String folder = null;
+		for ( int i=0; i<playlists; i++ ) {
+			if ( i % 10 == 0 ) {
+				folder = this.persistentID();
+				this.out.write("\t\t<dict>\n");
+				this.string(3, "Name", "Folder "+(i / 10));
+				this.integer(3, "Playlist ID", playlistID++);
+				this.string(3, "Playlist Persistent ID", folder);
+				this.bool(3, "Folder", true);
+				this.bool(3, "All Items", true);
+				this.out.write("\t\t</dict>\n");
+			}
+			int size = (int) Math.min(all.size(), 10 + Math.abs(this.random.nextGaussian()) * (this.random.nextInt(10) == 0 ? 2000 : 60));
+			List<Integer> items = new ArrayList<Integer>(size + 1);
+			int start = this.random.nextInt(all.size());
+			for ( int j=0; j<size; j++ ) {
+				items.add(all.get((start + j * 7) % all.size()));
+			}
+			if ( this.random.nextInt(10) == 0 ) {
+				items.add(items.get(0));
+			}
+			this.startPlaylist("Playlist "+i, playlistID++, folder);
+			this.bool(3, "All Items", true);
+			this.endPlaylist(items);
+		}
+	}
+	
+	/**
+	 * Writes the start of a Playlist dict with the keys every Playlist has.
+	 * @param name The name.
+	 * @param playlistID The Playlist ID.
+	 * @param parent The Persistent ID of the parent folder or null.
+	 * @throws IOException If the XML File can not be written.
+	 */
+	private void startPlaylist(String name, int playlistID, String parent) throws IOException {
+		this.out.write("\t\t<dict>\n");
+		this.string(3, "Name", name);
+		this.integer(3, "Playlist ID", playlistID);
+		this.string(3, "Playlist Persistent ID", this.persistentID());
+		if ( parent != null ) {
+			this.string(3, "Parent Persistent ID", parent);
+		}
+	}
+	
+	/**
+	 * Writes the start of a smart Playlist dict with its Smart Info and Smart Criteria.
+	 * @param name The name.
+	 * @param playlistID The Playlist ID.
+	 * @throws IOException If the XML File can not be written.
+	 */
+	private void startSmartPlaylist(String name, int playlistID) throws IOException {
+		this.startPlaylist(name, playlistID, null);
+		this.bool(3, "All Items", true);
+		this.out.write("\t\t\t<key>Smart Info</key>\n\t\t\t<data>\n\t\t\tAQEAAwAAAAIAAAAZAAAAAAAAAAcAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA\n"
+				+"\t\t\tAAAAAA==\n\t\t\t</data>\n");
+		this.out.write("\t\t\t<key>Smart Criteria</key>\n\t\t\t<data>\n\t\t\tU0xzdAABAAEAAAACAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA\n"
+				+"\t\t\tAAAAAAAA\n\t\t\t</data>\n");
+	}
+	
+	/**
+	 * Writes the items and the end of a Playlist dict.
+	 * @param items The Track IDs.
+	 * @throws IOException If the XML File can not be written.
+	 */
+	private void endPlaylist(List<Integer> items) throws IOException {
+		if ( ! items.isEmpty() ) {
+			this.out.write("\t\t\t<key>Playlist Items</key>\n\t\t\t<array>\n");
+			for ( int trackID : items ) {
+				this.out.write("\t\t\t\t<dict>\n\t\t\t\t\t<key>Track ID</key><integer>");
+				this.out.write(Integer.toString(trackID));
+				this.out.write("</integer>\n\t\t\t\t</dict>\n");
+			}
+			this.out.write("\t\t\t</array>\n");
+		}
+		this.out.write("\t\t</dict>\n");
+	}
+	
+	/**
+	 * Get the number of an artist. A few artists have many albums, most have one or two.
+	 * @return The number of the artist.
+	 */
+	private int artist() {
+		int artists = Math.max(10, this.tracks / 25);
+		double skewed = Math.pow(this.random.nextDouble(), 2.5);
+		return (int) (skewed * artists);
+	}
+	
+	/**
+	 * Get a title of one to four words.
+	 * @return The title.
+	 */
+	private String title() {
+		StringBuilder title = new StringBuilder(WORDS[this.random.nextInt(WORDS.length)]);
+		int words = this.random.nextInt(4);
+		for ( int i=0; i<words; i++ ) {
+			title.append(' ').append(WORDS[this.random.nextInt(WORDS.length)]);
+		}
+		return title.toString();
+	}
+	
+	/**
+	 * Get a random Persistent ID of 16 hex digits.
+	 * @return The Persistent ID.
+	 */
+	private String persistentID() {
+		return String.format(Locale.ROOT, "%016X", this.random.nextLong());
+	}
+	
+	private void string(int indent, String key, String value) throws IOException {
+		this.key(indent, key);
+		this.out.write("<string>");
+		this.out.write(value.replace("&", "&#38;").replace("<", "&#60;").replace(">", "&#62;"));
+		this.out.write("</string>\n");
+	}
+	
+	private void integer(int indent, String key, long value) throws IOException {
+		this.key(indent, key);
+		this.out.write("<integer>");
+		this.out.write(Long.toString(value));
+		this.out.write("</integer>\n");
+	}
+	
+	private void date(int indent, String key, long time) throws IOException {
+		this.key(indent, key);
+		this.out.write("<date>");
+		this.out.write(this.dateFormat.format(new Date(time)));
+		this.out.write("</date>\n");
+	}
+	
+	private void bool(int indent, String key, boolean value) throws IOException {
+		this.key(indent, key);
+		this.out.write(value ? "<true/>\n" : "<false/>\n");
+	}
+	
+	private void key(int indent, String key) throws IOException {
+		for ( int i=0; i<indent; i++ ) {
+			this.out.write('\t');
+		}
+		this.out.write("<key>");
+		this.out.write(key);
+		this.out.write("</key>");
+	}
+	
+	// --------------------------------------------------
+	// Getter & Setter
+	// --------------------------------------------------
+	
+	/**
+	 * Get the number of Tracks.
+	 * @return The number of Tracks.
+	 */
+	public int getTracks() {
+		return this.tracks;
+	}
+	
+	/**
+	 * Set whether a few Tracks get keys which are not known by the Parser, like "Apple Music" and "Playlist Only".
+	 * @param unknownKeys True to write unknown keys.
+	 */
+	public void setUnknownKeys(boolean unknownKeys) {
+		this.unknownKeys = unknownKeys;
+	}
+}
@@ -0,0 +1,54 @@
+package com.github.pireba.itunesparser;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.dom4j.DocumentException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a full {@link Parser#parse()} of a synthetic XML File with every engine.<br>
+ * The library with 1,000,000 Tracks is not part of the default run, select it by {@code -p tracks=1000000}.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ParseBenchmark {
+	@Param({"1000", "10000", "100000"})
+	private int tracks;
+	
+	@Param({"DOM4J", "STAX", "PLIST"})
+	private Engine engine;
+	
+	private File file;
+	
+	@Setup
+	public void setup() throws IOException {
+		this.file = LibraryGenerator.cached(this.tracks);
+	}
+	
+	@Benchmark
+	public Parser parse() throws DocumentException {
+		Parser parser = new Parser(this.file);
+		parser.setEngine(this.engine);
+		parser.parse();
+		return parser;
+	}
+}
@@ -0,0 +1,80 @@
+package com.github.pireba.itunesparser;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.dom4j.DocumentException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the items of the master Library Playlist, which holds every Track:
+ * adding the Track IDs by {@link Parser#addPlaylistItems(Playlist, int[], int)}, which every engine calls,
+ * and iterating the Tracks of the Map and the List view.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PlaylistBenchmark {
+	@Param({"10000", "100000"})
+	private int tracks;
+	
+	private Parser parser;
+	
+	private Playlist library;
+	
+	private int[] ids;
+	
+	@Setup
+	public void setup() throws IOException, DocumentException {
+		this.parser = new Parser(LibraryGenerator.cached(this.tracks));
+		this.parser.setEngine(Engine.PLIST);
+		this.parser.parse();
+		for ( Playlist playlist : this.parser.getPlaylists().values() ) {
+			if ( Boolean.TRUE.equals(playlist.isMaster()) ) {
+				this.library = playlist;
+			}
+		}
+		this.ids = this.library.getPlaylistItemIDs();
+	}
+	
+	@Benchmark
+	public Playlist addPlaylistItems() {
+		Playlist playlist = new Playlist();
+		this.parser.addPlaylistItems(playlist, this.ids, this.ids.length);
+		return playlist;
+	}
+	
+	@Benchmark
+	public long iterateItems() {
+		long sum = 0;
+		for ( Track track : this.library.getPlaylistItems().values() ) {
+			sum += track.getTrackID();
+		}
+		return sum;
+	}
+	
+	@Benchmark
+	public long iterateItemList() {
+		long sum = 0;
+		for ( Track track : this.library.getPlaylistItemList() ) {
+			sum += track.getTrackID();
+		}
+		return sum;
+	}
+}
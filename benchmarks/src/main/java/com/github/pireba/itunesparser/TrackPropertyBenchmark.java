@@ -0,0 +1,96 @@
+package com.github.pireba.itunesparser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.dom4j.Document;
+import org.dom4j.DocumentException;
+import org.dom4j.Element;
+import org.dom4j.io.SAXReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the dispatch of the key-value pairs of 1,000 Track dicts to their Track objects.<br>
+ * {@code lookup} only looks up the keys in the {@linkplain KeyTable}, {@code addProperty} also converts the values
+ * and calls the setters, which is the work every engine does per key.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TrackPropertyBenchmark {
+	private final Parser parser = new Parser(null);
+	
+	private final StringValue value = new StringValue();
+	
+	/**
+	 * The keys of every Track dict.
+	 */
+	private String[][] keys;
+	
+	/**
+	 * The values of every Track dict as in the XML File.
+	 */
+	private String[][] values;
+	
+	@Setup
+	public void setup() throws IOException, DocumentException {
+		Document document = new SAXReader().read(LibraryGenerator.cached(1000));
+		Element tracks = document.getRootElement().element("dict").element("dict");
+		List<String[]> keys = new ArrayList<String[]>();
+		List<String[]> values = new ArrayList<String[]>();
+		for ( Element track : tracks.elements("dict") ) {
+			List<Element> elements = track.elements();
+			String[] trackKeys = new String[elements.size() / 2];
+			String[] trackValues = new String[elements.size() / 2];
+			for ( int i=0; i<trackKeys.length; i++ ) {
+				trackKeys[i] = elements.get(i * 2).getText();
+				Element value = elements.get(i * 2 + 1);
+				trackValues[i] = value.getName().equals("true") || value.getName().equals("false") ? value.getName() : value.getText();
+			}
+			keys.add(trackKeys);
+			values.add(trackValues);
+		}
+		this.keys = keys.toArray(new String[keys.size()][]);
+		this.values = values.toArray(new String[values.size()][]);
+	}
+	
+	@Benchmark
+	public void lookup(Blackhole blackhole) {
+		for ( String[] keys : this.keys ) {
+			for ( String key : keys ) {
+				blackhole.consume(TrackProperty.KEYS.get(key));
+			}
+		}
+	}
+	
+	@Benchmark
+	public void addProperty(Blackhole blackhole) {
+		for ( int i=0; i<this.keys.length; i++ ) {
+			Track track = new Track();
+			String[] keys = this.keys[i];
+			String[] values = this.values[i];
+			for ( int j=0; j<keys.length; j++ ) {
+				this.parser.addProperty(track, keys[j], this.value.set(values[j]));
+			}
+			blackhole.consume(track);
+		}
+	}
+}
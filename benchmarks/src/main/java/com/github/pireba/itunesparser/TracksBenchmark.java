@@ -0,0 +1,60 @@
+package com.github.pireba.itunesparser;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.dom4j.DocumentException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the iteration of {@link Parser#getTracks()} after a parse, reading two properties of every Track,
+ * in the default mode, the columnar mode and the lazy mode.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TracksBenchmark {
+	@Param({"10000", "100000"})
+	private int tracks;
+	
+	@Param({"default", "columnar", "lazy"})
+	private String mode;
+	
+	private Parser parser;
+	
+	@Setup
+	public void setup() throws IOException, DocumentException {
+		this.parser = new Parser(LibraryGenerator.cached(this.tracks));
+		this.parser.setEngine(Engine.PLIST);
+		this.parser.setColumnar(this.mode.equals("columnar"));
+		this.parser.setLazy(this.mode.equals("lazy"));
+		this.parser.parse();
+	}
+	
+	@Benchmark
+	public long iterate() {
+		long sum = 0;
+		for ( Track track : this.parser.getTracks().values() ) {
+			Long totalTime = track.getTotalTime();
+			String name = track.getName();
+			sum += (totalTime == null ? 0 : totalTime) + (name == null ? 0 : name.length());
+		}
+		return sum;
+	}
+}
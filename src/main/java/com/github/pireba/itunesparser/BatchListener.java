@@ -0,0 +1,30 @@
+package com.github.pireba.itunesparser;
+
+import java.io.File;
+
+/**
+ * Receives the results of a {@linkplain BatchParser}.<br>
+ * The methods are called by the worker threads as soon as an XML File has been parsed,
+ * so they may be called by several threads at the same time.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see BatchParser
+ */
+@FunctionalInterface
+public interface BatchListener {
+	/**
+	 * Called for every XML File which has been parsed.
+	 * @param file The XML File.
+	 * @param result The frozen {@linkplain ParseResult}.
+	 */
+	void parsed(File file, ParseResult result);
+	
+	/**
+	 * Called for every XML File which could not be parsed.<br>
+	 * The error has already been logged, by default nothing else is done.
+	 * @param file The XML File.
+	 * @param e The error.
+	 */
+	default void failed(File file, Exception e) {}
+}
@@ -0,0 +1,206 @@
+package com.github.pireba.itunesparser;
+
+import java.io.Closeable;
+import java.io.File;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.dom4j.DocumentException;
+
+/**
+ * Parses many XML Files concurrently on a bounded pool of worker threads.<br>
+ * Every worker thread reuses its own {@linkplain Parser}, and with it the configured SAXReader of the {@linkplain Engine#DOM4J} engine.
+ * Every result is handed to a {@linkplain BatchListener}
+ * as a frozen {@linkplain ParseResult} as soon as the XML File has been parsed.<br>
+ * At most two XML Files per worker thread are pending at the same time.
+ * If they are, {@link #submit(File)} waits until a worker thread has finished an XML File,
+ * so the memory stays bounded no matter how many XML Files are submitted.
+ * 
+ * <h2>Parse many XML Files</h2>
+ * <pre>
+ *  try ( BatchParser batch = new BatchParser(4, (file, result) -&#62; store(file, result.getTracks())) ) {
+ *      batch.setConfigurer(parser -&#62; parser.setEngine(Engine.PLIST));
+ *      batch.submitAll(files);
+ *  }
+ * </pre>
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+public class BatchParser implements Closeable {
+	private static final Logger log = Logger.getLogger(BatchParser.class.getName());
+	
+	/**
+	 * The listener which receives the results.
+	 */
+	private final BatchListener listener;
+	
+	/**
+	 * The pool of the worker threads.
+	 */
+	private final ExecutorService pool;
+	
+	/**
+	 * The maximum number of XML Files which are pending at the same time.
+	 */
+	private final int maxPending;
+	
+	/**
+	 * The permits of the XML Files which can still be submitted without waiting.
+	 */
+	private final Semaphore permits;
+	
+	/**
+	 * The Parser of every worker thread.
+	 */
+	private final ThreadLocal<Parser> parsers = ThreadLocal.withInitial(this::newParser);
+	
+	/**
+	 * The configurer of a new Parser, or null.
+	 */
+	private volatile Consumer<Parser> configurer;
+	
+	/**
+	 * Creates a new BatchParser with the given number of worker threads.
+	 * @param parallelism The number of worker threads, e.g. {@code Runtime.getRuntime().availableProcessors()}.
+	 * @param listener The {@linkplain BatchListener} which receives the results.
+	 */
+	public BatchParser(int parallelism, BatchListener listener) {
+		this(parallelism, Executors.defaultThreadFactory(), listener);
+	}
+	
+	/**
+	 * Creates a new BatchParser with the given number of worker threads, which are created by the given factory.<br>
+	 * On Java 21 and later, the worker threads can be virtual threads: {@code Thread.ofVirtual().factory()}.
+	 * @param parallelism The number of worker threads.
+	 * @param threadFactory The {@linkplain ThreadFactory} of the worker threads.
+	 * @param listener The {@linkplain BatchListener} which receives the results.
+	 */
+	public BatchParser(int parallelism, ThreadFactory threadFactory, BatchListener listener) {
+		if ( parallelism < 1 ) {
+			throw new IllegalArgumentException("The parallelism must be at least 1: "+parallelism);
+		}
+		this.listener = listener;
+		this.pool = Executors.newFixedThreadPool(parallelism, threadFactory);
+		this.maxPending = parallelism * 2;
+		this.permits = new Semaphore(this.maxPending);
+	}
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Submits an XML File to be parsed by a worker thread.<br>
+	 * Waits if too many XML Files are pending.
+	 * @param file The XML File.
+	 * @throws InterruptedException If the thread has been interrupted while waiting.
+	 * @throws RejectedExecutionException If the BatchParser has been closed.
+	 */
+	public void submit(File file) throws InterruptedException {
+		this.permits.acquire();
+		try {
+			this.pool.execute(() -> this.parse(file));
+		} catch (RejectedExecutionException e) {
+			this.permits.release();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Submits all given XML Files to be parsed by the worker threads.<br>
+	 * Waits whenever too many XML Files are pending, so the files may be a lazy Iterable of any size.
+	 * @param files The XML Files.
+	 * @throws InterruptedException If the thread has been interrupted while waiting.
+	 * @throws RejectedExecutionException If the BatchParser has been closed.
+	 */
+	public void submitAll(Iterable<File> files) throws InterruptedException {
+		for ( File file : files ) {
+			this.submit(file);
+		}
+	}
+	
+	/**
+	 * Waits until every submitted XML File has been parsed and handed to the listener.
+	 * @throws InterruptedException If the thread has been interrupted while waiting.
+	 */
+	public void await() throws InterruptedException {
+		this.permits.acquire(this.maxPending);
+		this.permits.release(this.maxPending);
+	}
+	
+	/**
+	 * Waits until every submitted XML File has been parsed and stops the worker threads.<br>
+	 * If the thread is interrupted while waiting, the pending XML Files are still parsed in the background.
+	 */
+	@Override
+	public void close() {
+		this.pool.shutdown();
+		try {
+			this.pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Parses the given XML File with the Parser of the current worker thread and hands the result to the listener.<br>
+	 * If the XML File can not be parsed, the error is logged and the Parser is replaced by a new one.
+	 * @param file The XML File.
+	 */
+	private void parse(File file) {
+		try {
+			Parser parser = this.parsers.get();
+			parser.setFile(file);
+			ParseResult result;
+			try {
+				parser.parse();
+				result = parser.getResult();
+			} catch (DocumentException | RuntimeException e) {
+				log.log(Level.WARNING, "Error while parsing the XML File "+file, e);
+				this.parsers.remove();
+				this.listener.failed(file, e);
+				return;
+			}
+			this.listener.parsed(file, result);
+		} catch (RuntimeException e) {
+			log.log(Level.SEVERE, "Error in the listener of the XML File "+file, e);
+		} finally {
+			this.permits.release();
+		}
+	}
+	
+	/**
+	 * Creates the Parser of a worker thread.
+	 * @return The configured {@linkplain Parser}.
+	 */
+	private Parser newParser() {
+		Parser parser = new Parser(null);
+		Consumer<Parser> configurer = this.configurer;
+		if ( configurer != null ) {
+			configurer.accept(parser);
+		}
+		return parser;
+	}
+	
+	// --------------------------------------------------
+	// Getter & Setter
+	// --------------------------------------------------
+	
+	/**
+	 * Set the configurer of the Parsers of the worker threads, e.g. {@code parser -> parser.setEngine(Engine.PLIST)}.<br>
+	 * The configurer is called once for every new Parser, so it must be set before the first XML File is submitted.
+	 * The file of the Parser is set for every XML File and must not be set by the configurer.
+	 * @param configurer The configurer or null.
+	 */
+	public void setConfigurer(Consumer<Parser> configurer) {
+		this.configurer = configurer;
+	}
+}
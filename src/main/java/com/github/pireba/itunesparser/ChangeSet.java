@@ -0,0 +1,134 @@
+package com.github.pireba.itunesparser;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The changes of an incremental update.<br>
+ * Holds the IDs of the Tracks and Playlists which have been added, removed or modified
+ * since the previous update, in the order of the XML File.
+ * 
+ * <h2>Apply the changes of a rewritten XML File</h2>
+ * <pre>
+ *  ChangeSet changes = parser.update();
+ *  for ( int trackID : changes.getModifiedTracks() ) {
+ *      System.out.println(parser.getTracks().get(trackID).getName());
+ *  }
+ * </pre>
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see Parser#update()
+ */
+public class ChangeSet {
+	private final Set<Integer> addedTracks = new LinkedHashSet<>();
+	private final Set<Integer> removedTracks = new LinkedHashSet<>();
+	private final Set<Integer> modifiedTracks = new LinkedHashSet<>();
+	private final Set<Integer> addedPlaylists = new LinkedHashSet<>();
+	private final Set<Integer> removedPlaylists = new LinkedHashSet<>();
+	private final Set<Integer> modifiedPlaylists = new LinkedHashSet<>();
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Returns true if neither a Track nor a Playlist has changed.
+	 * @return True if nothing has changed.
+	 */
+	public boolean isEmpty() {
+		return this.addedTracks.isEmpty() && this.removedTracks.isEmpty() && this.modifiedTracks.isEmpty()
+				&& this.addedPlaylists.isEmpty() && this.removedPlaylists.isEmpty() && this.modifiedPlaylists.isEmpty();
+	}
+	
+	@Override
+	public String toString() {
+		return "Tracks: "+this.addedTracks.size()+" added, "+this.removedTracks.size()+" removed, "+this.modifiedTracks.size()+" modified; "
+				+"Playlists: "+this.addedPlaylists.size()+" added, "+this.removedPlaylists.size()+" removed, "+this.modifiedPlaylists.size()+" modified";
+	}
+	
+	// --------------------------------------------------
+	// Getter
+	// --------------------------------------------------
+	
+	/**
+	 * Get the Track IDs of the Tracks which are new in the XML File.
+	 * @return The read-only Set of Track IDs.
+	 */
+	public Set<Integer> getAddedTracks() {
+		return Collections.unmodifiableSet(this.addedTracks);
+	}
+	
+	/**
+	 * Get the Track IDs of the Tracks which are no longer in the XML File.<br>
+	 * The Tracks have been removed from the Track Map.
+	 * @return The read-only Set of Track IDs.
+	 */
+	public Set<Integer> getRemovedTracks() {
+		return Collections.unmodifiableSet(this.removedTracks);
+	}
+	
+	/**
+	 * Get the Track IDs of the Tracks which have changed in the XML File.<br>
+	 * The existing Track objects have been updated in place.
+	 * @return The read-only Set of Track IDs.
+	 */
+	public Set<Integer> getModifiedTracks() {
+		return Collections.unmodifiableSet(this.modifiedTracks);
+	}
+	
+	/**
+	 * Get the Playlist IDs of the Playlists which are new in the XML File.
+	 * @return The read-only Set of Playlist IDs.
+	 */
+	public Set<Integer> getAddedPlaylists() {
+		return Collections.unmodifiableSet(this.addedPlaylists);
+	}
+	
+	/**
+	 * Get the Playlist IDs of the Playlists which are no longer in the XML File.<br>
+	 * The Playlists have been removed from the Playlist Map.
+	 * @return The read-only Set of Playlist IDs.
+	 */
+	public Set<Integer> getRemovedPlaylists() {
+		return Collections.unmodifiableSet(this.removedPlaylists);
+	}
+	
+	/**
+	 * Get the Playlist IDs of the Playlists which have changed in the XML File.<br>
+	 * The existing Playlist objects have been updated in place.
+	 * @return The read-only Set of Playlist IDs.
+	 */
+	public Set<Integer> getModifiedPlaylists() {
+		return Collections.unmodifiableSet(this.modifiedPlaylists);
+	}
+	
+	// --------------------------------------------------
+	// Setter
+	// --------------------------------------------------
+	
+	void addAddedTrack(int trackID) {
+		this.addedTracks.add(trackID);
+	}
+	
+	void addRemovedTrack(int trackID) {
+		this.removedTracks.add(trackID);
+	}
+	
+	void addModifiedTrack(int trackID) {
+		this.modifiedTracks.add(trackID);
+	}
+	
+	void addAddedPlaylist(int playlistID) {
+		this.addedPlaylists.add(playlistID);
+	}
+	
+	void addRemovedPlaylist(int playlistID) {
+		this.removedPlaylists.add(playlistID);
+	}
+	
+	void addModifiedPlaylist(int playlistID) {
+		this.modifiedPlaylists.add(playlistID);
+	}
+}
@@ -0,0 +1,231 @@
+package com.github.pireba.itunesparser;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * The last committed position of a {@linkplain ChunkedParser} in the "Tracks" dict and the "Playlists" array of an XML File.<br>
+ * A checkpoint holds the byte offset after the last Track dict and the last Playlist dict
+ * whose chunk has been handed to the {@linkplain ChunkListener}, and the number of Tracks and Playlists handed so far.
+ * A checkpoint belongs to the size, the last modified time and the CRC-32 checksum of the content of the XML File.
+ * If one of them has changed the checkpoint is stale and the next parse starts from the beginning.<br>
+ * A Checkpoint is immutable.
+ * 
+ * <pre>
+ * checkpoint = MAGIC VERSION size modified checksum tracksOffset tracksEnd playlistsOffset trackCount playlistCount
+ * </pre>
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see ChunkedParser
+ */
+public final class Checkpoint {
+	/**
+	 * The first bytes of a checkpoint file: "ITPC".
+	 */
+	private static final int MAGIC = 0x49545043;
+	
+	/**
+	 * The version of the format. A checkpoint of another version is stale.
+	 */
+	private static final int VERSION = 1;
+	
+	private final long size;
+	private final long modified;
+	private final long checksum;
+	
+	/**
+	 * The position after the last committed Track dict, or -1 if no Track has been committed.
+	 */
+	private final int tracksOffset;
+	
+	/**
+	 * The position after the "Tracks" dict, or -1 if not every Track has been committed.
+	 */
+	private final int tracksEnd;
+	
+	/**
+	 * The position after the last committed Playlist dict, or -1 if no Playlist has been committed.
+	 */
+	private final int playlistsOffset;
+	
+	private final long trackCount;
+	private final long playlistCount;
+	
+	/**
+	 * Creates a new checkpoint.
+	 * @param size The size of the XML File.
+	 * @param modified The last modified time of the XML File.
+	 * @param checksum The CRC-32 checksum of the content of the XML File.
+	 * @param tracksOffset The position after the last committed Track dict, or -1.
+	 * @param tracksEnd The position after the "Tracks" dict, or -1.
+	 * @param playlistsOffset The position after the last committed Playlist dict, or -1.
+	 * @param trackCount The number of committed Tracks.
+	 * @param playlistCount The number of committed Playlists.
+	 */
+	Checkpoint(long size, long modified, long checksum, int tracksOffset, int tracksEnd, int playlistsOffset, long trackCount, long playlistCount) {
+		this.size = size;
+		this.modified = modified;
+		this.checksum = checksum;
+		this.tracksOffset = tracksOffset;
+		this.tracksEnd = tracksEnd;
+		this.playlistsOffset = playlistsOffset;
+		this.trackCount = trackCount;
+		this.playlistCount = playlistCount;
+	}
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Creates the checkpoint after a committed chunk of Tracks.
+	 * @param offset The position after the last Track dict of the chunk.
+	 * @param end The position after the "Tracks" dict if this is the last chunk, otherwise -1.
+	 * @param count The number of Tracks of the chunk.
+	 * @return The new checkpoint.
+	 */
+	Checkpoint withTracks(int offset, int end, int count) {
+		return new Checkpoint(this.size, this.modified, this.checksum, offset, end, this.playlistsOffset, this.trackCount + count, this.playlistCount);
+	}
+	
+	/**
+	 * Creates the checkpoint after a committed chunk of Playlists.
+	 * @param offset The position after the last Playlist dict of the chunk.
+	 * @param count The number of Playlists of the chunk.
+	 * @return The new checkpoint.
+	 */
+	Checkpoint withPlaylists(int offset, int count) {
+		return new Checkpoint(this.size, this.modified, this.checksum, this.tracksOffset, this.tracksEnd, offset, this.trackCount, this.playlistCount + count);
+	}
+	
+	/**
+	 * Returns true if this checkpoint belongs to the XML File with the given size, last modified time and checksum.
+	 * @param size The size of the XML File.
+	 * @param modified The last modified time of the XML File.
+	 * @param checksum The CRC-32 checksum of the content of the XML File.
+	 * @return True if the checkpoint belongs to the XML File.
+	 */
+	boolean matches(long size, long modified, long checksum) {
+		return this.size == size && this.modified == modified && this.checksum == checksum;
+	}
+	
+	/**
+	 * Reads a checkpoint file.
+	 * @param path The checkpoint file.
+	 * @return The checkpoint, or null if the file has another format or version.
+	 * @throws IOException If the file can not be read or is damaged.
+	 */
+	static Checkpoint read(Path path) throws IOException {
+		try ( InputStream stream = Files.newInputStream(path) ) {
+			DataInputStream input = new DataInputStream(stream);
+			if ( input.readInt() != MAGIC || input.readInt() != VERSION ) {
+				return null;
+			}
+			return new Checkpoint(input.readLong(), input.readLong(), input.readLong(),
+					input.readInt(), input.readInt(), input.readInt(), input.readLong(), input.readLong());
+		}
+	}
+	
+	/**
+	 * Writes this checkpoint into the given file.<br>
+	 * The checkpoint is written and synced into a temporary file which then replaces the old checkpoint,
+	 * so a restarted parse never sees a partly written checkpoint.
+	 * @param path The checkpoint file.
+	 * @throws IOException If the checkpoint can not be written.
+	 */
+	void write(Path path) throws IOException {
+		Path directory = path.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+		Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+		try {
+			try ( FileOutputStream stream = new FileOutputStream(temp.toFile()) ) {
+				DataOutputStream output = new DataOutputStream(stream);
+				output.writeInt(MAGIC);
+				output.writeInt(VERSION);
+				output.writeLong(this.size);
+				output.writeLong(this.modified);
+				output.writeLong(this.checksum);
+				output.writeInt(this.tracksOffset);
+				output.writeInt(this.tracksEnd);
+				output.writeInt(this.playlistsOffset);
+				output.writeLong(this.trackCount);
+				output.writeLong(this.playlistCount);
+				output.flush();
+				stream.getFD().sync();
+			}
+			try {
+				Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+	
+	@Override
+	public String toString() {
+		return "Checkpoint [tracks="+this.trackCount+", playlists="+this.playlistCount
+				+", tracksOffset="+this.tracksOffset+", tracksEnd="+this.tracksEnd+", playlistsOffset="+this.playlistsOffset+"]";
+	}
+	
+	// --------------------------------------------------
+	// Getter
+	// --------------------------------------------------
+	
+	/**
+	 * Get the number of Tracks which have been handed to the listener.
+	 * @return The number of Tracks.
+	 */
+	public long getTrackCount() {
+		return this.trackCount;
+	}
+	
+	/**
+	 * Get the number of Playlists which have been handed to the listener.
+	 * @return The number of Playlists.
+	 */
+	public long getPlaylistCount() {
+		return this.playlistCount;
+	}
+	
+	/**
+	 * Get the byte offset after the last committed Track dict.
+	 * @return The offset, or -1 if no Track has been committed.
+	 */
+	public int getTracksOffset() {
+		return this.tracksOffset;
+	}
+	
+	/**
+	 * Get the byte offset after the "Tracks" dict.
+	 * @return The offset, or -1 if not every Track has been committed.
+	 */
+	public int getTracksEnd() {
+		return this.tracksEnd;
+	}
+	
+	/**
+	 * Get the byte offset after the last committed Playlist dict.
+	 * @return The offset, or -1 if no Playlist has been committed.
+	 */
+	public int getPlaylistsOffset() {
+		return this.playlistsOffset;
+	}
+	
+	/**
+	 * Returns true if every Track has been committed.
+	 * @return True if the "Tracks" dict has been read to its end.
+	 */
+	public boolean isTracksComplete() {
+		return this.tracksEnd >= 0;
+	}
+}
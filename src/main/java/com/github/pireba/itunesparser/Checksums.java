@@ -0,0 +1,135 @@
+package com.github.pireba.itunesparser;
+
+import java.util.Arrays;
+
+/**
+ * The checksums of the Track and Playlist dicts of an incremental update.<br>
+ * An open addressing hash table from an int key to an int value without boxing.
+ * The Tracks are stored by their Track ID with the CRC-32 checksum of their dict as value.
+ * The Playlist ID is part of the Playlist dict, so the Playlists are stored the other way round:
+ * by the checksum of their dict with the Playlist ID as value.<br>
+ * The keys are kept in the order they have been added.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see Parser#update()
+ */
+class Checksums {
+	/**
+	 * The keys in the order they have been added.
+	 */
+	private int[] keys = new int[1024];
+	
+	/**
+	 * The values by the index of their key.
+	 */
+	private int[] values = new int[1024];
+	
+	/**
+	 * The hash table from the key to the index + 1. Empty slots are 0.
+	 */
+	private int[] slots = new int[2048];
+	
+	/**
+	 * The number of keys.
+	 */
+	private int size;
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Adds a key with its value.<br>
+	 * If the key has already been added, its value is replaced.
+	 * @param key The key.
+	 * @param value The value.
+	 */
+	void put(int key, int value) {
+		int slot = this.slot(this.slots, key);
+		if ( this.slots[slot] != 0 ) {
+			this.values[this.slots[slot] - 1] = value;
+			return;
+		}
+		
+		if ( this.size == this.keys.length ) {
+			this.keys = Arrays.copyOf(this.keys, this.size * 2);
+			this.values = Arrays.copyOf(this.values, this.size * 2);
+		}
+		this.keys[this.size] = key;
+		this.values[this.size] = value;
+		this.size++;
+		this.slots[slot] = this.size;
+		
+		// Keep the table at most half full.
+		if ( this.size * 2 > this.slots.length ) {
+			int[] slots = new int[this.slots.length * 2];
+			for ( int i=0; i<this.size; i++ ) {
+				slots[this.slot(slots, this.keys[i])] = i + 1;
+			}
+			this.slots = slots;
+		}
+	}
+	
+	/**
+	 * Returns true if the given key has been added.
+	 * @param key The key.
+	 * @return True if the key has been added.
+	 */
+	boolean contains(int key) {
+		return this.slots[this.slot(this.slots, key)] != 0;
+	}
+	
+	/**
+	 * Get the value of the given key.
+	 * @param key The key.
+	 * @param missing The value to return if the key has not been added.
+	 * @return The value or the missing value.
+	 */
+	int get(int key, int missing) {
+		int index = this.slots[this.slot(this.slots, key)];
+		return index == 0 ? missing : this.values[index - 1];
+	}
+	
+	/**
+	 * Get the key at the given index.
+	 * @param index The index in the order the keys have been added.
+	 * @return The key.
+	 */
+	int key(int index) {
+		return this.keys[index];
+	}
+	
+	/**
+	 * Get the value at the given index.
+	 * @param index The index in the order the keys have been added.
+	 * @return The value.
+	 */
+	int value(int index) {
+		return this.values[index];
+	}
+	
+	/**
+	 * Get the number of keys.
+	 * @return The number of keys.
+	 */
+	int size() {
+		return this.size;
+	}
+	
+	/**
+	 * Get the slot of the given key, or the empty slot where it belongs.
+	 * @param slots The hash table.
+	 * @param key The key.
+	 * @return The slot.
+	 */
+	private int slot(int[] slots, int key) {
+		int mask = slots.length - 1;
+		int hash = key * 0x9E3779B9;
+		int slot = (hash ^ (hash >>> 16)) & mask;
+		while ( slots[slot] != 0 && this.keys[slots[slot] - 1] != key ) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+}
@@ -0,0 +1,35 @@
+package com.github.pireba.itunesparser;
+
+import java.util.List;
+
+/**
+ * Receives the chunks of a {@linkplain ChunkedParser}.<br>
+ * A chunk is committed by a checkpoint as soon as its method returns.
+ * If a method throws an exception, the parse stops and the chunk is handed again by the next parse,
+ * so every Track and Playlist is received at least once.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see ChunkedParser
+ */
+public interface ChunkListener {
+	/**
+	 * Called for every chunk of Tracks in the order of the XML File.
+	 * @param tracks The read-only List of {@linkplain Track} objects.
+	 */
+	void tracks(List<Track> tracks);
+	
+	/**
+	 * Called for every chunk of Playlists in the order of the XML File.<br>
+	 * The items of a Playlist are not resolved to Track objects,
+	 * the Track IDs are available by {@link Playlist#getPlaylistItemIDs()}.
+	 * @param playlists The read-only List of {@linkplain Playlist} objects.
+	 */
+	void playlists(List<Playlist> playlists);
+	
+	/**
+	 * Called after the last chunk with the Library properties. By default nothing is done.
+	 * @param library The {@linkplain Library} object.
+	 */
+	default void library(Library library) {}
+}
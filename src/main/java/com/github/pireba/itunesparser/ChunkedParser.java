@@ -0,0 +1,326 @@
+package com.github.pireba.itunesparser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.dom4j.DocumentException;
+
+/**
+ * Parses a very large XML File in chunks of a fixed number of Tracks and Playlists, and resumes an interrupted parse.<br>
+ * Every chunk is handed to a {@linkplain ChunkListener}. When the listener returns,
+ * the byte offset after the chunk in the "Tracks" dict or the "Playlists" array is committed as a {@linkplain Checkpoint}
+ * into the checkpoint file. If the parse is interrupted, e.g. by a crash or an exception of the listener,
+ * the next parse of the same XML File reads the Library properties before the "Tracks" dict
+ * and then jumps to the last committed checkpoint. Every Track and Playlist is handed at least once,
+ * the chunk which was not committed is handed again.<br>
+ * When the whole XML File has been parsed, the checkpoint file is deleted.
+ * A checkpoint of an XML File which has been changed since is stale, so the parse starts from the beginning.<br>
+ * This is a streaming parse with the tokenizer of the {@linkplain Engine#PLIST} engine:
+ * the Tracks and Playlists are not kept by the Parser and the items of a Playlist are only available as Track IDs.
+ * The selected properties, the String pool and the strict mode of the Parser are used,
+ * the parallelism and the snapshot cache are not. Not available in lazy mode.
+ * 
+ * <h2>Parse in chunks of 1000 Tracks</h2>
+ * <pre>
+ *  ChunkedParser chunked = new ChunkedParser(parser, new File("library.checkpoint"), 1000);
+ *  chunked.parse(new ChunkListener() {
+ *      public void tracks(List&#60;Track&#62; tracks) { store(tracks); }
+ *      public void playlists(List&#60;Playlist&#62; playlists) { store(playlists); }
+ *  });
+ * </pre>
+ * 
+ * The Parser is used by the ChunkedParser and must not be used otherwise while a parse is running.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+public class ChunkedParser {
+	private static final Logger log = Logger.getLogger(ChunkedParser.class.getName());
+	
+	/**
+	 * The default number of Tracks or Playlists of a chunk.
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 1000;
+	
+	/**
+	 * The Parser which parses the XML File.
+	 */
+	private final Parser parser;
+	
+	/**
+	 * The checkpoint file.
+	 */
+	private final Path path;
+	
+	/**
+	 * The maximum number of Tracks or Playlists of a chunk.
+	 */
+	private final int chunkSize;
+	
+	/**
+	 * The listener of the running parse.
+	 */
+	private ChunkListener listener;
+	
+	/**
+	 * The last committed checkpoint, or null if no parse is interrupted.
+	 */
+	private Checkpoint checkpoint;
+	
+	/**
+	 * Whether the last parse has resumed from a checkpoint.
+	 */
+	private boolean resumed = false;
+	
+	/**
+	 * The Tracks of the current chunk.
+	 */
+	private List<Track> tracks;
+	
+	/**
+	 * The Playlists of the current chunk.
+	 */
+	private List<Playlist> playlists;
+	
+	/**
+	 * The position after the last Playlist dict of the current chunk.
+	 */
+	private int playlistsOffset;
+	
+	/**
+	 * Creates a new ChunkedParser with chunks of {@value #DEFAULT_CHUNK_SIZE} Tracks or Playlists.
+	 * @param parser The {@linkplain Parser}.
+	 * @param checkpointFile The file of the checkpoints.
+	 */
+	public ChunkedParser(Parser parser, File checkpointFile) {
+		this(parser, checkpointFile, DEFAULT_CHUNK_SIZE);
+	}
+	
+	/**
+	 * Creates a new ChunkedParser.
+	 * @param parser The {@linkplain Parser}.
+	 * @param checkpointFile The file of the checkpoints.
+	 * @param chunkSize The maximum number of Tracks or Playlists of a chunk.
+	 */
+	public ChunkedParser(Parser parser, File checkpointFile, int chunkSize) {
+		if ( chunkSize < 1 ) {
+			throw new IllegalArgumentException("The chunk size must be at least 1: "+chunkSize);
+		}
+		this.parser = parser;
+		this.path = checkpointFile.toPath();
+		this.chunkSize = chunkSize;
+	}
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Parses the XML File of the Parser and hands every chunk to the given listener.<br>
+	 * If the checkpoint file holds a checkpoint of the XML File, the parse resumes after it.
+	 * Tracks and Playlists are handed in the order of the XML File, the Library is handed at the end.
+	 * An exception of the listener is thrown unchanged, the committed checkpoints are kept.
+	 * @param listener The {@linkplain ChunkListener}.
+	 * @throws DocumentException If an error occurs during parsing, or if a checkpoint can not be written.
+	 * @throws IllegalStateException If the lazy mode of the Parser is enabled.
+	 */
+	public void parse(ChunkListener listener) throws DocumentException {
+		if ( this.parser.isLazy() ) {
+			throw new IllegalStateException("A chunked parse can not be used in lazy mode");
+		}
+		
+		File file = this.parser.getFile().getAbsoluteFile();
+		long size = file.length();
+		long modified = file.lastModified();
+		long checksum;
+		try {
+			checksum = PlistReader.checksum(file);
+		} catch (IOException e) {
+			throw new DocumentException(e.getMessage(), e);
+		}
+		
+		Checkpoint checkpoint = this.readCheckpoint();
+		if ( checkpoint != null && ! checkpoint.matches(size, modified, checksum) ) {
+			log.info("The checkpoint is stale, the XML File is parsed from the beginning: "+this.path);
+			checkpoint = null;
+		}
+		this.resumed = checkpoint != null;
+		this.checkpoint = this.resumed ? checkpoint : new Checkpoint(size, modified, checksum, -1, -1, -1, 0, 0);
+		
+		this.listener = listener;
+		this.tracks = new ArrayList<Track>(this.chunkSize);
+		this.playlists = new ArrayList<Playlist>(this.chunkSize);
+		try {
+			this.parser.parseChunks(this, checkpoint);
+		} finally {
+			this.listener = null;
+			this.tracks = null;
+			this.playlists = null;
+		}
+		
+		listener.library(this.parser.getLibrary());
+		this.checkpoint = null;
+		try {
+			Files.deleteIfExists(this.path);
+		} catch (IOException e) {
+			log.log(Level.WARNING, "Error while deleting the checkpoint: "+this.path, e);
+		}
+	}
+	
+	/**
+	 * Reads the checkpoint file. A damaged checkpoint is ignored.
+	 * @return The checkpoint, or null if there is no valid checkpoint.
+	 */
+	private Checkpoint readCheckpoint() {
+		if ( ! Files.isRegularFile(this.path) ) {
+			return null;
+		}
+		try {
+			Checkpoint checkpoint = Checkpoint.read(this.path);
+			if ( checkpoint == null ) {
+				log.info("The checkpoint has another format, the XML File is parsed from the beginning: "+this.path);
+			}
+			return checkpoint;
+		} catch (IOException e) {
+			log.log(Level.WARNING, "The checkpoint is damaged, the XML File is parsed from the beginning: "+this.path, e);
+			return null;
+		}
+	}
+	
+	/**
+	 * Adds a Track to the current chunk. Called by the Parser for every parsed Track.
+	 * @param track The {@linkplain Track} object.
+	 */
+	void addTrack(Track track) {
+		this.tracks.add(track);
+	}
+	
+	/**
+	 * Adds a Playlist to the current chunk. Called by the Parser for every parsed Playlist.
+	 * @param playlist The {@linkplain Playlist} object.
+	 */
+	void addPlaylist(Playlist playlist) {
+		this.playlists.add(playlist);
+	}
+	
+	/**
+	 * Commits the current chunk of Tracks if it is full.
+	 * @param offset The position after the last Track dict.
+	 * @throws IOException If the checkpoint can not be written.
+	 */
+	void trackRead(int offset) throws IOException {
+		if ( this.tracks.size() >= this.chunkSize ) {
+			this.commitTracks(offset, -1);
+		}
+	}
+	
+	/**
+	 * Commits the last chunk of Tracks at the end of the "Tracks" dict.
+	 * @param end The position after the "Tracks" dict.
+	 * @throws IOException If the checkpoint can not be written.
+	 */
+	void tracksRead(int end) throws IOException {
+		this.commitTracks(end, end);
+	}
+	
+	/**
+	 * Commits the current chunk of Playlists if it is full.
+	 * @param offset The position after the last Playlist dict.
+	 * @throws IOException If the checkpoint can not be written.
+	 */
+	void playlistRead(int offset) throws IOException {
+		this.playlistsOffset = offset;
+		if ( this.playlists.size() >= this.chunkSize ) {
+			this.commitPlaylists();
+		}
+	}
+	
+	/**
+	 * Commits the last chunk of Playlists at the end of the "Playlists" array.
+	 * @throws IOException If the checkpoint can not be written.
+	 */
+	void playlistsRead() throws IOException {
+		if ( ! this.playlists.isEmpty() ) {
+			this.commitPlaylists();
+		}
+	}
+	
+	/**
+	 * Hands the current chunk of Tracks to the listener and commits the checkpoint after it.
+	 * @param offset The position after the last Track dict of the chunk.
+	 * @param end The position after the "Tracks" dict, or -1.
+	 * @throws IOException If the checkpoint can not be written.
+	 */
+	private void commitTracks(int offset, int end) throws IOException {
+		List<Track> chunk = this.tracks;
+		if ( ! chunk.isEmpty() ) {
+			this.tracks = new ArrayList<Track>(this.chunkSize);
+			this.listener.tracks(Collections.unmodifiableList(chunk));
+		}
+		this.commit(this.checkpoint.withTracks(offset, end, chunk.size()));
+	}
+	
+	/**
+	 * Hands the current chunk of Playlists to the listener and commits the checkpoint after it.
+	 * @throws IOException If the checkpoint can not be written.
+	 */
+	private void commitPlaylists() throws IOException {
+		List<Playlist> chunk = this.playlists;
+		this.playlists = new ArrayList<Playlist>(this.chunkSize);
+		this.listener.playlists(Collections.unmodifiableList(chunk));
+		this.commit(this.checkpoint.withPlaylists(this.playlistsOffset, chunk.size()));
+	}
+	
+	/**
+	 * Writes the given checkpoint into the checkpoint file.
+	 * @param checkpoint The {@linkplain Checkpoint}.
+	 * @throws IOException If the checkpoint can not be written.
+	 */
+	private void commit(Checkpoint checkpoint) throws IOException {
+		checkpoint.write(this.path);
+		this.checkpoint = checkpoint;
+	}
+	
+	// --------------------------------------------------
+	// Getter
+	// --------------------------------------------------
+	
+	/**
+	 * Get the last committed checkpoint.
+	 * @return The {@linkplain Checkpoint}, or null if the last parse has been completed or no parse has been started.
+	 */
+	public Checkpoint getCheckpoint() {
+		return this.checkpoint;
+	}
+	
+	/**
+	 * Whether the last parse has resumed from a checkpoint instead of starting from the beginning.
+	 * @return True if the last parse has resumed.
+	 */
+	public boolean isResumed() {
+		return this.resumed;
+	}
+	
+	/**
+	 * Get the maximum number of Tracks or Playlists of a chunk.
+	 * @return The chunk size.
+	 */
+	public int getChunkSize() {
+		return this.chunkSize;
+	}
+	
+	/**
+	 * Get the checkpoint file.
+	 * @return The file.
+	 */
+	public File getCheckpointFile() {
+		return this.path.toFile();
+	}
+}
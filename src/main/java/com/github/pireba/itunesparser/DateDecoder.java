@@ -0,0 +1,165 @@
+package com.github.pireba.itunesparser;
+
+import java.nio.ByteBuffer;
+import java.text.ParseException;
+
+/**
+ * Decodes the dates of the iTunes Library XML File.<br>
+ * All dates are written in the fixed-width UTC format {@code yyyy-MM-ddTHH:mm:ssZ},
+ * e.g. {@code 2018-06-12T22:13:55Z}. The date is decoded into milliseconds since the epoch
+ * without creating any intermediate object.<br>
+ * The methods have no state, so they can be called from many threads at the same time.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+final class DateDecoder {
+	/**
+	 * The length of a date in the XML File.
+	 */
+	private static final int LENGTH = 20;
+	
+	/**
+	 * The milliseconds of one day.
+	 */
+	private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+	
+	/**
+	 * This class has only static methods.
+	 */
+	private DateDecoder() {}
+	
+	/**
+	 * Decodes the given date.
+	 * @param text The date in the format {@code yyyy-MM-ddTHH:mm:ssZ}.
+	 * @return The milliseconds since the epoch.
+	 * @throws ParseException If the text is not a date in the format of the XML File.
+	 */
+	static long decode(CharSequence text) throws ParseException {
+		if ( text.length() != LENGTH
+				|| text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T'
+				|| text.charAt(13) != ':' || text.charAt(16) != ':' || text.charAt(19) != 'Z' ) {
+			throw new ParseException("Unparseable date: \""+text+"\"", 0);
+		}
+		
+		int year = 0;
+		for ( int i=0; i<4; i++ ) {
+			year = year * 10 + digit(text, i);
+		}
+		int month = digit(text, 5) * 10 + digit(text, 6);
+		int day = digit(text, 8) * 10 + digit(text, 9);
+		int hour = digit(text, 11) * 10 + digit(text, 12);
+		int minute = digit(text, 14) * 10 + digit(text, 15);
+		int second = digit(text, 17) * 10 + digit(text, 18);
+		
+		if ( month < 1 || month > 12 ) {
+			throw new ParseException("Unparseable date: \""+text+"\"", 5);
+		}
+		return toMillis(year, month, day, hour, minute, second);
+	}
+	
+	/**
+	 * Decodes the date in the given range of the buffer.
+	 * @param buffer The buffer with the ASCII bytes of the date.
+	 * @param start The position of the first byte of the date.
+	 * @param end The end of the date (exclusive).
+	 * @return The milliseconds since the epoch.
+	 * @throws ParseException If the bytes are not a date in the format of the XML File.
+	 */
+	static long decode(ByteBuffer buffer, int start, int end) throws ParseException {
+		if ( end - start != LENGTH
+				|| buffer.get(start+4) != '-' || buffer.get(start+7) != '-' || buffer.get(start+10) != 'T'
+				|| buffer.get(start+13) != ':' || buffer.get(start+16) != ':' || buffer.get(start+19) != 'Z' ) {
+			throw unparseable(buffer, start, end);
+		}
+		
+		int year = 0;
+		for ( int i=0; i<4; i++ ) {
+			year = year * 10 + digit(buffer, start, end, start+i);
+		}
+		int month = digit(buffer, start, end, start+5) * 10 + digit(buffer, start, end, start+6);
+		int day = digit(buffer, start, end, start+8) * 10 + digit(buffer, start, end, start+9);
+		int hour = digit(buffer, start, end, start+11) * 10 + digit(buffer, start, end, start+12);
+		int minute = digit(buffer, start, end, start+14) * 10 + digit(buffer, start, end, start+15);
+		int second = digit(buffer, start, end, start+17) * 10 + digit(buffer, start, end, start+18);
+		
+		if ( month < 1 || month > 12 ) {
+			throw unparseable(buffer, start, end);
+		}
+		return toMillis(year, month, day, hour, minute, second);
+	}
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Calculates the milliseconds since the epoch for the given UTC date in the proleptic Gregorian calendar.<br>
+	 * Days, hours, minutes and seconds out of their range are carried over like a lenient calendar does.
+	 * @param year The year.
+	 * @param month The month from 1 to 12.
+	 * @param day The day of the month.
+	 * @param hour The hour of the day.
+	 * @param minute The minute of the hour.
+	 * @param second The second of the minute.
+	 * @return The milliseconds since the epoch.
+	 */
+	private static long toMillis(int year, int month, int day, int hour, int minute, int second) {
+		// Days since 1970-01-01, see http://howardhinnant.github.io/date_algorithms.html#days_from_civil
+		int y = month <= 2 ? year - 1 : year;
+		int era = (y >= 0 ? y : y - 399) / 400;
+		int yearOfEra = y - era * 400;
+		int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+		int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+		long days = era * 146097L + dayOfEra - 719468;
+		
+		return days * MILLIS_PER_DAY + ((hour * 60L + minute) * 60 + second) * 1000;
+	}
+	
+	/**
+	 * Get the digit at the given index of the text.
+	 * @param text The text.
+	 * @param index The index.
+	 * @return The digit.
+	 * @throws ParseException If the character is not a digit.
+	 */
+	private static int digit(CharSequence text, int index) throws ParseException {
+		int digit = text.charAt(index) - '0';
+		if ( digit < 0 || digit > 9 ) {
+			throw new ParseException("Unparseable date: \""+text+"\"", index);
+		}
+		return digit;
+	}
+	
+	/**
+	 * Get the digit at the given position of the buffer.
+	 * @param buffer The buffer.
+	 * @param start The position of the first byte of the date.
+	 * @param end The end of the date (exclusive).
+	 * @param position The position of the digit.
+	 * @return The digit.
+	 * @throws ParseException If the byte is not a digit.
+	 */
+	private static int digit(ByteBuffer buffer, int start, int end, int position) throws ParseException {
+		int digit = buffer.get(position) - '0';
+		if ( digit < 0 || digit > 9 ) {
+			throw unparseable(buffer, start, end);
+		}
+		return digit;
+	}
+	
+	/**
+	 * Creates the exception for a date in the given range of the buffer which can not be decoded.
+	 * @param buffer The buffer.
+	 * @param start The position of the first byte of the date.
+	 * @param end The end of the date (exclusive).
+	 * @return The exception.
+	 */
+	private static ParseException unparseable(ByteBuffer buffer, int start, int end) {
+		StringBuilder text = new StringBuilder(end - start);
+		for ( int i=start; i<end; i++ ) {
+			text.append((char) (buffer.get(i) & 0xFF));
+		}
+		return new ParseException("Unparseable date: \""+text+"\"", 0);
+	}
+}
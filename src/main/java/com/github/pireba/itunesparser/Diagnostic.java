@@ -0,0 +1,151 @@
+package com.github.pireba.itunesparser;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A distinct problem of an XML File: an unknown key or a malformed value of a key of the Library, the Tracks or the Playlists.<br>
+ * Every occurrence of the same kind, object type and key is counted by the same Diagnostic,
+ * which keeps the value and the error message of the first occurrence as a sample.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see Diagnostics
+ */
+public class Diagnostic {
+	/**
+	 * The maximum length of the sample value. Longer values are cut.
+	 */
+	private static final int SAMPLE_LENGTH = 100;
+	
+	private final DiagnosticKind kind;
+	private final String type;
+	private final String key;
+	private final String sampleValue;
+	private final String message;
+	
+	/**
+	 * The number of the Diagnostic in the order the problems have been found, starting with 1.
+	 */
+	private final int number;
+	
+	/**
+	 * The number of occurrences.
+	 */
+	private final AtomicLong count = new AtomicLong();
+	
+	/**
+	 * Creates a new Diagnostic without occurrences.
+	 * @param kind The {@linkplain DiagnosticKind}.
+	 * @param type The object type: "Library", "Track" or "Playlist".
+	 * @param key The key.
+	 * @param sampleValue The value of the first occurrence.
+	 * @param message The error message of the first occurrence or null.
+	 * @param number The number of the Diagnostic in the order the problems have been found.
+	 */
+	Diagnostic(DiagnosticKind kind, String type, String key, String sampleValue, String message, int number) {
+		this.kind = kind;
+		this.type = type;
+		this.key = key;
+		this.sampleValue = sampleValue != null && sampleValue.length() > SAMPLE_LENGTH ? sampleValue.substring(0, SAMPLE_LENGTH)+"..." : sampleValue;
+		this.message = message;
+		this.number = number;
+	}
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Counts an occurrence.
+	 * @return The number of occurrences including this one.
+	 */
+	long increment() {
+		return this.count.incrementAndGet();
+	}
+	
+	/**
+	 * Counts the given number of occurrences, e.g. the ones of a snapshot.
+	 * @param count The number of occurrences.
+	 */
+	void increment(long count) {
+		this.count.addAndGet(count);
+	}
+	
+	@Override
+	public String toString() {
+		String text;
+		if ( this.kind == DiagnosticKind.UNKNOWN_KEY ) {
+			text = "Unknown "+this.type+" key '"+this.key+"' with value '"+this.sampleValue+"'";
+		} else if ( this.kind == DiagnosticKind.MISSING_ID ) {
+			text = "A "+this.type+" without a valid '"+this.key+"' is skipped";
+		} else {
+			text = "Malformed value '"+this.sampleValue+"' of the "+this.type+" key '"+this.key+"'";
+			if ( this.message != null ) {
+				text += ": "+this.message;
+			}
+		}
+		long count = this.getCount();
+		return count > 1 ? text+" ("+count+" times)" : text;
+	}
+	
+	// --------------------------------------------------
+	// Getter
+	// --------------------------------------------------
+	
+	/**
+	 * Get the kind of the problem.
+	 * @return The {@linkplain DiagnosticKind}.
+	 */
+	public DiagnosticKind getKind() {
+		return this.kind;
+	}
+	
+	/**
+	 * Get the type of the object of the key.
+	 * @return "Library", "Track" or "Playlist".
+	 */
+	public String getType() {
+		return this.type;
+	}
+	
+	/**
+	 * Get the key.
+	 * @return The key.
+	 */
+	public String getKey() {
+		return this.key;
+	}
+	
+	/**
+	 * Get the value of the first occurrence.<br>
+	 * Values longer than {@value #SAMPLE_LENGTH} characters are cut.
+	 * @return The sample value.
+	 */
+	public String getSampleValue() {
+		return this.sampleValue;
+	}
+	
+	/**
+	 * Get the error message of the first occurrence of a malformed value.
+	 * @return The error message, or null for an unknown key.
+	 */
+	public String getMessage() {
+		return this.message;
+	}
+	
+	/**
+	 * Get the number of occurrences in the XML File.
+	 * @return The number of occurrences.
+	 */
+	public long getCount() {
+		return this.count.get();
+	}
+	
+	/**
+	 * Get the number of the Diagnostic in the order the problems have been found.
+	 * @return The number, starting with 1.
+	 */
+	int getNumber() {
+		return this.number;
+	}
+}
@@ -0,0 +1,40 @@
+package com.github.pireba.itunesparser;
+
+/**
+ * Thrown by a parse in strict mode at the first unknown key or malformed value of the XML File.<br>
+ * {@link Parser#parse()} and {@link Parser#update()} throw it as the cause of a {@linkplain org.dom4j.DocumentException}.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see Parser#setStrict(boolean)
+ */
+public class DiagnosticException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+	
+	/**
+	 * The problem which has failed the parse.
+	 */
+	private final transient Diagnostic diagnostic;
+	
+	/**
+	 * Creates a new exception of the given problem.
+	 * @param diagnostic The {@linkplain Diagnostic}.
+	 * @param cause The error of a malformed value or null.
+	 */
+	DiagnosticException(Diagnostic diagnostic, Throwable cause) {
+		super(diagnostic.toString(), cause);
+		this.diagnostic = diagnostic;
+	}
+	
+	// --------------------------------------------------
+	// Getter
+	// --------------------------------------------------
+	
+	/**
+	 * Get the problem which has failed the parse.
+	 * @return The {@linkplain Diagnostic}.
+	 */
+	public Diagnostic getDiagnostic() {
+		return this.diagnostic;
+	}
+}
@@ -0,0 +1,27 @@
+package com.github.pireba.itunesparser;
+
+/**
+ * The kinds of problems of an XML File which are collected by the {@linkplain Diagnostics} of a parse.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see Diagnostic#getKind()
+ */
+public enum DiagnosticKind {
+	/**
+	 * A key of a Library, Track or Playlist dict which is not known by the Parser. The key-value pair is skipped.
+	 */
+	UNKNOWN_KEY,
+	
+	/**
+	 * A value which can not be converted into the data type of its property, e.g. a date which is not valid.
+	 * The property is skipped.
+	 */
+	MALFORMED_VALUE,
+	
+	/**
+	 * A Track or Playlist dict without a Track ID or Playlist ID, or with one which is not a number.
+	 * The Track or Playlist is skipped, because it can not be added to the Map of its ID.
+	 */
+	MISSING_ID
+}
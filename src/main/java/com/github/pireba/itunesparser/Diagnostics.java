@@ -0,0 +1,181 @@
+package com.github.pireba.itunesparser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The unknown keys and malformed values of a parse, deduplicated by their kind, object type and key.<br>
+ * Every distinct problem is a {@linkplain Diagnostic} with the number of its occurrences and a sample value,
+ * so a new key of a newer iTunes or Music version costs one entry, no matter how many Tracks have it.<br>
+ * The Diagnostics are thread-safe, so the threads of the parallel decoding record into the same Diagnostics.
+ * 
+ * <h2>Check the XML File for new keys</h2>
+ * <pre>
+ *  parser.parse();
+ *  for ( Diagnostic diagnostic : parser.getDiagnostics().list(DiagnosticKind.UNKNOWN_KEY) ) {
+ *      System.out.println(diagnostic.getType()+" "+diagnostic.getKey()+": "+diagnostic.getCount());
+ *  }
+ * </pre>
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see Parser#getDiagnostics()
+ */
+public class Diagnostics {
+	/**
+	 * The object types in the order of their Maps.
+	 */
+	private static final String[] TYPES = {"Library", "Track", "Playlist"};
+	
+	/**
+	 * The Diagnostics by their key, one Map per kind and object type.
+	 */
+	private final Map<String, Diagnostic>[] diagnostics;
+	
+	/**
+	 * The number of distinct Diagnostics.
+	 */
+	private final AtomicInteger size = new AtomicInteger();
+	
+	/**
+	 * Creates new empty Diagnostics.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	Diagnostics() {
+		this.diagnostics = new Map[DiagnosticKind.values().length * TYPES.length];
+		for ( int i=0; i<this.diagnostics.length; i++ ) {
+			this.diagnostics[i] = new ConcurrentHashMap<>();
+		}
+	}
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Counts an occurrence of a problem.<br>
+	 * The sample value is only converted into a String by the first occurrence.
+	 * @param kind The {@linkplain DiagnosticKind}.
+	 * @param object The {@linkplain Library}, {@linkplain Track} or {@linkplain Playlist} object of the key.
+	 * @param key The key.
+	 * @param value The value.
+	 * @param message The error message of a malformed value or null.
+	 * @return The new {@linkplain Diagnostic} if this is the first occurrence, otherwise null.
+	 */
+	Diagnostic record(DiagnosticKind kind, Object object, String key, Value value, String message) {
+		int type = object instanceof Library ? 0 : object instanceof Track ? 1 : 2;
+		Map<String, Diagnostic> diagnostics = this.diagnostics[kind.ordinal() * TYPES.length + type];
+		
+		Diagnostic diagnostic = diagnostics.get(key);
+		if ( diagnostic == null ) {
+			diagnostic = diagnostics.computeIfAbsent(key, k -> new Diagnostic(kind, TYPES[type], k, String.valueOf(value), message, this.size.incrementAndGet()));
+		}
+		return diagnostic.increment() == 1 ? diagnostic : null;
+	}
+	
+	/**
+	 * Adds a Diagnostic of a snapshot with the number of its occurrences.
+	 * @param kind The {@linkplain DiagnosticKind}.
+	 * @param type The object type: "Library", "Track" or "Playlist".
+	 * @param key The key.
+	 * @param sampleValue The value of the first occurrence.
+	 * @param message The error message of the first occurrence or null.
+	 * @param count The number of occurrences.
+	 * @return The {@linkplain Diagnostic}.
+	 * @throws IllegalArgumentException If the object type is unknown.
+	 */
+	Diagnostic restore(DiagnosticKind kind, String type, String key, String sampleValue, String message, long count) {
+		int index = Arrays.asList(TYPES).indexOf(type);
+		if ( index < 0 ) {
+			throw new IllegalArgumentException("Unknown object type: "+type);
+		}
+		Map<String, Diagnostic> diagnostics = this.diagnostics[kind.ordinal() * TYPES.length + index];
+		Diagnostic diagnostic = diagnostics.computeIfAbsent(key, k -> new Diagnostic(kind, TYPES[index], k, sampleValue, message, this.size.incrementAndGet()));
+		diagnostic.increment(count);
+		return diagnostic;
+	}
+	
+	/**
+	 * Get every Diagnostic in the order the problems have been found.
+	 * @return The List of {@linkplain Diagnostic} objects.
+	 */
+	List<Diagnostic> inOrder() {
+		List<Diagnostic> list = new ArrayList<>();
+		for ( Map<String, Diagnostic> diagnostics : this.diagnostics ) {
+			list.addAll(diagnostics.values());
+		}
+		list.sort(Comparator.comparingInt(Diagnostic::getNumber));
+		return list;
+	}
+	
+	/**
+	 * Get every Diagnostic, sorted by the kind, the object type and the key.
+	 * @return The List of {@linkplain Diagnostic} objects.
+	 */
+	public List<Diagnostic> list() {
+		return this.list(null);
+	}
+	
+	/**
+	 * Get the Diagnostics of the given kind, sorted by the object type and the key.
+	 * @param kind The {@linkplain DiagnosticKind} or null for every kind.
+	 * @return The List of {@linkplain Diagnostic} objects.
+	 */
+	public List<Diagnostic> list(DiagnosticKind kind) {
+		List<Diagnostic> list = new ArrayList<>();
+		for ( int i=0; i<this.diagnostics.length; i++ ) {
+			if ( kind == null || i / TYPES.length == kind.ordinal() ) {
+				List<Diagnostic> sorted = new ArrayList<>(this.diagnostics[i].values());
+				sorted.sort(Comparator.comparing(Diagnostic::getKey));
+				list.addAll(sorted);
+			}
+		}
+		return Collections.unmodifiableList(list);
+	}
+	
+	/**
+	 * Returns true if the parse has found no unknown key and no malformed value.
+	 * @return True if there are no Diagnostics.
+	 */
+	public boolean isEmpty() {
+		return this.size.get() == 0;
+	}
+	
+	/**
+	 * Get the number of distinct Diagnostics.
+	 * @return The number of Diagnostics.
+	 */
+	public int size() {
+		return this.size.get();
+	}
+	
+	/**
+	 * Get the number of occurrences of every Diagnostic.
+	 * @return The number of unknown keys and malformed values in the XML File.
+	 */
+	public long getCount() {
+		long count = 0;
+		for ( Map<String, Diagnostic> diagnostics : this.diagnostics ) {
+			for ( Diagnostic diagnostic : diagnostics.values() ) {
+				count += diagnostic.getCount();
+			}
+		}
+		return count;
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append(this.size()).append(" Diagnostics with ").append(this.getCount()).append(" occurrences");
+		for ( Diagnostic diagnostic : this.list() ) {
+			builder.append(System.lineSeparator()).append("  ").append(diagnostic);
+		}
+		return builder.toString();
+	}
+}
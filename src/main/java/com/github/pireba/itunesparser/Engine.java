@@ -0,0 +1,38 @@
+package com.github.pireba.itunesparser;
+
+/**
+ * The engines which can be used by the {@linkplain Parser} to read the iTunes Library XML File.<br>
+ * All engines fill the same {@linkplain Library}, {@linkplain Track} and {@linkplain Playlist} objects.
+ * 
+ * <h2>Select an engine</h2>
+ * <pre>
+ *  Parser parser = new Parser(file);
+ *  parser.setEngine(Engine.STAX);
+ *  parser.parse();
+ * </pre>
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+public enum Engine {
+	/**
+	 * Reads the XML File with a dom4j {@linkplain org.dom4j.io.SAXReader}.<br>
+	 * An Element tree is built for every Track and Playlist dict before its properties are read.<br>
+	 * This is the default engine.
+	 */
+	DOM4J,
+	
+	/**
+	 * Reads the XML File with a {@linkplain javax.xml.stream.XMLStreamReader}.<br>
+	 * The key-value pairs are read straight into the result objects without building an Element tree.
+	 */
+	STAX,
+	
+	/**
+	 * Reads the memory-mapped XML File with a tokenizer for the plist grammar.<br>
+	 * Keys and numbers are matched directly from the UTF-8 bytes of the XML File,
+	 * Strings are only created for the values which need them.<br>
+	 * The XML File must not be larger than 2 GB.
+	 */
+	PLIST
+}
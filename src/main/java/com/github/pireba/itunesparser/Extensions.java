@@ -0,0 +1,385 @@
+package com.github.pireba.itunesparser;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The key-value pairs of a {@linkplain Track} or {@linkplain Playlist} whose keys are not known by the Parser,
+ * e.g. the keys of a newer iTunes or Music version.<br>
+ * The values keep the data type of their plist element: a String for {@code string} and {@code data},
+ * a Long for {@code integer}, a Double for {@code real}, a Date for {@code date} and a Boolean for {@code true} and {@code false}.
+ * A value which can not be converted into its data type is kept as a String. Nested dicts and arrays are not kept.
+ * If only selected properties are parsed, see {@link Parser#setTrackProperties(java.util.Set)}, the unknown keys are skipped as well.<br>
+ * <br>
+ * The keys are not stored per object. The interned key names are held by a shared shape,
+ * which every object of a parse with the same keys in the same order uses, so an object only stores an array of its values.
+ * Every parse has its own root shape, see {@link #root()}, so the shapes are dropped with the objects of the parse.
+ * A key is looked up by comparing the few keys of the shape, by identity first.<br>
+ * Extensions are read-only and can be read by any number of threads.
+ * 
+ * <h2>Read a key of a newer iTunes version</h2>
+ * <pre>
+ *  Boolean appleMusic = track.getExtensions().getBoolean("Apple Music");
+ * </pre>
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see Track#getExtensions()
+ * @see Playlist#getExtensions()
+ */
+public final class Extensions {
+	/**
+	 * The Extensions of an object without unknown keys.<br>
+	 * Its shape is not shared, a parse adds the first key to the Extensions of {@link #root()}.
+	 */
+	public static final Extensions EMPTY = new Extensions(new Shape(new String[0], false), new Object[0]);
+	
+	/**
+	 * The shape with the keys.
+	 */
+	private final Shape shape;
+	
+	/**
+	 * The values in the order of the keys of the shape.
+	 */
+	private final Object[] values;
+	
+	/**
+	 * Creates new Extensions.
+	 * @param shape The shape with the keys.
+	 * @param values The values in the order of the keys.
+	 */
+	private Extensions(Shape shape, Object[] values) {
+		this.shape = shape;
+		this.values = values;
+	}
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Creates new empty Extensions with a new root shape.<br>
+	 * Every parse starts from its own root, so the shapes of the keys of a parse are only shared by its objects.
+	 * @return The empty Extensions.
+	 */
+	static Extensions root() {
+		return new Extensions(new Shape(new String[0], true), new Object[0]);
+	}
+	
+	/**
+	 * Get new Extensions with the given key-value pair.<br>
+	 * If the key is already set, its value is replaced.
+	 * @param key The key.
+	 * @param value The value.
+	 * @return The new Extensions.
+	 */
+	Extensions with(String key, Object value) {
+		int index = this.shape.indexOf(key);
+		if ( index >= 0 ) {
+			Object[] values = this.values.clone();
+			values[index] = value;
+			return new Extensions(this.shape, values);
+		}
+		Object[] values = Arrays.copyOf(this.values, this.values.length + 1);
+		values[this.values.length] = value;
+		return new Extensions(this.shape.next(key), values);
+	}
+	
+	/**
+	 * Get the value of the given key.
+	 * @param key The key.
+	 * @return The value, or null if the key is not set.
+	 */
+	public Object get(String key) {
+		int index = this.shape.indexOf(key);
+		return index < 0 ? null : this.value(index);
+	}
+	
+	/**
+	 * Get the value at the given index. A Date is copied, so a caller can not modify the stored Date.
+	 * @param index The index.
+	 * @return The value.
+	 */
+	private Object value(int index) {
+		Object value = this.values[index];
+		return value instanceof Date ? new Date(((Date) value).getTime()) : value;
+	}
+	
+	/**
+	 * Get the value of the given key as a String.
+	 * @param key The key.
+	 * @return The value, or null if the key is not set or the value is not a String.
+	 */
+	public String getString(String key) {
+		return this.get(key, String.class);
+	}
+	
+	/**
+	 * Get the value of the given key as a Long.
+	 * @param key The key.
+	 * @return The value, or null if the key is not set or the value is not an integer.
+	 */
+	public Long getLong(String key) {
+		return this.get(key, Long.class);
+	}
+	
+	/**
+	 * Get the value of the given key as a Double.
+	 * @param key The key.
+	 * @return The value, or null if the key is not set or the value is not a real.
+	 */
+	public Double getDouble(String key) {
+		return this.get(key, Double.class);
+	}
+	
+	/**
+	 * Get the value of the given key as a Boolean.
+	 * @param key The key.
+	 * @return The value, or null if the key is not set or the value is not a boolean.
+	 */
+	public Boolean getBoolean(String key) {
+		return this.get(key, Boolean.class);
+	}
+	
+	/**
+	 * Get the value of the given key as a Date.
+	 * @param key The key.
+	 * @return The value, or null if the key is not set or the value is not a date.
+	 */
+	public Date getDate(String key) {
+		return this.get(key, Date.class);
+	}
+	
+	/**
+	 * Get the value of the given key if it has the given type.
+	 * @param key The key.
+	 * @param type The type.
+	 * @return The value, or null if the key is not set or the value has another type.
+	 */
+	private <T> T get(String key, Class<T> type) {
+		Object value = this.get(key);
+		return type.isInstance(value) ? type.cast(value) : null;
+	}
+	
+	/**
+	 * Returns true if the given key is set.
+	 * @param key The key.
+	 * @return True if the key is set.
+	 */
+	public boolean containsKey(String key) {
+		return this.shape.indexOf(key) >= 0;
+	}
+	
+	/**
+	 * Get the keys in the order of the XML File.
+	 * @return The read-only List of the keys.
+	 */
+	public List<String> getKeys() {
+		return Collections.unmodifiableList(Arrays.asList(this.shape.keys));
+	}
+	
+	/**
+	 * Get the number of keys.
+	 * @return The number of keys.
+	 */
+	public int size() {
+		return this.values.length;
+	}
+	
+	/**
+	 * Returns true if no key is set.
+	 * @return True if there are no keys.
+	 */
+	public boolean isEmpty() {
+		return this.values.length == 0;
+	}
+	
+	/**
+	 * Get a read-only Map view of the key-value pairs in the order of the XML File.
+	 * @return The Map from the key to the value.
+	 */
+	public Map<String, Object> asMap() {
+		return new AbstractMap<String, Object>() {
+			@Override
+			public Object get(Object key) {
+				return key instanceof String ? Extensions.this.get((String) key) : null;
+			}
+			
+			@Override
+			public boolean containsKey(Object key) {
+				return key instanceof String && Extensions.this.containsKey((String) key);
+			}
+			
+			@Override
+			public Set<Entry<String, Object>> entrySet() {
+				return new AbstractSet<Entry<String, Object>>() {
+					@Override
+					public Iterator<Entry<String, Object>> iterator() {
+						return new Iterator<Entry<String, Object>>() {
+							private int next = 0;
+							
+							@Override
+							public boolean hasNext() {
+								return this.next < Extensions.this.values.length;
+							}
+							
+							@Override
+							public Entry<String, Object> next() {
+								if ( ! this.hasNext() ) {
+									throw new NoSuchElementException();
+								}
+								int index = this.next++;
+								return new SimpleImmutableEntry<>(Extensions.this.shape.keys[index], Extensions.this.value(index));
+							}
+						};
+					}
+					
+					@Override
+					public int size() {
+						return Extensions.this.values.length;
+					}
+				};
+			}
+		};
+	}
+	
+	@Override
+	public String toString() {
+		return this.asMap().toString();
+	}
+	
+	/**
+	 * The keys of all Extensions with the same keys in the same order.<br>
+	 * A shape knows the shapes with one more key, so the objects of an XML File share a few shapes.
+	 * The shapes are thread-safe, so the threads of the parallel decoding find and create the same shapes.
+	 */
+	private static final class Shape {
+		/**
+		 * The number of shapes with one more key which are shared. Every further one is created per object,
+		 * so an XML File with countless distinct keys can not fill the memory with shapes.
+		 * A shape which is created per object does not keep its shapes with one more key either.
+		 */
+		private static final int MAX_TRANSITIONS = 64;
+		
+		/**
+		 * The number of keys which are compared one by one. A shape with more keys has a Map.
+		 */
+		private static final int LINEAR_KEYS = 8;
+		
+		/**
+		 * The interned keys in the order of the XML File.
+		 */
+		private final String[] keys;
+		
+		/**
+		 * The index of every key, or null if the keys are compared one by one.
+		 */
+		private final Map<String, Integer> indexes;
+		
+		/**
+		 * True if the shape is shared and keeps its shapes with one more key.
+		 */
+		private final boolean shared;
+		
+		/**
+		 * The shapes with one more key by the key, or null until the first one is created.
+		 */
+		private volatile Map<String, Shape> transitions;
+		
+		/**
+		 * Creates a new shape.
+		 * @param keys The interned keys.
+		 * @param shared True if the shape is shared and keeps its shapes with one more key.
+		 */
+		private Shape(String[] keys, boolean shared) {
+			this.keys = keys;
+			this.shared = shared;
+			if ( keys.length > LINEAR_KEYS ) {
+				this.indexes = new HashMap<>();
+				for ( int i=0; i<keys.length; i++ ) {
+					this.indexes.put(keys[i], i);
+				}
+			} else {
+				this.indexes = null;
+			}
+		}
+		
+		/**
+		 * Get the shape with the keys of this shape and the given key.
+		 * @param key The key, which is not a key of this shape.
+		 * @return The shape.
+		 */
+		private Shape next(String key) {
+			Map<String, Shape> transitions = this.transitions;
+			Shape next = transitions == null ? null : transitions.get(key);
+			if ( next != null ) {
+				return next;
+			}
+			
+			String[] keys = Arrays.copyOf(this.keys, this.keys.length + 1);
+			keys[this.keys.length] = key.intern();
+			if ( ! this.shared ) {
+				return new Shape(keys, false);
+			}
+			transitions = this.transitions();
+			if ( transitions.size() >= MAX_TRANSITIONS ) {
+				return new Shape(keys, false);
+			}
+			next = new Shape(keys, true);
+			Shape shared = transitions.putIfAbsent(keys[this.keys.length], next);
+			return shared != null ? shared : next;
+		}
+		
+		/**
+		 * Get the shapes with one more key, which are created with the first one.
+		 * @return The Map of the shapes by their key.
+		 */
+		private Map<String, Shape> transitions() {
+			Map<String, Shape> transitions = this.transitions;
+			if ( transitions == null ) {
+				synchronized ( this ) {
+					transitions = this.transitions;
+					if ( transitions == null ) {
+						transitions = new ConcurrentHashMap<>();
+						this.transitions = transitions;
+					}
+				}
+			}
+			return transitions;
+		}
+		
+		/**
+		 * Get the index of the given key.
+		 * @param key The key.
+		 * @return The index, or -1 if the key is not a key of this shape.
+		 */
+		private int indexOf(String key) {
+			if ( this.indexes != null ) {
+				Integer index = this.indexes.get(key);
+				return index == null ? -1 : index;
+			}
+			for ( int i=0; i<this.keys.length; i++ ) {
+				if ( this.keys[i] == key ) {
+					return i;
+				}
+			}
+			for ( int i=0; i<this.keys.length; i++ ) {
+				if ( this.keys[i].equals(key) ) {
+					return i;
+				}
+			}
+			return -1;
+		}
+	}
+}
@@ -0,0 +1,344 @@
+package com.github.pireba.itunesparser;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A compact Map from an int key to an object.<br>
+ * The keys are stored in an int array, so there is no Integer box and no entry object per key.
+ * The lookup is an open addressing hash table of int indexes. The entries are iterated in the order they have been added.<br>
+ * A removed entry leaves a gap in the arrays, which is closed when the arrays are full. A null key is not permitted,
+ * the Parser skips a Track or Playlist without ID before it is added.
+ * Used for the Track and Playlist Maps of the {@linkplain Parser}, which look up every Playlist item by its int Track ID.<br>
+ * After {@link #freeze()} the Map is read-only and can be read by any number of threads without locking.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @param <V> The type of the values.
+ */
+class IntMap<V> extends AbstractMap<Integer, V> {
+	/**
+	 * The value of a removed entry.
+	 */
+	private static final Object REMOVED = new Object();
+	
+	/**
+	 * The keys in the order they have been added, including the removed ones.
+	 */
+	private int[] keys;
+	
+	/**
+	 * The values by the index of their key, or {@link #REMOVED}.
+	 */
+	private Object[] values;
+	
+	/**
+	 * The hash table from the key to the index + 1. Empty slots are 0.
+	 */
+	private int[] slots;
+	
+	/**
+	 * The number of used indexes, including the removed ones.
+	 */
+	private int count;
+	
+	/**
+	 * The number of keys.
+	 */
+	private int size;
+	
+	/**
+	 * True if the Map is read-only.
+	 */
+	private boolean frozen = false;
+	
+	/**
+	 * Creates a new empty Map.
+	 * @param capacity The number of keys the Map can hold before it grows.
+	 */
+	IntMap(int capacity) {
+		int length = Math.max(capacity, 16);
+		this.keys = new int[length];
+		this.values = new Object[length];
+		this.slots = new int[Integer.highestOneBit(length * 2 - 1) * 2];
+	}
+	
+	/**
+	 * Creates a new Map with the entries of the given Map, in the order of its iteration.
+	 * @param map The Map.
+	 */
+	IntMap(Map<Integer, ? extends V> map) {
+		this(map.size());
+		for ( Entry<Integer, ? extends V> entry : map.entrySet() ) {
+			this.put((int) entry.getKey(), entry.getValue());
+		}
+	}
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Adds a key with its value.<br>
+	 * If the key has already been added, its value is replaced.
+	 * @param key The key.
+	 * @param value The value.
+	 * @return The previous value or null.
+	 * @throws UnsupportedOperationException If the Map is frozen.
+	 */
+	V put(int key, V value) {
+		this.checkFrozen();
+		
+		int slot = this.slot(this.slots, key);
+		if ( this.slots[slot] != 0 ) {
+			int index = this.slots[slot] - 1;
+			V previous = this.value(index);
+			this.values[index] = value;
+			return previous;
+		}
+		
+		if ( this.count == this.keys.length ) {
+			this.resize();
+			slot = this.slot(this.slots, key);
+		}
+		this.keys[this.count] = key;
+		this.values[this.count] = value;
+		this.count++;
+		this.size++;
+		this.slots[slot] = this.count;
+		
+		// Keep the table at most half full.
+		if ( this.count * 2 > this.slots.length ) {
+			this.rehash(this.slots.length * 2);
+		}
+		return null;
+	}
+	
+	/**
+	 * Removes the given key.
+	 * @param key The key.
+	 * @return The value of the key, or null if the key has not been added.
+	 * @throws UnsupportedOperationException If the Map is frozen.
+	 */
+	V remove(int key) {
+		this.checkFrozen();
+		
+		int slot = this.slot(this.slots, key);
+		if ( this.slots[slot] == 0 ) {
+			return null;
+		}
+		int index = this.slots[slot] - 1;
+		V value = this.value(index);
+		this.values[index] = REMOVED;
+		this.size--;
+		
+		// Move the following keys of the probe sequence into the empty slot, so no probe sequence is broken.
+		int mask = this.slots.length - 1;
+		int empty = slot;
+		int next = slot;
+		while ( this.slots[next = (next + 1) & mask] != 0 ) {
+			int home = home(this.keys[this.slots[next] - 1], mask);
+			boolean between = empty <= next ? empty < home && home <= next : empty < home || home <= next;
+			if ( ! between ) {
+				this.slots[empty] = this.slots[next];
+				empty = next;
+			}
+		}
+		this.slots[empty] = 0;
+		return value;
+	}
+	
+	/**
+	 * Closes the gaps of the removed entries, or doubles the arrays if there are only few gaps.
+	 */
+	private void resize() {
+		if ( this.size * 4 > this.count * 3 ) {
+			this.keys = Arrays.copyOf(this.keys, this.count * 2);
+			this.values = Arrays.copyOf(this.values, this.count * 2);
+			return;
+		}
+		
+		int size = 0;
+		for ( int i=0; i<this.count; i++ ) {
+			if ( this.values[i] != REMOVED ) {
+				this.keys[size] = this.keys[i];
+				this.values[size] = this.values[i];
+				size++;
+			}
+		}
+		Arrays.fill(this.values, size, this.count, null);
+		this.count = size;
+		this.rehash(this.slots.length);
+	}
+	
+	/**
+	 * Rebuilds the hash table with the given number of slots.
+	 * @param length The number of slots, a power of two.
+	 */
+	private void rehash(int length) {
+		int[] slots = new int[length];
+		for ( int i=0; i<this.count; i++ ) {
+			if ( this.values[i] != REMOVED ) {
+				slots[this.slot(slots, this.keys[i])] = i + 1;
+			}
+		}
+		this.slots = slots;
+	}
+	
+	/**
+	 * Get the value of the given key.
+	 * @param key The key.
+	 * @return The value, or null if the key has not been added.
+	 */
+	V get(int key) {
+		int index = this.slots[this.slot(this.slots, key)];
+		return index == 0 ? null : this.value(index - 1);
+	}
+	
+	/**
+	 * Makes the Map read-only.
+	 */
+	void freeze() {
+		this.frozen = true;
+	}
+	
+	/**
+	 * Throws an {@linkplain UnsupportedOperationException} if the Map is frozen.
+	 */
+	private void checkFrozen() {
+		if ( this.frozen ) {
+			throw new UnsupportedOperationException("The Map is frozen");
+		}
+	}
+	
+	/**
+	 * Get the value at the given index.
+	 * @param index The index in the order the keys have been added.
+	 * @return The value.
+	 */
+	@SuppressWarnings("unchecked")
+	private V value(int index) {
+		return (V) this.values[index];
+	}
+	
+	/**
+	 * Get the slot of the given key, or the empty slot where it belongs.
+	 * @param slots The hash table.
+	 * @param key The key.
+	 * @return The slot.
+	 */
+	private int slot(int[] slots, int key) {
+		int mask = slots.length - 1;
+		int slot = home(key, mask);
+		while ( slots[slot] != 0 && this.keys[slots[slot] - 1] != key ) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+	
+	/**
+	 * Get the first slot of the probe sequence of the given key.
+	 * @param key The key.
+	 * @param mask The mask of the table size.
+	 * @return The slot.
+	 */
+	private static int home(int key, int mask) {
+		int hash = key * 0x9E3779B9;
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+	
+	@Override
+	public V get(Object key) {
+		return key instanceof Integer ? this.get((int) (Integer) key) : null;
+	}
+	
+	@Override
+	public boolean containsKey(Object key) {
+		return key instanceof Integer && this.slots[this.slot(this.slots, (Integer) key)] != 0;
+	}
+	
+	@Override
+	public V put(Integer key, V value) {
+		return this.put((int) Objects.requireNonNull(key, "The IntMap does not permit a null key"), value);
+	}
+	
+	@Override
+	public V remove(Object key) {
+		return key instanceof Integer ? this.remove((int) (Integer) key) : null;
+	}
+	
+	@Override
+	public void clear() {
+		this.checkFrozen();
+		Arrays.fill(this.values, 0, this.count, null);
+		Arrays.fill(this.slots, 0);
+		this.count = 0;
+		this.size = 0;
+	}
+	
+	@Override
+	public int size() {
+		return this.size;
+	}
+	
+	@Override
+	public Set<Entry<Integer, V>> entrySet() {
+		return new AbstractSet<Entry<Integer, V>>() {
+			@Override
+			public Iterator<Entry<Integer, V>> iterator() {
+				return new Iterator<Entry<Integer, V>>() {
+					private int next = this.skip(0);
+					private int last = -1;
+					
+					@Override
+					public boolean hasNext() {
+						return this.next < IntMap.this.count;
+					}
+					
+					@Override
+					public Entry<Integer, V> next() {
+						if ( ! this.hasNext() ) {
+							throw new NoSuchElementException();
+						}
+						this.last = this.next;
+						this.next = this.skip(this.next + 1);
+						return new SimpleImmutableEntry<>(IntMap.this.keys[this.last], IntMap.this.value(this.last));
+					}
+					
+					@Override
+					public void remove() {
+						if ( this.last < 0 ) {
+							throw new IllegalStateException();
+						}
+						IntMap.this.remove(IntMap.this.keys[this.last]);
+						this.last = -1;
+					}
+					
+					/**
+					 * Skips the removed entries.
+					 * @param from The first index to check.
+					 * @return The next index of an entry which has not been removed.
+					 */
+					private int skip(int from) {
+						int index = from;
+						while ( index < IntMap.this.count && IntMap.this.values[index] == REMOVED ) {
+							index++;
+						}
+						return index;
+					}
+				};
+			}
+			
+			@Override
+			public int size() {
+				return IntMap.this.size;
+			}
+		};
+	}
+}
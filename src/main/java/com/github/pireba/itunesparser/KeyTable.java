@@ -0,0 +1,167 @@
+package com.github.pireba.itunesparser;
+
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A perfect hash table to look up a {@linkplain Property} by its key in the XML File.<br>
+ * The table is built once for all constants of a property enum. The hash function is searched
+ * until every key has its own slot, so a lookup is one hash over the key and one comparison.<br>
+ * A key can be looked up from the raw UTF-8 bytes of the XML File without creating a String,
+ * or from a String for the engines which read the key as a String anyway.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @param <E> The property enum.
+ */
+class KeyTable<E extends Enum<E> & Property> {
+	/**
+	 * The properties by their slot. Empty slots are null.
+	 */
+	private final E[] properties;
+	
+	/**
+	 * The ASCII bytes of the keys by their slot.
+	 */
+	private final byte[][] keys;
+	
+	/**
+	 * The mask to get the slot from a hash.
+	 */
+	private final int mask;
+	
+	/**
+	 * The multiplier of the hash function which maps every key to its own slot.
+	 */
+	private final int multiplier;
+	
+	/**
+	 * Creates a new table for the given properties.
+	 * @param properties All constants of the property enum.
+	 */
+	@SuppressWarnings("unchecked")
+	KeyTable(E[] properties) {
+		byte[][] keys = new byte[properties.length][];
+		for ( int i=0; i<properties.length; i++ ) {
+			keys[i] = properties[i].getKey().getBytes(StandardCharsets.US_ASCII);
+		}
+		
+		// Search the smallest table and a multiplier without collisions.
+		int size = Integer.highestOneBit(Math.max(properties.length, 1) * 2 - 1) * 2;
+		int multiplier = 31;
+		int[] slots;
+		while ( (slots = this.slots(keys, size - 1, multiplier)) == null ) {
+			multiplier += 2;
+			if ( multiplier > 4096 ) {
+				multiplier = 31;
+				size *= 2;
+			}
+		}
+		
+		this.properties = (E[]) Array.newInstance(properties.getClass().getComponentType(), size);
+		this.keys = new byte[size][];
+		for ( int i=0; i<properties.length; i++ ) {
+			this.properties[slots[i]] = properties[i];
+			this.keys[slots[i]] = keys[i];
+		}
+		this.mask = size - 1;
+		this.multiplier = multiplier;
+	}
+	
+	/**
+	 * Get the slots of the keys for the given hash function.
+	 * @param keys The keys.
+	 * @param mask The mask of the table size.
+	 * @param multiplier The multiplier of the hash function.
+	 * @return The slot of every key, or null if two keys have the same slot.
+	 */
+	private int[] slots(byte[][] keys, int mask, int multiplier) {
+		boolean[] used = new boolean[mask + 1];
+		int[] slots = new int[keys.length];
+		for ( int i=0; i<keys.length; i++ ) {
+			int hash = 0;
+			for ( byte b : keys[i] ) {
+				hash = hash * multiplier + b;
+			}
+			int slot = mix(hash) & mask;
+			if ( used[slot] ) {
+				return null;
+			}
+			used[slot] = true;
+			slots[i] = slot;
+		}
+		return slots;
+	}
+	
+	/**
+	 * Spreads the higher bits of the hash into the lower bits which are used for the slot.
+	 * @param hash The hash.
+	 * @return The mixed hash.
+	 */
+	private static int mix(int hash) {
+		return hash ^ (hash >>> 16) ^ (hash >>> 8);
+	}
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Get the property for the key in the given range of the buffer.
+	 * @param buffer The buffer with the UTF-8 bytes of the key.
+	 * @param start The position of the first byte of the key.
+	 * @param end The end of the key (exclusive).
+	 * @return The property, or null if the key is unknown.
+	 */
+	E get(ByteBuffer buffer, int start, int end) {
+		int multiplier = this.multiplier;
+		int hash = 0;
+		for ( int i=start; i<end; i++ ) {
+			hash = hash * multiplier + buffer.get(i);
+		}
+		int slot = mix(hash) & this.mask;
+		
+		byte[] key = this.keys[slot];
+		if ( key == null || key.length != end - start ) {
+			return null;
+		}
+		for ( int i=0; i<key.length; i++ ) {
+			if ( key[i] != buffer.get(start+i) ) {
+				return null;
+			}
+		}
+		return this.properties[slot];
+	}
+	
+	/**
+	 * Get the property for the given key.
+	 * @param key The key.
+	 * @return The property, or null if the key is unknown.
+	 */
+	E get(String key) {
+		int multiplier = this.multiplier;
+		int length = key.length();
+		int hash = 0;
+		for ( int i=0; i<length; i++ ) {
+			char c = key.charAt(i);
+			if ( c > 0x7F ) {
+				// All keys are ASCII.
+				return null;
+			}
+			hash = hash * multiplier + c;
+		}
+		int slot = mix(hash) & this.mask;
+		
+		byte[] bytes = this.keys[slot];
+		if ( bytes == null || bytes.length != length ) {
+			return null;
+		}
+		for ( int i=0; i<length; i++ ) {
+			if ( bytes[i] != key.charAt(i) ) {
+				return null;
+			}
+		}
+		return this.properties[slot];
+	}
+}
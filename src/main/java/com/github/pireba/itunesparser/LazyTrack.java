@@ -0,0 +1,962 @@
+package com.github.pireba.itunesparser;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Date;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A {@linkplain Track} of a lazy parse.<br>
+ * The Track only knows its Track ID and the byte range of its dict in the mapped XML File.
+ * The properties are decoded the first time any other method is called.
+ * Decoding is thread-safe, concurrent calls wait until the Track has been decoded once.<br>
+ * The XML File must not be changed while its lazy Tracks are in use.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see Parser#setLazy(boolean)
+ */
+class LazyTrack extends Track {
+	private static final Logger log = Logger.getLogger(LazyTrack.class.getName());
+	
+	/**
+	 * The reader which decodes the Track dict, or null after the Track has been decoded.
+	 */
+	private PlistReader reader;
+	
+	/**
+	 * The Track ID from the key of the Track dict.
+	 */
+	private final int trackID;
+	
+	/**
+	 * The position of the Track dict in the XML File.
+	 */
+	private final int start;
+	
+	/**
+	 * The end of the Track dict in the XML File (exclusive).
+	 */
+	private final int end;
+	
+	/**
+	 * True after the Track has been decoded.
+	 */
+	private volatile boolean loaded = false;
+	
+	/**
+	 * True while the Track is decoded.<br>
+	 * The decoding sets the properties with the setters of this object, which must not decode again.
+	 */
+	private boolean loading = false;
+	
+	/**
+	 * Creates a new Track which is decoded on demand.
+	 * @param reader The {@linkplain PlistReader} which decodes the Track dict.
+	 * @param trackID The Track ID.
+	 * @param start The position of the Track dict in the XML File.
+	 * @param end The end of the Track dict in the XML File (exclusive).
+	 */
+	LazyTrack(PlistReader reader, int trackID, int start, int end) {
+		this.reader = reader;
+		this.trackID = trackID;
+		this.start = start;
+		this.end = end;
+	}
+	
+	/**
+	 * Decodes the Track dict if this has not been done yet.<br>
+	 * If the Track dict is not valid, or has an unknown key or malformed value in strict mode,
+	 * the error is logged and the properties decoded so far are kept.
+	 */
+	private void load() {
+		if ( this.loaded ) {
+			return;
+		}
+		synchronized ( this ) {
+			if ( this.loaded || this.loading ) {
+				return;
+			}
+			this.loading = true;
+			try {
+				try {
+					this.reader.readTrack(this.start, this.end, this);
+				} catch (IOException | DiagnosticException e) {
+					log.log(Level.SEVERE, "Can not decode the Track with the ID '"+this.trackID+"'", e);
+				}
+			} catch (InternalError e) {
+				// Compiled code reports the fault of a truncated mapped file after the access,
+				// e.g. when the reader has already returned or thrown an IOException.
+				log.log(Level.SEVERE, "The XML File has been changed, can not decode the Track with the ID '"+this.trackID+"'", e);
+			} finally {
+				this.loading = false;
+				this.reader = null;
+				this.loaded = true;
+			}
+		}
+	}
+	
+	/**
+	 * The decoding of a frozen Track sets its properties once.
+	 */
+	@Override
+	void checkFrozen() {
+		if ( ! this.loading ) {
+			super.checkFrozen();
+		}
+	}
+	
+	// --------------------------------------------------
+	// Getter & Setter
+	// --------------------------------------------------
+	
+	/**
+	 * Get the Track ID without decoding the Track.
+	 * @return The Track ID.
+	 */
+	@Override
+	public Integer getTrackID() {
+		return this.loaded ? super.getTrackID() : this.trackID;
+	}
+	
+	@Override
+	public Boolean getAlbumRatingComputed() {
+		this.load();
+		return super.getAlbumRatingComputed();
+	}
+	
+	@Override
+	public Integer getBitrate() {
+		this.load();
+		return super.getBitrate();
+	}
+	
+	@Override
+	public String getAlbum() {
+		this.load();
+		return super.getAlbum();
+	}
+	
+	@Override
+	public String getAlbumArtist() {
+		this.load();
+		return super.getAlbumArtist();
+	}
+	
+	@Override
+	public Integer getAlbumRating() {
+		this.load();
+		return super.getAlbumRating();
+	}
+	
+	@Override
+	public Boolean isAlbumRatingComputed() {
+		this.load();
+		return super.isAlbumRatingComputed();
+	}
+	
+	@Override
+	public String getArtist() {
+		this.load();
+		return super.getArtist();
+	}
+	
+	@Override
+	public Integer getArtworkCount() {
+		this.load();
+		return super.getArtworkCount();
+	}
+	
+	@Override
+	public Integer getBitRate() {
+		this.load();
+		return super.getBitRate();
+	}
+	
+	@Override
+	public Integer getBpm() {
+		this.load();
+		return super.getBpm();
+	}
+	
+	@Override
+	public Boolean isClean() {
+		this.load();
+		return super.isClean();
+	}
+	
+	@Override
+	public String getComments() {
+		this.load();
+		return super.getComments();
+	}
+	
+	@Override
+	public Boolean isCompilation() {
+		this.load();
+		return super.isCompilation();
+	}
+	
+	@Override
+	public String getComposer() {
+		this.load();
+		return super.getComposer();
+	}
+	
+	@Override
+	public Date getDateAdded() {
+		this.load();
+		return super.getDateAdded();
+	}
+	
+	@Override
+	public Date getDateModified() {
+		this.load();
+		return super.getDateModified();
+	}
+	
+	@Override
+	public Boolean isDisabled() {
+		this.load();
+		return super.isDisabled();
+	}
+	
+	@Override
+	public Integer getDiscCount() {
+		this.load();
+		return super.getDiscCount();
+	}
+	
+	@Override
+	public Integer getDiscNumber() {
+		this.load();
+		return super.getDiscNumber();
+	}
+	
+	@Override
+	public String getEpisode() {
+		this.load();
+		return super.getEpisode();
+	}
+	
+	@Override
+	public Integer getEpisodeOrder() {
+		this.load();
+		return super.getEpisodeOrder();
+	}
+	
+	@Override
+	public String getEqualizer() {
+		this.load();
+		return super.getEqualizer();
+	}
+	
+	@Override
+	public Boolean isExplicit() {
+		this.load();
+		return super.isExplicit();
+	}
+	
+	@Override
+	public Integer getFileFolderCount() {
+		this.load();
+		return super.getFileFolderCount();
+	}
+	
+	@Override
+	public Long getFileType() {
+		this.load();
+		return super.getFileType();
+	}
+	
+	@Override
+	public String getGenre() {
+		this.load();
+		return super.getGenre();
+	}
+	
+	@Override
+	public String getGrouping() {
+		this.load();
+		return super.getGrouping();
+	}
+	
+	@Override
+	public String getKind() {
+		this.load();
+		return super.getKind();
+	}
+	
+	@Override
+	public Integer getLibraryFolderCount() {
+		this.load();
+		return super.getLibraryFolderCount();
+	}
+	
+	@Override
+	String getLocationDirectory() {
+		this.load();
+		return super.getLocationDirectory();
+	}
+	
+	@Override
+	String getLocationFile() {
+		this.load();
+		return super.getLocationFile();
+	}
+	
+	@Override
+	void setLocation(String directory, String file) {
+		this.load();
+		super.setLocation(directory, file);
+	}
+	
+	@Override
+	public URL getLocation() {
+		this.load();
+		return super.getLocation();
+	}
+	
+	@Override
+	public Boolean isLoved() {
+		this.load();
+		return super.isLoved();
+	}
+	
+	@Override
+	public String getName() {
+		this.load();
+		return super.getName();
+	}
+	
+	@Override
+	public Boolean isPartOfGaplessAlbum() {
+		this.load();
+		return super.isPartOfGaplessAlbum();
+	}
+	
+	@Override
+	public String getPersistentID() {
+		this.load();
+		return super.getPersistentID();
+	}
+	
+	@Override
+	public Integer getPlayCount() {
+		this.load();
+		return super.getPlayCount();
+	}
+	
+	@Override
+	public Long getPlayDate() {
+		this.load();
+		return super.getPlayDate();
+	}
+	
+	@Override
+	public Date getPlayDateUTC() {
+		this.load();
+		return super.getPlayDateUTC();
+	}
+	
+	@Override
+	public Boolean isPurchased() {
+		this.load();
+		return super.isPurchased();
+	}
+	
+	@Override
+	public Integer getRating() {
+		this.load();
+		return super.getRating();
+	}
+	
+	@Override
+	public Date getReleaseDate() {
+		this.load();
+		return super.getReleaseDate();
+	}
+	
+	@Override
+	public Integer getSampleRate() {
+		this.load();
+		return super.getSampleRate();
+	}
+	
+	@Override
+	public Integer getSeason() {
+		this.load();
+		return super.getSeason();
+	}
+	
+	@Override
+	public String getSeries() {
+		this.load();
+		return super.getSeries();
+	}
+	
+	@Override
+	public Long getSize() {
+		this.load();
+		return super.getSize();
+	}
+	
+	@Override
+	public Integer getSkipCount() {
+		this.load();
+		return super.getSkipCount();
+	}
+	
+	@Override
+	public Date getSkipDate() {
+		this.load();
+		return super.getSkipDate();
+	}
+	
+	@Override
+	public String getSortAlbum() {
+		this.load();
+		return super.getSortAlbum();
+	}
+	
+	@Override
+	public String getSortAlbumArtist() {
+		this.load();
+		return super.getSortAlbumArtist();
+	}
+	
+	@Override
+	public String getSortArtist() {
+		this.load();
+		return super.getSortArtist();
+	}
+	
+	@Override
+	public String getSortComposer() {
+		this.load();
+		return super.getSortComposer();
+	}
+	
+	@Override
+	public String getSortName() {
+		this.load();
+		return super.getSortName();
+	}
+	
+	@Override
+	public String getSortSeries() {
+		this.load();
+		return super.getSortSeries();
+	}
+	
+	@Override
+	public Long getStartTime() {
+		this.load();
+		return super.getStartTime();
+	}
+	
+	@Override
+	public Long getStopTime() {
+		this.load();
+		return super.getStopTime();
+	}
+	
+	@Override
+	public Long getTotalTime() {
+		this.load();
+		return super.getTotalTime();
+	}
+	
+	@Override
+	public Integer getTrackCount() {
+		this.load();
+		return super.getTrackCount();
+	}
+	
+	@Override
+	public Integer getTrackNumber() {
+		this.load();
+		return super.getTrackNumber();
+	}
+	
+	@Override
+	public String getTrackType() {
+		this.load();
+		return super.getTrackType();
+	}
+	
+	@Override
+	public Integer getVolumeAdjustment() {
+		this.load();
+		return super.getVolumeAdjustment();
+	}
+	
+	@Override
+	public Integer getYear() {
+		this.load();
+		return super.getYear();
+	}
+	
+	@Override
+	public Boolean isVideo() {
+		this.load();
+		return super.isVideo();
+	}
+	
+	@Override
+	public Boolean isMovie() {
+		this.load();
+		return super.isMovie();
+	}
+	
+	@Override
+	public Integer getVideoHeight() {
+		this.load();
+		return super.getVideoHeight();
+	}
+	
+	@Override
+	public Integer getVideoWidth() {
+		this.load();
+		return super.getVideoWidth();
+	}
+	
+	@Override
+	public Boolean isUnplayed() {
+		this.load();
+		return super.isUnplayed();
+	}
+	
+	@Override
+	public Boolean isPodcast() {
+		this.load();
+		return super.isPodcast();
+	}
+	
+	@Override
+	public Integer getNormalization() {
+		this.load();
+		return super.getNormalization();
+	}
+	
+	@Override
+	public String getWork() {
+		this.load();
+		return super.getWork();
+	}
+	
+	@Override
+	public Extensions getExtensions() {
+		this.load();
+		return super.getExtensions();
+	}
+	
+	@Override
+	public void setAlbum(String album) {
+		this.load();
+		super.setAlbum(album);
+	}
+	
+	@Override
+	public void setAlbumArtist(String albumArtist) {
+		this.load();
+		super.setAlbumArtist(albumArtist);
+	}
+	
+	@Override
+	public void setAlbumRating(Integer albumRating) {
+		this.load();
+		super.setAlbumRating(albumRating);
+	}
+	
+	@Override
+	public void setAlbumRatingComputed(Boolean albumRatingComputed) {
+		this.load();
+		super.setAlbumRatingComputed(albumRatingComputed);
+	}
+	
+	@Override
+	public void setArtist(String artist) {
+		this.load();
+		super.setArtist(artist);
+	}
+	
+	@Override
+	public void setArtworkCount(Integer artworkCount) {
+		this.load();
+		super.setArtworkCount(artworkCount);
+	}
+	
+	@Override
+	public void setBitrate(Integer bitrate) {
+		this.load();
+		super.setBitrate(bitrate);
+	}
+	
+	@Override
+	public void setBpm(Integer bpm) {
+		this.load();
+		super.setBpm(bpm);
+	}
+	
+	@Override
+	public void setClean(Boolean clean) {
+		this.load();
+		super.setClean(clean);
+	}
+	
+	@Override
+	public void setComments(String comments) {
+		this.load();
+		super.setComments(comments);
+	}
+	
+	@Override
+	public void setCompilation(Boolean compilation) {
+		this.load();
+		super.setCompilation(compilation);
+	}
+	
+	@Override
+	public void setComposer(String composer) {
+		this.load();
+		super.setComposer(composer);
+	}
+	
+	@Override
+	public void setDateAdded(Date dateAdded) {
+		this.load();
+		super.setDateAdded(dateAdded);
+	}
+	
+	@Override
+	public void setDateModified(Date dateModified) {
+		this.load();
+		super.setDateModified(dateModified);
+	}
+	
+	@Override
+	public void setDisabled(Boolean disabled) {
+		this.load();
+		super.setDisabled(disabled);
+	}
+	
+	@Override
+	public void setDiscCount(Integer discCount) {
+		this.load();
+		super.setDiscCount(discCount);
+	}
+	
+	@Override
+	public void setDiscNumber(Integer discNumber) {
+		this.load();
+		super.setDiscNumber(discNumber);
+	}
+	
+	@Override
+	public void setEpisode(String episode) {
+		this.load();
+		super.setEpisode(episode);
+	}
+	
+	@Override
+	public void setEpisodeOrder(Integer episodeOrder) {
+		this.load();
+		super.setEpisodeOrder(episodeOrder);
+	}
+	
+	@Override
+	public void setEqualizer(String equalizer) {
+		this.load();
+		super.setEqualizer(equalizer);
+	}
+	
+	@Override
+	public void setExplicit(Boolean explicit) {
+		this.load();
+		super.setExplicit(explicit);
+	}
+	
+	@Override
+	public void setFileFolderCount(Integer fileFolderCount) {
+		this.load();
+		super.setFileFolderCount(fileFolderCount);
+	}
+	
+	@Override
+	public void setFileType(Long fileType) {
+		this.load();
+		super.setFileType(fileType);
+	}
+	
+	@Override
+	public void setGenre(String genre) {
+		this.load();
+		super.setGenre(genre);
+	}
+	
+	@Override
+	public void setGrouping(String grouping) {
+		this.load();
+		super.setGrouping(grouping);
+	}
+	
+	@Override
+	public void setKind(String kind) {
+		this.load();
+		super.setKind(kind);
+	}
+	
+	@Override
+	public void setLibraryFolderCount(Integer libraryFolderCount) {
+		this.load();
+		super.setLibraryFolderCount(libraryFolderCount);
+	}
+	
+	@Override
+	public void setLocation(URL location) {
+		this.load();
+		super.setLocation(location);
+	}
+	
+	@Override
+	public void setLoved(Boolean loved) {
+		this.load();
+		super.setLoved(loved);
+	}
+	
+	@Override
+	public void setName(String name) {
+		this.load();
+		super.setName(name);
+	}
+	
+	@Override
+	public void setPartOfGaplessAlbum(Boolean partOfGaplessAlbum) {
+		this.load();
+		super.setPartOfGaplessAlbum(partOfGaplessAlbum);
+	}
+	
+	@Override
+	public void setPersistentID(String persistentID) {
+		this.load();
+		super.setPersistentID(persistentID);
+	}
+	
+	@Override
+	public void setPlayCount(Integer playCount) {
+		this.load();
+		super.setPlayCount(playCount);
+	}
+	
+	@Override
+	public void setPlayDate(Long playDate) {
+		this.load();
+		super.setPlayDate(playDate);
+	}
+	
+	@Override
+	public void setPlayDateUTC(Date playDateUTC) {
+		this.load();
+		super.setPlayDateUTC(playDateUTC);
+	}
+	
+	@Override
+	public void setPurchased(Boolean purchased) {
+		this.load();
+		super.setPurchased(purchased);
+	}
+	
+	@Override
+	public void setRating(Integer rating) {
+		this.load();
+		super.setRating(rating);
+	}
+	
+	@Override
+	public void setReleaseDate(Date releaseDate) {
+		this.load();
+		super.setReleaseDate(releaseDate);
+	}
+	
+	@Override
+	public void setSampleRate(Integer sampleRate) {
+		this.load();
+		super.setSampleRate(sampleRate);
+	}
+	
+	@Override
+	public void setSeason(Integer season) {
+		this.load();
+		super.setSeason(season);
+	}
+	
+	@Override
+	public void setSeries(String series) {
+		this.load();
+		super.setSeries(series);
+	}
+	
+	@Override
+	public void setSize(Long size) {
+		this.load();
+		super.setSize(size);
+	}
+	
+	@Override
+	public void setSkipCount(Integer skipCount) {
+		this.load();
+		super.setSkipCount(skipCount);
+	}
+	
+	@Override
+	public void setSkipDate(Date skipDate) {
+		this.load();
+		super.setSkipDate(skipDate);
+	}
+	
+	@Override
+	public void setSortAlbum(String sortAlbum) {
+		this.load();
+		super.setSortAlbum(sortAlbum);
+	}
+	
+	@Override
+	public void setSortAlbumArtist(String sortAlbumArtist) {
+		this.load();
+		super.setSortAlbumArtist(sortAlbumArtist);
+	}
+	
+	@Override
+	public void setSortArtist(String sortArtist) {
+		this.load();
+		super.setSortArtist(sortArtist);
+	}
+	
+	@Override
+	public void setSortComposer(String sortComposer) {
+		this.load();
+		super.setSortComposer(sortComposer);
+	}
+	
+	@Override
+	public void setSortName(String sortName) {
+		this.load();
+		super.setSortName(sortName);
+	}
+	
+	@Override
+	public void setSortSeries(String sortSeries) {
+		this.load();
+		super.setSortSeries(sortSeries);
+	}
+	
+	@Override
+	public void setStartTime(Long startTime) {
+		this.load();
+		super.setStartTime(startTime);
+	}
+	
+	@Override
+	public void setStopTime(Long stopTime) {
+		this.load();
+		super.setStopTime(stopTime);
+	}
+	
+	@Override
+	public void setTotalTime(Long totalTime) {
+		this.load();
+		super.setTotalTime(totalTime);
+	}
+	
+	@Override
+	public void setTrackCount(Integer trackCount) {
+		this.load();
+		super.setTrackCount(trackCount);
+	}
+	
+	@Override
+	public void setTrackID(Integer trackID) {
+		this.load();
+		super.setTrackID(trackID);
+	}
+	
+	@Override
+	public void setTrackNumber(Integer trackNumber) {
+		this.load();
+		super.setTrackNumber(trackNumber);
+	}
+	
+	@Override
+	public void setTrackType(String trackType) {
+		this.load();
+		super.setTrackType(trackType);
+	}
+	
+	@Override
+	public void setVolumeAdjustment(Integer volumeAdjustment) {
+		this.load();
+		super.setVolumeAdjustment(volumeAdjustment);
+	}
+	
+	@Override
+	public void setYear(Integer year) {
+		this.load();
+		super.setYear(year);
+	}
+	
+	@Override
+	public void setVideo(Boolean isVideo) {
+		this.load();
+		super.setVideo(isVideo);
+	}
+	
+	@Override
+	public void setMovie(Boolean isMovie) {
+		this.load();
+		super.setMovie(isMovie);
+	}
+	
+	@Override
+	public void setVideoHeight(Integer videoHeight) {
+		this.load();
+		super.setVideoHeight(videoHeight);
+	}
+	
+	@Override
+	public void setVideoWidth(Integer videoWidth) {
+		this.load();
+		super.setVideoWidth(videoWidth);
+	}
+	
+	@Override
+	public void setUnplayed(Boolean isUnplayed) {
+		this.load();
+		super.setUnplayed(isUnplayed);
+	}
+	
+	@Override
+	public void setPodcast(Boolean isPodcast) {
+		this.load();
+		super.setPodcast(isPodcast);
+	}
+	
+	@Override
+	public void setNormalization(Integer normalization) {
+		this.load();
+		super.setNormalization(normalization);
+	}
+	
+	@Override
+	public void setWork(String work) {
+		this.load();
+		super.setWork(work);
+	}
+	
+	@Override
+	void setExtensions(Extensions extensions) {
+		this.load();
+		super.setExtensions(extensions);
+	}
+}
@@ -17,17 +17,47 @@ import java.util.Date;
  */
 public class Library {
 	private String applicationVersion;
-	private Date date;
+	private Long date;
 	private Integer features;
 	private String libraryPersistentID;
 	private Integer majorVersion;
 	private Integer minorVersion;
-	private URL musicFolder;
+	private String musicFolder;
 	private Boolean showContentRatings;
+	private boolean frozen;
 	
 	// Constructor
 	public Library() {}
 	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Freezes this Library, every setter throws an {@linkplain UnsupportedOperationException} afterwards.<br>
+	 * See {@link Parser#getResult()}.
+	 */
+	void freeze() {
+		this.frozen = true;
+	}
+	
+	/**
+	 * Returns true if this Library is frozen and can not be changed anymore.
+	 * @return True if this Library is frozen.
+	 */
+	public boolean isFrozen() {
+		return this.frozen;
+	}
+	
+	/**
+	 * Throws an {@linkplain UnsupportedOperationException} if this Library is frozen.
+	 */
+	void checkFrozen() {
+		if ( this.frozen ) {
+			throw new UnsupportedOperationException("The Library is frozen");
+		}
+	}
+	
 	// --------------------------------------------------
 	// Getter
 	// --------------------------------------------------
@@ -37,7 +67,7 @@ public class Library {
 	}
 	
 	public Date getDate() {
-		return this.date;
+		return Track.toDate(this.date);
 	}
 	
 	public Integer getFeatures() {
@@ -57,7 +87,7 @@ public class Library {
 	}
 	
 	public URL getMusicFolder() {
-		return this.musicFolder;
+		return Locations.toURL(this.musicFolder);
 	}
 	
 	public Boolean isShowContentRatings() {
@@ -69,34 +99,48 @@ public class Library {
 	// --------------------------------------------------
 	
 	public void setApplicationVersion(String applicationVersion) {
+		this.checkFrozen();
 		this.applicationVersion = applicationVersion;
 	}
 	
 	public void setDate(Date date) {
-		this.date = date;
+		this.checkFrozen();
+		this.date = Track.toMillis(date);
 	}
 	
 	public void setFeatures(Integer features) {
+		this.checkFrozen();
 		this.features = features;
 	}
 	
 	public void setLibraryPersistentID(String libraryPersistentID) {
+		this.checkFrozen();
 		this.libraryPersistentID = libraryPersistentID;
 	}
 	
 	public void setMajorVersion(Integer majorVersion) {
+		this.checkFrozen();
 		this.majorVersion = majorVersion;
 	}
 	
 	public void setMinorVersion(Integer minorVersion) {
+		this.checkFrozen();
 		this.minorVersion = minorVersion;
 	}
 	
 	public void setMusicFolder(URL musicFolder) {
+		this.checkFrozen();
+		this.musicFolder = musicFolder == null ? null : musicFolder.toString();
+	}
+	
+	// Sets the Music Folder as the String of its URL.
+	void setMusicFolder(String musicFolder) {
+		this.checkFrozen();
 		this.musicFolder = musicFolder;
 	}
 	
 	public void setShowContentRatings(Boolean showContentRatings) {
+		this.checkFrozen();
 		this.showContentRatings = showContentRatings;
 	}
 }
\ No newline at end of file
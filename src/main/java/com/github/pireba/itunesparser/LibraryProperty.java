@@ -0,0 +1,46 @@
+package com.github.pireba.itunesparser;
+
+/**
+ * The properties of a {@linkplain Library} in the iTunes Library XML File.<br>
+ * Every constant names the key of the property in the XML File.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+public enum LibraryProperty implements Property {
+	MAJOR_VERSION("Major Version"),
+	MINOR_VERSION("Minor Version"),
+	DATE("Date"),
+	APPLICATION_VERSION("Application Version"),
+	FEATURES("Features"),
+	SHOW_CONTENT_RATINGS("Show Content Ratings"),
+	MUSIC_FOLDER("Music Folder"),
+	LIBRARY_PERSISTENT_ID("Library Persistent ID");
+	
+	/**
+	 * The table to look up a property by its key in the XML File.
+	 */
+	static final KeyTable<LibraryProperty> KEYS = new KeyTable<>(values());
+	
+	/**
+	 * The key of the property in the XML File.
+	 */
+	private final String key;
+	
+	/**
+	 * Creates a new property constant.
+	 * @param key The key of the property in the XML File.
+	 */
+	private LibraryProperty(String key) {
+		this.key = key;
+	}
+	
+	/**
+	 * Get the key of the property in the XML File.
+	 * @return The key.
+	 */
+	@Override
+	public String getKey() {
+		return this.key;
+	}
+}
@@ -0,0 +1,18 @@
+package com.github.pireba.itunesparser;
+
+/**
+ * Receives the {@linkplain Library} objects of a streaming parse.<br>
+ * The Library is handed over once the whole XML File has been parsed.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see Parser#parse(TrackVisitor, PlaylistVisitor, LibraryVisitor)
+ */
+@FunctionalInterface
+public interface LibraryVisitor {
+	/**
+	 * Called for the parsed {@linkplain Library}.
+	 * @param library The {@linkplain Library} object.
+	 */
+	void visit(Library library);
+}
@@ -0,0 +1,236 @@
+package com.github.pireba.itunesparser;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Watches the XML File of a {@linkplain Parser} and parses it again in the background whenever it has been changed.<br>
+ * iTunes rewrites the XML File in several bursts, so a parse is only started when the XML File
+ * has not been changed for the delay of the watcher.
+ * After every successful parse a new {@linkplain ParseResult} is published, which replaces the previous one in a single step.
+ * Readers never block and never see a Map which is still being filled. If a parse fails, the error is logged
+ * and the previous result is kept.
+ * 
+ * <h2>Watch the XML File</h2>
+ * <pre>
+ *  Parser parser = new Parser(file);
+ *  parser.setEngine(Engine.PLIST);
+ *  LibraryWatcher watcher = new LibraryWatcher(parser);
+ *  watcher.start();
+ *  ...
+ *  ParseResult result = watcher.getResult();
+ *  Map&#60;Integer, Track&#62; tracks = result.getTracks();
+ *  ...
+ *  watcher.close();
+ * </pre>
+ * 
+ * The Parser is used by the thread of the watcher and must not be used otherwise until the watcher is closed.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+public class LibraryWatcher implements Closeable {
+	private static final Logger log = Logger.getLogger(LibraryWatcher.class.getName());
+	
+	/**
+	 * The default delay in milliseconds.
+	 */
+	public static final long DEFAULT_DELAY = 2000;
+	
+	/**
+	 * The Parser which parses the XML File.
+	 */
+	private final Parser parser;
+	
+	/**
+	 * The time in milliseconds the XML File must not be changed before it is parsed.
+	 */
+	private final long delay;
+	
+	/**
+	 * The result of the last successful parse, or null.
+	 */
+	private volatile ParseResult result;
+	
+	/**
+	 * The service which watches the directory of the XML File, or null if the watcher has not been started.
+	 */
+	private WatchService watchService;
+	
+	/**
+	 * The thread which waits for the changes and parses the XML File.
+	 */
+	private Thread thread;
+	
+	/**
+	 * Creates a new watcher for the XML File of the given Parser with the default delay of {@value #DEFAULT_DELAY} ms.<br>
+	 * To start watching, call the method {@code start()}.
+	 * @param parser The {@linkplain Parser}.
+	 */
+	public LibraryWatcher(Parser parser) {
+		this(parser, DEFAULT_DELAY);
+	}
+	
+	/**
+	 * Creates a new watcher for the XML File of the given Parser.<br>
+	 * To start watching, call the method {@code start()}.
+	 * @param parser The {@linkplain Parser}.
+	 * @param delay The time in milliseconds the XML File must not be changed before it is parsed.
+	 */
+	public LibraryWatcher(Parser parser, long delay) {
+		if ( delay < 0 ) {
+			throw new IllegalArgumentException("The delay must not be negative: "+delay);
+		}
+		this.parser = parser;
+		this.delay = delay;
+	}
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Starts watching the XML File.<br>
+	 * The XML File is parsed at once and then after every change on a background thread.
+	 * @throws IOException If the directory of the XML File can not be watched.
+	 * @throws IllegalStateException If the watcher has already been started or the Parser is in lazy mode,
+	 * whose Tracks must not be used while the XML File is changed.
+	 */
+	public synchronized void start() throws IOException {
+		if ( this.watchService != null ) {
+			throw new IllegalStateException("The watcher has already been started");
+		}
+		if ( this.parser.isLazy() ) {
+			throw new IllegalStateException("The XML File of a lazy parse can not be watched");
+		}
+		
+		File file = this.parser.getFile().getAbsoluteFile();
+		Path directory = file.getParentFile().toPath();
+		this.watchService = directory.getFileSystem().newWatchService();
+		try {
+			directory.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+		} catch (IOException e) {
+			this.watchService.close();
+			throw e;
+		}
+		
+		this.thread = new Thread(() -> this.run(this.watchService, file.getName()), "LibraryWatcher "+file.getName());
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+	
+	/**
+	 * Stops watching the XML File.<br>
+	 * A running parse is not waited for, its result is discarded.
+	 * @throws IOException If the watch service can not be closed.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if ( this.watchService == null ) {
+			return;
+		}
+		this.thread.interrupt();
+		this.watchService.close();
+	}
+	
+	/**
+	 * Parses the XML File and then waits for its changes until the watch service is closed.
+	 * @param watchService The {@linkplain WatchService}.
+	 * @param name The name of the XML File.
+	 */
+	private void run(WatchService watchService, String name) {
+		this.parse();
+		
+		try {
+			while ( true ) {
+				if ( ! this.isChanged(watchService.take(), name) ) {
+					continue;
+				}
+				
+				// Wait until the XML File has not been changed for the delay.
+				WatchKey key;
+				while ( (key = watchService.poll(this.delay, TimeUnit.MILLISECONDS)) != null ) {
+					this.isChanged(key, name);
+				}
+				
+				this.parse();
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// The watcher has been closed.
+		}
+	}
+	
+	/**
+	 * Returns true if the events of the given key contain a change of the XML File.
+	 * @param key The {@linkplain WatchKey} with the events.
+	 * @param name The name of the XML File.
+	 * @return True if the XML File has been changed.
+	 */
+	private boolean isChanged(WatchKey key, String name) {
+		boolean changed = false;
+		for ( WatchEvent<?> event : key.pollEvents() ) {
+			// After an overflow events may have been lost, so the XML File may have been changed.
+			if ( event.kind() == StandardWatchEventKinds.OVERFLOW || event.context().toString().equals(name) ) {
+				changed = true;
+			}
+		}
+		if ( ! key.reset() ) {
+			log.warning("The directory of the XML File can not be watched anymore: "+key.watchable());
+		}
+		return changed;
+	}
+	
+	/**
+	 * Parses the XML File and publishes the result.<br>
+	 * If an error occurs, it is logged and the previous result is kept, so the watcher keeps running.
+	 * If the XML File has been changed during the parse, the result may be a mix of both versions and is not published.
+	 * The change is reported by the watch service, so the XML File is parsed again.
+	 */
+	private void parse() {
+		File file = this.parser.getFile();
+		long size = file.length();
+		long modified = file.lastModified();
+		try {
+			this.parser.parse();
+			if ( file.length() != size || file.lastModified() != modified ) {
+				log.fine("The XML File has been changed during the parse, the previous result is kept.");
+			} else if ( ! Thread.currentThread().isInterrupted() ) {
+				this.result = this.parser.getResult();
+			}
+		} catch (Throwable e) {
+			// Not even an Error may end the thread, otherwise the result would never be updated again.
+			log.log(Level.SEVERE, "Error while parsing the XML File, the previous result is kept.", e);
+		}
+	}
+	
+	// --------------------------------------------------
+	// Getter
+	// --------------------------------------------------
+	
+	/**
+	 * Get the result of the last successful parse.<br>
+	 * The result is never changed, a later parse publishes a new result.
+	 * @return The {@linkplain ParseResult}, or null if no parse has finished yet.
+	 */
+	public ParseResult getResult() {
+		return this.result;
+	}
+	
+	/**
+	 * Get the time in milliseconds the XML File must not be changed before it is parsed.
+	 * @return The delay in milliseconds.
+	 */
+	public long getDelay() {
+		return this.delay;
+	}
+}
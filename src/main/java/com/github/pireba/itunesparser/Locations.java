@@ -0,0 +1,208 @@
+package com.github.pireba.itunesparser;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Methods for the Location of a {@linkplain Track} and the Music Folder of the {@linkplain Library}.<br>
+ * A Location is stored as the String of its URL, split into the directory, which is shared by all Tracks in the same directory,
+ * and the file name. A {@linkplain URL} is only created if {@link Track#getLocation()} is called.<br>
+ * {@link #toPaths(Map)} resolves the Locations of many Tracks to local files and decodes every directory only once.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+public final class Locations {
+	/**
+	 * The scheme and authority of the last Location which has been checked to be a valid URL, e.g. "file://localhost/".
+	 */
+	private static volatile String checkedRoot;
+	
+	private Locations() {}
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Checks that the given Location of the XML File is a valid URL.<br>
+	 * Only the scheme and the authority can make a URL invalid. They are the same for nearly every Location of a Library,
+	 * so a {@linkplain URL} is only created for the first Location with a new scheme and authority.
+	 * @param location The Location.
+	 * @return The Location.
+	 * @throws MalformedURLException If the Location is not a valid URL.
+	 */
+	static String check(String location) throws MalformedURLException {
+		int authority = location.indexOf("//");
+		int path = authority < 0 ? -1 : location.indexOf('/', authority + 2);
+		if ( path < 0 ) {
+			new URL(location);
+			return location;
+		}
+		
+		String root = checkedRoot;
+		if ( root == null || ! location.startsWith(root) || root.length() != path + 1 ) {
+			root = location.substring(0, path + 1);
+			new URL(root);
+			checkedRoot = root;
+		}
+		return location;
+	}
+	
+	/**
+	 * Get the length of the directory of the given Location, including the trailing slash.
+	 * @param location The Location.
+	 * @return The length of the directory.
+	 */
+	static int directoryLength(String location) {
+		return location.lastIndexOf('/') + 1;
+	}
+	
+	/**
+	 * Creates the {@linkplain URL} of a Location which has already been checked.
+	 * @param location The Location or null.
+	 * @return The {@linkplain URL} or null.
+	 */
+	static URL toURL(String location) {
+		if ( location == null ) {
+			return null;
+		}
+		try {
+			return new URL(location);
+		} catch (MalformedURLException e) {
+			// The Location has been checked when it was set.
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	/**
+	 * Get the local file of the Location of the given Track.
+	 * @param track The {@linkplain Track}.
+	 * @return The {@linkplain Path}, or null if the Track has no Location or it is not a local file.
+	 */
+	public static Path toPath(Track track) {
+		String directory = track.getLocationDirectory();
+		if ( directory == null ) {
+			return null;
+		}
+		Path path = toPath(directory);
+		return path == null ? null : resolve(path, track.getLocationFile());
+	}
+	
+	/**
+	 * Get the local files of the Locations of all given Tracks.<br>
+	 * The directory of the Locations is decoded only once for all Tracks in the same directory,
+	 * only the file name is decoded per Track.
+	 * @param tracks The Map of {@linkplain Track} objects, e.g. {@link Parser#getTracks()}.
+	 * @return The Map of {@linkplain Path} objects by the same keys in the same order.
+	 * Tracks without a Location or with a Location which is not a local file are not contained.
+	 */
+	public static Map<Integer, Path> toPaths(Map<Integer, Track> tracks) {
+		Map<String, Path> directories = new HashMap<String, Path>();
+		Map<Integer, Path> paths = new LinkedHashMap<Integer, Path>();
+		
+		for ( Map.Entry<Integer, Track> entry : tracks.entrySet() ) {
+			Track track = entry.getValue();
+			String directory = track.getLocationDirectory();
+			if ( directory == null ) {
+				continue;
+			}
+			
+			Path path = directories.get(directory);
+			if ( path == null && ! directories.containsKey(directory) ) {
+				path = toPath(directory);
+				directories.put(directory, path);
+			}
+			if ( path != null ) {
+				Path file = resolve(path, track.getLocationFile());
+				if ( file != null ) {
+					paths.put(entry.getKey(), file);
+				}
+			}
+		}
+		return paths;
+	}
+	
+	/**
+	 * Get the local directory of the given directory URL.
+	 * @param directory The directory URL, e.g. "file://localhost/Users/test/Music/".
+	 * @return The {@linkplain Path}, or null if the directory is not a local file.
+	 */
+	private static Path toPath(String directory) {
+		if ( ! directory.regionMatches(true, 0, "file:", 0, 5) ) {
+			return null;
+		}
+		
+		// Skip the authority, iTunes writes "file://localhost/".
+		int start = 5;
+		if ( directory.startsWith("//", start) ) {
+			int path = directory.indexOf('/', start + 2);
+			if ( path < 0 ) {
+				return null;
+			}
+			String host = directory.substring(start + 2, path);
+			if ( ! host.isEmpty() && ! host.equalsIgnoreCase("localhost") ) {
+				return null;
+			}
+			start = path;
+		}
+		
+		String decoded = decode(directory.substring(start));
+		// A Windows drive: "/C:/Users/" is "C:/Users/".
+		if ( decoded.length() >= 3 && decoded.charAt(0) == '/' && decoded.charAt(2) == ':' ) {
+			decoded = decoded.substring(1);
+		}
+		try {
+			return Paths.get(decoded);
+		} catch (InvalidPathException e) {
+			return null;
+		}
+	}
+	
+	/**
+	 * Resolves the encoded file name against the given directory.
+	 * @param directory The directory.
+	 * @param file The encoded file name.
+	 * @return The {@linkplain Path}, or null if the file name is not valid.
+	 */
+	private static Path resolve(Path directory, String file) {
+		try {
+			return file.isEmpty() ? directory : directory.resolve(decode(file));
+		} catch (InvalidPathException e) {
+			return null;
+		}
+	}
+	
+	/**
+	 * Decodes the percent-encoded UTF-8 bytes of the given part of a URL.<br>
+	 * Unlike {@linkplain java.net.URLDecoder} a '+' is not decoded as a space.
+	 * @param encoded The encoded String.
+	 * @return The decoded String.
+	 */
+	static String decode(String encoded) {
+		if ( encoded.indexOf('%') < 0 ) {
+			return encoded;
+		}
+		
+		byte[] bytes = encoded.getBytes(StandardCharsets.UTF_8);
+		int length = 0;
+		for ( int i=0; i<bytes.length; i++ ) {
+			int high = i + 2 < bytes.length && bytes[i] == '%' ? Character.digit(bytes[i+1], 16) : -1;
+			int low = high < 0 ? -1 : Character.digit(bytes[i+2], 16);
+			if ( low < 0 ) {
+				bytes[length++] = bytes[i];
+			} else {
+				bytes[length++] = (byte) (high << 4 | low);
+				i += 2;
+			}
+		}
+		return new String(bytes, 0, length, StandardCharsets.UTF_8);
+	}
+}
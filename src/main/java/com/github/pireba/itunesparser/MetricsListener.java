@@ -0,0 +1,18 @@
+package com.github.pireba.itunesparser;
+
+/**
+ * Receives the {@linkplain ParseMetrics} of every successful parse of a {@linkplain Parser}.<br>
+ * The listener is called by the thread of the parse after the result objects are complete.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see Parser#setMetricsListener(MetricsListener)
+ */
+@FunctionalInterface
+public interface MetricsListener {
+	/**
+	 * Called after every successful parse.
+	 * @param metrics The {@linkplain ParseMetrics} of the parse.
+	 */
+	void parsed(ParseMetrics metrics);
+}
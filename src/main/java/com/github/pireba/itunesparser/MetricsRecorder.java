@@ -0,0 +1,143 @@
+package com.github.pireba.itunesparser;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the metrics of a running parse.<br>
+ * The Parser only creates a recorder if a {@linkplain MetricsListener} is set,
+ * otherwise every recording point costs a single null check.
+ * The recorder is thread-safe, so the threads of the parallel decoding record into the same counters.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see ParseMetrics
+ */
+class MetricsRecorder {
+	/**
+	 * The start of the parse.
+	 */
+	private final long start = System.nanoTime();
+	
+	/**
+	 * The bytes allocated by the thread of the parse before it has started, or -1 if not measured.
+	 */
+	private final long allocatedStart;
+	
+	/**
+	 * The time of every phase by its ordinal.
+	 */
+	private final LongAdder[] nanos = new LongAdder[ParsePhase.values().length];
+	
+	private final LongAdder tracks = new LongAdder();
+	private final LongAdder playlists = new LongAdder();
+	private final LongAdder keys = new LongAdder();
+	private final LongAdder playlistItems = new LongAdder();
+	private final Map<String, LongAdder> unknownKeys = new ConcurrentHashMap<>();
+	
+	/**
+	 * Creates a new recorder and starts the clock.
+	 * @param allocationMeasured True to measure the bytes allocated by the current thread.
+	 */
+	MetricsRecorder(boolean allocationMeasured) {
+		for ( int i=0; i<this.nanos.length; i++ ) {
+			this.nanos[i] = new LongAdder();
+		}
+		this.allocatedStart = allocationMeasured ? allocatedBytes() : -1;
+	}
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Adds the time of a phase which has started at the given time.
+	 * @param phase The {@linkplain ParsePhase}.
+	 * @param start The start in nanoseconds, see {@linkplain System#nanoTime()}.
+	 */
+	void time(ParsePhase phase, long start) {
+		this.nanos[phase.ordinal()].add(System.nanoTime() - start);
+	}
+	
+	/**
+	 * Counts a key-value pair.
+	 */
+	void key() {
+		this.keys.increment();
+	}
+	
+	/**
+	 * Counts a key-value pair with a key which is not known by the Parser.
+	 * @param key The key.
+	 */
+	void unknownKey(String key) {
+		this.keys.increment();
+		this.unknownKeys.computeIfAbsent(key, k -> new LongAdder()).increment();
+	}
+	
+	/**
+	 * Counts the given number of Tracks.
+	 * @param count The number of Tracks.
+	 */
+	void tracks(int count) {
+		this.tracks.add(count);
+	}
+	
+	/**
+	 * Counts a Playlist.
+	 */
+	void playlist() {
+		this.playlists.increment();
+	}
+	
+	/**
+	 * Counts the given number of Playlist items.
+	 * @param count The number of items.
+	 */
+	void playlistItems(int count) {
+		this.playlistItems.add(count);
+	}
+	
+	/**
+	 * Stops the clock and creates the metrics.
+	 * @param file The XML File.
+	 * @param engine The engine.
+	 * @param snapshotLoaded True if the result has been read from the snapshot.
+	 * @return The {@linkplain ParseMetrics}.
+	 */
+	ParseMetrics finish(File file, Engine engine, boolean snapshotLoaded) {
+		long total = System.nanoTime() - this.start;
+		long allocated = this.allocatedStart < 0 ? -1 : allocatedBytes() - this.allocatedStart;
+		
+		long[] nanos = new long[this.nanos.length];
+		for ( int i=0; i<nanos.length; i++ ) {
+			nanos[i] = this.nanos[i].sum();
+		}
+		Map<String, Long> unknownKeys = new TreeMap<>();
+		for ( Map.Entry<String, LongAdder> entry : this.unknownKeys.entrySet() ) {
+			unknownKeys.put(entry.getKey(), entry.getValue().sum());
+		}
+		return new ParseMetrics(file, engine, snapshotLoaded, total, nanos, file.length(), allocated,
+				this.tracks.intValue(), this.playlists.intValue(), this.keys.sum(), this.playlistItems.sum(), unknownKeys);
+	}
+	
+	/**
+	 * Get the bytes allocated by the current thread so far.
+	 * @return The number of bytes, or -1 if the JVM does not support the measurement.
+	 */
+	private static long allocatedBytes() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if ( bean instanceof com.sun.management.ThreadMXBean ) {
+			com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+			if ( threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled() ) {
+				return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,208 @@
+package com.github.pireba.itunesparser;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The metrics of a single parse: the time of every {@linkplain ParsePhase}, the number of Tracks, Playlists and keys,
+ * the unknown keys by name, the bytes read and optionally the bytes allocated.<br>
+ * The times of the phases are measured around every key-value pair and Playlist.
+ * With the parallel decoding of the {@linkplain Engine#PLIST} engine they are summed over the threads,
+ * so they may add up to more than the total time.
+ * 
+ * <h2>Log the metrics of every parse</h2>
+ * <pre>
+ *  parser.setMetricsListener(metrics -&#62; log.info(metrics.toString()));
+ * </pre>
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see Parser#setMetricsListener(MetricsListener)
+ */
+public class ParseMetrics {
+	private final File file;
+	private final Engine engine;
+	private final boolean snapshotLoaded;
+	private final long totalNanos;
+	private final long[] nanos;
+	private final long bytes;
+	private final long allocatedBytes;
+	private final int tracks;
+	private final int playlists;
+	private final long keys;
+	private final long playlistItems;
+	private final Map<String, Long> unknownKeys;
+	
+	/**
+	 * Creates the metrics of a finished parse.
+	 * @param file The XML File.
+	 * @param engine The engine.
+	 * @param snapshotLoaded True if the result has been read from the snapshot.
+	 * @param totalNanos The total time.
+	 * @param nanos The time of every phase by its ordinal, without the READ phase.
+	 * @param bytes The size of the XML File.
+	 * @param allocatedBytes The bytes allocated by the thread of the parse, or -1.
+	 * @param tracks The number of Tracks.
+	 * @param playlists The number of Playlists.
+	 * @param keys The number of key-value pairs.
+	 * @param playlistItems The number of Playlist items.
+	 * @param unknownKeys The number of occurrences of every unknown key.
+	 */
+	ParseMetrics(File file, Engine engine, boolean snapshotLoaded, long totalNanos, long[] nanos, long bytes, long allocatedBytes,
+			int tracks, int playlists, long keys, long playlistItems, Map<String, Long> unknownKeys) {
+		this.file = file;
+		this.engine = engine;
+		this.snapshotLoaded = snapshotLoaded;
+		this.totalNanos = totalNanos;
+		this.nanos = nanos;
+		this.bytes = bytes;
+		this.allocatedBytes = allocatedBytes;
+		this.tracks = tracks;
+		this.playlists = playlists;
+		this.keys = keys;
+		this.playlistItems = playlistItems;
+		this.unknownKeys = Collections.unmodifiableMap(unknownKeys);
+		
+		long measured = 0;
+		for ( ParsePhase phase : ParsePhase.values() ) {
+			measured += phase == ParsePhase.READ ? 0 : nanos[phase.ordinal()];
+		}
+		this.nanos[ParsePhase.READ.ordinal()] = Math.max(0, totalNanos - measured);
+	}
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Get the bytes of the XML File read per second.
+	 * @return The throughput in bytes per second.
+	 */
+	public double getBytesPerSecond() {
+		return this.totalNanos == 0 ? 0 : this.bytes * 1e9 / this.totalNanos;
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append(this.file.getName()).append(" (").append(this.engine).append(this.snapshotLoaded ? ", snapshot" : "").append("): ");
+		builder.append(this.totalNanos / 1000000).append(" ms");
+		for ( ParsePhase phase : ParsePhase.values() ) {
+			builder.append(", ").append(phase.name().toLowerCase()).append(' ').append(this.nanos[phase.ordinal()] / 1000000).append(" ms");
+		}
+		builder.append("; ").append(this.tracks).append(" Tracks, ").append(this.playlists).append(" Playlists, ")
+				.append(this.playlistItems).append(" Playlist items, ").append(this.keys).append(" keys");
+		builder.append("; ").append(this.bytes).append(" bytes, ").append(Math.round(this.getBytesPerSecond() / (1 << 20))).append(" MB/s");
+		if ( this.allocatedBytes >= 0 ) {
+			builder.append(", ").append(this.allocatedBytes).append(" bytes allocated");
+		}
+		if ( ! this.unknownKeys.isEmpty() ) {
+			builder.append("; unknown keys ").append(this.unknownKeys);
+		}
+		return builder.toString();
+	}
+	
+	// --------------------------------------------------
+	// Getter
+	// --------------------------------------------------
+	
+	/**
+	 * Get the XML File.
+	 * @return The XML File.
+	 */
+	public File getFile() {
+		return this.file;
+	}
+	
+	/**
+	 * Get the engine which has read the XML File.
+	 * @return The {@linkplain Engine}.
+	 */
+	public Engine getEngine() {
+		return this.engine;
+	}
+	
+	/**
+	 * Returns true if the result has been read from the snapshot instead of the XML File.
+	 * @return True if the snapshot has been loaded.
+	 */
+	public boolean isSnapshotLoaded() {
+		return this.snapshotLoaded;
+	}
+	
+	/**
+	 * Get the total time of the parse.
+	 * @return The time in nanoseconds.
+	 */
+	public long getTotalNanos() {
+		return this.totalNanos;
+	}
+	
+	/**
+	 * Get the time of the given phase.
+	 * @param phase The {@linkplain ParsePhase}.
+	 * @return The time in nanoseconds.
+	 */
+	public long getNanos(ParsePhase phase) {
+		return this.nanos[phase.ordinal()];
+	}
+	
+	/**
+	 * Get the size of the XML File.
+	 * @return The number of bytes.
+	 */
+	public long getBytes() {
+		return this.bytes;
+	}
+	
+	/**
+	 * Get the bytes allocated by the thread of the parse, an estimate of the garbage it has created.<br>
+	 * Only measured if enabled by {@link Parser#setAllocationMeasured(boolean)} and supported by the JVM.
+	 * The allocations of the threads of the parallel decoding are not included.
+	 * @return The number of bytes, or -1 if not measured.
+	 */
+	public long getAllocatedBytes() {
+		return this.allocatedBytes;
+	}
+	
+	/**
+	 * Get the number of parsed Tracks.
+	 * @return The number of Tracks.
+	 */
+	public int getTracks() {
+		return this.tracks;
+	}
+	
+	/**
+	 * Get the number of parsed Playlists.
+	 * @return The number of Playlists.
+	 */
+	public int getPlaylists() {
+		return this.playlists;
+	}
+	
+	/**
+	 * Get the number of key-value pairs of the Library, the Tracks and the Playlists, including the unknown keys.
+	 * @return The number of keys.
+	 */
+	public long getKeys() {
+		return this.keys;
+	}
+	
+	/**
+	 * Get the number of items of all Playlists.
+	 * @return The number of Playlist items.
+	 */
+	public long getPlaylistItems() {
+		return this.playlistItems;
+	}
+	
+	/**
+	 * Get the keys which are not known by the Parser with the number of their occurrences.
+	 * @return The read-only Map from the key to its number of occurrences.
+	 */
+	public Map<String, Long> getUnknownKeys() {
+		return this.unknownKeys;
+	}
+}
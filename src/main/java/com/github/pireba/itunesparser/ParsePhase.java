@@ -0,0 +1,37 @@
+package com.github.pireba.itunesparser;
+
+/**
+ * The phases of a parse which are timed by the {@linkplain ParseMetrics}.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see ParseMetrics#getNanos(ParsePhase)
+ */
+public enum ParsePhase {
+	/**
+	 * Reading and tokenizing the XML File, or reading the snapshot, and creating the objects.<br>
+	 * This is the time of the parse which is not spent in one of the other phases.
+	 */
+	READ,
+	
+	/**
+	 * Looking up the keys, converting the numbers, Booleans and Strings and setting the properties.
+	 */
+	DISPATCH,
+	
+	/**
+	 * Converting the dates and the URLs of the Location and the Music Folder and setting the properties.
+	 */
+	CONVERSION,
+	
+	/**
+	 * Adding the Track IDs of the Playlist items.
+	 */
+	PLAYLISTS,
+	
+	/**
+	 * Checking whether the snapshot in the cache directory belongs to the XML File, and writing a new snapshot,
+	 * see {@link Parser#setCacheDirectory(java.io.File)}.
+	 */
+	SNAPSHOT
+}
@@ -0,0 +1,165 @@
+package com.github.pireba.itunesparser;
+
+import java.util.Map;
+
+/**
+ * The frozen result of a finished parse: the {@linkplain Library}, the Track Map and the Playlist Map.<br>
+ * The Maps are read-only and compact, the Library, Track and Playlist objects are frozen:
+ * their setters throw an {@linkplain UnsupportedOperationException}.
+ * Nothing in a ParseResult is ever changed, so it can be read by any number of threads without locking or copying
+ * once it has been published, e.g. by a volatile field.
+ * 
+ * <h2>Publish the result of a parse</h2>
+ * <pre>
+ *  parser.parse();
+ *  this.result = parser.getResult();
+ * </pre>
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see Parser#getResult()
+ */
+public class ParseResult {
+	/**
+	 * The Library object.
+	 */
+	private final Library library;
+	
+	/**
+	 * The read-only Map of the Tracks.
+	 */
+	private final Map<Integer, Track> tracks;
+	
+	/**
+	 * The read-only Map of the Playlists.
+	 */
+	private final Map<Integer, Playlist> playlists;
+	
+	/**
+	 * The unknown keys and malformed values of the parse.
+	 */
+	private final Diagnostics diagnostics;
+	
+	/**
+	 * The indexes of the Tracks, or null if they have not been requested yet.
+	 */
+	private volatile TrackSearch search;
+	
+	/**
+	 * Creates a new result of the last parse of the given Parser and freezes its objects.
+	 * @param parser The {@linkplain Parser} after the parse.
+	 */
+	ParseResult(Parser parser) {
+		this.library = parser.getLibrary();
+		this.library.freeze();
+		this.tracks = freezeTracks(parser);
+		
+		IntMap<Playlist> playlists = toIntMap(parser.getPlaylists());
+		for ( Playlist playlist : playlists.values() ) {
+			playlist.freeze();
+		}
+		playlists.freeze();
+		this.playlists = playlists;
+		this.diagnostics = parser.getDiagnostics();
+	}
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Freezes the Tracks of the given Parser.<br>
+	 * The read-only Track Maps of a lazy or columnar parse are kept and frozen as a whole,
+	 * the {@linkplain IntMap} of any other parse is frozen in place.
+	 * @param parser The {@linkplain Parser} after the parse.
+	 * @return The read-only Map of the frozen Tracks.
+	 */
+	private static Map<Integer, Track> freezeTracks(Parser parser) {
+		Map<Integer, Track> tracks = parser.getTracks();
+		if ( tracks instanceof TrackIndex ) {
+			((TrackIndex) tracks).freeze();
+			return tracks;
+		}
+		if ( parser.getTrackTable() != null ) {
+			parser.getTrackTable().freeze();
+			return tracks;
+		}
+		
+		IntMap<Track> map = toIntMap(tracks);
+		for ( Track track : map.values() ) {
+			track.freeze();
+		}
+		map.freeze();
+		return map;
+	}
+	
+	/**
+	 * Get the given Map as an {@linkplain IntMap}.<br>
+	 * The Maps of the Parser are IntMaps and are frozen in place, since a new parse or update creates new Maps.
+	 * Any other Map is copied.
+	 * @param map The Map.
+	 * @return The IntMap.
+	 */
+	private static <V> IntMap<V> toIntMap(Map<Integer, V> map) {
+		if ( map instanceof IntMap ) {
+			return (IntMap<V>) map;
+		}
+		return new IntMap<>(map);
+	}
+	
+	// --------------------------------------------------
+	// Getter
+	// --------------------------------------------------
+	
+	/**
+	 * Get the parsed {@linkplain Library} object.
+	 * @return The {@linkplain Library} object.
+	 */
+	public Library getLibrary() {
+		return this.library;
+	}
+	
+	/**
+	 * Get the read-only Map of the parsed {@linkplain Track} objects.
+	 * @return The Map of {@linkplain Track} objects by the Track ID.
+	 */
+	public Map<Integer, Track> getTracks() {
+		return this.tracks;
+	}
+	
+	/**
+	 * Get the read-only Map of the parsed {@linkplain Playlist} objects.
+	 * @return The Map of {@linkplain Playlist} objects by the Playlist ID.
+	 */
+	public Map<Integer, Playlist> getPlaylists() {
+		return this.playlists;
+	}
+	
+	/**
+	 * Get the unknown keys and malformed values of the parse.<br>
+	 * In lazy mode the problems of a Track are added when it is decoded.
+	 * @return The {@linkplain Diagnostics}.
+	 */
+	public Diagnostics getDiagnostics() {
+		return this.diagnostics;
+	}
+	
+	/**
+	 * Get the secondary indexes of the Tracks to query them without scanning every Track.<br>
+	 * The indexes are built by the first call, which takes about as long as iterating the Tracks a few times.
+	 * @return The {@linkplain TrackSearch}.
+	 */
+	public TrackSearch getSearch() {
+		TrackSearch search = this.search;
+		if ( search == null ) {
+			synchronized ( this ) {
+				search = this.search;
+				if ( search == null ) {
+					search = new TrackSearch(this.tracks);
+					this.search = search;
+				}
+			}
+		}
+		return search;
+	}
+}
@@ -1,18 +1,21 @@
 package com.github.pireba.itunesparser;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.TimeZone;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.xml.stream.XMLStreamException;
+
 import org.dom4j.DocumentException;
 import org.dom4j.Element;
 import org.dom4j.ElementHandler;
@@ -94,10 +97,22 @@ public class Parser {
 	private static final String XPATH_PLAYLISTS = "/plist/dict/array/dict";
 	
 	/**
-	 * The Date format used in the XML File.<br>
-	 * Is needed to parse a date correctly from the XML File.
+	 * XPath statement to select the keys of the Tracks dict from the XML File.<br>
+	 * Only used in bounded memory mode to detach the keys which are not needed anymore.
+	 */
+	private static final String XPATH_TRACKS_KEYS = "/plist/dict/dict/key";
+	
+	/**
+	 * The element names of a plist which can hold a Library property key or value.<br>
+	 * Only used in bounded memory mode to read the Library properties as they stream past.
 	 */
-	private static final SimpleDateFormat DATEFORMAT = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'");
+	private static final String[] LIBRARY_PROPERTY_ELEMENTS = {"key", "string", "integer", "date", "true", "false", "dict", "array"};
+	
+	/**
+	 * The number of distinct unknown keys and malformed values which are logged per parse.<br>
+	 * Every further one is only collected in the {@linkplain Diagnostics}.
+	 */
+	private static final int LOG_LIMIT = 100;
 	
 	/**
 	 * The iTunes XML file given by the constructor.
@@ -113,14 +128,170 @@ public class Parser {
 	 * The Map to store every Track given by the XML File.<br>
 	 * A Track object stores every property of an iTunes Track.
 	 */
-	private Map<Integer, Track> tracks = new HashMap<Integer, Track>();
+	private Map<Integer, Track> tracks = new IntMap<Track>(0);
 	
 	/**
 	 * The Map to store every Playlist given by the XML File.<br>
 	 * A Playlist object stores every property of an iTunes Playlist.<br>
 	 * This includes a Map of the Playlist Tracks.
 	 */
-	private Map<Integer, Playlist> playlists = new HashMap<Integer, Playlist>();
+	private Map<Integer, Playlist> playlists = new IntMap<Playlist>(0);
+	
+	/**
+	 * If true, every processed element is detached from the XML document.<br>
+	 * See {@link #setBoundedMemory(boolean)}.
+	 */
+	private boolean boundedMemory = false;
+	
+	/**
+	 * The engine to read the XML File.<br>
+	 * See {@link #setEngine(Engine)}.
+	 */
+	private Engine engine = Engine.DOM4J;
+	
+	/**
+	 * The number of threads to decode the Tracks.<br>
+	 * See {@link #setParallelism(int)}.
+	 */
+	private int parallelism = 1;
+	
+	/**
+	 * The number of entries of the String pool of a parse, or 0 if no String pool is used.<br>
+	 * See {@link #setStringPoolSize(int)}.
+	 */
+	private int stringPoolSize = StringPool.DEFAULT_SIZE;
+	
+	/**
+	 * The String pool of the last parse, or null.
+	 */
+	private StringPool stringPool;
+	
+	/**
+	 * If true, the Tracks are stored in a {@linkplain TrackTable}.<br>
+	 * See {@link #setColumnar(boolean)}.
+	 */
+	private boolean columnar = false;
+	
+	/**
+	 * The table of the Tracks of a columnar parse, or null.
+	 */
+	private TrackTable trackTable;
+	
+	/**
+	 * If true, the Tracks are only indexed and decoded on demand.<br>
+	 * See {@link #setLazy(boolean)}.
+	 */
+	private boolean lazy = false;
+	
+	/**
+	 * The Track properties to parse, or null to parse all.<br>
+	 * See {@link #setTrackProperties(Set)}.
+	 */
+	private Set<TrackProperty> trackProperties;
+	
+	/**
+	 * The Playlist properties to parse, or null to parse all.<br>
+	 * See {@link #setPlaylistProperties(Set)}.
+	 */
+	private Set<PlaylistProperty> playlistProperties;
+	
+	/**
+	 * True while a streaming parse is running.<br>
+	 * See {@link #parse(TrackVisitor, PlaylistVisitor, LibraryVisitor)}.
+	 */
+	private boolean streaming = false;
+	
+	/**
+	 * The directory of the snapshots, or null if no snapshots are used.
+	 */
+	private File cacheDirectory;
+	
+	/**
+	 * Whether the last parse has read a snapshot instead of the XML File.
+	 */
+	private boolean snapshotLoaded = false;
+	
+	/**
+	 * The checksums of the Track dicts of the last incremental update, or null.<br>
+	 * See {@link #update()}.
+	 */
+	private Checksums trackChecksums;
+	
+	/**
+	 * The Playlist IDs of the Playlist dicts of the last incremental update, or null.<br>
+	 * See {@link #update()}.
+	 */
+	private Checksums playlistChecksums;
+	
+	/**
+	 * The frozen result of the last parse, or null if it has not been requested.<br>
+	 * See {@link #getResult()}.
+	 */
+	private ParseResult result;
+	
+	/**
+	 * The listener of the metrics of every parse, or null.<br>
+	 * See {@link #setMetricsListener(MetricsListener)}.
+	 */
+	private MetricsListener metricsListener;
+	
+	/**
+	 * Whether the bytes allocated by a parse are measured for the metrics.
+	 */
+	private boolean allocationMeasured = false;
+	
+	/**
+	 * The recorder of the metrics of the running parse, or null if no metrics listener is set.
+	 */
+	private MetricsRecorder recorder;
+	
+	/**
+	 * The unknown keys and malformed values of the last parse.
+	 */
+	private Diagnostics diagnostics = new Diagnostics();
+	
+	/**
+	 * The empty Extensions of the last parse, whose shapes are shared by the Tracks and Playlists of this parse only.
+	 */
+	private Extensions emptyExtensions = Extensions.root();
+	
+	/**
+	 * The configured SAXReader of the {@linkplain Engine#DOM4J} engine, which is reused for the next XML File,
+	 * or null until the first XML File is read or after a read has failed.
+	 */
+	private SAXReader reader;
+	
+	/**
+	 * Whether the handlers of the cached SAXReader detach the elements.
+	 */
+	private boolean readerDetaching;
+	
+	/**
+	 * If true, the first unknown key or malformed value fails the parse.<br>
+	 * See {@link #setStrict(boolean)}.
+	 */
+	private boolean strict = false;
+	
+	/**
+	 * The visitor of the Tracks of a streaming parse or null.
+	 */
+	private TrackVisitor trackVisitor;
+	
+	/**
+	 * The visitor of the Playlists of a streaming parse or null.
+	 */
+	private PlaylistVisitor playlistVisitor;
+	
+	/**
+	 * The last Library property key read in bounded memory mode.<br>
+	 * Is needed to add the following value element to the Library object.
+	 */
+	private String libraryKey;
+	
+	/**
+	 * The value object which is reused for every key-value pair read by the {@linkplain Engine#DOM4J} engine.
+	 */
+	private final StringValue value = new StringValue();
 		
 	/**
 	 * Creates a new ITunesParser instance for the given XML file.<br>
@@ -129,7 +300,6 @@ public class Parser {
 	 */
 	public Parser(File file) {
 		this.file = file;
-		DATEFORMAT.setTimeZone(TimeZone.getTimeZone("GMT"));
 	}
 	
 	/**
@@ -140,17 +310,316 @@ public class Parser {
 	 *  <li>Call {@link #getTracks()} to get the Tracks properties as a Map of {@linkplain Track} objects. The Map key is the Track id.</li>
 	 *  <li>Call {@link #getPlaylists()} to get the Playlists properties as a Map of {@linkplain Playlist} objects. The Map key is the Playlist id.</li>
 	 * </ul>
-	 * @throws DocumentException If an error occurs during parsing.
+	 * If a {@linkplain MetricsListener} is set, it receives the {@linkplain ParseMetrics} of the parse afterwards.
+	 * The unknown keys and malformed values are collected by {@link #getDiagnostics()}.
+	 * @throws DocumentException If an error occurs during parsing, or at the first unknown key or malformed value in strict mode.
 	 */
 	public void parse() throws DocumentException {
+		this.recorder = this.metricsListener != null ? new MetricsRecorder(this.allocationMeasured) : null;
+		try {
+			try {
+				this.read();
+			} catch (DiagnosticException e) {
+				throw new DocumentException(e.getMessage(), e);
+			}
+			this.logDiagnostics();
+			if ( this.recorder != null ) {
+				this.metricsListener.parsed(this.recorder.finish(this.file, this.engine, this.snapshotLoaded));
+			}
+		} finally {
+			this.recorder = null;
+		}
+	}
+	
+	/**
+	 * Reads the snapshot or parses the XML File with the selected engine.
+	 * @throws DocumentException If an error occurs during parsing.
+	 */
+	private void read() throws DocumentException {
+		this.prepare();
+		this.resetUpdate();
+		
+		this.snapshotLoaded = false;
+		long start = System.nanoTime();
+		Snapshot snapshot = this.getSnapshot();
+		this.time(ParsePhase.SNAPSHOT, start);
+		if ( snapshot != null ) {
+			if ( snapshot.read() ) {
+				this.snapshotLoaded = true;
+				return;
+			}
+			// A snapshot which failed halfway may have added objects.
+			this.prepare();
+		}
+		
+		switch (this.engine) {
+		case STAX:
+			this.parseStax();
+			break;
+		case PLIST:
+			this.parsePlist();
+			break;
+		default:
+			this.parseDom4j();
+			break;
+		}
+		
+		if ( snapshot != null && ! this.streaming ) {
+			start = System.nanoTime();
+			snapshot.write();
+			this.time(ParsePhase.SNAPSHOT, start);
+		}
+	}
+	
+	/**
+	 * Adds the time of a phase to the metrics, if metrics are recorded.
+	 * @param phase The {@linkplain ParsePhase}.
+	 * @param start The start in nanoseconds, see {@linkplain System#nanoTime()}.
+	 */
+	private void time(ParsePhase phase, long start) {
+		if ( this.recorder != null ) {
+			this.recorder.time(phase, start);
+		}
+	}
+	
+	/**
+	 * Reads the XML File again after it has been rewritten and applies only the changes since the last update.<br>
+	 * iTunes rewrites the whole XML File on every change, but usually only a few Tracks and Playlists have changed.
+	 * The update skips every Track and Playlist dict and compares the CRC-32 checksum of its bytes
+	 * with the checksum of the last update. Only the changed dicts are decoded:
+	 * <ul>
+	 *  <li>A new Track or Playlist is added to the Track or Playlist Map.</li>
+	 *  <li>A changed Track or Playlist is updated in place, so the objects held by the caller stay valid.</li>
+	 *  <li>A Track or Playlist which is no longer in the XML File is removed from the Map.</li>
+	 * </ul>
+	 * The Library object is replaced on every update.
+	 * The first update, and the first update after a {@link #parse()}, a {@link #getResult()} or a change of the file or the selected properties,
+	 * reads the whole XML File into new Maps and reports every Track and Playlist as added.<br>
+	 * The update always reads the XML File with the tokenizer of the {@linkplain Engine#PLIST} engine,
+	 * the parallelism and the snapshot cache are not used. Not available in lazy and columnar mode.
+	 * <pre>
+	 *  parser.update();
+	 *  // ... iTunes rewrites the XML File ...
+	 *  ChangeSet changes = parser.update();
+	 * </pre>
+	 * @return The {@linkplain ChangeSet} with the IDs of the added, removed and modified Tracks and Playlists.
+	 * @throws DocumentException If an error occurs during parsing, or at the first unknown key or malformed value in strict mode.
+	 * @throws IllegalStateException If the lazy or the columnar mode is enabled.
+	 */
+	public ChangeSet update() throws DocumentException {
+		if ( this.lazy || this.columnar ) {
+			throw new IllegalStateException("The incremental update can not be used in lazy or columnar mode");
+		}
+		
+		// The frozen objects of a result can not be updated in place.
+		if ( this.result != null ) {
+			this.result = null;
+			this.resetUpdate();
+		}
+		if ( this.trackChecksums == null ) {
+			this.tracks = new IntMap<Track>(0);
+			this.playlists = new IntMap<Playlist>(0);
+			this.trackTable = null;
+			this.stringPool = this.stringPoolSize > 0 ? new StringPool(this.stringPoolSize) : null;
+			this.trackChecksums = new Checksums();
+			this.playlistChecksums = new Checksums();
+		}
+		this.library = new Library();
+		this.diagnostics = new Diagnostics();
+		this.emptyExtensions = Extensions.root();
+		this.snapshotLoaded = false;
+		
+		PlistReader reader = new PlistReader(this);
+		try {
+			ChangeSet changes = reader.update(this.file, this.trackChecksums, this.playlistChecksums);
+			this.trackChecksums = reader.getTrackChecksums();
+			this.playlistChecksums = reader.getPlaylistChecksums();
+			this.logDiagnostics();
+			return changes;
+		} catch (IOException | DiagnosticException e) {
+			// The changes may have been applied halfway, so the next update reads the whole XML File.
+			this.resetUpdate();
+			throw new DocumentException(e.getMessage(), e);
+		}
+	}
+	
+	/**
+	 * Forgets the checksums of the last incremental update, so the next update reads the whole XML File.
+	 */
+	private void resetUpdate() {
+		this.trackChecksums = null;
+		this.playlistChecksums = null;
+	}
+	
+	/**
+	 * Prepares new result objects, the Diagnostics, the String pool and the Track table for a new parse.<br>
+	 * The objects of a previous parse are never changed, so they can still be read by other threads, see {@linkplain LibraryWatcher}.
+	 */
+	private void prepare() {
+		this.library = new Library();
+		this.tracks = new IntMap<Track>(0);
+		this.playlists = new IntMap<Playlist>(0);
+		this.result = null;
+		this.diagnostics = new Diagnostics();
+		this.emptyExtensions = Extensions.root();
+		this.libraryKey = null;
+		this.stringPool = this.stringPoolSize > 0 ? new StringPool(this.stringPoolSize) : null;
+		this.trackTable = null;
+		if ( this.columnar && ! this.lazy && ! this.streaming ) {
+			this.trackTable = new TrackTable();
+			this.tracks = this.trackTable.asMap();
+		}
+	}
+	
+	/**
+	 * Get the snapshot of the XML File in the cache directory.
+	 * @return The {@linkplain Snapshot}, or null if no cache directory is set, in lazy mode, or if the XML File can not be read.
+	 */
+	private Snapshot getSnapshot() {
+		if ( this.cacheDirectory == null || this.lazy ) {
+			return null;
+		}
+		try {
+			return new Snapshot(this, this.file, this.cacheDirectory);
+		} catch (IOException e) {
+			log.log(Level.WARNING, "Error while reading the XML File for the snapshot, the cache is not used.", e);
+			return null;
+		}
+	}
+	
+	/**
+	 * Parses all the properties from the XML File and hands every object to the given visitors.<br>
+	 * This is a streaming parse: the Tracks and Playlists are not kept by the Parser,
+	 * so the memory stays constant no matter how large the Library is.
+	 * {@link #getTracks()} and {@link #getPlaylists()} stay empty.<br>
+	 * Because the Tracks are not kept, the items of a Playlist are not resolved to Track objects.
+	 * Instead the Track IDs are available by {@link Playlist#getPlaylistItemIDs()}.<br>
+	 * A visitor may be null if the objects are not needed.
+	 * Tracks and Playlists are visited in the order of the XML File, the Library is visited at the end.
+	 * @param trackVisitor The visitor of the Tracks or null.
+	 * @param playlistVisitor The visitor of the Playlists or null.
+	 * @param libraryVisitor The visitor of the Library or null.
+	 * @throws DocumentException If an error occurs during parsing.
+	 */
+	public void parse(TrackVisitor trackVisitor, PlaylistVisitor playlistVisitor, LibraryVisitor libraryVisitor) throws DocumentException {
+		this.streaming = true;
+		this.trackVisitor = trackVisitor;
+		this.playlistVisitor = playlistVisitor;
+		try {
+			this.parse();
+		} finally {
+			this.streaming = false;
+			this.trackVisitor = null;
+			this.playlistVisitor = null;
+		}
+		
+		if ( libraryVisitor != null ) {
+			libraryVisitor.visit(this.library);
+		}
+	}
+	
+	/**
+	 * Parses the XML File in chunks with the tokenizer of the {@linkplain Engine#PLIST} engine, see {@linkplain ChunkedParser}.<br>
+	 * This is a streaming parse, every Track and Playlist is handed to the ChunkedParser.
+	 * The snapshot cache is not used.
+	 * @param chunks The {@linkplain ChunkedParser} which receives the chunks and commits the checkpoints.
+	 * @param checkpoint The {@linkplain Checkpoint} to resume from, or null to parse from the beginning.
+	 * @throws DocumentException If an error occurs during parsing, or if a checkpoint can not be written.
+	 */
+	void parseChunks(ChunkedParser chunks, Checkpoint checkpoint) throws DocumentException {
+		this.streaming = true;
+		this.trackVisitor = chunks::addTrack;
+		this.playlistVisitor = chunks::addPlaylist;
+		try {
+			this.prepare();
+			this.resetUpdate();
+			this.snapshotLoaded = false;
+			new PlistReader(this).read(this.file, chunks, checkpoint);
+			this.logDiagnostics();
+		} catch (IOException | DiagnosticException e) {
+			throw new DocumentException(e.getMessage(), e);
+		} finally {
+			this.streaming = false;
+			this.trackVisitor = null;
+			this.playlistVisitor = null;
+		}
+	}
+	
+	/**
+	 * Parses the XML File with the {@linkplain Engine#DOM4J} engine.
+	 * @throws DocumentException If an error occurs during parsing.
+	 */
+	private void parseDom4j() throws DocumentException {
+		SAXReader reader = this.getReader();
+		boolean read = false;
+		try {
+			// Start reading the XML File.
+			reader.read(this.file);
+			read = true;
+		} finally {
+			// A failed read leaves the path of the handlers in the middle of the XML File,
+			// so the next XML File is read by a new SAXReader.
+			if ( ! read ) {
+				this.reader = null;
+			}
+		}
+	}
+	
+	/**
+	 * Get the configured SAXReader of the {@linkplain Engine#DOM4J} engine.<br>
+	 * The SAXReader is created once and reused for every XML File, unless bounded memory mode has been switched since.
+	 * Its handlers only work on the state of this Parser, which is reset by every parse.
+	 * @return The SAXReader.
+	 */
+	private SAXReader getReader() {
+		boolean detaching = this.isDetaching();
+		if ( this.reader != null && this.readerDetaching == detaching ) {
+			return this.reader;
+		}
+		
 		// Create a new SAXReader.
 		SAXReader reader = new SAXReader();
 		// Add the three handlers to the SAXReader.
-		reader.addHandler(XPATH_LIBRARY, this.getLibraryHandler());
+		// In bounded memory mode the Library properties are read element by element instead of from the whole root dict.
+		if ( detaching ) {
+			ElementHandler libraryPropertyHandler = this.getLibraryPropertyHandler();
+			for ( String name : LIBRARY_PROPERTY_ELEMENTS ) {
+				reader.addHandler(XPATH_LIBRARY+"/"+name, libraryPropertyHandler);
+			}
+			reader.addHandler(XPATH_TRACKS_KEYS, this.getDetachHandler());
+		} else {
+			reader.addHandler(XPATH_LIBRARY, this.getLibraryHandler());
+		}
 		reader.addHandler(XPATH_TRACKS, this.getTrackHandler());
 		reader.addHandler(XPATH_PLAYLISTS, this.getPlaylistHandler());
-		// Start reading the XML File.
-		reader.read(this.file);
+		
+		this.reader = reader;
+		this.readerDetaching = detaching;
+		return reader;
+	}
+	
+	/**
+	 * Parses the XML File with the {@linkplain Engine#STAX} engine.
+	 * @throws DocumentException If an error occurs during parsing.
+	 */
+	private void parseStax() throws DocumentException {
+		try {
+			new StaxReader(this).read(this.file);
+		} catch (XMLStreamException | IOException e) {
+			throw new DocumentException(e.getMessage(), e);
+		}
+	}
+	
+	/**
+	 * Parses the XML File with the {@linkplain Engine#PLIST} engine.
+	 * @throws DocumentException If an error occurs during parsing.
+	 */
+	private void parsePlist() throws DocumentException {
+		try {
+			new PlistReader(this).read(this.file);
+		} catch (IOException e) {
+			throw new DocumentException(e.getMessage(), e);
+		}
 	}
 	
 	/**
@@ -169,6 +638,62 @@ public class Parser {
 		};
 	}
 	
+	/**
+	 * Creates and returns a new {@linkplain ElementHandler} that parses the library properties from the XML file one element at a time.<br>
+	 * Every key and value element is detached after it has been read, so the root dict never holds the whole document.<br>
+	 * Only used in bounded memory mode.
+	 * @return The library property {@linkplain ElementHandler}.
+	 */
+	private ElementHandler getLibraryPropertyHandler() {
+		return new ElementHandler() {
+			@Override
+			public void onStart(ElementPath elementPath) {}
+			
+			@Override
+			public void onEnd(ElementPath elementPath) {
+				Element element = elementPath.getCurrent();
+				String name = element.getName();
+				
+				// The "Tracks" and "Playlists" keys are followed by a dict and an array.
+				// Their content is parsed by the Track and Playlist handlers, so only the key must be reset.
+				if ( name.equals("key") ) {
+					Parser.this.libraryKey = element.getText();
+				} else if ( name.equals("dict") || name.equals("array") ) {
+					Parser.this.libraryKey = null;
+				} else if ( Parser.this.libraryKey != null ) {
+					String value;
+					if ( name.equals("true") || name.equals("false") ) {
+						value = name;
+					} else {
+						value = element.getText();
+					}
+					
+					Parser.this.addProperty(Parser.this.library, Parser.this.libraryKey, Parser.this.value.set(value, name));
+					Parser.this.libraryKey = null;
+				}
+				
+				element.detach();
+			}
+		};
+	}
+	
+	/**
+	 * Creates and returns a new {@linkplain ElementHandler} that only detaches the element from the XML document.<br>
+	 * Only used in bounded memory mode.
+	 * @return The detach {@linkplain ElementHandler}.
+	 */
+	private ElementHandler getDetachHandler() {
+		return new ElementHandler() {
+			@Override
+			public void onStart(ElementPath elementPath) {}
+			
+			@Override
+			public void onEnd(ElementPath elementPath) {
+				elementPath.getCurrent().detach();
+			}
+		};
+	}
+	
 	/**
 	 * Creates and returns a new {@linkplain ElementHandler} that parses the tracks properties from the XML file.<br>
 	 * @return The {@linkplain ElementHandler}.
@@ -180,12 +705,15 @@ public class Parser {
 			
 			@Override
 			public void onEnd(ElementPath elementPath) {
-				Track track = (Track) Parser.this.addPropertiesToObject(new Track(), elementPath);
-				Parser.this.tracks.put(track.getTrackID(), track);
+				Track track = (Track) Parser.this.addPropertiesToObject(Parser.this.newTrack(), elementPath);
+				Parser.this.addTrack(track);
+				if ( Parser.this.isDetaching() ) {
+					elementPath.getCurrent().detach();
+				}
 			}
 		};
 	}
-
+	
 	
 	/**
 	 * Creates and returns a new {@linkplain ElementHandler} that parses the playlists properties from the XML file.<br>
@@ -199,7 +727,10 @@ public class Parser {
 			@Override
 			public void onEnd(ElementPath elementPath) {
 				Playlist playlist = (Playlist) Parser.this.addPropertiesToObject(new Playlist(), elementPath);
-				Parser.this.playlists.put(playlist.getPlaylistID(), playlist);
+				Parser.this.addPlaylist(playlist);
+				if ( Parser.this.isDetaching() ) {
+					elementPath.getCurrent().detach();
+				}
 			}
 		};
 	}
@@ -241,6 +772,11 @@ public class Parser {
 			// The next Element must be the property value - increase the loop counter.
 			i++;
 			
+			// Skip the properties which are not selected before their value is read.
+			if ( ! this.isSelected(object, key) ) {
+				continue;
+			}
+			
 			// Get the property value from the Element with the increased loop counter.
 			// If the value is a boolean the Element has no value. The Element key defines true or false.
 			// If the object is a Playlist and the Element name is "array", call the method to create and add the Track Map.
@@ -257,67 +793,300 @@ public class Parser {
 			}
 			
 			// Add the key-value pair to the object depending on the object type.
-			if ( object instanceof Library ) {
-				try {
-					this.addToLibrary((Library) object, key, value);
-				} catch (ParseException | MalformedURLException e) {
-					log.log(Level.SEVERE, "Error while parsing a Library property.", e);
-				}
-			} else if ( object instanceof Track ) {
-				try {
-					this.addToTrack((Track) object, key, value);
-				} catch (ParseException | MalformedURLException e) {
-					log.log(Level.SEVERE, "Error while parsing a Track property.", e);
-				}
-			} else if ( object instanceof Playlist ) {
-				try {
-					this.addToPlaylist((Playlist) object, key, value);
-				} catch (ParseException e) {
-					log.log(Level.SEVERE, "Error while parsing a Playlist property.", e);
-				}
-			}
+			this.addProperty(object, key, this.value.set(value, elements.get(i).getName()));
 		}
 		
 		// Return the object.
 		return object;
 	}
 	
+	/**
+	 * Add a key-value pair to a {@linkplain Library}, {@linkplain Track} or {@linkplain Playlist} object.<br>
+	 * The key is looked up in the {@linkplain KeyTable} of the object type.
+	 * Unknown keys are collected and kept in the {@linkplain Extensions} of the object.
+	 * @param object The object to add the property.
+	 * @param key The key.
+	 * @param value The value.
+	 */
+	void addProperty(Object object, String key, Value value) {
+		if ( object instanceof Library ) {
+			LibraryProperty property = LibraryProperty.KEYS.get(key);
+			if ( property != null ) {
+				this.addProperty((Library) object, property, value);
+			} else {
+				this.addUnknownProperty(object, key, value);
+			}
+		} else if ( object instanceof Track ) {
+			TrackProperty property = TrackProperty.KEYS.get(key);
+			if ( property != null ) {
+				this.addProperty((Track) object, property, value);
+			} else {
+				this.addUnknownProperty(object, key, value);
+			}
+		} else if ( object instanceof Playlist ) {
+			PlaylistProperty property = PlaylistProperty.KEYS.get(key);
+			if ( property != null ) {
+				this.addProperty((Playlist) object, property, value);
+			} else {
+				this.addUnknownProperty(object, key, value);
+			}
+		}
+	}
+	
+	/**
+	 * Add a property to the Library object.<br>
+	 * If the value can not be parsed into the correct data type, the error is collected and the property is skipped.
+	 * @param library The {@linkplain Library} object.
+	 * @param property The property.
+	 * @param value The value.
+	 */
+	void addProperty(Library library, LibraryProperty property, Value value) {
+		MetricsRecorder recorder = this.recorder;
+		long start = recorder != null ? System.nanoTime() : 0;
+		try {
+			this.addToLibrary(library, property, value);
+		} catch (ParseException | MalformedURLException | NumberFormatException e) {
+			this.addMalformedProperty(library, property.getKey(), value, e);
+		}
+		if ( recorder != null ) {
+			recorder.key();
+			recorder.time(property == LibraryProperty.DATE || property == LibraryProperty.MUSIC_FOLDER ? ParsePhase.CONVERSION : ParsePhase.DISPATCH, start);
+		}
+	}
+	
+	/**
+	 * Add a property to a given Track object.<br>
+	 * If the value can not be parsed into the correct data type, the error is collected and the property is skipped.
+	 * @param track The {@linkplain Track} object.
+	 * @param property The property.
+	 * @param value The value.
+	 */
+	void addProperty(Track track, TrackProperty property, Value value) {
+		MetricsRecorder recorder = this.recorder;
+		long start = recorder != null ? System.nanoTime() : 0;
+		try {
+			if ( track instanceof TrackRow ) {
+				((TrackRow) track).set(property, value);
+			} else {
+				this.addToTrack(track, property, value);
+			}
+		} catch (ParseException | MalformedURLException | NumberFormatException e) {
+			this.addMalformedProperty(track, property.getKey(), value, e);
+		}
+		if ( recorder != null ) {
+			recorder.key();
+			recorder.time(TrackTable.isConverted(property) ? ParsePhase.CONVERSION : ParsePhase.DISPATCH, start);
+		}
+	}
+	
+	/**
+	 * Add a property to a given Playlist object.<br>
+	 * If the value can not be parsed into the correct data type, the error is collected and the property is skipped.
+	 * @param playlist The {@linkplain Playlist} object.
+	 * @param property The property.
+	 * @param value The value.
+	 */
+	void addProperty(Playlist playlist, PlaylistProperty property, Value value) {
+		MetricsRecorder recorder = this.recorder;
+		long start = recorder != null ? System.nanoTime() : 0;
+		try {
+			this.addToPlaylist(playlist, property, value);
+		} catch (ParseException | NumberFormatException e) {
+			this.addMalformedProperty(playlist, property.getKey(), value, e);
+		}
+		if ( recorder != null ) {
+			recorder.key();
+			recorder.time(ParsePhase.DISPATCH, start);
+		}
+	}
+	
+	/**
+	 * Collects a key-value pair with a key which is not known for the object type.
+	 * @param object The {@linkplain Library}, {@linkplain Track} or {@linkplain Playlist} object.
+	 * @param key The unknown key.
+	 * @param value The value.
+	 * @throws DiagnosticException In strict mode.
+	 */
+	void addUnknownProperty(Object object, String key, Value value) {
+		if ( this.recorder != null ) {
+			this.recorder.unknownKey(key);
+		}
+		this.addDiagnostic(DiagnosticKind.UNKNOWN_KEY, object, key, value, null);
+		this.addExtension(object, key, value);
+	}
+	
+	/**
+	 * Keeps a key-value pair with an unknown key in the {@linkplain Extensions} of a Track or Playlist.<br>
+	 * The value keeps the data type of its plist element, a value which can not be converted is kept as a String.
+	 * The unknown keys of the Library are not kept.
+	 * @param object The {@linkplain Library}, {@linkplain Track} or {@linkplain Playlist} object.
+	 * @param key The unknown key.
+	 * @param value The value.
+	 */
+	void addExtension(Object object, String key, Value value) {
+		if ( object instanceof Library ) {
+			return;
+		}
+		Object extension;
+		try {
+			extension = value.objectValue();
+		} catch (ParseException | NumberFormatException e) {
+			extension = value.stringValue();
+		}
+		if ( extension == null ) {
+			return;
+		}
+		
+		if ( object instanceof Track ) {
+			Track track = (Track) object;
+			track.setExtensions(this.extend(track.getExtensions()).with(key, extension));
+		} else if ( object instanceof Playlist ) {
+			Playlist playlist = (Playlist) object;
+			playlist.setExtensions(this.extend(playlist.getExtensions()).with(key, extension));
+		}
+	}
+	
+	/**
+	 * Get the Extensions to add a key to. An object without unknown keys starts from the empty Extensions of this parse,
+	 * so the shapes of a parse are dropped with its objects.
+	 * @param extensions The Extensions of the object.
+	 * @return The Extensions to extend.
+	 */
+	private Extensions extend(Extensions extensions) {
+		return extensions == Extensions.EMPTY ? this.emptyExtensions : extensions;
+	}
+	
+	/**
+	 * Collects a value which can not be parsed into the data type of its property.
+	 * @param object The {@linkplain Library}, {@linkplain Track} or {@linkplain Playlist} object.
+	 * @param key The key of the property.
+	 * @param value The value.
+	 * @param e The error of the conversion.
+	 * @throws DiagnosticException In strict mode.
+	 */
+	private void addMalformedProperty(Object object, String key, Value value, Exception e) {
+		this.addDiagnostic(DiagnosticKind.MALFORMED_VALUE, object, key, value, e);
+	}
+	
+	/**
+	 * Collects a Track ID of a Playlist item which is not a number. The item is skipped.
+	 * @param playlist The {@linkplain Playlist} object.
+	 * @param value The value of the Track ID.
+	 * @param e The error of the conversion.
+	 * @throws DiagnosticException In strict mode.
+	 */
+	void addMalformedItem(Playlist playlist, Value value, NumberFormatException e) {
+		this.addMalformedProperty(playlist, "Track ID", value, e);
+	}
+	
+	/**
+	 * Collects a Track ID which is not a number, if it is read without decoding the Track dict.
+	 * @param track The {@linkplain Track} object.
+	 * @param value The value of the Track ID.
+	 * @param e The error of the conversion.
+	 * @throws DiagnosticException In strict mode.
+	 */
+	void addMalformedID(Track track, Value value, NumberFormatException e) {
+		this.addMalformedProperty(track, TrackProperty.TRACK_ID.getKey(), value, e);
+	}
+	
+	/**
+	 * Collects a Track or Playlist without a valid ID. The object is skipped in every engine and mode.
+	 * @param object The {@linkplain Track} or {@linkplain Playlist} object.
+	 * @param key The key of the ID.
+	 * @throws DiagnosticException In strict mode.
+	 */
+	void addMissingID(Object object, String key) {
+		this.addDiagnostic(DiagnosticKind.MISSING_ID, object, key, null, null);
+	}
+	
+	/**
+	 * Adds a Diagnostic of a snapshot to the Diagnostics of the parse.<br>
+	 * In strict mode the Diagnostic fails the parse, like the problem in the XML File would have done.
+	 * @param kind The {@linkplain DiagnosticKind}.
+	 * @param type The object type: "Library", "Track" or "Playlist".
+	 * @param key The key.
+	 * @param sampleValue The value of the first occurrence.
+	 * @param message The error message of the first occurrence or null.
+	 * @param count The number of occurrences.
+	 * @throws DiagnosticException In strict mode.
+	 */
+	void restoreDiagnostic(DiagnosticKind kind, String type, String key, String sampleValue, String message, long count) {
+		Diagnostic diagnostic = this.diagnostics.restore(kind, type, key, sampleValue, message, count);
+		if ( this.strict ) {
+			throw new DiagnosticException(diagnostic, null);
+		}
+	}
+	
+	/**
+	 * Counts a problem in the Diagnostics of the parse.<br>
+	 * Only the first occurrence of every distinct problem is logged, and only for the first {@value #LOG_LIMIT} distinct problems.
+	 * In strict mode the first occurrence fails the parse.
+	 * @param kind The {@linkplain DiagnosticKind}.
+	 * @param object The {@linkplain Library}, {@linkplain Track} or {@linkplain Playlist} object.
+	 * @param key The key.
+	 * @param value The value.
+	 * @param e The error of a malformed value or null.
+	 * @throws DiagnosticException In strict mode.
+	 */
+	private void addDiagnostic(DiagnosticKind kind, Object object, String key, Value value, Exception e) {
+		Diagnostic diagnostic = this.diagnostics.record(kind, object, key, value, e == null ? null : e.getMessage());
+		if ( diagnostic == null ) {
+			return;
+		}
+		if ( this.strict ) {
+			throw new DiagnosticException(diagnostic, e);
+		}
+		if ( diagnostic.getNumber() <= LOG_LIMIT ) {
+			log.log(e == null ? Level.WARNING : Level.SEVERE, diagnostic.toString(), e);
+		} else if ( diagnostic.getNumber() == LOG_LIMIT + 1 ) {
+			log.warning("More than "+LOG_LIMIT+" distinct unknown keys and malformed values, the further ones are not logged.");
+		}
+	}
+	
+	/**
+	 * Logs a summary of the Diagnostics of the finished parse, if not every occurrence has been logged.
+	 */
+	private void logDiagnostics() {
+		Diagnostics diagnostics = this.diagnostics;
+		if ( diagnostics.getCount() > Math.min(diagnostics.size(), LOG_LIMIT) ) {
+			log.warning("The XML File "+this.file+" has "+diagnostics);
+		}
+	}
+	
 	/**
 	 * Add a key-value pair to the Library object.<br>
 	 * This method parses the value in the correct data type if needed.
-	 * @param key The key.
+	 * @param property The property.
 	 * @param value The value.
 	 * @throws ParseException If the given value can not be parsed into the correct data type.
 	 * @throws MalformedURLException If the given value can not be parsed into an {@linkplain URL} object.
 	 */
-	private void addToLibrary(Library library, String key, String value) throws ParseException, MalformedURLException {
-		switch (key) {
-		case "Major Version":
-			library.setMajorVersion(Integer.parseInt(value));
+	private void addToLibrary(Library library, LibraryProperty property, Value value) throws ParseException, MalformedURLException {
+		switch (property) {
+		case MAJOR_VERSION:
+			library.setMajorVersion(value.intValue());
 			break;
-		case "Minor Version":
-			library.setMinorVersion(Integer.parseInt(value));
+		case MINOR_VERSION:
+			library.setMinorVersion(value.intValue());
 			break;
-		case "Date":
-			library.setDate(DATEFORMAT.parse(value));
+		case DATE:
+			library.setDate(value.dateValue());
 			break;
-		case "Application Version":
-			library.setApplicationVersion(value);
+		case APPLICATION_VERSION:
+			library.setApplicationVersion(value.stringValue());
 			break;
-		case "Features":
-			library.setFeatures(Integer.parseInt(value));
+		case FEATURES:
+			library.setFeatures(value.intValue());
 			break;
-		case "Show Content Ratings":
-			library.setShowContentRatings(Boolean.parseBoolean(value));
+		case SHOW_CONTENT_RATINGS:
+			library.setShowContentRatings(value.booleanValue());
 			break;
-		case "Music Folder":
-			library.setMusicFolder(new URL(value));
+		case MUSIC_FOLDER:
+			library.setMusicFolder(Locations.check(value.stringValue()));
 			break;
-		case "Library Persistent ID":
-			library.setLibraryPersistentID(value);
-			break;
-		default:
-			log.warning("Unknown Library key '"+key+"' with value '"+value+"'");
+		case LIBRARY_PERSISTENT_ID:
+			library.setLibraryPersistentID(value.stringValue());
 			break;
 		}
 	}
@@ -326,313 +1095,443 @@ public class Parser {
 	 * Add a key-value pair to a given Track object.<br>
 	 * This method parses the value in the correct data type if needed.
 	 * @param track The {@linkplain Track} object.
-	 * @param key The key.
+	 * @param property The property.
 	 * @param value The value.
 	 * @throws ParseException If the given value can not be parsed into the correct data type.
 	 * @throws MalformedURLException If the given value can not be parsed into an {@linkplain URL} object.
 	 */
-	private void addToTrack(Track track, String key, String value) throws ParseException, MalformedURLException {
-		switch (key) {
-		case "Album":
-			track.setAlbum(value);
+	private void addToTrack(Track track, TrackProperty property, Value value) throws ParseException, MalformedURLException {
+		switch (property) {
+		case ALBUM:
+			track.setAlbum(value.stringValue(this.stringPool));
 			break;
-		case "Album Artist":
-			track.setAlbumArtist(value);
+		case ALBUM_ARTIST:
+			track.setAlbumArtist(value.stringValue(this.stringPool));
 			break;
-		case "Album Rating":
-			track.setAlbumRating(Integer.parseInt(value));
+		case ALBUM_RATING:
+			track.setAlbumRating(value.intValue());
 			break;
-		case "Album Rating Computed":
-			track.setAlbumRatingComputed(Boolean.parseBoolean(value));
+		case ALBUM_RATING_COMPUTED:
+			track.setAlbumRatingComputed(value.booleanValue());
 			break;
-		case "Artist":
-			track.setArtist(value);
+		case ARTIST:
+			track.setArtist(value.stringValue(this.stringPool));
 			break;
-		case "Artwork Count":
-			track.setArtworkCount(Integer.parseInt(value));
+		case ARTWORK_COUNT:
+			track.setArtworkCount(value.intValue());
 			break;
-		case "Bit Rate":
-			track.setBitrate(Integer.parseInt(value));
+		case BIT_RATE:
+			track.setBitrate(value.intValue());
 			break;
-		case "BPM":
-			track.setBpm(Integer.parseInt(value));
+		case BPM:
+			track.setBpm(value.intValue());
 			break;
-		case "Comments":
-			track.setComments(value);
+		case COMMENTS:
+			track.setComments(value.stringValue());
 			break;
-		case "Compilation":
-			track.setCompilation(Boolean.parseBoolean(value));
+		case COMPILATION:
+			track.setCompilation(value.booleanValue());
 			break;
-		case "Composer":
-			track.setComposer(value);
+		case COMPOSER:
+			track.setComposer(value.stringValue(this.stringPool));
 			break;
-		case "Clean":
-			track.setClean(Boolean.parseBoolean(value));
+		case CLEAN:
+			track.setClean(value.booleanValue());
 			break;
-		case "Date Added":
-			track.setDateAdded(DATEFORMAT.parse(value));
+		case DATE_ADDED:
+			track.setDateAdded(value.dateValue());
 			break;
-		case "Date Modified":
-			track.setDateModified(DATEFORMAT.parse(value));
+		case DATE_MODIFIED:
+			track.setDateModified(value.dateValue());
 			break;
-		case "Disc Count":
-			track.setDiscCount(Integer.parseInt(value));
+		case DISC_COUNT:
+			track.setDiscCount(value.intValue());
 			break;
-		case "Disc Number":
-			track.setDiscNumber(Integer.parseInt(value));
+		case DISC_NUMBER:
+			track.setDiscNumber(value.intValue());
 			break;
-		case "Disabled":
-			track.setDisabled(Boolean.parseBoolean(value));
+		case DISABLED:
+			track.setDisabled(value.booleanValue());
 			break;
-		case "Episode":
-			track.setEpisode(value);
+		case EPISODE:
+			track.setEpisode(value.stringValue());
 			break;
-		case "Episode Order":
-			track.setEpisodeOrder(Integer.parseInt(value));
+		case EPISODE_ORDER:
+			track.setEpisodeOrder(value.intValue());
 			break;
-		case "Equalizer":
-			track.setEqualizer(value);
+		case EQUALIZER:
+			track.setEqualizer(value.stringValue());
 			break;
-		case "Explicit":
-			track.setExplicit(Boolean.parseBoolean(value));
+		case EXPLICIT:
+			track.setExplicit(value.booleanValue());
 			break;
-		case "File Folder Count":
-			track.setFileFolderCount(Integer.parseInt(value));
+		case FILE_FOLDER_COUNT:
+			track.setFileFolderCount(value.intValue());
 			break;
-		case "File Type":
-			track.setFileType(Long.parseLong(value));
+		case FILE_TYPE:
+			track.setFileType(value.longValue());
 			break;
-		case "Genre":
-			track.setGenre(value);
+		case GENRE:
+			track.setGenre(value.stringValue(this.stringPool));
 			break;
-		case "Grouping":
-			track.setGrouping(value);
+		case GROUPING:
+			track.setGrouping(value.stringValue());
 			break;
-		case "Kind":
-			track.setKind(value);
+		case KIND:
+			track.setKind(value.stringValue(this.stringPool));
 			break;
-		case "Library Folder Count":
-			track.setLibraryFolderCount(Integer.parseInt(value));
+		case LIBRARY_FOLDER_COUNT:
+			track.setLibraryFolderCount(value.intValue());
 			break;
-		case "Location":
-			track.setLocation(new URL(value));
+		case LOCATION:
+			String location = Locations.check(value.stringValue());
+			int length = Locations.directoryLength(location);
+			String directory = location.substring(0, length);
+			track.setLocation(this.stringPool == null ? directory : this.stringPool.intern(directory), location.substring(length));
 			break;
-		case "Loved":
-			track.setLoved(Boolean.parseBoolean(value));
+		case LOVED:
+			track.setLoved(value.booleanValue());
 			break;
-		case "Name":
-			track.setName(value);
+		case NAME:
+			track.setName(value.stringValue());
 			break;
-		case "Part Of Gapless Album":
-			track.setPartOfGaplessAlbum(Boolean.parseBoolean(value));
+		case PART_OF_GAPLESS_ALBUM:
+			track.setPartOfGaplessAlbum(value.booleanValue());
 			break;
-		case "Persistent ID":
-			track.setPersistentID(value);
+		case PERSISTENT_ID:
+			track.setPersistentID(value.stringValue());
 			break;
-		case "Play Count":
-			track.setPlayCount(Integer.parseInt(value));
+		case PLAY_COUNT:
+			track.setPlayCount(value.intValue());
 			break;
-		case "Play Date":
-			track.setPlayDate(Long.parseLong(value));
+		case PLAY_DATE:
+			track.setPlayDate(value.longValue());
 			break;
-		case "Play Date UTC":
-			track.setPlayDateUTC(DATEFORMAT.parse(value));
+		case PLAY_DATE_UTC:
+			track.setPlayDateUTC(value.dateValue());
 			break;
-		case "Purchased":
-			track.setPurchased(Boolean.parseBoolean(value));
+		case PURCHASED:
+			track.setPurchased(value.booleanValue());
 			break;
-		case "Rating":
-			track.setRating(Integer.parseInt(value));
+		case RATING:
+			track.setRating(value.intValue());
 			break;
-		case "Release Date":
-			track.setReleaseDate(DATEFORMAT.parse(value));
+		case RELEASE_DATE:
+			track.setReleaseDate(value.dateValue());
 			break;
-		case "Sample Rate":
-			track.setSampleRate(Integer.parseInt(value));
+		case SAMPLE_RATE:
+			track.setSampleRate(value.intValue());
 			break;
-		case "Size":
-			track.setSize(Long.parseLong(value));
+		case SIZE:
+			track.setSize(value.longValue());
 			break;
-		case "Skip Count":
-			track.setSkipCount(Integer.parseInt(value));
+		case SKIP_COUNT:
+			track.setSkipCount(value.intValue());
 			break;
-		case "Skip Date":
-			track.setSkipDate(DATEFORMAT.parse(value));
+		case SKIP_DATE:
+			track.setSkipDate(value.dateValue());
 			break;
-		case "Season":
-			track.setSeason(Integer.parseInt(value));
+		case SEASON:
+			track.setSeason(value.intValue());
 			break;
-		case "Series":
-			track.setSeries(value);
+		case SERIES:
+			track.setSeries(value.stringValue());
 			break;
-		case "Sort Album":
-			track.setSortAlbum(value);
+		case SORT_ALBUM:
+			track.setSortAlbum(value.stringValue(this.stringPool));
 			break;
-		case "Sort Album Artist":
-			track.setSortAlbumArtist(value);
+		case SORT_ALBUM_ARTIST:
+			track.setSortAlbumArtist(value.stringValue(this.stringPool));
 			break;
-		case "Sort Artist":
-			track.setSortArtist(value);
+		case SORT_ARTIST:
+			track.setSortArtist(value.stringValue(this.stringPool));
 			break;
-		case "Sort Composer":
-			track.setSortComposer(value);
+		case SORT_COMPOSER:
+			track.setSortComposer(value.stringValue(this.stringPool));
 			break;
-		case "Sort Name":
-			track.setSortName(value);
+		case SORT_NAME:
+			track.setSortName(value.stringValue());
 			break;
-		case "Sort Series":
-			track.setSortSeries(value);
+		case SORT_SERIES:
+			track.setSortSeries(value.stringValue());
 			break;
-		case "Start Time":
-			track.setStartTime(Long.parseLong(value));
+		case START_TIME:
+			track.setStartTime(value.longValue());
 			break;
-		case "Stop Time":
-			track.setStopTime(Long.parseLong(value));
+		case STOP_TIME:
+			track.setStopTime(value.longValue());
 			break;
-		case "Total Time":
-			track.setTotalTime(Long.parseLong(value));
+		case TOTAL_TIME:
+			track.setTotalTime(value.longValue());
 			break;
-		case "Track Count":
-			track.setTrackCount(Integer.parseInt(value));
+		case TRACK_COUNT:
+			track.setTrackCount(value.intValue());
 			break;
-		case "Track ID":
-			track.setTrackID(Integer.parseInt(value));
+		case TRACK_ID:
+			track.setTrackID(value.intValue());
 			break;
-		case "Track Number":
-			track.setTrackNumber(Integer.parseInt(value));
+		case TRACK_NUMBER:
+			track.setTrackNumber(value.intValue());
 			break;
-		case "Track Type":
-			track.setTrackType(value);
+		case TRACK_TYPE:
+			track.setTrackType(value.stringValue(this.stringPool));
 			break;
-		case "Volume Adjustment":
-			track.setVolumeAdjustment(Integer.parseInt(value));
+		case VOLUME_ADJUSTMENT:
+			track.setVolumeAdjustment(value.intValue());
 			break;
-		case "Year":
-			track.setYear(Integer.parseInt(value));
+		case YEAR:
+			track.setYear(value.intValue());
 			break;
-		case "Has Video":
-			track.setVideo(Boolean.parseBoolean(value));
+		case HAS_VIDEO:
+			track.setVideo(value.booleanValue());
 			break;
-		case "Movie":
-			track.setMovie(Boolean.parseBoolean(value));
+		case MOVIE:
+			track.setMovie(value.booleanValue());
 			break;
-		case "Video Height":
-			track.setVideoHeight(Integer.parseInt(value));
+		case VIDEO_HEIGHT:
+			track.setVideoHeight(value.intValue());
 			break;
-		case "Video Width":
-			track.setVideoWidth(Integer.parseInt(value));
+		case VIDEO_WIDTH:
+			track.setVideoWidth(value.intValue());
 			break;
-		case "Unplayed":
-			track.setUnplayed(Boolean.parseBoolean(value));
+		case UNPLAYED:
+			track.setUnplayed(value.booleanValue());
 			break;
-		case "Podcast":
-			track.setPodcast(Boolean.parseBoolean(value));
+		case PODCAST:
+			track.setPodcast(value.booleanValue());
 			break;
-        case "Normalization":
-            track.setNormalization(Integer.parseInt(value));
+        case NORMALIZATION:
+            track.setNormalization(value.intValue());
             break;
-        case "Work":
-            track.setWork(value);
+        case WORK:
+            track.setWork(value.stringValue());
             break;
-		default:
-			log.warning("Unknown Track key '"+key+"' with value '"+value+"'");
-			break;
 		}
-		
 	}
 	
 	/**
 	 * Add a key-value pair to a given Playlist object.<br>
 	 * This method parses the value in the correct data type if needed.
 	 * @param playlist The {@linkplain Playlist} object.
-	 * @param key The key.
+	 * @param property The property.
 	 * @param value The value.
 	 * @throws ParseException If the given value can not be parsed into the correct data type.
 	 */
-	private void addToPlaylist(Playlist playlist, String key, String value) throws ParseException {
-		switch (key) {
-		case "All Items":
-			playlist.setAllItems(Boolean.parseBoolean(value));
+	private void addToPlaylist(Playlist playlist, PlaylistProperty property, Value value) throws ParseException {
+		switch (property) {
+		case ALL_ITEMS:
+			playlist.setAllItems(value.booleanValue());
 			break;
-		case "Audiobooks":
-			playlist.setAudiobooks(Boolean.parseBoolean(value));
+		case AUDIOBOOKS:
+			playlist.setAudiobooks(value.booleanValue());
 			break;
-		case "Distinguished Kind":
-			playlist.setDistinguishedKind(Integer.parseInt(value));
+		case DISTINGUISHED_KIND:
+			playlist.setDistinguishedKind(value.intValue());
 			break;
-		case "Folder":
-			playlist.setFolder(Boolean.parseBoolean(value));
+		case FOLDER:
+			playlist.setFolder(value.booleanValue());
 			break;
-		case "Master":
-			playlist.setMaster(Boolean.parseBoolean(value));
+		case MASTER:
+			playlist.setMaster(value.booleanValue());
 			break;
-		case "Movies":
-			playlist.setMovies(Boolean.parseBoolean(value));
+		case MOVIES:
+			playlist.setMovies(value.booleanValue());
 			break;
-		case "Music":
-			playlist.setMusic(Boolean.parseBoolean(value));
+		case MUSIC:
+			playlist.setMusic(value.booleanValue());
 			break;
-		case "Name":
-			playlist.setName(value);
+		case NAME:
+			playlist.setName(value.stringValue());
 			break;
-		case "Parent Persistent ID":
-			playlist.setParentPersistentID(value);
+		case PARENT_PERSISTENT_ID:
+			playlist.setParentPersistentID(value.stringValue());
 			break;
-		case "Playlist ID":
-			playlist.setPlaylistID(Integer.parseInt(value));
+		case PLAYLIST_ID:
+			playlist.setPlaylistID(value.intValue());
 			break;
-		case "Playlist Items":
+		case PLAYLIST_ITEMS:
 			// Playlist items will not be added here.
 			// In the ElementHandler for Playlists, the method "addTracksToPlaylist" is called to add the Tracks Map.
 			break;
-		case "Playlist Persistent ID":
-			playlist.setPlaylistPersistentID(value);
+		case PLAYLIST_PERSISTENT_ID:
+			playlist.setPlaylistPersistentID(value.stringValue());
 			break;
-		case "Podcasts":
-			playlist.setPodcasts(Boolean.parseBoolean(value));
+		case PODCASTS:
+			playlist.setPodcasts(value.booleanValue());
 			break;
-		case "Smart Criteria":
-			value = value.replaceAll("\\s+", "");
-			playlist.setSmartCriteria(value);
+		case SMART_CRITERIA:
+			playlist.setSmartCriteria(value.stringValue().replaceAll("\\s+", ""));
 			break;
-		case "Smart Info":
-			value = value.replaceAll("\\s+", "");
-			playlist.setSmartInfo(value);
+		case SMART_INFO:
+			playlist.setSmartInfo(value.stringValue().replaceAll("\\s+", ""));
 			break;
-		case "TV Shows":
-			playlist.setTvShows(Boolean.parseBoolean(value));
+		case TV_SHOWS:
+			playlist.setTvShows(value.booleanValue());
 			break;
-		case "Visible":
-			playlist.setVisible(Boolean.parseBoolean(value));
+		case VISIBLE:
+			playlist.setVisible(value.booleanValue());
 			break;
-        case "Description":
-            playlist.setDescription(value);
+        case DESCRIPTION:
+            playlist.setDescription(value.stringValue());
             break;
-		default:
-			log.warning("Unknown Playlist key '"+key+"' with value '"+value+"'");
-			break;
 		}
 	}
 	
 	/**
-	 * Creates a Map of Tracks for the given XML {@linkplain Element}.<br>
-	 * The created Map will be set as "playlistItems" for the given Playlist object.
+	 * Reads the Track IDs of the given XML {@linkplain Element} and adds them as the items of the Playlist.
 	 * @param element The XML {@linkplain Element} of this Playlist.
 	 * @param playlist The {@linkplain Playlist} object.
 	 */
 	private void addTracksToPlaylist(Element element, Playlist playlist) {
-        List<Element> elements = element.elements();
-        Map<Integer, Track> tracks = new LinkedHashMap<>();
-
-        for (int i = 0; i < elements.size(); i++) {
-
-            int id = Integer.parseInt(elements.get(i).elements().get(1).getText());
-            Track track = this.tracks.get(id);
-            tracks.put(id, track);
-        }
-
-        playlist.setPlaylistItems(tracks);
-    }
+		List<Element> elements = element.elements();
+		int[] ids = new int[elements.size()];
+		int count = 0;
+		
+		for ( int i=0; i<elements.size(); i++ ) {
+			Element trackID = elements.get(i).elements().get(1);
+			try {
+				ids[count] = Integer.parseInt(trackID.getText());
+				count++;
+			} catch (NumberFormatException e) {
+				this.addMalformedItem(playlist, this.value.set(trackID.getText(), trackID.getName()), e);
+			}
+		}
+		
+		this.addPlaylistItems(playlist, ids, count);
+	}
+	
+	/**
+	 * Creates a new Track object to add the properties of a Track dict.<br>
+	 * In a columnar parse this is a new row of the {@linkplain TrackTable}.
+	 * @return The {@linkplain Track} object.
+	 */
+	Track newTrack() {
+		return this.trackTable != null ? this.trackTable.addRow() : new Track();
+	}
+	
+	/**
+	 * Adds a parsed Track to the Track Map, or hands it to the visitor of a streaming parse.<br>
+	 * In a columnar parse the Track is already a row of the {@linkplain TrackTable} and is only indexed by its Track ID.
+	 * A Track without a valid Track ID is skipped and collected as {@linkplain DiagnosticKind#MISSING_ID}.
+	 * @param track The {@linkplain Track} object.
+	 */
+	void addTrack(Track track) {
+		if ( track.getTrackID() == null ) {
+			this.addMissingID(track, TrackProperty.TRACK_ID.getKey());
+			return;
+		}
+		if ( this.recorder != null ) {
+			this.recorder.tracks(1);
+		}
+		if ( this.trackVisitor != null ) {
+			this.trackVisitor.visit(track);
+		} else if ( track instanceof TrackRow ) {
+			((TrackRow) track).index();
+		} else if ( ! this.streaming ) {
+			this.tracks.put(track.getTrackID(), track);
+		}
+	}
+	
+	/**
+	 * Adds the indexed Tracks of a lazy parse.<br>
+	 * The index replaces the Track Map. In a streaming parse every Track is handed to the visitor instead.
+	 * @param index The {@linkplain TrackIndex} of the Tracks.
+	 */
+	void addTracks(TrackIndex index) {
+		if ( this.streaming ) {
+			index.visit(this::addTrack);
+		} else {
+			this.tracks = index;
+			if ( this.recorder != null ) {
+				this.recorder.tracks(index.size());
+			}
+		}
+	}
+	
+	/**
+	 * Adds a parsed Playlist to the Playlist Map, or hands it to the visitor of a streaming parse.<br>
+	 * A Playlist without a valid Playlist ID is skipped and collected as {@linkplain DiagnosticKind#MISSING_ID}.
+	 * @param playlist The {@linkplain Playlist} object.
+	 */
+	void addPlaylist(Playlist playlist) {
+		if ( playlist.getPlaylistID() == null ) {
+			this.addMissingID(playlist, PlaylistProperty.PLAYLIST_ID.getKey());
+			return;
+		}
+		if ( this.recorder != null ) {
+			this.recorder.playlist();
+		}
+		if ( this.playlistVisitor != null ) {
+			this.playlistVisitor.visit(playlist);
+		} else if ( ! this.streaming ) {
+			this.playlists.put(playlist.getPlaylistID(), playlist);
+		}
+	}
+	
+	/**
+	 * Adds the items of a Playlist.<br>
+	 * The Track IDs are kept as an int array with a view, which resolves them in the Track Map when they are read.
+	 * In a streaming parse the Tracks are not kept, so only the Track IDs are set.
+	 * @param playlist The {@linkplain Playlist} object.
+	 * @param ids The Track IDs in the order of the XML File.
+	 * @param count The number of Track IDs to use from the array.
+	 */
+	void addPlaylistItems(Playlist playlist, int[] ids, int count) {
+		MetricsRecorder recorder = this.recorder;
+		long start = recorder != null ? System.nanoTime() : 0;
+		if ( this.streaming ) {
+			playlist.setPlaylistItemIDs(Arrays.copyOf(ids, count));
+		} else {
+			playlist.setPlaylistItems(Arrays.copyOf(ids, count), this.tracks);
+		}
+		if ( recorder != null ) {
+			recorder.playlistItems(count);
+			recorder.time(ParsePhase.PLAYLISTS, start);
+		}
+	}
+	
+	/**
+	 * Returns true if the given Track property is selected to be parsed.
+	 * @param property The property or null for an unknown key.
+	 * @return True if the property must be parsed.
+	 */
+	boolean isSelected(TrackProperty property) {
+		return this.trackProperties == null || this.trackProperties.contains(property);
+	}
+	
+	/**
+	 * Returns true if the given Playlist property is selected to be parsed.
+	 * @param property The property or null for an unknown key.
+	 * @return True if the property must be parsed.
+	 */
+	boolean isSelected(PlaylistProperty property) {
+		return this.playlistProperties == null || this.playlistProperties.contains(property);
+	}
+	
+	/**
+	 * Returns true if the property with the given key is selected to be parsed for the given object.<br>
+	 * Library properties are always parsed.
+	 * @param object The {@linkplain Library}, {@linkplain Track} or {@linkplain Playlist} object.
+	 * @param key The key.
+	 * @return True if the property must be parsed.
+	 */
+	boolean isSelected(Object object, String key) {
+		if ( object instanceof Track && this.trackProperties != null ) {
+			return this.trackProperties.contains(TrackProperty.KEYS.get(key));
+		} else if ( object instanceof Playlist && this.playlistProperties != null ) {
+			return this.playlistProperties.contains(PlaylistProperty.KEYS.get(key));
+		}
+		return true;
+	}
+	
+	/**
+	 * Returns true if the {@linkplain Engine#DOM4J} engine must detach every processed element.<br>
+	 * This is the case in bounded memory mode and in a streaming parse.
+	 * @return True if processed elements must be detached.
+	 */
+	private boolean isDetaching() {
+		return this.boundedMemory || this.streaming;
+	}
 	
 	// --------------------------------------------------
 	// Getter & Setter
@@ -652,6 +1551,282 @@ public class Parser {
 	 */
 	public void setFile(File file) {
 		this.file = file;
+		this.resetUpdate();
+	}
+	
+	/**
+	 * Get the engine to read the XML File.
+	 * @return The {@linkplain Engine}.
+	 */
+	public Engine getEngine() {
+		return this.engine;
+	}
+	
+	/**
+	 * Set the engine to read the XML File.<br>
+	 * The default engine is {@linkplain Engine#DOM4J}.
+	 * @param engine The {@linkplain Engine}.
+	 */
+	public void setEngine(Engine engine) {
+		this.engine = engine;
+	}
+	
+	/**
+	 * Get the number of threads to decode the Tracks.
+	 * @return The number of threads.
+	 */
+	public int getParallelism() {
+		return this.parallelism;
+	}
+	
+	/**
+	 * Set the number of threads to decode the Tracks.<br>
+	 * If the number is greater than 1, one thread splits the Tracks dict of the XML File into chunks
+	 * and the given number of threads decodes the chunks into Track objects in parallel.
+	 * The resulting Track Map is identical to the one of a single thread.<br>
+	 * Only used by the {@linkplain Engine#PLIST} engine. The default is 1.
+	 * @param parallelism The number of threads, e.g. {@code Runtime.getRuntime().availableProcessors()}.
+	 */
+	public void setParallelism(int parallelism) {
+		if ( parallelism < 1 ) {
+			throw new IllegalArgumentException("The parallelism must be at least 1: "+parallelism);
+		}
+		this.parallelism = parallelism;
+	}
+	
+	/**
+	 * Get the number of entries of the String pool.
+	 * @return The number of entries, or 0 if no String pool is used.
+	 */
+	public int getStringPoolSize() {
+		return this.stringPoolSize;
+	}
+	
+	/**
+	 * Set the number of entries of the String pool.<br>
+	 * Every parse has its own {@linkplain StringPool}, which shares the identical values of the Artist, Album Artist, Album,
+	 * Composer, Genre, Kind, Track Type and the Sort Album, Sort Album Artist, Sort Artist and Sort Composer of the Tracks.
+	 * Values which are unique per Track, like the Name or the Location, are not pooled.<br>
+	 * The default is {@value StringPool#DEFAULT_SIZE}, 0 disables the String pool.
+	 * @param stringPoolSize The number of entries or 0.
+	 */
+	public void setStringPoolSize(int stringPoolSize) {
+		if ( stringPoolSize < 0 ) {
+			throw new IllegalArgumentException("The String pool size must not be negative: "+stringPoolSize);
+		}
+		this.stringPoolSize = stringPoolSize;
+	}
+	
+	/**
+	 * Returns true if the Tracks are stored in a {@linkplain TrackTable}.
+	 * @return True if the columnar mode is enabled.
+	 */
+	public boolean isColumnar() {
+		return this.columnar;
+	}
+	
+	/**
+	 * Enables or disables the columnar mode.<br>
+	 * In columnar mode the Tracks are not stored as {@linkplain Track} objects, but as the rows of a {@linkplain TrackTable}
+	 * with a primitive or dictionary-encoded column per property, which needs a fraction of the memory.<br>
+	 * {@link #getTrackTable()} returns the table. {@link #getTracks()} returns a read-only Map
+	 * of flyweight Track views of the rows in the order of the XML File.<br>
+	 * Not used in lazy mode and in a streaming parse. The {@linkplain Engine#PLIST} engine ignores the parallelism in columnar mode.
+	 * @param columnar True to enable the columnar mode.
+	 */
+	public void setColumnar(boolean columnar) {
+		this.columnar = columnar;
+	}
+	
+	/**
+	 * Returns true if the Tracks are decoded on demand.
+	 * @return True if the lazy mode is enabled.
+	 */
+	public boolean isLazy() {
+		return this.lazy;
+	}
+	
+	/**
+	 * Enables or disables the lazy mode.<br>
+	 * In lazy mode the parse only records the Track ID and the position of every Track in the XML File.
+	 * A Track decodes its properties from the memory-mapped XML File the first time one of its methods is called,
+	 * so Tracks which are never used cost almost nothing.<br>
+	 * {@link #getTracks()} returns a read-only Map in the order of the XML File.
+	 * The XML File must not be changed while its Tracks are in use.<br>
+	 * Only used by the {@linkplain Engine#PLIST} engine, the parallelism is ignored in lazy mode.
+	 * @param lazy True to enable the lazy mode.
+	 */
+	public void setLazy(boolean lazy) {
+		this.lazy = lazy;
+	}
+	
+	/**
+	 * Get the directory of the snapshots.
+	 * @return The cache directory, or null if no snapshots are used.
+	 */
+	public File getCacheDirectory() {
+		return this.cacheDirectory;
+	}
+	
+	/**
+	 * Set the directory of the snapshots.<br>
+	 * After a parse of the XML File a binary snapshot of the parsed objects is written into the cache directory.
+	 * The next parse reads the snapshot instead of the XML File, if the size, the last modified time and the content
+	 * of the XML File and the selected properties have not changed. Otherwise the XML File is parsed and the snapshot is replaced.
+	 * A damaged snapshot is detected, deleted and replaced as well. Errors of the cache are logged and never fail a parse.<br>
+	 * Not used in lazy mode. A streaming parse reads a snapshot, but does not write one.
+	 * The default is null, which uses no snapshots.
+	 * @param cacheDirectory The cache directory, which is created if needed, or null.
+	 */
+	public void setCacheDirectory(File cacheDirectory) {
+		this.cacheDirectory = cacheDirectory;
+	}
+	
+	/**
+	 * Returns true if the last parse has read the snapshot in the cache directory instead of the XML File.
+	 * @return True if the snapshot has been read.
+	 */
+	public boolean isSnapshotLoaded() {
+		return this.snapshotLoaded;
+	}
+	
+	/**
+	 * Get the Track properties to parse.
+	 * @return The selected Track properties, or null if all are parsed.
+	 */
+	public Set<TrackProperty> getTrackProperties() {
+		return this.trackProperties == null ? null : Collections.unmodifiableSet(this.trackProperties);
+	}
+	
+	/**
+	 * Set the Track properties to parse.<br>
+	 * The value of every other key of a Track dict is skipped without being decoded, and its getter returns null.
+	 * {@linkplain TrackProperty#TRACK_ID} is always parsed, because it is the key of the Track Map.<br>
+	 * The default is null, which parses all properties.
+	 * @param properties The properties, e.g. {@code EnumSet.of(TrackProperty.NAME, TrackProperty.ARTIST)}, or null to parse all.
+	 */
+	public void setTrackProperties(Set<TrackProperty> properties) {
+		if ( properties == null ) {
+			this.trackProperties = null;
+		} else {
+			this.trackProperties = EnumSet.of(TrackProperty.TRACK_ID);
+			this.trackProperties.addAll(properties);
+		}
+		this.resetUpdate();
+	}
+	
+	/**
+	 * Get the Playlist properties to parse.
+	 * @return The selected Playlist properties, or null if all are parsed.
+	 */
+	public Set<PlaylistProperty> getPlaylistProperties() {
+		return this.playlistProperties == null ? null : Collections.unmodifiableSet(this.playlistProperties);
+	}
+	
+	/**
+	 * Set the Playlist properties to parse.<br>
+	 * The value of every other key of a Playlist dict is skipped without being decoded, and its getter returns null.
+	 * Without {@linkplain PlaylistProperty#PLAYLIST_ITEMS} the items of the Playlists are not read.
+	 * {@linkplain PlaylistProperty#PLAYLIST_ID} is always parsed, because it is the key of the Playlist Map.<br>
+	 * The default is null, which parses all properties.
+	 * @param properties The properties, e.g. {@code EnumSet.of(PlaylistProperty.NAME)}, or null to parse all.
+	 */
+	public void setPlaylistProperties(Set<PlaylistProperty> properties) {
+		if ( properties == null ) {
+			this.playlistProperties = null;
+		} else {
+			this.playlistProperties = EnumSet.of(PlaylistProperty.PLAYLIST_ID);
+			this.playlistProperties.addAll(properties);
+		}
+		this.resetUpdate();
+	}
+	
+	/**
+	 * Returns true if the bounded memory mode is enabled.
+	 * @return True if the bounded memory mode is enabled.
+	 */
+	public boolean isBoundedMemory() {
+		return this.boundedMemory;
+	}
+	
+	/**
+	 * Enables or disables the bounded memory mode.<br>
+	 * In bounded memory mode every Track and Playlist element is detached from the XML document once it has been parsed,
+	 * and the Library properties are read as they stream past instead of from the whole root dict at the end.<br>
+	 * The XML document is then never held in memory as a whole, only the resulting objects are.<br>
+	 * Only used by the {@linkplain Engine#DOM4J} engine, the other engines never hold the XML document in memory.
+	 * @param boundedMemory True to enable the bounded memory mode.
+	 */
+	public void setBoundedMemory(boolean boundedMemory) {
+		this.boundedMemory = boundedMemory;
+	}
+	
+	/**
+	 * Get the listener of the metrics of every parse.
+	 * @return The {@linkplain MetricsListener} or null.
+	 */
+	public MetricsListener getMetricsListener() {
+		return this.metricsListener;
+	}
+	
+	/**
+	 * Set a listener which receives the {@linkplain ParseMetrics} of every successful {@link #parse()}:
+	 * the time of every {@linkplain ParsePhase}, the number of Tracks, Playlists and keys, the unknown keys by name
+	 * and the bytes read.<br>
+	 * The metrics are only recorded while a listener is set, without a listener the parse does not measure anything.
+	 * Recording the metrics adds two calls of {@linkplain System#nanoTime()} per key-value pair.
+	 * @param metricsListener The {@linkplain MetricsListener} or null to record no metrics.
+	 */
+	public void setMetricsListener(MetricsListener metricsListener) {
+		this.metricsListener = metricsListener;
+	}
+	
+	/**
+	 * Returns true if the bytes allocated by a parse are measured for the metrics.
+	 * @return True if the allocation is measured.
+	 */
+	public boolean isAllocationMeasured() {
+		return this.allocationMeasured;
+	}
+	
+	/**
+	 * Enables or disables the measurement of the bytes allocated by the thread of a parse, see {@link ParseMetrics#getAllocatedBytes()}.<br>
+	 * Only used if a {@linkplain MetricsListener} is set.
+	 * @param allocationMeasured True to measure the allocation.
+	 */
+	public void setAllocationMeasured(boolean allocationMeasured) {
+		this.allocationMeasured = allocationMeasured;
+	}
+	
+	/**
+	 * Returns true if the first unknown key or malformed value fails the parse.
+	 * @return True if the strict mode is enabled.
+	 */
+	public boolean isStrict() {
+		return this.strict;
+	}
+	
+	/**
+	 * Enables or disables the strict mode.<br>
+	 * By default an unknown key or a malformed value is skipped and collected by {@link #getDiagnostics()}.
+	 * In strict mode the first one stops the parse with a {@linkplain DocumentException},
+	 * whose cause is a {@linkplain DiagnosticException} with the {@linkplain Diagnostic}.<br>
+	 * A lazy Track is decoded after the parse, so a problem of its dict is logged and the properties decoded so far are kept.
+	 * @param strict True to enable the strict mode.
+	 */
+	public void setStrict(boolean strict) {
+		this.strict = strict;
+	}
+	
+	/**
+	 * Get the unknown keys and malformed values of the last parse or update.<br>
+	 * Every distinct problem is counted once with a sample value, see {@linkplain Diagnostics}.
+	 * A parse which reads a snapshot returns the Diagnostics of the parse which has written the snapshot.
+	 * In lazy mode the values of a Track are only checked when it is decoded, so its problems are added then.
+	 * @return The {@linkplain Diagnostics}.
+	 */
+	public Diagnostics getDiagnostics() {
+		return this.diagnostics;
 	}
 	
 	/**
@@ -672,6 +1847,40 @@ public class Parser {
 		return this.tracks;
 	}
 	
+	/**
+	 * Get the result of the last parse as a frozen {@linkplain ParseResult}.<br>
+	 * The Track and Playlist Maps are copied into compact read-only Maps and the Library, Track and Playlist objects are frozen,
+	 * so their setters throw an {@linkplain UnsupportedOperationException}. This also applies to the objects
+	 * returned by {@link #getLibrary()}, {@link #getTracks()} and {@link #getPlaylists()}.
+	 * The result can be read by any number of threads without locking, and is never changed by a later parse or update.<br>
+	 * The result is created once per parse, every further call returns the same object.
+	 * @return The {@linkplain ParseResult}.
+	 */
+	public ParseResult getResult() {
+		if ( this.result == null ) {
+			this.result = new ParseResult(this);
+		}
+		return this.result;
+	}
+	
+	/**
+	 * Get the String pool of the last parse, e.g. to get the number of bytes saved by {@link StringPool#getSavedBytes()}.<br>
+	 * Returns null if no String pool was used.
+	 * @return The {@linkplain StringPool}.
+	 */
+	public StringPool getStringPool() {
+		return this.stringPool;
+	}
+	
+	/**
+	 * Get the table of the parsed Tracks of a columnar parse.<br>
+	 * Returns null if the columnar mode was not used.
+	 * @return The {@linkplain TrackTable}.
+	 */
+	public TrackTable getTrackTable() {
+		return this.trackTable;
+	}
+	
 	/**
 	 * Get the parsed Map of {@linkplain Playlist} objects.<br>
 	 * Returns null if the Playlists were not parsed.
@@ -1,11 +1,16 @@
 package com.github.pireba.itunesparser;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 /**
  * This class represents an iTunes Playlist.<br>
  * Every property of an iTunes Playlist is stored in this object.<br>
- * The Tracks of a Playlist are stored as a Map of {@linkplain Track} objects in the attribute "playlistItems".
+ * The Tracks of a Playlist are stored as an int array of Track IDs in the attribute "playlistItemIDs".
+ * They are resolved to the {@linkplain Track} objects by the Map of {@link #getPlaylistItems()}
+ * and the List of {@link #getPlaylistItemList()}.
  * 
  * @version 1.1
  * @author Phillip Remmert
@@ -27,6 +32,7 @@ public class Playlist {
 	private String parentPersistentID;
 	private Integer playlistID;
 	private Map<Integer, Track> playlistItems;
+	private int[] playlistItemIDs;
 	private String playlistPersistentID;
 	private Boolean podcasts;
 	private String smartCriteria;
@@ -34,6 +40,69 @@ public class Playlist {
 	private Boolean tvShows;
 	private Boolean visible;
     private String description;
+	private Extensions extensions;
+	private boolean frozen;
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Copies every property of the given Playlist into this Playlist.<br>
+	 * Used by an incremental update, see {@link Parser#update()}.
+	 * @param playlist The {@linkplain Playlist} object to copy.
+	 */
+	void copy(Playlist playlist) {
+		this.checkFrozen();
+		this.allItems = playlist.allItems;
+		this.audiobooks = playlist.audiobooks;
+		this.distinguishedKind = playlist.distinguishedKind;
+		this.folder = playlist.folder;
+		this.master = playlist.master;
+		this.movies = playlist.movies;
+		this.music = playlist.music;
+		this.name = playlist.name;
+		this.parentPersistentID = playlist.parentPersistentID;
+		this.playlistID = playlist.playlistID;
+		this.playlistItems = playlist.playlistItems;
+		this.playlistItemIDs = playlist.playlistItemIDs;
+		this.playlistPersistentID = playlist.playlistPersistentID;
+		this.podcasts = playlist.podcasts;
+		this.smartCriteria = playlist.smartCriteria;
+		this.smartInfo = playlist.smartInfo;
+		this.tvShows = playlist.tvShows;
+		this.visible = playlist.visible;
+		this.description = playlist.description;
+		this.extensions = playlist.extensions;
+	}
+	
+	/**
+	 * Freezes this Playlist, every setter throws an {@linkplain UnsupportedOperationException} afterwards.<br>
+	 * See {@link Parser#getResult()}.
+	 */
+	void freeze() {
+		this.frozen = true;
+		if ( this.playlistItems != null && ! (this.playlistItems instanceof PlaylistItems) ) {
+			this.playlistItems = Collections.unmodifiableMap(this.playlistItems);
+		}
+	}
+	
+	/**
+	 * Returns true if this Playlist is frozen and can not be changed anymore.
+	 * @return True if this Playlist is frozen.
+	 */
+	public boolean isFrozen() {
+		return this.frozen;
+	}
+	
+	/**
+	 * Throws an {@linkplain UnsupportedOperationException} if this Playlist is frozen.
+	 */
+	void checkFrozen() {
+		if ( this.frozen ) {
+			throw new UnsupportedOperationException("The Playlist is frozen");
+		}
+	}
 	
 	// --------------------------------------------------
 	// Getter
@@ -79,10 +148,47 @@ public class Playlist {
 		return this.playlistID;
 	}
 	
+	/**
+	 * Get the Tracks of the Playlist by their Track ID.<br>
+	 * A Track which occurs more than once in the Playlist is held once, in the order of its first occurrence.
+	 * The Map of a parsed Playlist is a read-only view, which resolves the Track IDs when they are read.
+	 * @return The Map of {@linkplain Track} objects, or null in a streaming parse.
+	 */
 	public Map<Integer, Track> getPlaylistItems() {
 		return this.playlistItems;
 	}
 	
+	/**
+	 * Get the Tracks of the Playlist in the order of the XML File, including the Tracks which occur more than once.<br>
+	 * The List of a parsed Playlist is a read-only view, which resolves the Track IDs when they are read.
+	 * @return The List of {@linkplain Track} objects, or null in a streaming parse.
+	 */
+	public List<Track> getPlaylistItemList() {
+		if ( this.playlistItems instanceof PlaylistItems ) {
+			return ((PlaylistItems) this.playlistItems).asList();
+		}
+		return this.playlistItems == null ? null : Collections.unmodifiableList(new ArrayList<Track>(this.playlistItems.values()));
+	}
+	
+	/**
+	 * Get the Track IDs of the Playlist items in the order of the XML File, including the Track IDs which occur more than once.<br>
+	 * In a streaming parse the Tracks are not kept, so only the Track IDs are set,
+	 * see {@link Parser#parse(TrackVisitor, PlaylistVisitor, LibraryVisitor)}.<br>
+	 * Returns a copy, since the array is shared with the view of {@link #getPlaylistItems()} of a frozen result.
+	 * @return A copy of the Track IDs, or null.
+	 */
+	public int[] getPlaylistItemIDs() {
+		return this.playlistItemIDs == null ? null : this.playlistItemIDs.clone();
+	}
+	
+	/**
+	 * Get the Track IDs of the Playlist items without a copy, e.g. to write a snapshot.
+	 * @return The Track IDs, or null.
+	 */
+	int[] playlistItemIDs() {
+		return this.playlistItemIDs;
+	}
+	
 	public String getPlaylistPersistentID() {
 		return this.playlistPersistentID;
 	}
@@ -111,79 +217,126 @@ public class Playlist {
         return description;
     }
 	
+	/**
+	 * Get the key-value pairs of this Playlist whose keys are not known by the Parser, e.g. the keys of a newer iTunes version.
+	 * @return The {@linkplain Extensions}, which are {@linkplain Extensions#EMPTY} if the Playlist has no unknown keys.
+	 */
+	public Extensions getExtensions() {
+		return this.extensions == null ? Extensions.EMPTY : this.extensions;
+	}
+	
 	// --------------------------------------------------
 	// Setter
 	// --------------------------------------------------
 	
 	public void setAllItems(Boolean allItems) {
+		this.checkFrozen();
 		this.allItems = allItems;
 	}
 	
 	public void setAudiobooks(Boolean audiobooks) {
+		this.checkFrozen();
 		this.audiobooks = audiobooks;
 	}
 	
 	public void setDistinguishedKind(Integer distinguishedKind) {
+		this.checkFrozen();
 		this.distinguishedKind = distinguishedKind;
 	}
 	
 	public void setFolder(Boolean folder) {
+		this.checkFrozen();
 		this.folder = folder;
 	}
 	
 	public void setMaster(Boolean master) {
+		this.checkFrozen();
 		this.master = master;
 	}
 	
 	public void setMovies(Boolean movies) {
+		this.checkFrozen();
 		this.movies = movies;
 	}
 	
 	public void setMusic(Boolean music) {
+		this.checkFrozen();
 		this.music = music;
 	}
 	
 	public void setName(String name) {
+		this.checkFrozen();
 		this.name = name;
 	}
 	
 	public void setParentPersistentID(String parentPersistentID) {
+		this.checkFrozen();
 		this.parentPersistentID = parentPersistentID;
 	}
 	
 	public void setPlaylistID(Integer playlistID) {
+		this.checkFrozen();
 		this.playlistID = playlistID;
 	}
 	
 	public void setPlaylistItems(Map<Integer, Track> playlistItems) {
+		this.checkFrozen();
 		this.playlistItems = playlistItems;
 	}
 	
+	public void setPlaylistItemIDs(int[] playlistItemIDs) {
+		this.checkFrozen();
+		this.playlistItemIDs = playlistItemIDs;
+	}
+	
+	/**
+	 * Set the Track IDs of the Playlist items and a view of them, which resolves them in the given Track Map.
+	 * @param playlistItemIDs The Track IDs in the order of the XML File.
+	 * @param tracks The Track Map of the Parser.
+	 */
+	void setPlaylistItems(int[] playlistItemIDs, Map<Integer, Track> tracks) {
+		this.checkFrozen();
+		this.playlistItemIDs = playlistItemIDs;
+		this.playlistItems = new PlaylistItems(playlistItemIDs, tracks);
+	}
+	
 	public void setPlaylistPersistentID(String playlistPersistentID) {
+		this.checkFrozen();
 		this.playlistPersistentID = playlistPersistentID;
 	}
 	
 	public void setPodcasts(Boolean podcasts) {
+		this.checkFrozen();
 		this.podcasts = podcasts;
 	}
 	
 	public void setSmartCriteria(String smartCriteria) {
+		this.checkFrozen();
 		this.smartCriteria = smartCriteria;
 	}
 	
 	public void setSmartInfo(String smartInfo) {
+		this.checkFrozen();
 		this.smartInfo = smartInfo;
 	}
 	
 	public void setTvShows(Boolean tvShows) {
+		this.checkFrozen();
 		this.tvShows = tvShows;
 	}
 	
 	public void setVisible(Boolean visible) {
+		this.checkFrozen();
 		this.visible = visible;
 	}
 
     public void setDescription(String description) {
+        this.checkFrozen();
         this.description = description;
     }
+	
+	void setExtensions(Extensions extensions) {
+		this.checkFrozen();
+		this.extensions = extensions;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,188 @@
+package com.github.pireba.itunesparser;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * A read-only Map view of the items of a {@linkplain Playlist}.<br>
+ * The items are stored as an int array of Track IDs in the order of the XML File, which takes four bytes per item.
+ * A Track ID is resolved to its {@linkplain Track} object in the Track Map of the Parser only when it is read.<br>
+ * A Track may occur more than once in a Playlist. The Map holds every Track once, in the order of its first occurrence,
+ * the List of {@link #asList()} holds every occurrence.
+ * A sorted copy of the distinct Track IDs is created by the first lookup, iteration or size of the Map.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see Playlist#getPlaylistItems()
+ */
+class PlaylistItems extends AbstractMap<Integer, Track> {
+	/**
+	 * The Track IDs in the order of the XML File, including the duplicates.
+	 */
+	private final int[] ids;
+	
+	/**
+	 * The Track Map of the Parser.
+	 */
+	private final Map<Integer, Track> tracks;
+	
+	/**
+	 * The sorted distinct Track IDs, or null if they have not been needed yet.
+	 */
+	private volatile int[] sorted;
+	
+	/**
+	 * Creates a new view of the given Track IDs.
+	 * @param ids The Track IDs in the order of the XML File.
+	 * @param tracks The Track Map of the Parser to resolve the Track IDs.
+	 */
+	PlaylistItems(int[] ids, Map<Integer, Track> tracks) {
+		this.ids = ids;
+		this.tracks = tracks;
+	}
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Get a read-only List view of every item in the order of the XML File, including the duplicates.
+	 * @return The List of {@linkplain Track} objects.
+	 */
+	List<Track> asList() {
+		return new Items();
+	}
+	
+	/**
+	 * Get the Track with the given Track ID from the Track Map of the Parser.
+	 * @param trackID The Track ID.
+	 * @return The {@linkplain Track} object, or null if the Track has not been parsed.
+	 */
+	@SuppressWarnings("unchecked")
+	private Track resolve(int trackID) {
+		if ( this.tracks instanceof IntMap ) {
+			return ((IntMap<Track>) this.tracks).get(trackID);
+		}
+		return this.tracks.get(trackID);
+	}
+	
+	/**
+	 * Get the sorted distinct Track IDs and create them if they have not been needed yet.
+	 * @return The sorted Track IDs.
+	 */
+	private int[] sorted() {
+		int[] sorted = this.sorted;
+		if ( sorted == null ) {
+			sorted = this.ids.clone();
+			Arrays.sort(sorted);
+			int count = 0;
+			for ( int i=0; i<sorted.length; i++ ) {
+				if ( count == 0 || sorted[count-1] != sorted[i] ) {
+					sorted[count++] = sorted[i];
+				}
+			}
+			sorted = count == sorted.length ? sorted : Arrays.copyOf(sorted, count);
+			this.sorted = sorted;
+		}
+		return sorted;
+	}
+	
+	/**
+	 * Returns true if the given key is a Track ID of this Playlist.
+	 * @param key The key.
+	 * @return True if the Track is an item of this Playlist.
+	 */
+	private boolean contains(Object key) {
+		return key instanceof Integer && Arrays.binarySearch(this.sorted(), (Integer) key) >= 0;
+	}
+	
+	@Override
+	public Track get(Object key) {
+		return this.contains(key) ? this.resolve((Integer) key) : null;
+	}
+	
+	@Override
+	public boolean containsKey(Object key) {
+		return this.contains(key);
+	}
+	
+	@Override
+	public int size() {
+		return this.sorted().length;
+	}
+	
+	@Override
+	public Set<Entry<Integer, Track>> entrySet() {
+		return new AbstractSet<Entry<Integer, Track>>() {
+			@Override
+			public Iterator<Entry<Integer, Track>> iterator() {
+				return new Iterator<Entry<Integer, Track>>() {
+					private final int[] sorted = PlaylistItems.this.sorted();
+					private final boolean[] seen = new boolean[this.sorted.length];
+					private int next = this.skip(0);
+					
+					@Override
+					public boolean hasNext() {
+						return this.next < PlaylistItems.this.ids.length;
+					}
+					
+					@Override
+					public Entry<Integer, Track> next() {
+						if ( ! this.hasNext() ) {
+							throw new NoSuchElementException();
+						}
+						int trackID = PlaylistItems.this.ids[this.next];
+						this.next = this.skip(this.next + 1);
+						return new SimpleImmutableEntry<>(trackID, PlaylistItems.this.resolve(trackID));
+					}
+					
+					/**
+					 * Skips the duplicates of the Track IDs which have already been returned.
+					 * @param from The first index to check.
+					 * @return The index of the next Track ID which has not been returned yet.
+					 */
+					private int skip(int from) {
+						int index = from;
+						while ( index < PlaylistItems.this.ids.length ) {
+							int position = Arrays.binarySearch(this.sorted, PlaylistItems.this.ids[index]);
+							if ( ! this.seen[position] ) {
+								this.seen[position] = true;
+								break;
+							}
+							index++;
+						}
+						return index;
+					}
+				};
+			}
+			
+			@Override
+			public int size() {
+				return PlaylistItems.this.size();
+			}
+		};
+	}
+	
+	/**
+	 * The List view of every item, including the duplicates.
+	 */
+	private class Items extends AbstractList<Track> implements RandomAccess {
+		@Override
+		public Track get(int index) {
+			return PlaylistItems.this.resolve(PlaylistItems.this.ids[index]);
+		}
+		
+		@Override
+		public int size() {
+			return PlaylistItems.this.ids.length;
+		}
+	}
+}
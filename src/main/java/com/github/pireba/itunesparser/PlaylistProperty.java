@@ -0,0 +1,56 @@
+package com.github.pireba.itunesparser;
+
+/**
+ * The properties of a {@linkplain Playlist} in the iTunes Library XML File.<br>
+ * Every constant names the key of the property in the XML File.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+public enum PlaylistProperty implements Property {
+	ALL_ITEMS("All Items"),
+	AUDIOBOOKS("Audiobooks"),
+	DISTINGUISHED_KIND("Distinguished Kind"),
+	FOLDER("Folder"),
+	MASTER("Master"),
+	MOVIES("Movies"),
+	MUSIC("Music"),
+	NAME("Name"),
+	PARENT_PERSISTENT_ID("Parent Persistent ID"),
+	PLAYLIST_ID("Playlist ID"),
+	PLAYLIST_ITEMS("Playlist Items"),
+	PLAYLIST_PERSISTENT_ID("Playlist Persistent ID"),
+	PODCASTS("Podcasts"),
+	SMART_CRITERIA("Smart Criteria"),
+	SMART_INFO("Smart Info"),
+	TV_SHOWS("TV Shows"),
+	VISIBLE("Visible"),
+	DESCRIPTION("Description");
+	
+	/**
+	 * The table to look up a property by its key in the XML File.
+	 */
+	static final KeyTable<PlaylistProperty> KEYS = new KeyTable<>(values());
+	
+	/**
+	 * The key of the property in the XML File.
+	 */
+	private final String key;
+	
+	/**
+	 * Creates a new property constant.
+	 * @param key The key of the property in the XML File.
+	 */
+	private PlaylistProperty(String key) {
+		this.key = key;
+	}
+	
+	/**
+	 * Get the key of the property in the XML File.
+	 * @return The key.
+	 */
+	@Override
+	public String getKey() {
+		return this.key;
+	}
+}
@@ -0,0 +1,18 @@
+package com.github.pireba.itunesparser;
+
+/**
+ * Receives the {@linkplain Playlist} objects of a streaming parse.<br>
+ * Every Playlist is handed over as soon as it has been decoded and is not kept by the Parser afterwards.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see Parser#parse(TrackVisitor, PlaylistVisitor, LibraryVisitor)
+ */
+@FunctionalInterface
+public interface PlaylistVisitor {
+	/**
+	 * Called for the parsed {@linkplain Playlist}.
+	 * @param playlist The {@linkplain Playlist} object.
+	 */
+	void visit(Playlist playlist);
+}
@@ -0,0 +1,857 @@
+package com.github.pireba.itunesparser;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+/**
+ * Reads an iTunes Library XML File with a {@linkplain PlistTokenizer}.<br>
+ * The XML File is memory-mapped and the key-value pairs are read from its UTF-8 bytes
+ * straight into the {@linkplain Library}, {@linkplain Track} and {@linkplain Playlist} objects of the given {@linkplain Parser}.<br>
+ * The XML File is never decoded as a whole, Strings are only created for the values which need them.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see Engine#PLIST
+ */
+class PlistReader {
+	/**
+	 * The key of the Track ID in the "Playlist Items" array.
+	 */
+	private static final byte[] TRACK_ID = {'T', 'r', 'a', 'c', 'k', ' ', 'I', 'D'};
+	
+	/**
+	 * The key of the Tracks dict in the Library dict.
+	 */
+	private static final byte[] TRACKS = {'T', 'r', 'a', 'c', 'k', 's'};
+	
+	/**
+	 * The key of the Playlists array in the Library dict.
+	 */
+	private static final byte[] PLAYLISTS = {'P', 'l', 'a', 'y', 'l', 'i', 's', 't', 's'};
+	
+	/**
+	 * The number of Tracks which are decoded by one task if the Tracks are decoded in parallel.
+	 */
+	static final int CHUNK_SIZE = 512;
+	
+	/**
+	 * The Parser to add the properties to.
+	 */
+	private final Parser parser;
+	
+	/**
+	 * The XML File which is currently read.
+	 */
+	private File file;
+	
+	/**
+	 * The tokenizer of the XML File which is currently read.
+	 */
+	private PlistTokenizer tokenizer;
+	
+	/**
+	 * The mapped bytes of the XML File which is currently read.
+	 */
+	private ByteBuffer buffer;
+	
+	/**
+	 * The Track IDs of the Playlist items which are currently read.<br>
+	 * The array is reused for every Playlist.
+	 */
+	private int[] ids = new int[1024];
+	
+	/**
+	 * The changes of an incremental update, or null if the XML File is read as a whole.
+	 */
+	private ChangeSet changes;
+	
+	/**
+	 * The checksums of the Track dicts of the previous incremental update, by the Track ID.
+	 */
+	private Checksums previousTracks;
+	
+	/**
+	 * The Playlist IDs of the Playlist dicts of the previous incremental update, by the checksum.
+	 */
+	private Checksums previousPlaylists;
+	
+	/**
+	 * The checksums of the Track dicts of the current incremental update, by the Track ID.
+	 */
+	private Checksums trackChecksums;
+	
+	/**
+	 * The Playlist IDs of the Playlist dicts of the current incremental update, by the checksum.
+	 */
+	private Checksums playlistChecksums;
+	
+	/**
+	 * The checksum of the Track and Playlist dicts of an incremental update.
+	 */
+	private final CRC32 crc = new CRC32();
+	
+	/**
+	 * The view of the bytes of the XML File which is currently checksummed.
+	 */
+	private ByteBuffer range;
+	
+	/**
+	 * The ChunkedParser of a chunked parse, or null.
+	 */
+	private ChunkedParser chunks;
+	
+	/**
+	 * The checkpoint a chunked parse resumes from, or null.
+	 */
+	private Checkpoint checkpoint;
+	
+	/**
+	 * Creates a new PlistReader which adds all properties to the given Parser.
+	 * @param parser The {@linkplain Parser}.
+	 */
+	PlistReader(Parser parser) {
+		this.parser = parser;
+	}
+	
+	/**
+	 * Reads the given XML File.
+	 * @param file The XML File.
+	 * @throws IOException If the XML File can not be read, is not a valid plist or has been truncated while it was read.
+	 */
+	void read(File file) throws IOException {
+		this.file = file;
+		this.buffer = map(file);
+		this.tokenizer = new PlistTokenizer(this.buffer);
+		
+		try {
+			// The root dict contains the Library properties.
+			if ( this.tokenizer.next() != PlistTokenizer.START_DICT ) {
+				throw new IOException("The XML File does not start with a dict");
+			}
+			this.readLibrary();
+		} catch (InternalError e) {
+			throw changed(file, e);
+		}
+	}
+	
+	/**
+	 * Reads the given XML File in chunks.<br>
+	 * After every Track and Playlist dict the ChunkedParser is told the position, so it can commit a checkpoint.
+	 * If the parse resumes from a checkpoint, the Library properties are read from the beginning,
+	 * but the Tracks and Playlists are read only after the checkpoint.
+	 * @param file The XML File.
+	 * @param chunks The {@linkplain ChunkedParser}.
+	 * @param checkpoint The {@linkplain Checkpoint} to resume from, or null.
+	 * @throws IOException If the XML File can not be read, is not a valid plist, or if a checkpoint can not be written.
+	 */
+	void read(File file, ChunkedParser chunks, Checkpoint checkpoint) throws IOException {
+		this.chunks = chunks;
+		this.checkpoint = checkpoint;
+		this.read(file);
+	}
+	
+	/**
+	 * Reads the given XML File as an incremental update of the Tracks and Playlists of the Parser.<br>
+	 * Every Track and Playlist dict is only skipped and checksummed.
+	 * Only a dict whose checksum differs from the previous update is decoded,
+	 * into a new object or into the existing object with the same ID.
+	 * The objects which are no longer in the XML File are removed.
+	 * The Library properties are always read.
+	 * @param file The XML File.
+	 * @param tracks The checksums of the Track dicts of the previous update.
+	 * @param playlists The Playlist IDs of the Playlist dicts of the previous update.
+	 * @return The changes.
+	 * @throws IOException If the XML File can not be read or is not a valid plist.
+	 */
+	ChangeSet update(File file, Checksums tracks, Checksums playlists) throws IOException {
+		this.changes = new ChangeSet();
+		this.previousTracks = tracks;
+		this.previousPlaylists = playlists;
+		this.trackChecksums = new Checksums();
+		this.playlistChecksums = new Checksums();
+		this.read(file);
+		
+		// A Track or Playlist which has not been read in this update has been removed.
+		Iterator<Integer> trackIDs = this.parser.getTracks().keySet().iterator();
+		while ( trackIDs.hasNext() ) {
+			int trackID = trackIDs.next();
+			if ( ! this.trackChecksums.contains(trackID) ) {
+				trackIDs.remove();
+				this.changes.addRemovedTrack(trackID);
+			}
+		}
+		
+		Checksums playlistIDs = new Checksums();
+		for ( int i=0; i<this.playlistChecksums.size(); i++ ) {
+			playlistIDs.put(this.playlistChecksums.value(i), 0);
+		}
+		Iterator<Integer> iterator = this.parser.getPlaylists().keySet().iterator();
+		while ( iterator.hasNext() ) {
+			int playlistID = iterator.next();
+			if ( ! playlistIDs.contains(playlistID) ) {
+				iterator.remove();
+				this.changes.addRemovedPlaylist(playlistID);
+			}
+		}
+		
+		return this.changes;
+	}
+	
+	/**
+	 * Get the checksums of the Track dicts of the last incremental update.
+	 * @return The checksums by the Track ID.
+	 */
+	Checksums getTrackChecksums() {
+		return this.trackChecksums;
+	}
+	
+	/**
+	 * Get the Playlist IDs of the Playlist dicts of the last incremental update.
+	 * @return The Playlist IDs by the checksum.
+	 */
+	Checksums getPlaylistChecksums() {
+		return this.playlistChecksums;
+	}
+	
+	/**
+	 * Get the CRC-32 checksum of the content of the given file.
+	 * @param file The file.
+	 * @return The checksum.
+	 * @throws IOException If the file can not be read or has been truncated while it was read.
+	 */
+	static long checksum(File file) throws IOException {
+		try {
+			return Snapshot.checksum(map(file));
+		} catch (InternalError e) {
+			throw changed(file, e);
+		}
+	}
+	
+	/**
+	 * Creates the exception for an access to a mapped file which failed, because the file has been truncated while it was read.<br>
+	 * The JVM reports such a fault as an {@linkplain InternalError}, which would escape every handler of an IOException.
+	 * @param file The file.
+	 * @param e The error of the access.
+	 * @return The exception.
+	 */
+	private static IOException changed(File file, InternalError e) {
+		return new IOException("The file has been changed while it was read: "+file, e);
+	}
+	
+	/**
+	 * Maps the given file into memory.<br>
+	 * The mapping stays valid after the file has been closed.
+	 * @param file The file.
+	 * @return The {@linkplain MappedByteBuffer} of the whole file.
+	 * @throws IOException If the file can not be read or is larger than 2 GB.
+	 */
+	static MappedByteBuffer map(File file) throws IOException {
+		try ( FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ) ) {
+			long size = channel.size();
+			if ( size > Integer.MAX_VALUE ) {
+				throw new IOException("The file is too large to be mapped: "+file);
+			}
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		}
+	}
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Reads the root dict of the plist.<br>
+	 * The "Tracks" dict and the "Playlists" array are read by their own methods.
+	 * @throws IOException If the XML File is not a valid plist.
+	 */
+	private void readLibrary() throws IOException {
+		PlistTokenizer tokenizer = this.tokenizer;
+		Library library = this.parser.getLibrary();
+		
+		while ( tokenizer.next() == PlistTokenizer.KEY ) {
+			LibraryProperty property = tokenizer.property(LibraryProperty.KEYS);
+			String key = property == null ? tokenizer.stringValue() : null;
+			boolean tracks = property == null && tokenizer.textEquals(TRACKS);
+			boolean playlists = property == null && tokenizer.textEquals(PLAYLISTS);
+			int token = tokenizer.nextValue();
+			
+			if ( token == PlistTokenizer.START_DICT && tracks ) {
+				this.readTracks();
+			} else if ( token == PlistTokenizer.START_ARRAY && playlists ) {
+				this.readPlaylists();
+			} else {
+				tokenizer.skipValue();
+				if ( property != null ) {
+					this.parser.addProperty(library, property, tokenizer);
+				} else {
+					this.parser.addUnknownProperty(library, key, tokenizer);
+				}
+			}
+		}
+		tokenizer.expect(PlistTokenizer.END_DICT);
+	}
+	
+	/**
+	 * Reads the "Tracks" dict.<br>
+	 * Every key is the Track ID and every value is the dict of a Track.<br>
+	 * If the parallelism of the Parser is greater than 1, the Tracks are decoded by {@link #readTracksParallel(int)}.
+	 * In a lazy parse the Tracks are only indexed by {@link #readTracksLazy()},
+	 * in an incremental update only the changed Tracks are decoded by {@link #readTracksChanged()}
+	 * and in a chunked parse the Tracks are read by {@link #readTracksChunked()}.
+	 * @throws IOException If the XML File is not a valid plist.
+	 */
+	private void readTracks() throws IOException {
+		if ( this.changes != null ) {
+			this.readTracksChanged();
+			return;
+		}
+		if ( this.chunks != null ) {
+			this.readTracksChunked();
+			return;
+		}
+		if ( this.parser.isLazy() ) {
+			this.readTracksLazy();
+			return;
+		}
+		
+		// The rows of a TrackTable are appended by a single thread.
+		int parallelism = this.parser.getParallelism();
+		if ( parallelism > 1 && this.parser.getTrackTable() == null ) {
+			this.readTracksParallel(parallelism);
+			return;
+		}
+		
+		this.readTracks(this.tokenizer, this.parser::addTrack);
+		this.tokenizer.expect(PlistTokenizer.END_DICT);
+	}
+	
+	/**
+	 * Indexes the "Tracks" dict without decoding the Tracks.<br>
+	 * Only the Track ID and the byte range of every Track dict are stored in a {@linkplain TrackIndex}.
+	 * The Track ID is read from the Track dict like in every other mode, iTunes writes it as the first key.
+	 * The rest of the Track dict is skipped by its dict tags, which is much faster than decoding it.
+	 * @throws IOException If the XML File is not a valid plist.
+	 */
+	private void readTracksLazy() throws IOException {
+		PlistTokenizer tokenizer = this.tokenizer;
+		TrackIndex index = new TrackIndex(this);
+		
+		while ( tokenizer.next() == PlistTokenizer.KEY ) {
+			int start = tokenizer.position();
+			if ( tokenizer.nextValue() != PlistTokenizer.START_DICT ) {
+				tokenizer.skipValue();
+				continue;
+			}
+			Integer trackID = this.readTrackID(tokenizer);
+			if ( trackID == null ) {
+				this.parser.addMissingID(new Track(), TrackProperty.TRACK_ID.getKey());
+				continue;
+			}
+			index.add(trackID, start, tokenizer.position());
+		}
+		tokenizer.expect(PlistTokenizer.END_DICT);
+		
+		index.finish();
+		this.parser.addTracks(index);
+	}
+	
+	/**
+	 * Reads the Track ID of a Track dict and skips the rest of the dict.<br>
+	 * The keys before the Track ID are skipped, a malformed Track ID is collected like in a decoded Track.
+	 * The tokenizer must be positioned on the start of the dict and is positioned on its end afterwards.
+	 * @param tokenizer The {@linkplain PlistTokenizer}.
+	 * @return The Track ID, or null if the dict has no valid Track ID.
+	 * @throws IOException If the XML File is not a valid plist.
+	 */
+	private Integer readTrackID(PlistTokenizer tokenizer) throws IOException {
+		while ( tokenizer.next() == PlistTokenizer.KEY ) {
+			TrackProperty property = tokenizer.property(TrackProperty.KEYS);
+			tokenizer.nextValue();
+			if ( property == TrackProperty.TRACK_ID ) {
+				Integer trackID = null;
+				try {
+					trackID = tokenizer.intValue();
+				} catch (NumberFormatException e) {
+					this.parser.addMalformedID(new Track(), tokenizer, e);
+				}
+				tokenizer.skipRest();
+				tokenizer.expect(PlistTokenizer.END_DICT);
+				return trackID;
+			}
+			tokenizer.skipValue();
+		}
+		tokenizer.expect(PlistTokenizer.END_DICT);
+		return null;
+	}
+	
+	/**
+	 * Reads the "Tracks" dict of an incremental update.<br>
+	 * Every Track dict is skipped and checksummed. If the checksum equals the one of the previous update,
+	 * the Track is unchanged. Otherwise the Track dict is decoded into a new Track,
+	 * which is added to the Track Map or copied into the existing Track with the same Track ID.
+	 * @throws IOException If the XML File is not a valid plist or a Track key is not a number.
+	 */
+	private void readTracksChanged() throws IOException {
+		PlistTokenizer tokenizer = this.tokenizer;
+		Map<Integer, Track> tracks = this.parser.getTracks();
+		
+		while ( tokenizer.next() == PlistTokenizer.KEY ) {
+			int trackID;
+			try {
+				trackID = tokenizer.intValue();
+			} catch (NumberFormatException e) {
+				throw new IOException("The Track key '"+tokenizer.stringValue()+"' is not a Track ID", e);
+			}
+			
+			int start = tokenizer.position();
+			if ( tokenizer.nextValue() != PlistTokenizer.START_DICT ) {
+				tokenizer.skipValue();
+				continue;
+			}
+			tokenizer.skipValue();
+			int end = tokenizer.position();
+			
+			int checksum = this.checksum(start, end);
+			this.trackChecksums.put(trackID, checksum);
+			Track track = tracks.get(trackID);
+			if ( track != null && this.previousTracks.contains(trackID) && this.previousTracks.get(trackID, 0) == checksum ) {
+				continue;
+			}
+			
+			Track decoded = new Track();
+			this.readTrack(start, end, decoded);
+			if ( decoded.getTrackID() == null ) {
+				this.parser.addMissingID(decoded, TrackProperty.TRACK_ID.getKey());
+				continue;
+			}
+			if ( track == null ) {
+				tracks.put(trackID, decoded);
+				this.changes.addAddedTrack(trackID);
+			} else {
+				track.copy(decoded);
+				this.changes.addModifiedTrack(trackID);
+			}
+		}
+		tokenizer.expect(PlistTokenizer.END_DICT);
+	}
+	
+	/**
+	 * Reads the "Tracks" dict of a chunked parse.<br>
+	 * The position after every Track dict is handed to the ChunkedParser, which commits a checkpoint after every full chunk.
+	 * If the parse resumes, the Tracks before the checkpoint are not read,
+	 * and the whole "Tracks" dict is passed over if every Track has been committed.
+	 * @throws IOException If the XML File is not a valid plist or if a checkpoint can not be written.
+	 */
+	private void readTracksChunked() throws IOException {
+		PlistTokenizer tokenizer = this.tokenizer;
+		if ( this.checkpoint != null ) {
+			if ( this.checkpoint.isTracksComplete() ) {
+				this.seek(this.checkpoint.getTracksEnd());
+				return;
+			}
+			if ( this.checkpoint.getTracksOffset() >= 0 ) {
+				this.seek(this.checkpoint.getTracksOffset());
+			}
+		}
+		
+		while ( tokenizer.next() == PlistTokenizer.KEY ) {
+			if ( tokenizer.nextValue() != PlistTokenizer.START_DICT ) {
+				tokenizer.skipValue();
+				continue;
+			}
+			
+			Track track = this.parser.newTrack();
+			this.readTrack(tokenizer, track);
+			this.parser.addTrack(track);
+			this.chunks.trackRead(tokenizer.position());
+		}
+		tokenizer.expect(PlistTokenizer.END_DICT);
+		this.chunks.tracksRead(tokenizer.position());
+	}
+	
+	/**
+	 * Moves the tokenizer forward to a position of the checkpoint.
+	 * @param position The position.
+	 * @throws IOException If the position is behind the tokenizer or after the end of the XML File.
+	 */
+	private void seek(int position) throws IOException {
+		if ( position < this.tokenizer.position() || position > this.buffer.limit() ) {
+			throw new IOException("The checkpoint does not match the XML File: position "+position);
+		}
+		this.tokenizer.seek(position);
+	}
+	
+	/**
+	 * Get the CRC-32 checksum of the given range of the XML File.
+	 * @param start The position of the first byte.
+	 * @param end The end of the bytes (exclusive).
+	 * @return The checksum.
+	 */
+	private int checksum(int start, int end) {
+		if ( this.range == null ) {
+			this.range = this.buffer.duplicate();
+		}
+		this.range.clear();
+		this.range.position(start);
+		this.range.limit(end);
+		this.crc.reset();
+		this.crc.update(this.range);
+		return (int) this.crc.getValue();
+	}
+	
+	/**
+	 * Decodes the Track dict in the given range of the XML File into the given Track.<br>
+	 * Used by a {@linkplain LazyTrack} on its first access, so it can be called by any thread after the parse.
+	 * @param start The position of the Track dict.
+	 * @param end The end of the Track dict (exclusive).
+	 * @param track The {@linkplain Track} object to add the properties.
+	 * @throws IOException If the Track dict is not a valid plist or the XML File has been truncated since the parse.
+	 */
+	void readTrack(int start, int end, Track track) throws IOException {
+		PlistTokenizer tokenizer = new PlistTokenizer(this.buffer, start, end);
+		try {
+			if ( tokenizer.next() != PlistTokenizer.START_DICT ) {
+				throw new IOException("No Track dict at position "+start);
+			}
+			this.readTrack(tokenizer, track);
+		} catch (InternalError e) {
+			throw changed(this.file, e);
+		}
+	}
+	
+	/**
+	 * Reads the "Tracks" dict with the given number of threads.<br>
+	 * This thread only splits the dict at the Track dict boundaries, which is much faster than decoding them.
+	 * Every {@value #CHUNK_SIZE} Tracks are handed as a chunk of bytes to a {@linkplain ForkJoinPool}
+	 * which decodes the chunks into Track objects in parallel.<br>
+	 * The decoded chunks are added in the order of the XML File,
+	 * so the result is identical to the result of a single thread.
+	 * At most four chunks per thread are pending at the same time, so the decoded Tracks of a streaming parse
+	 * are never collected for the whole file.
+	 * @param parallelism The number of threads to decode the Tracks.
+	 * @throws IOException If the XML File is not a valid plist.
+	 */
+	private void readTracksParallel(int parallelism) throws IOException {
+		PlistTokenizer tokenizer = this.tokenizer;
+		ByteBuffer buffer = this.buffer;
+		Deque<Future<List<Track>>> chunks = new ArrayDeque<>();
+		int maxChunks = parallelism * 4;
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		
+		try {
+			int chunkStart = tokenizer.position();
+			int chunkEnd = chunkStart;
+			int count = 0;
+			
+			while ( tokenizer.next() == PlistTokenizer.KEY ) {
+				tokenizer.nextValue();
+				tokenizer.skipValue();
+				chunkEnd = tokenizer.position();
+				
+				if ( ++count == CHUNK_SIZE ) {
+					chunks.add(pool.submit(this.chunkTask(buffer, chunkStart, chunkEnd)));
+					chunkStart = chunkEnd;
+					count = 0;
+					
+					// Add the chunks which are already decoded and wait if too many are pending.
+					while ( ! chunks.isEmpty() && (chunks.peek().isDone() || chunks.size() >= maxChunks) ) {
+						this.addTracks(join(chunks.poll()));
+					}
+				}
+			}
+			tokenizer.expect(PlistTokenizer.END_DICT);
+			if ( count > 0 ) {
+				chunks.add(pool.submit(this.chunkTask(buffer, chunkStart, chunkEnd)));
+			}
+			
+			while ( ! chunks.isEmpty() ) {
+				this.addTracks(join(chunks.poll()));
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+	
+	/**
+	 * Adds the decoded Tracks of a chunk to the Parser.
+	 * @param tracks The Tracks in the order of the XML File.
+	 */
+	private void addTracks(List<Track> tracks) {
+		for ( Track track : tracks ) {
+			this.parser.addTrack(track);
+		}
+	}
+	
+	/**
+	 * Creates a task which decodes the Tracks in the given range of the buffer.
+	 * @param buffer The buffer with the bytes of the XML File.
+	 * @param start The position of the first Track key.
+	 * @param end The end of the last Track dict (exclusive).
+	 * @return The task.
+	 */
+	private Callable<List<Track>> chunkTask(ByteBuffer buffer, int start, int end) {
+		return () -> {
+			List<Track> tracks = new ArrayList<>(CHUNK_SIZE);
+			this.readTracks(new PlistTokenizer(buffer, start, end), tracks::add);
+			return tracks;
+		};
+	}
+	
+	/**
+	 * Reads Track keys and Track dicts with the given tokenizer up to the end of the "Tracks" dict or of the tokenizer range.
+	 * @param tokenizer The {@linkplain PlistTokenizer}.
+	 * @param visitor The visitor which receives every Track in the order of the XML File.
+	 * @throws IOException If the XML File is not a valid plist.
+	 */
+	private void readTracks(PlistTokenizer tokenizer, TrackVisitor visitor) throws IOException {
+		// The key is skipped, the Track ID is also part of the Track dict.
+		while ( tokenizer.next() == PlistTokenizer.KEY ) {
+			if ( tokenizer.nextValue() != PlistTokenizer.START_DICT ) {
+				tokenizer.skipValue();
+				continue;
+			}
+			
+			Track track = this.parser.newTrack();
+			this.readTrack(tokenizer, track);
+			visitor.visit(track);
+		}
+	}
+	
+	/**
+	 * Waits for the result of a chunk task.
+	 * @param chunk The chunk task.
+	 * @return The result of the task.
+	 * @throws IOException If the task failed or the thread has been interrupted.
+	 */
+	private static <T> T join(Future<T> chunk) throws IOException {
+		try {
+			return chunk.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while decoding the Tracks");
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if ( cause instanceof IOException ) {
+				throw (IOException) cause;
+			} else if ( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			} else if ( cause instanceof Error ) {
+				throw (Error) cause;
+			}
+			throw new IOException(cause);
+		}
+	}
+	
+	/**
+	 * Reads the "Playlists" array.<br>
+	 * Every value is the dict of a Playlist.
+	 * In an incremental update only the changed Playlists are decoded by {@link #readPlaylistsChanged()}.
+	 * In a chunked parse the position after every Playlist dict is handed to the ChunkedParser.
+	 * @throws IOException If the XML File is not a valid plist or if a checkpoint can not be written.
+	 */
+	private void readPlaylists() throws IOException {
+		if ( this.changes != null ) {
+			this.readPlaylistsChanged();
+			return;
+		}
+		
+		// A chunked parse which resumes reads only the Playlists after the checkpoint.
+		if ( this.checkpoint != null && this.checkpoint.getPlaylistsOffset() >= 0 ) {
+			this.seek(this.checkpoint.getPlaylistsOffset());
+		}
+		
+		int token;
+		while ( (token = this.tokenizer.next()) != PlistTokenizer.END_ARRAY && token != PlistTokenizer.END_DOCUMENT ) {
+			if ( token != PlistTokenizer.START_DICT ) {
+				this.tokenizer.skipValue();
+				continue;
+			}
+			
+			Playlist playlist = new Playlist();
+			this.readPlaylist(this.tokenizer, playlist);
+			this.parser.addPlaylist(playlist);
+			if ( this.chunks != null ) {
+				this.chunks.playlistRead(this.tokenizer.position());
+			}
+		}
+		this.tokenizer.expect(PlistTokenizer.END_ARRAY);
+		if ( this.chunks != null ) {
+			this.chunks.playlistsRead();
+		}
+	}
+	
+	/**
+	 * Reads the "Playlists" array of an incremental update.<br>
+	 * Every Playlist dict is skipped and checksummed. If the checksum equals the one of a Playlist of the previous update,
+	 * the Playlist is unchanged. Otherwise the Playlist dict is decoded into a new Playlist,
+	 * which is added to the Playlist Map or copied into the existing Playlist with the same Playlist ID.
+	 * @throws IOException If the XML File is not a valid plist.
+	 */
+	private void readPlaylistsChanged() throws IOException {
+		PlistTokenizer tokenizer = this.tokenizer;
+		Map<Integer, Playlist> playlists = this.parser.getPlaylists();
+		
+		int start = tokenizer.position();
+		int token;
+		while ( (token = tokenizer.next()) != PlistTokenizer.END_ARRAY && token != PlistTokenizer.END_DOCUMENT ) {
+			tokenizer.skipValue();
+			int end = tokenizer.position();
+			if ( token != PlistTokenizer.START_DICT ) {
+				start = end;
+				continue;
+			}
+			
+			int checksum = this.checksum(start, end);
+			if ( this.previousPlaylists.contains(checksum) ) {
+				int playlistID = this.previousPlaylists.get(checksum, 0);
+				if ( playlists.containsKey(playlistID) ) {
+					this.playlistChecksums.put(checksum, playlistID);
+					start = end;
+					continue;
+				}
+			}
+			
+			Playlist decoded = new Playlist();
+			PlistTokenizer range = new PlistTokenizer(this.buffer, start, end);
+			range.next();
+			this.readPlaylist(range, decoded);
+			start = end;
+			
+			// A Playlist without a Playlist ID can not be matched by the next update.
+			Integer playlistID = decoded.getPlaylistID();
+			if ( playlistID == null ) {
+				this.parser.addMissingID(decoded, PlaylistProperty.PLAYLIST_ID.getKey());
+				continue;
+			}
+			this.playlistChecksums.put(checksum, playlistID);
+			
+			Playlist playlist = playlists.get(playlistID);
+			if ( playlist == null ) {
+				playlists.put(playlistID, decoded);
+				this.changes.addAddedPlaylist(playlistID);
+			} else {
+				playlist.copy(decoded);
+				this.changes.addModifiedPlaylist(playlistID);
+			}
+		}
+		tokenizer.expect(PlistTokenizer.END_ARRAY);
+	}
+	
+	/**
+	 * Reads the key-value pairs of a Track dict and adds them to the given Track.<br>
+	 * Every key is looked up from the bytes, a String is only created for unknown keys.
+	 * The values of the properties which are not selected by the Parser are skipped without being decoded.<br>
+	 * The tokenizer must be positioned on the start of the dict and is positioned on its end afterwards.
+	 * @param tokenizer The {@linkplain PlistTokenizer}.
+	 * @param track The {@linkplain Track} object to add the properties.
+	 * @throws IOException If the XML File is not a valid plist.
+	 */
+	private void readTrack(PlistTokenizer tokenizer, Track track) throws IOException {
+		while ( tokenizer.next() == PlistTokenizer.KEY ) {
+			TrackProperty property = tokenizer.property(TrackProperty.KEYS);
+			boolean selected = this.parser.isSelected(property);
+			String key = property == null && selected ? tokenizer.stringValue() : null;
+			tokenizer.nextValue();
+			tokenizer.skipValue();
+			
+			if ( ! selected ) {
+				continue;
+			} else if ( property != null ) {
+				this.parser.addProperty(track, property, tokenizer);
+			} else {
+				this.parser.addUnknownProperty(track, key, tokenizer);
+			}
+		}
+		tokenizer.expect(PlistTokenizer.END_DICT);
+	}
+	
+	/**
+	 * Reads the key-value pairs of a Playlist dict and adds them to the given Playlist.<br>
+	 * Every key is looked up from the bytes, a String is only created for unknown keys.
+	 * The values of the properties which are not selected by the Parser are skipped without being decoded.<br>
+	 * The tokenizer must be positioned on the start of the dict and is positioned on its end afterwards.
+	 * @param tokenizer The {@linkplain PlistTokenizer}.
+	 * @param playlist The {@linkplain Playlist} object to add the properties.
+	 * @throws IOException If the XML File is not a valid plist.
+	 */
+	private void readPlaylist(PlistTokenizer tokenizer, Playlist playlist) throws IOException {
+		while ( tokenizer.next() == PlistTokenizer.KEY ) {
+			PlaylistProperty property = tokenizer.property(PlaylistProperty.KEYS);
+			boolean selected = this.parser.isSelected(property);
+			String key = property == null && selected ? tokenizer.stringValue() : null;
+			
+			if ( tokenizer.nextValue() == PlistTokenizer.START_ARRAY && selected ) {
+				this.readPlaylistItems(tokenizer, playlist);
+				continue;
+			}
+			tokenizer.skipValue();
+			
+			if ( ! selected ) {
+				continue;
+			} else if ( property != null ) {
+				this.parser.addProperty(playlist, property, tokenizer);
+			} else {
+				this.parser.addUnknownProperty(playlist, key, tokenizer);
+			}
+		}
+		tokenizer.expect(PlistTokenizer.END_DICT);
+	}
+	
+	/**
+	 * Reads the "Playlist Items" array of a Playlist.<br>
+	 * Every value is a dict with the Track ID of a Track which has already been read.
+	 * The Track ID is matched and parsed from the bytes without creating a String.
+	 * @param tokenizer The {@linkplain PlistTokenizer}.
+	 * @param playlist The {@linkplain Playlist} object.
+	 * @throws IOException If the XML File is not a valid plist.
+	 */
+	private void readPlaylistItems(PlistTokenizer tokenizer, Playlist playlist) throws IOException {
+		int count = 0;
+		
+		int token;
+		while ( (token = tokenizer.next()) != PlistTokenizer.END_ARRAY && token != PlistTokenizer.END_DOCUMENT ) {
+			if ( token != PlistTokenizer.START_DICT ) {
+				tokenizer.skipValue();
+				continue;
+			}
+			
+			while ( tokenizer.next() == PlistTokenizer.KEY ) {
+				boolean trackID = tokenizer.textEquals(TRACK_ID);
+				if ( tokenizer.nextValue() == PlistTokenizer.INTEGER && trackID ) {
+					if ( count == this.ids.length ) {
+						this.ids = Arrays.copyOf(this.ids, count * 2);
+					}
+					try {
+						this.ids[count] = tokenizer.intValue();
+						count++;
+					} catch (NumberFormatException e) {
+						this.parser.addMalformedItem(playlist, tokenizer, e);
+					}
+				} else {
+					tokenizer.skipValue();
+				}
+			}
+			tokenizer.expect(PlistTokenizer.END_DICT);
+		}
+		tokenizer.expect(PlistTokenizer.END_ARRAY);
+		
+		this.parser.addPlaylistItems(playlist, this.ids, count);
+	}
+}
@@ -0,0 +1,848 @@
+package com.github.pireba.itunesparser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+
+/**
+ * A tokenizer for the plist grammar used by the iTunes Library XML File.<br>
+ * The tokenizer reads the UTF-8 bytes of the XML File directly from a {@linkplain ByteBuffer},
+ * usually a {@linkplain java.nio.MappedByteBuffer} of the whole file.<br>
+ * Only the elements of the plist grammar are known:
+ * {@code dict}, {@code key}, {@code string}, {@code integer}, {@code real}, {@code date},
+ * {@code true}, {@code false}, {@code array} and {@code data}.
+ * The XML declaration, the DOCTYPE, comments and the {@code plist} element are skipped.<br>
+ * <br>
+ * The tokenizer is also the {@linkplain Value} of the current token.
+ * Numbers and booleans are read from the bytes without creating a String.
+ * 
+ * <h2>Read the tokens of a plist</h2>
+ * <pre>
+ *  PlistTokenizer tokenizer = new PlistTokenizer(buffer);
+ *  while ( tokenizer.next() != PlistTokenizer.END_DOCUMENT ) {
+ *      System.out.println(tokenizer.stringValue());
+ *  }
+ * </pre>
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+class PlistTokenizer implements Value {
+	/**
+	 * The end of the XML File has been reached.
+	 */
+	static final int END_DOCUMENT = 0;
+	
+	/**
+	 * The start of a {@code dict} element.
+	 */
+	static final int START_DICT = 1;
+	
+	/**
+	 * The end of a {@code dict} element.
+	 */
+	static final int END_DICT = 2;
+	
+	/**
+	 * The start of an {@code array} element.
+	 */
+	static final int START_ARRAY = 3;
+	
+	/**
+	 * The end of an {@code array} element.
+	 */
+	static final int END_ARRAY = 4;
+	
+	/**
+	 * A {@code key} element.
+	 */
+	static final int KEY = 5;
+	
+	/**
+	 * A {@code string} element.
+	 */
+	static final int STRING = 6;
+	
+	/**
+	 * An {@code integer} element.
+	 */
+	static final int INTEGER = 7;
+	
+	/**
+	 * A {@code real} element.
+	 */
+	static final int REAL = 8;
+	
+	/**
+	 * A {@code date} element.
+	 */
+	static final int DATE = 9;
+	
+	/**
+	 * A {@code data} element.
+	 */
+	static final int DATA = 10;
+	
+	/**
+	 * A {@code true} element.
+	 */
+	static final int TRUE = 11;
+	
+	/**
+	 * A {@code false} element.
+	 */
+	static final int FALSE = 12;
+	
+	/**
+	 * Internal token for elements which are skipped, e.g. {@code plist}.
+	 */
+	private static final int SKIP = -1;
+	
+	/**
+	 * The buffer with the bytes of the XML File.
+	 */
+	private final ByteBuffer buffer;
+	
+	/**
+	 * A duplicate of the buffer for bulk reads, so the position of the given buffer is never changed.
+	 */
+	private final ByteBuffer reader;
+	
+	/**
+	 * A little-endian duplicate of the buffer to search a byte in 8 bytes at once.
+	 */
+	private final ByteBuffer words;
+	
+	/**
+	 * The end of the bytes to read.
+	 */
+	private final int limit;
+	
+	/**
+	 * The position of the next byte to read.
+	 */
+	private int position;
+	
+	/**
+	 * The current token.
+	 */
+	private int token;
+	
+	/**
+	 * The start of the text of the current token.
+	 */
+	private int start;
+	
+	/**
+	 * The end of the text of the current token (exclusive).
+	 */
+	private int end;
+	
+	/**
+	 * True if the current token is an empty dict or array like {@code <dict/>}.<br>
+	 * The next token is then the end of the dict or array.
+	 */
+	private boolean empty;
+	
+	/**
+	 * The buffer to decode the text of a token into a String.
+	 */
+	private byte[] text = new byte[256];
+	
+	/**
+	 * Creates a new tokenizer for all remaining bytes of the given buffer.
+	 * @param buffer The buffer with the bytes of the XML File.
+	 */
+	PlistTokenizer(ByteBuffer buffer) {
+		this(buffer, buffer.position(), buffer.limit());
+	}
+	
+	/**
+	 * Creates a new tokenizer for the given range of the buffer.
+	 * @param buffer The buffer with the bytes of the XML File.
+	 * @param start The position of the first byte to read.
+	 * @param end The end of the bytes to read (exclusive).
+	 */
+	PlistTokenizer(ByteBuffer buffer, int start, int end) {
+		this.buffer = buffer;
+		this.reader = buffer.duplicate();
+		this.words = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		this.position = start;
+		this.limit = end;
+	}
+	
+	// --------------------------------------------------
+	// Tokens
+	// --------------------------------------------------
+	
+	/**
+	 * Reads the next token.
+	 * @return The token, one of the constants of this class.
+	 * @throws IOException If the bytes are not a valid plist.
+	 */
+	int next() throws IOException {
+		if ( this.empty ) {
+			this.empty = false;
+			this.token = this.token == START_DICT ? END_DICT : END_ARRAY;
+			this.start = this.end = this.position;
+			return this.token;
+		}
+		
+		while ( true ) {
+			int open = this.indexOf((byte) '<', this.position);
+			if ( open < 0 ) {
+				this.position = this.limit;
+				this.start = this.end = this.limit;
+				return this.token = END_DOCUMENT;
+			}
+			
+			if ( open+1 >= this.limit ) {
+				throw this.error("Unterminated tag", open);
+			}
+			byte b = this.buffer.get(open+1);
+			if ( b == '?' ) {
+				// XML declaration
+				this.position = this.close(open, open) + 1;
+			} else if ( b == '!' ) {
+				// DOCTYPE or comment
+				this.position = this.skipDeclaration(open);
+			} else if ( b == '/' ) {
+				// Closing tag
+				int nameEnd = this.nameEnd(open+2);
+				int type = this.elementType(open+2, nameEnd);
+				this.position = this.close(nameEnd, open) + 1;
+				if ( type == START_DICT ) {
+					this.start = this.end = open;
+					return this.token = END_DICT;
+				} else if ( type == START_ARRAY ) {
+					this.start = this.end = open;
+					return this.token = END_ARRAY;
+				} else if ( type != SKIP ) {
+					throw this.error("Unexpected closing tag", open);
+				}
+			} else {
+				// Opening tag
+				int nameEnd = this.nameEnd(open+1);
+				int type = this.elementType(open+1, nameEnd);
+				int close = this.close(nameEnd, open);
+				boolean selfClosing = this.buffer.get(close-1) == '/';
+				this.position = close + 1;
+				
+				if ( type == SKIP ) {
+					continue;
+				}
+				this.token = type;
+				
+				if ( type == START_DICT || type == START_ARRAY ) {
+					this.empty = selfClosing;
+					this.start = this.end = this.position;
+				} else if ( selfClosing ) {
+					this.start = this.end = this.position;
+				} else {
+					// The text of the element ends with its closing tag.
+					this.start = this.position;
+					this.end = this.indexOf((byte) '<', this.position);
+					if ( this.end < 0 ) {
+						throw this.error("Unterminated element", open);
+					}
+					this.position = this.close(this.end, this.end) + 1;
+				}
+				return type;
+			}
+		}
+	}
+	
+	/**
+	 * Reads the value token after a key.
+	 * @return The token, one of the constants of this class.
+	 * @throws IOException If the key has no value, e.g. at the end of a truncated XML File.
+	 */
+	int nextValue() throws IOException {
+		int token = this.next();
+		if ( token == END_DOCUMENT || token == END_DICT || token == END_ARRAY ) {
+			throw this.error("Missing value", this.start);
+		}
+		return token;
+	}
+	
+	/**
+	 * Skips the value of the current token.<br>
+	 * If the current token is the start of a dict or an array, all bytes up to its end are skipped.
+	 * Only the dict and array tags are looked at, so this is much faster than reading every token.
+	 * Every other token has already been read completely.
+	 * @throws IOException If the bytes are not a valid plist.
+	 */
+	void skipValue() throws IOException {
+		if ( this.token != START_DICT && this.token != START_ARRAY ) {
+			return;
+		}
+		if ( this.empty ) {
+			this.empty = false;
+			this.start = this.end = this.position;
+			return;
+		}
+		
+		int open = this.endOf(this.position);
+		this.position = this.close(open, open) + 1;
+		this.start = this.end = this.position;
+	}
+	
+	/**
+	 * Skips the rest of the dict or array which contains the current token.<br>
+	 * Like {@link #skipValue()} only the dict and array tags are looked at. The current token is the end of the dict or array afterwards.
+	 * @throws IOException If the bytes are not a valid plist.
+	 */
+	void skipRest() throws IOException {
+		this.skipValue();
+		int open = this.endOf(this.position);
+		this.token = this.buffer.get(open+2) == 'd' ? END_DICT : END_ARRAY;
+		this.position = this.close(open, open) + 1;
+		this.start = this.end = open;
+	}
+	
+	/**
+	 * Finds the end tag of the dict or array which contains the given position.
+	 * @param from The position.
+	 * @return The position of the end tag.
+	 * @throws IOException If the bytes are not a valid plist.
+	 */
+	private int endOf(int from) throws IOException {
+		int depth = 1;
+		int i = from;
+		while ( true ) {
+			int open = this.indexOf((byte) '<', i);
+			if ( open < 0 ) {
+				throw this.error("Unexpected end of document", this.limit);
+			}
+			
+			// Only the names of dicts and arrays start with 'd' or 'a', all other tags are passed over.
+			if ( open+2 >= this.limit ) {
+				throw this.error("Unterminated tag", open);
+			}
+			byte b = this.buffer.get(open+1);
+			boolean closing = b == '/';
+			if ( closing ) {
+				b = this.buffer.get(open+2);
+			}
+			if ( b == '!' ) {
+				i = this.skipDeclaration(open);
+			} else if ( (b == 'd' || b == 'a') && this.isContainer(closing ? open+2 : open+1) ) {
+				if ( closing && --depth == 0 ) {
+					return open;
+				}
+				int close = this.close(open, open);
+				if ( ! closing && this.buffer.get(close-1) != '/' ) {
+					depth++;
+				}
+				i = close + 1;
+			} else {
+				i = open + 1;
+			}
+		}
+	}
+	
+	/**
+	 * Get the current token.
+	 * @return The current token.
+	 */
+	int token() {
+		return this.token;
+	}
+	
+	/**
+	 * Get the position of the next byte to read.
+	 * @return The position.
+	 */
+	int position() {
+		return this.position;
+	}
+	
+	/**
+	 * Checks that the current token is the given end token, e.g. after the key-value pairs of a dict have been read.<br>
+	 * A loop over a dict or an array stops at any other token, so a truncated XML File is detected here.
+	 * @param token {@link #END_DICT} or {@link #END_ARRAY}.
+	 * @throws IOException If the current token is another token, e.g. {@link #END_DOCUMENT}.
+	 */
+	void expect(int token) throws IOException {
+		if ( this.token != token ) {
+			throw this.error(this.token == END_DOCUMENT ? "Unexpected end of document" : "Unexpected token", this.start);
+		}
+	}
+	
+	/**
+	 * Moves the tokenizer to the given position, which must be between two tokens, e.g. a position of {@link #position()}.
+	 * @param position The position of the next byte to read.
+	 */
+	void seek(int position) {
+		this.position = position;
+		this.start = this.end = position;
+		this.empty = false;
+	}
+	
+	/**
+	 * Returns true if the text of the current token equals the given ASCII bytes.<br>
+	 * This way a key can be matched without creating a String.
+	 * @param bytes The ASCII bytes.
+	 * @return True if the text of the current token equals the bytes.
+	 */
+	boolean textEquals(byte[] bytes) {
+		if ( this.end - this.start != bytes.length ) {
+			return false;
+		}
+		for ( int i=0; i<bytes.length; i++ ) {
+			if ( this.buffer.get(this.start+i) != bytes[i] ) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Get the property whose key equals the text of the current token.<br>
+	 * The key is looked up from the bytes without creating a String.
+	 * @param table The {@linkplain KeyTable} of the property enum.
+	 * @return The property, or null if the key is unknown.
+	 */
+	<E extends Enum<E> & Property> E property(KeyTable<E> table) {
+		return table.get(this.buffer, this.start, this.end);
+	}
+	
+	// --------------------------------------------------
+	// Value
+	// --------------------------------------------------
+	
+	@Override
+	public String stringValue() {
+		switch (this.token) {
+		case TRUE:
+			return "true";
+		case FALSE:
+			return "false";
+		default:
+			return this.decode();
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}<br>
+	 * The pool is looked up by the raw bytes of the token, so the token is only decoded if it is not in the pool.
+	 */
+	@Override
+	public String stringValue(StringPool pool) {
+		if ( pool == null || this.token == TRUE || this.token == FALSE ) {
+			return this.stringValue();
+		}
+		return pool.intern(this.buffer, this.start, this.end, this);
+	}
+	
+	@Override
+	public int intValue() {
+		long value = this.longValue();
+		if ( value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ) {
+			throw new NumberFormatException("For input string: \""+this.decode()+"\"");
+		}
+		return (int) value;
+	}
+	
+	@Override
+	public long longValue() {
+		int i = this.start;
+		boolean negative = false;
+		if ( i < this.end && this.buffer.get(i) == '-' ) {
+			negative = true;
+			i++;
+		}
+		if ( i == this.end || this.end - i > 19 ) {
+			// Not a number or too long to be parsed without overflow check.
+			return Long.parseLong(this.decode());
+		}
+		
+		long value = 0;
+		for ( ; i<this.end; i++ ) {
+			int digit = this.buffer.get(i) - '0';
+			if ( digit < 0 || digit > 9 ) {
+				throw new NumberFormatException("For input string: \""+this.decode()+"\"");
+			}
+			value = value * 10 + digit;
+		}
+		if ( value < 0 ) {
+			// Overflow of 19 digits, let Long.parseLong decide.
+			return Long.parseLong(this.decode());
+		}
+		return negative ? -value : value;
+	}
+	
+	@Override
+	public boolean booleanValue() {
+		switch (this.token) {
+		case TRUE:
+			return true;
+		case FALSE:
+			return false;
+		default:
+			return Boolean.parseBoolean(this.decode());
+		}
+	}
+	
+	@Override
+	public long timeValue() throws ParseException {
+		return DateDecoder.decode(this.buffer, this.start, this.end);
+	}
+	
+	@Override
+	public Object objectValue() throws ParseException {
+		switch (this.token) {
+		case INTEGER:
+			return this.longValue();
+		case REAL:
+			return Double.valueOf(this.decode());
+		case DATE:
+			return this.dateValue();
+		case TRUE:
+			return Boolean.TRUE;
+		case FALSE:
+			return Boolean.FALSE;
+		case START_DICT:
+		case START_ARRAY:
+			return null;
+		default:
+			return this.decode();
+		}
+	}
+	
+	@Override
+	public String toString() {
+		return this.stringValue();
+	}
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Decodes the text of the current token into a String.<br>
+	 * The XML entities {@code &amp;}, {@code &lt;}, {@code &gt;}, {@code &quot;}, {@code &apos;}
+	 * and the character references like {@code &#38;} are replaced.
+	 * @return The text as a String.
+	 */
+	private String decode() {
+		int length = this.end - this.start;
+		if ( length == 0 ) {
+			return "";
+		}
+		if ( this.text.length < length ) {
+			this.text = new byte[Math.max(length, this.text.length * 2)];
+		}
+		
+		this.reader.limit(this.end);
+		this.reader.position(this.start);
+		this.reader.get(this.text, 0, length);
+		
+		// Replace the entities in place. An entity is never shorter than its UTF-8 bytes.
+		int amp = -1;
+		for ( int i=0; i<length; i++ ) {
+			if ( this.text[i] == '&' ) {
+				amp = i;
+				break;
+			}
+		}
+		if ( amp >= 0 ) {
+			length = this.unescape(amp, length);
+		}
+		
+		return new String(this.text, 0, length, StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * Replaces the XML entities in the text buffer.
+	 * @param from The position of the first entity.
+	 * @param length The length of the text.
+	 * @return The length of the text after the entities have been replaced.
+	 */
+	private int unescape(int from, int length) {
+		byte[] text = this.text;
+		int out = from;
+		int i = from;
+		
+		while ( i < length ) {
+			byte b = text[i];
+			int semicolon = -1;
+			if ( b == '&' ) {
+				for ( int j=i+1; j<length && j<i+12; j++ ) {
+					if ( text[j] == ';' ) {
+						semicolon = j;
+						break;
+					}
+				}
+			}
+			if ( semicolon < 0 ) {
+				text[out++] = b;
+				i++;
+				continue;
+			}
+			
+			int codePoint = this.entity(i+1, semicolon);
+			if ( codePoint < 0 ) {
+				text[out++] = b;
+				i++;
+				continue;
+			}
+			
+			// Write the code point as UTF-8.
+			if ( codePoint < 0x80 ) {
+				text[out++] = (byte) codePoint;
+			} else if ( codePoint < 0x800 ) {
+				text[out++] = (byte) (0xC0 | (codePoint >> 6));
+				text[out++] = (byte) (0x80 | (codePoint & 0x3F));
+			} else if ( codePoint < 0x10000 ) {
+				text[out++] = (byte) (0xE0 | (codePoint >> 12));
+				text[out++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+				text[out++] = (byte) (0x80 | (codePoint & 0x3F));
+			} else {
+				text[out++] = (byte) (0xF0 | (codePoint >> 18));
+				text[out++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+				text[out++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+				text[out++] = (byte) (0x80 | (codePoint & 0x3F));
+			}
+			i = semicolon + 1;
+		}
+		
+		return out;
+	}
+	
+	/**
+	 * Get the code point of the entity between the ampersand and the semicolon in the text buffer.
+	 * @param from The position after the ampersand.
+	 * @param to The position of the semicolon.
+	 * @return The code point or -1 if it is not a known entity.
+	 */
+	private int entity(int from, int to) {
+		byte[] text = this.text;
+		int length = to - from;
+		
+		if ( length > 1 && text[from] == '#' ) {
+			int radix = 10;
+			int i = from + 1;
+			if ( text[i] == 'x' || text[i] == 'X' ) {
+				radix = 16;
+				i++;
+			}
+			if ( i == to ) {
+				return -1;
+			}
+			int codePoint = 0;
+			for ( ; i<to; i++ ) {
+				int digit = Character.digit(text[i], radix);
+				if ( digit < 0 ) {
+					return -1;
+				}
+				codePoint = codePoint * radix + digit;
+				if ( codePoint > Character.MAX_CODE_POINT ) {
+					return -1;
+				}
+			}
+			return codePoint;
+		}
+		
+		if ( length == 2 && text[from+1] == 't' ) {
+			if ( text[from] == 'l' ) {
+				return '<';
+			} else if ( text[from] == 'g' ) {
+				return '>';
+			}
+		} else if ( length == 3 && text[from] == 'a' && text[from+1] == 'm' && text[from+2] == 'p' ) {
+			return '&';
+		} else if ( length == 4 && text[from] == 'q' && text[from+1] == 'u' && text[from+2] == 'o' && text[from+3] == 't' ) {
+			return '"';
+		} else if ( length == 4 && text[from] == 'a' && text[from+1] == 'p' && text[from+2] == 'o' && text[from+3] == 's' ) {
+			return '\'';
+		}
+		return -1;
+	}
+	
+	/**
+	 * Get the type of the element with the given name.
+	 * @param from The position of the first byte of the name.
+	 * @param to The end of the name (exclusive).
+	 * @return The token of the element, or {@code SKIP} for the plist element.
+	 * @throws IOException If the element is not part of the plist grammar.
+	 */
+	private int elementType(int from, int to) throws IOException {
+		ByteBuffer b = this.buffer;
+		switch (to - from) {
+		case 3:
+			if ( b.get(from) == 'k' && b.get(from+1) == 'e' && b.get(from+2) == 'y' ) {
+				return KEY;
+			}
+			break;
+		case 4:
+			byte first = b.get(from);
+			byte second = b.get(from+1);
+			byte third = b.get(from+2);
+			byte fourth = b.get(from+3);
+			if ( first == 'd' && second == 'i' && third == 'c' && fourth == 't' ) {
+				return START_DICT;
+			} else if ( first == 'd' && second == 'a' && third == 't' && fourth == 'e' ) {
+				return DATE;
+			} else if ( first == 'd' && second == 'a' && third == 't' && fourth == 'a' ) {
+				return DATA;
+			} else if ( first == 't' && second == 'r' && third == 'u' && fourth == 'e' ) {
+				return TRUE;
+			} else if ( first == 'r' && second == 'e' && third == 'a' && fourth == 'l' ) {
+				return REAL;
+			}
+			break;
+		case 5:
+			if ( this.nameEquals(from, "array") ) {
+				return START_ARRAY;
+			} else if ( this.nameEquals(from, "false") ) {
+				return FALSE;
+			} else if ( this.nameEquals(from, "plist") ) {
+				return SKIP;
+			}
+			break;
+		case 6:
+			if ( this.nameEquals(from, "string") ) {
+				return STRING;
+			}
+			break;
+		case 7:
+			if ( this.nameEquals(from, "integer") ) {
+				return INTEGER;
+			}
+			break;
+		default:
+			break;
+		}
+		throw this.error("Unknown element", from-1);
+	}
+	
+	/**
+	 * Returns true if the element name at the given position is a dict or an array.
+	 * @param from The position of the first byte of the name.
+	 * @return True if the element is a dict or an array.
+	 */
+	private boolean isContainer(int from) {
+		int nameEnd = this.nameEnd(from);
+		int length = nameEnd - from;
+		return (length == 4 && this.nameEquals(from, "dict")) || (length == 5 && this.nameEquals(from, "array"));
+	}
+	
+	/**
+	 * Returns true if the bytes at the given position equal the given ASCII name.
+	 * @param from The position of the first byte.
+	 * @param name The name.
+	 * @return True if the bytes equal the name.
+	 */
+	private boolean nameEquals(int from, String name) {
+		for ( int i=0; i<name.length(); i++ ) {
+			if ( this.buffer.get(from+i) != name.charAt(i) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Get the end of the element name starting at the given position.
+	 * @param from The position of the first byte of the name.
+	 * @return The end of the name (exclusive).
+	 */
+	private int nameEnd(int from) {
+		int i = from;
+		while ( i < this.limit ) {
+			byte b = this.buffer.get(i);
+			if ( b == '>' || b == '/' || b == ' ' || b == '\t' || b == '\r' || b == '\n' ) {
+				break;
+			}
+			i++;
+		}
+		return i;
+	}
+	
+	/**
+	 * Skips a DOCTYPE declaration or a comment.
+	 * @param open The position of the opening bracket.
+	 * @return The position after the declaration or comment.
+	 * @throws IOException If the declaration or comment is not terminated.
+	 */
+	private int skipDeclaration(int open) throws IOException {
+		if ( open + 3 < this.limit && this.buffer.get(open+2) == '-' && this.buffer.get(open+3) == '-' ) {
+			int i = open + 4;
+			while ( i + 2 < this.limit ) {
+				if ( this.buffer.get(i) == '-' && this.buffer.get(i+1) == '-' && this.buffer.get(i+2) == '>' ) {
+					return i + 3;
+				}
+				i++;
+			}
+			throw this.error("Unterminated comment", open);
+		}
+		
+		// A DOCTYPE may contain an internal subset in brackets.
+		int depth = 0;
+		for ( int i=open+2; i<this.limit; i++ ) {
+			byte b = this.buffer.get(i);
+			if ( b == '[' ) {
+				depth++;
+			} else if ( b == ']' ) {
+				depth--;
+			} else if ( b == '>' && depth == 0 ) {
+				return i + 1;
+			}
+		}
+		throw this.error("Unterminated declaration", open);
+	}
+	
+	/**
+	 * Get the position of the next given byte.
+	 * @param b The byte to find.
+	 * @param from The position to start.
+	 * @return The position of the byte or -1 if there is none.
+	 */
+	private int indexOf(byte b, int from) {
+		// Compare 8 bytes at once: a byte of (word ^ pattern) is zero where the word contains the byte.
+		// In little-endian order the lowest zero byte is the first match, higher ones may be false positives.
+		long pattern = (b & 0xFFL) * 0x0101010101010101L;
+		int i = from;
+		for ( ; i+8<=this.limit; i+=8 ) {
+			long word = this.words.getLong(i) ^ pattern;
+			long found = (word - 0x0101010101010101L) & ~word & 0x8080808080808080L;
+			if ( found != 0 ) {
+				return i + (Long.numberOfTrailingZeros(found) >>> 3);
+			}
+		}
+		for ( ; i<this.limit; i++ ) {
+			if ( this.buffer.get(i) == b ) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Get the position of the closing bracket of a tag.
+	 * @param from The position to start the search.
+	 * @param open The position of the opening bracket of the tag, for the error message.
+	 * @return The position of the closing bracket.
+	 * @throws IOException If the tag is not terminated.
+	 */
+	private int close(int from, int open) throws IOException {
+		int close = this.indexOf((byte) '>', from);
+		if ( close < 0 ) {
+			throw this.error("Unterminated tag", open);
+		}
+		return close;
+	}
+	
+	/**
+	 * Creates an exception for an invalid plist.
+	 * @param message The error message.
+	 * @param position The position of the error in the XML File.
+	 * @return The exception.
+	 */
+	private IOException error(String message, int position) {
+		return new IOException(message+" at byte "+position);
+	}
+}
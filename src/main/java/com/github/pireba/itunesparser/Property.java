@@ -0,0 +1,18 @@
+package com.github.pireba.itunesparser;
+
+/**
+ * A property of an object in the iTunes Library XML File.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see LibraryProperty
+ * @see TrackProperty
+ * @see PlaylistProperty
+ */
+public interface Property {
+	/**
+	 * Get the key of the property in the XML File.
+	 * @return The key.
+	 */
+	String getKey();
+}
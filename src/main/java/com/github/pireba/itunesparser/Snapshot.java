@@ -0,0 +1,268 @@
+package com.github.pireba.itunesparser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * The binary snapshot of a parsed XML File in the cache directory.<br>
+ * A snapshot stores the Library, the Tracks and the Playlists, with the items of a Playlist as Track IDs,
+ * so a warm start reads the compact binary file instead of parsing the XML File.<br>
+ * A snapshot belongs to the size, the last modified time and the CRC-32 checksum of the content of the XML File,
+ * and to the selected properties. If one of them has changed the snapshot is stale and is replaced after the next parse.
+ * A snapshot which is damaged is detected by the checksum of the snapshot itself, deleted and replaced as well.<br>
+ * The Diagnostics of the parse are stored first, so a warm start returns them as well
+ * and a strict parse fails on them before any object is added.
+ * 
+ * <pre>
+ * snapshot  = header record* END checksum
+ * header    = MAGIC VERSION size modified checksum properties
+ * record    = DIAGNOSTIC kind type key sample message count
+ *           | LIBRARY property* END
+ *           | TRACK (property | extension)* END
+ *           | PLAYLIST (property | extension)* END items
+ * property  = ordinal value
+ * extension = EXTENSION length bytes value
+ * value     = INT int | LONG long | DATE long | TRUE | FALSE | STRING length bytes | REAL long
+ * items     = count int*   (count -1 if the Playlist has no items)
+ * message   = TRUE length bytes | FALSE   (FALSE if the Diagnostic has no message)
+ * </pre>
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see Parser#setCacheDirectory(File)
+ */
+class Snapshot {
+	/**
+	 * The logger for this class.
+	 */
+	private static final Logger log = Logger.getLogger(Snapshot.class.getName());
+	
+	/**
+	 * The first bytes of a snapshot: "ITPS".
+	 */
+	static final int MAGIC = 0x49545053;
+	
+	/**
+	 * The version of the format. A snapshot of another version is stale.
+	 */
+	static final int VERSION = 3;
+	
+	/**
+	 * The record of the Library properties.
+	 */
+	static final byte LIBRARY = 1;
+	
+	/**
+	 * The record of a Track.
+	 */
+	static final byte TRACK = 2;
+	
+	/**
+	 * The record of a Playlist.
+	 */
+	static final byte PLAYLIST = 3;
+	
+	/**
+	 * The record of a Diagnostic of the parse.
+	 */
+	static final byte DIAGNOSTIC = 4;
+	
+	/**
+	 * The end of a record or of all records.
+	 */
+	static final byte END = -1;
+	
+	/**
+	 * The ordinal of a key-value pair with an unknown key, see {@linkplain Extensions}.
+	 */
+	static final byte EXTENSION = -2;
+	
+	/**
+	 * The type of an int value.
+	 */
+	static final byte INT = 1;
+	
+	/**
+	 * The type of a long value.
+	 */
+	static final byte LONG = 2;
+	
+	/**
+	 * The type of a date value in milliseconds since the epoch.
+	 */
+	static final byte DATE = 3;
+	
+	/**
+	 * The type of the boolean value true.
+	 */
+	static final byte TRUE = 4;
+	
+	/**
+	 * The type of the boolean value false.
+	 */
+	static final byte FALSE = 5;
+	
+	/**
+	 * The type of a UTF-8 String value.
+	 */
+	static final byte STRING = 6;
+	
+	/**
+	 * The type of a double value as its IEEE 754 bits.
+	 */
+	static final byte REAL = 7;
+	
+	/**
+	 * The parser which the snapshot belongs to.
+	 */
+	private final Parser parser;
+	
+	/**
+	 * The snapshot file.
+	 */
+	private final Path path;
+	
+	/**
+	 * The size of the XML File.
+	 */
+	private final long size;
+	
+	/**
+	 * The last modified time of the XML File.
+	 */
+	private final long modified;
+	
+	/**
+	 * The CRC-32 checksum of the content of the XML File.
+	 */
+	private final long checksum;
+	
+	/**
+	 * The selected properties of the parser.
+	 */
+	private final String properties;
+	
+	/**
+	 * Creates the snapshot of the XML File of the given parser in the given cache directory.<br>
+	 * The key of the snapshot is taken from the XML File before it is parsed.
+	 * @param parser The {@linkplain Parser}.
+	 * @param file The XML File.
+	 * @param directory The cache directory.
+	 * @throws IOException If the XML File can not be read.
+	 */
+	Snapshot(Parser parser, File file, File directory) throws IOException {
+		File absolute = file.getAbsoluteFile();
+		this.parser = parser;
+		this.path = new File(directory, absolute.getName()+"."+Integer.toHexString(absolute.getPath().hashCode())+".snapshot").toPath();
+		this.size = absolute.length();
+		this.modified = absolute.lastModified();
+		this.checksum = PlistReader.checksum(absolute);
+		this.properties = parser.getTrackProperties()+";"+parser.getPlaylistProperties();
+	}
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Get the CRC-32 checksum of the remaining bytes of the given buffer.
+	 * @param buffer The buffer.
+	 * @return The checksum.
+	 */
+	static long checksum(ByteBuffer buffer) {
+		CRC32 crc = new CRC32();
+		crc.update(buffer);
+		return crc.getValue();
+	}
+	
+	/**
+	 * Reads the snapshot into the parser, if it exists and belongs to the current XML File.<br>
+	 * A damaged snapshot is deleted.
+	 * @return True if the snapshot has been read, false if the XML File must be parsed.
+	 * @throws DiagnosticException In strict mode, if the snapshot has a Diagnostic.
+	 */
+	boolean read() {
+		if ( ! Files.isRegularFile(this.path) ) {
+			return false;
+		}
+		
+		try {
+			SnapshotReader reader = new SnapshotReader(this.parser, this.map());
+			if ( ! reader.readHeader(this.size, this.modified, this.checksum, this.properties) ) {
+				log.fine("The snapshot is stale: "+this.path);
+				return false;
+			}
+			reader.read();
+			return true;
+		} catch (DiagnosticException e) {
+			// A Diagnostic of the snapshot fails a strict parse like the XML File.
+			throw e;
+		} catch (IOException | RuntimeException | InternalError e) {
+			// An InternalError is the fault of the mapped snapshot file, if it has been truncated while it was read.
+			log.log(Level.WARNING, "The snapshot is damaged and will be replaced: "+this.path, e);
+			this.delete();
+			return false;
+		}
+	}
+	
+	/**
+	 * Writes the parsed objects of the parser into the snapshot.<br>
+	 * The snapshot is written into a temporary file which then replaces the old snapshot,
+	 * so a reader never sees a partly written snapshot. An error is logged, the parse is not affected.
+	 */
+	void write() {
+		Path temp = null;
+		try {
+			Files.createDirectories(this.path.getParent());
+			temp = Files.createTempFile(this.path.getParent(), this.path.getFileName().toString(), ".tmp");
+			new SnapshotWriter(temp).write(this.size, this.modified, this.checksum, this.properties, this.parser);
+			try {
+				Files.move(temp, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, this.path, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException | RuntimeException e) {
+			log.log(Level.WARNING, "Error while writing the snapshot: "+this.path, e);
+			if ( temp != null ) {
+				try {
+					Files.deleteIfExists(temp);
+				} catch (IOException e1) {
+					log.log(Level.FINE, "Error while deleting the temporary snapshot: "+temp, e1);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Maps the snapshot file into memory.
+	 * @return The {@linkplain MappedByteBuffer} of the snapshot.
+	 * @throws IOException If the snapshot can not be read.
+	 */
+	private MappedByteBuffer map() throws IOException {
+		try ( FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ) ) {
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+	}
+	
+	/**
+	 * Deletes the snapshot file.
+	 */
+	private void delete() {
+		try {
+			Files.deleteIfExists(this.path);
+		} catch (IOException e) {
+			log.log(Level.WARNING, "Error while deleting the snapshot: "+this.path, e);
+		}
+	}
+}
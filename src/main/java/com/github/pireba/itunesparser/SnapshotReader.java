@@ -0,0 +1,378 @@
+package com.github.pireba.itunesparser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * Reads a {@linkplain Snapshot} from the memory-mapped snapshot file.<br>
+ * The objects are added to the {@linkplain Parser} the same way as by the XML engines,
+ * so the columnar mode, the String pool and a streaming parse work the same for a snapshot.
+ * The reader is the {@linkplain Value} of the current property.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+class SnapshotReader implements Value {
+	/**
+	 * The Library properties by their ordinal.
+	 */
+	private static final LibraryProperty[] LIBRARY_PROPERTIES = LibraryProperty.values();
+	
+	/**
+	 * The Track properties by their ordinal.
+	 */
+	private static final TrackProperty[] TRACK_PROPERTIES = TrackProperty.values();
+	
+	/**
+	 * The Playlist properties by their ordinal.
+	 */
+	private static final PlaylistProperty[] PLAYLIST_PROPERTIES = PlaylistProperty.values();
+	
+	/**
+	 * The kinds of the Diagnostics by their ordinal.
+	 */
+	private static final DiagnosticKind[] KINDS = DiagnosticKind.values();
+	
+	/**
+	 * The ordinal of a key-value pair with an unknown key as returned by {@link #readOrdinal()}.
+	 */
+	private static final int EXTENSION = Snapshot.EXTENSION & 0xFF;
+	
+	/**
+	 * The parser which gets the objects.
+	 */
+	private final Parser parser;
+	
+	/**
+	 * The mapped snapshot file.
+	 */
+	private final MappedByteBuffer buffer;
+	
+	/**
+	 * A second view of the mapped snapshot file to copy the bytes of a String value.
+	 */
+	private final ByteBuffer reader;
+	
+	/**
+	 * The type of the current value.
+	 */
+	private byte type;
+	
+	/**
+	 * The int, long or date of the current value.
+	 */
+	private long number;
+	
+	/**
+	 * The position of the UTF-8 bytes of the current String value.
+	 */
+	private int start;
+	
+	/**
+	 * The end of the UTF-8 bytes of the current String value (exclusive).
+	 */
+	private int end;
+	
+	/**
+	 * The buffer to decode a String value.
+	 */
+	private byte[] text = new byte[256];
+	
+	/**
+	 * The buffer for the items of a Playlist.
+	 */
+	private int[] items = new int[1024];
+	
+	/**
+	 * Creates a new reader for the given snapshot file.
+	 * @param parser The {@linkplain Parser} which gets the objects.
+	 * @param buffer The mapped snapshot file.
+	 */
+	SnapshotReader(Parser parser, MappedByteBuffer buffer) {
+		this.parser = parser;
+		this.buffer = buffer;
+		this.reader = buffer.duplicate();
+	}
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Reads the header of the snapshot and checks that it belongs to the given XML File.
+	 * @param size The size of the XML File.
+	 * @param modified The last modified time of the XML File.
+	 * @param checksum The CRC-32 checksum of the XML File.
+	 * @param properties The selected properties of the parser.
+	 * @return True if the snapshot belongs to the XML File, false if it is stale.
+	 * @throws IOException If the snapshot is damaged.
+	 */
+	boolean readHeader(long size, long modified, long checksum, String properties) throws IOException {
+		if ( this.buffer.remaining() < 8 || this.buffer.getInt() != Snapshot.MAGIC ) {
+			throw new IOException("Not a snapshot file.");
+		}
+		if ( this.buffer.getInt() != Snapshot.VERSION ) {
+			return false;
+		}
+		
+		// The whole snapshot is checked before any object is added to the parser.
+		int limit = this.buffer.limit() - 8;
+		if ( limit < this.buffer.position() ) {
+			throw new IOException("The snapshot is truncated.");
+		}
+		ByteBuffer content = this.buffer.duplicate();
+		content.position(0).limit(limit);
+		if ( Snapshot.checksum(content) != this.buffer.getLong(limit) ) {
+			throw new IOException("The checksum of the snapshot does not match.");
+		}
+		this.buffer.limit(limit);
+		
+		return this.buffer.getLong() == size
+				&& this.buffer.getLong() == modified
+				&& this.buffer.getLong() == checksum
+				&& this.readString().equals(properties);
+	}
+	
+	/**
+	 * Reads all records after the header and adds the Diagnostics and the objects to the parser.
+	 * @throws IOException If the snapshot is damaged.
+	 * @throws DiagnosticException In strict mode, if the snapshot has a Diagnostic.
+	 */
+	void read() throws IOException {
+		for ( byte record=this.buffer.get(); record!=Snapshot.END; record=this.buffer.get() ) {
+			switch (record) {
+			case Snapshot.DIAGNOSTIC:
+				this.readDiagnostic();
+				break;
+			case Snapshot.LIBRARY:
+				this.readLibrary();
+				break;
+			case Snapshot.TRACK:
+				this.readTrack();
+				break;
+			case Snapshot.PLAYLIST:
+				this.readPlaylist();
+				break;
+			default:
+				throw new IOException("Unknown record "+record+" at position "+(this.buffer.position() - 1));
+			}
+		}
+	}
+	
+	/**
+	 * Reads a Diagnostic and adds it to the Diagnostics of the parser.
+	 * @throws IOException If the snapshot is damaged.
+	 */
+	private void readDiagnostic() throws IOException {
+		int kind = this.buffer.get() & 0xFF;
+		if ( kind >= KINDS.length ) {
+			throw new IOException("Unknown Diagnostic kind "+kind+" at position "+(this.buffer.position() - 1));
+		}
+		String type = this.readString();
+		String key = this.readString();
+		String sampleValue = this.readString();
+		String message = this.buffer.get() == Snapshot.TRUE ? this.readString() : null;
+		this.parser.restoreDiagnostic(KINDS[kind], type, key, sampleValue, message, this.buffer.getLong());
+	}
+	
+	/**
+	 * Reads the Library properties.
+	 * @throws IOException If the snapshot is damaged.
+	 */
+	private void readLibrary() throws IOException {
+		Library library = this.parser.getLibrary();
+		for ( int ordinal=this.readOrdinal(); ordinal>=0; ordinal=this.readOrdinal() ) {
+			this.readValue();
+			this.parser.addProperty(library, LIBRARY_PROPERTIES[ordinal], this);
+		}
+	}
+	
+	/**
+	 * Reads a Track and adds it to the parser.
+	 * @throws IOException If the snapshot is damaged.
+	 */
+	private void readTrack() throws IOException {
+		Track track = this.parser.newTrack();
+		for ( int ordinal=this.readOrdinal(); ordinal>=0; ordinal=this.readOrdinal() ) {
+			if ( ordinal == EXTENSION ) {
+				this.readExtension(track);
+				continue;
+			}
+			this.readValue();
+			this.parser.addProperty(track, TRACK_PROPERTIES[ordinal], this);
+		}
+		this.parser.addTrack(track);
+	}
+	
+	/**
+	 * Reads a Playlist with its items and adds it to the parser.
+	 * @throws IOException If the snapshot is damaged.
+	 */
+	private void readPlaylist() throws IOException {
+		Playlist playlist = new Playlist();
+		for ( int ordinal=this.readOrdinal(); ordinal>=0; ordinal=this.readOrdinal() ) {
+			if ( ordinal == EXTENSION ) {
+				this.readExtension(playlist);
+				continue;
+			}
+			this.readValue();
+			this.parser.addProperty(playlist, PLAYLIST_PROPERTIES[ordinal], this);
+		}
+		
+		int count = this.buffer.getInt();
+		if ( count >= 0 ) {
+			if ( this.items.length < count ) {
+				this.items = new int[Math.max(count, this.items.length * 2)];
+			}
+			this.buffer.asIntBuffer().get(this.items, 0, count);
+			this.buffer.position(this.buffer.position() + count * 4);
+			this.parser.addPlaylistItems(playlist, this.items, count);
+		}
+		this.parser.addPlaylist(playlist);
+	}
+	
+	/**
+	 * Reads a key-value pair with an unknown key and adds it to the {@linkplain Extensions} of the given object.
+	 * @param object The {@linkplain Track} or {@linkplain Playlist} object.
+	 * @throws IOException If the snapshot is damaged.
+	 */
+	private void readExtension(Object object) throws IOException {
+		String key = this.readString();
+		this.readValue();
+		this.parser.addExtension(object, key, this);
+	}
+	
+	/**
+	 * Reads the ordinal of the next property of a record.
+	 * @return The ordinal, or -1 at the end of the record.
+	 */
+	private int readOrdinal() {
+		byte ordinal = this.buffer.get();
+		return ordinal == Snapshot.END ? -1 : ordinal & 0xFF;
+	}
+	
+	/**
+	 * Reads the type and the content of the next value.
+	 * @throws IOException If the type is unknown.
+	 */
+	private void readValue() throws IOException {
+		this.type = this.buffer.get();
+		switch (this.type) {
+		case Snapshot.INT:
+			this.number = this.buffer.getInt();
+			break;
+		case Snapshot.LONG:
+		case Snapshot.DATE:
+		case Snapshot.REAL:
+			this.number = this.buffer.getLong();
+			break;
+		case Snapshot.TRUE:
+		case Snapshot.FALSE:
+			break;
+		case Snapshot.STRING:
+			int length = this.buffer.getInt();
+			this.start = this.buffer.position();
+			this.end = this.start + length;
+			this.buffer.position(this.end);
+			break;
+		default:
+			throw new IOException("Unknown value type "+this.type+" at position "+(this.buffer.position() - 1));
+		}
+	}
+	
+	/**
+	 * Reads a String with its length.
+	 * @return The String.
+	 */
+	private String readString() {
+		this.type = Snapshot.STRING;
+		this.start = this.buffer.position() + 4;
+		this.end = this.start + this.buffer.getInt();
+		this.buffer.position(this.end);
+		return this.stringValue();
+	}
+	
+	// --------------------------------------------------
+	// Value
+	// --------------------------------------------------
+	
+	@Override
+	public String stringValue() {
+		switch (this.type) {
+		case Snapshot.TRUE:
+			return "true";
+		case Snapshot.FALSE:
+			return "false";
+		case Snapshot.STRING:
+			int length = this.end - this.start;
+			if ( this.text.length < length ) {
+				this.text = new byte[Math.max(length, this.text.length * 2)];
+			}
+			this.reader.limit(this.end);
+			this.reader.position(this.start);
+			this.reader.get(this.text, 0, length);
+			return new String(this.text, 0, length, StandardCharsets.UTF_8);
+		default:
+			return Long.toString(this.number);
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}<br>
+	 * The pool is looked up by the UTF-8 bytes of the value, so the value is only decoded if it is not in the pool.
+	 */
+	@Override
+	public String stringValue(StringPool pool) {
+		if ( pool == null || this.type != Snapshot.STRING ) {
+			return this.stringValue();
+		}
+		return pool.intern(this.buffer, this.start, this.end, this);
+	}
+	
+	@Override
+	public int intValue() {
+		return (int) this.number;
+	}
+	
+	@Override
+	public long longValue() {
+		return this.number;
+	}
+	
+	@Override
+	public boolean booleanValue() {
+		return this.type == Snapshot.TRUE;
+	}
+	
+	@Override
+	public long timeValue() {
+		return this.number;
+	}
+	
+	@Override
+	public Object objectValue() {
+		switch (this.type) {
+		case Snapshot.INT:
+		case Snapshot.LONG:
+			return this.number;
+		case Snapshot.REAL:
+			return Double.longBitsToDouble(this.number);
+		case Snapshot.DATE:
+			return new Date(this.number);
+		case Snapshot.TRUE:
+			return Boolean.TRUE;
+		case Snapshot.FALSE:
+			return Boolean.FALSE;
+		default:
+			return this.stringValue();
+		}
+	}
+	
+	@Override
+	public String toString() {
+		return this.stringValue();
+	}
+}
@@ -0,0 +1,364 @@
+package com.github.pireba.itunesparser;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Writes the parsed objects of a {@linkplain Parser} into a {@linkplain Snapshot} file.<br>
+ * Only the properties which are set are written, the items of a Playlist are written as Track IDs.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+class SnapshotWriter {
+	/**
+	 * The snapshot file.
+	 */
+	private final Path path;
+	
+	/**
+	 * The stream of the current snapshot.
+	 */
+	private DataOutputStream out;
+	
+	/**
+	 * Creates a new writer for the given snapshot file.
+	 * @param path The snapshot file.
+	 */
+	SnapshotWriter(Path path) {
+		this.path = path;
+	}
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Writes the header, the Diagnostics and the parsed Library, Tracks and Playlists of the given parser.
+	 * @param size The size of the XML File.
+	 * @param modified The last modified time of the XML File.
+	 * @param checksum The CRC-32 checksum of the XML File.
+	 * @param properties The selected properties of the parser.
+	 * @param parser The {@linkplain Parser}.
+	 * @throws IOException If the snapshot can not be written.
+	 */
+	void write(long size, long modified, long checksum, String properties, Parser parser) throws IOException {
+		CRC32 crc = new CRC32();
+		try ( DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(Files.newOutputStream(this.path), crc), 65536)) ) {
+			this.out = out;
+			out.writeInt(Snapshot.MAGIC);
+			out.writeInt(Snapshot.VERSION);
+			out.writeLong(size);
+			out.writeLong(modified);
+			out.writeLong(checksum);
+			this.writeString(properties);
+			
+			for ( Diagnostic diagnostic : parser.getDiagnostics().inOrder() ) {
+				this.writeDiagnostic(diagnostic);
+			}
+			this.writeLibrary(parser.getLibrary());
+			for ( Track track : parser.getTracks().values() ) {
+				this.writeTrack(track);
+			}
+			for ( Playlist playlist : parser.getPlaylists().values() ) {
+				this.writePlaylist(playlist);
+			}
+			out.writeByte(Snapshot.END);
+			
+			// The checksum of everything before it.
+			out.flush();
+			out.writeLong(crc.getValue());
+		} finally {
+			this.out = null;
+		}
+	}
+	
+	/**
+	 * Writes the record of a Diagnostic.
+	 * @param diagnostic The {@linkplain Diagnostic}.
+	 * @throws IOException If the snapshot can not be written.
+	 */
+	private void writeDiagnostic(Diagnostic diagnostic) throws IOException {
+		this.out.writeByte(Snapshot.DIAGNOSTIC);
+		this.out.writeByte(diagnostic.getKind().ordinal());
+		this.writeString(diagnostic.getType());
+		this.writeString(diagnostic.getKey());
+		this.writeString(diagnostic.getSampleValue());
+		if ( diagnostic.getMessage() != null ) {
+			this.out.writeByte(Snapshot.TRUE);
+			this.writeString(diagnostic.getMessage());
+		} else {
+			this.out.writeByte(Snapshot.FALSE);
+		}
+		this.out.writeLong(diagnostic.getCount());
+	}
+	
+	/**
+	 * Writes the record of the Library properties.
+	 * @param library The {@linkplain Library} object.
+	 * @throws IOException If the snapshot can not be written.
+	 */
+	private void writeLibrary(Library library) throws IOException {
+		this.out.writeByte(Snapshot.LIBRARY);
+		this.write(LibraryProperty.MAJOR_VERSION, library.getMajorVersion());
+		this.write(LibraryProperty.MINOR_VERSION, library.getMinorVersion());
+		this.write(LibraryProperty.DATE, library.getDate());
+		this.write(LibraryProperty.APPLICATION_VERSION, library.getApplicationVersion());
+		this.write(LibraryProperty.FEATURES, library.getFeatures());
+		this.write(LibraryProperty.SHOW_CONTENT_RATINGS, library.isShowContentRatings());
+		this.write(LibraryProperty.MUSIC_FOLDER, library.getMusicFolder());
+		this.write(LibraryProperty.LIBRARY_PERSISTENT_ID, library.getLibraryPersistentID());
+		this.out.writeByte(Snapshot.END);
+	}
+	
+	/**
+	 * Writes the record of a Track.
+	 * @param track The {@linkplain Track} object.
+	 * @throws IOException If the snapshot can not be written.
+	 */
+	private void writeTrack(Track track) throws IOException {
+		this.out.writeByte(Snapshot.TRACK);
+		this.write(TrackProperty.ALBUM, track.getAlbum());
+		this.write(TrackProperty.ALBUM_ARTIST, track.getAlbumArtist());
+		this.write(TrackProperty.ALBUM_RATING, track.getAlbumRating());
+		this.write(TrackProperty.ALBUM_RATING_COMPUTED, track.getAlbumRatingComputed());
+		this.write(TrackProperty.ARTIST, track.getArtist());
+		this.write(TrackProperty.ARTWORK_COUNT, track.getArtworkCount());
+		this.write(TrackProperty.BIT_RATE, track.getBitrate());
+		this.write(TrackProperty.BPM, track.getBpm());
+		this.write(TrackProperty.COMMENTS, track.getComments());
+		this.write(TrackProperty.COMPILATION, track.isCompilation());
+		this.write(TrackProperty.COMPOSER, track.getComposer());
+		this.write(TrackProperty.CLEAN, track.isClean());
+		this.write(TrackProperty.DATE_ADDED, track.getDateAdded());
+		this.write(TrackProperty.DATE_MODIFIED, track.getDateModified());
+		this.write(TrackProperty.DISC_COUNT, track.getDiscCount());
+		this.write(TrackProperty.DISC_NUMBER, track.getDiscNumber());
+		this.write(TrackProperty.DISABLED, track.isDisabled());
+		this.write(TrackProperty.EPISODE, track.getEpisode());
+		this.write(TrackProperty.EPISODE_ORDER, track.getEpisodeOrder());
+		this.write(TrackProperty.EQUALIZER, track.getEqualizer());
+		this.write(TrackProperty.EXPLICIT, track.isExplicit());
+		this.write(TrackProperty.FILE_FOLDER_COUNT, track.getFileFolderCount());
+		this.write(TrackProperty.FILE_TYPE, track.getFileType());
+		this.write(TrackProperty.GENRE, track.getGenre());
+		this.write(TrackProperty.GROUPING, track.getGrouping());
+		this.write(TrackProperty.KIND, track.getKind());
+		this.write(TrackProperty.LIBRARY_FOLDER_COUNT, track.getLibraryFolderCount());
+		if ( track.getLocationDirectory() != null ) {
+			this.write(TrackProperty.LOCATION, track.getLocationDirectory()+track.getLocationFile());
+		}
+		this.write(TrackProperty.LOVED, track.isLoved());
+		this.write(TrackProperty.NAME, track.getName());
+		this.write(TrackProperty.PART_OF_GAPLESS_ALBUM, track.isPartOfGaplessAlbum());
+		this.write(TrackProperty.PERSISTENT_ID, track.getPersistentID());
+		this.write(TrackProperty.PLAY_COUNT, track.getPlayCount());
+		this.write(TrackProperty.PLAY_DATE, track.getPlayDate());
+		this.write(TrackProperty.PLAY_DATE_UTC, track.getPlayDateUTC());
+		this.write(TrackProperty.PURCHASED, track.isPurchased());
+		this.write(TrackProperty.RATING, track.getRating());
+		this.write(TrackProperty.RELEASE_DATE, track.getReleaseDate());
+		this.write(TrackProperty.SAMPLE_RATE, track.getSampleRate());
+		this.write(TrackProperty.SIZE, track.getSize());
+		this.write(TrackProperty.SKIP_COUNT, track.getSkipCount());
+		this.write(TrackProperty.SKIP_DATE, track.getSkipDate());
+		this.write(TrackProperty.SEASON, track.getSeason());
+		this.write(TrackProperty.SERIES, track.getSeries());
+		this.write(TrackProperty.SORT_ALBUM, track.getSortAlbum());
+		this.write(TrackProperty.SORT_ALBUM_ARTIST, track.getSortAlbumArtist());
+		this.write(TrackProperty.SORT_ARTIST, track.getSortArtist());
+		this.write(TrackProperty.SORT_COMPOSER, track.getSortComposer());
+		this.write(TrackProperty.SORT_NAME, track.getSortName());
+		this.write(TrackProperty.SORT_SERIES, track.getSortSeries());
+		this.write(TrackProperty.START_TIME, track.getStartTime());
+		this.write(TrackProperty.STOP_TIME, track.getStopTime());
+		this.write(TrackProperty.TOTAL_TIME, track.getTotalTime());
+		this.write(TrackProperty.TRACK_COUNT, track.getTrackCount());
+		this.write(TrackProperty.TRACK_ID, track.getTrackID());
+		this.write(TrackProperty.TRACK_NUMBER, track.getTrackNumber());
+		this.write(TrackProperty.TRACK_TYPE, track.getTrackType());
+		this.write(TrackProperty.VOLUME_ADJUSTMENT, track.getVolumeAdjustment());
+		this.write(TrackProperty.YEAR, track.getYear());
+		this.write(TrackProperty.HAS_VIDEO, track.isVideo());
+		this.write(TrackProperty.MOVIE, track.isMovie());
+		this.write(TrackProperty.VIDEO_HEIGHT, track.getVideoHeight());
+		this.write(TrackProperty.VIDEO_WIDTH, track.getVideoWidth());
+		this.write(TrackProperty.UNPLAYED, track.isUnplayed());
+		this.write(TrackProperty.PODCAST, track.isPodcast());
+		this.write(TrackProperty.NORMALIZATION, track.getNormalization());
+		this.write(TrackProperty.WORK, track.getWork());
+		this.write(track.getExtensions());
+		this.out.writeByte(Snapshot.END);
+	}
+	
+	/**
+	 * Writes the record of a Playlist with its items.
+	 * @param playlist The {@linkplain Playlist} object.
+	 * @throws IOException If the snapshot can not be written.
+	 */
+	private void writePlaylist(Playlist playlist) throws IOException {
+		this.out.writeByte(Snapshot.PLAYLIST);
+		this.write(PlaylistProperty.ALL_ITEMS, playlist.isAllItems());
+		this.write(PlaylistProperty.AUDIOBOOKS, playlist.isAudiobooks());
+		this.write(PlaylistProperty.DISTINGUISHED_KIND, playlist.getDistinguishedKind());
+		this.write(PlaylistProperty.FOLDER, playlist.isFolder());
+		this.write(PlaylistProperty.MASTER, playlist.isMaster());
+		this.write(PlaylistProperty.MOVIES, playlist.isMovies());
+		this.write(PlaylistProperty.MUSIC, playlist.isMusic());
+		this.write(PlaylistProperty.NAME, playlist.getName());
+		this.write(PlaylistProperty.PARENT_PERSISTENT_ID, playlist.getParentPersistentID());
+		this.write(PlaylistProperty.PLAYLIST_ID, playlist.getPlaylistID());
+		this.write(PlaylistProperty.PLAYLIST_PERSISTENT_ID, playlist.getPlaylistPersistentID());
+		this.write(PlaylistProperty.PODCASTS, playlist.isPodcasts());
+		this.write(PlaylistProperty.SMART_CRITERIA, playlist.getSmartCriteria());
+		this.write(PlaylistProperty.SMART_INFO, playlist.getSmartInfo());
+		this.write(PlaylistProperty.TV_SHOWS, playlist.isTvShows());
+		this.write(PlaylistProperty.VISIBLE, playlist.isVisible());
+		this.write(PlaylistProperty.DESCRIPTION, playlist.getDescription());
+		this.write(playlist.getExtensions());
+		this.out.writeByte(Snapshot.END);
+		
+		int[] ids = playlist.playlistItemIDs();
+		Map<Integer, Track> items = playlist.getPlaylistItems();
+		if ( ids != null ) {
+			this.out.writeInt(ids.length);
+			for ( int id : ids ) {
+				this.out.writeInt(id);
+			}
+		} else if ( items != null ) {
+			this.out.writeInt(items.size());
+			for ( Integer id : items.keySet() ) {
+				this.out.writeInt(id);
+			}
+		} else {
+			this.out.writeInt(-1);
+		}
+	}
+	
+	/**
+	 * Writes the key-value pairs with unknown keys of a Track or Playlist.
+	 * @param extensions The {@linkplain Extensions}.
+	 * @throws IOException If the snapshot can not be written.
+	 */
+	private void write(Extensions extensions) throws IOException {
+		for ( Map.Entry<String, Object> entry : extensions.asMap().entrySet() ) {
+			this.out.writeByte(Snapshot.EXTENSION);
+			this.writeString(entry.getKey());
+			Object value = entry.getValue();
+			if ( value instanceof Long ) {
+				this.out.writeByte(Snapshot.LONG);
+				this.out.writeLong((Long) value);
+			} else if ( value instanceof Double ) {
+				this.out.writeByte(Snapshot.REAL);
+				this.out.writeLong(Double.doubleToRawLongBits((Double) value));
+			} else if ( value instanceof Date ) {
+				this.out.writeByte(Snapshot.DATE);
+				this.out.writeLong(((Date) value).getTime());
+			} else if ( value instanceof Boolean ) {
+				this.out.writeByte((Boolean) value ? Snapshot.TRUE : Snapshot.FALSE);
+			} else {
+				this.out.writeByte(Snapshot.STRING);
+				this.writeString(value.toString());
+			}
+		}
+	}
+	
+	/**
+	 * Writes a String with its length.
+	 * @param value The String.
+	 * @throws IOException If the snapshot can not be written.
+	 */
+	private void writeString(String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		this.out.writeInt(bytes.length);
+		this.out.write(bytes);
+	}
+	
+	/**
+	 * Writes a String property if it is set.
+	 * @param property The property.
+	 * @param value The value or null.
+	 * @throws IOException If the snapshot can not be written.
+	 */
+	private void write(Property property, String value) throws IOException {
+		if ( value != null ) {
+			this.out.writeByte(((Enum<?>) property).ordinal());
+			this.out.writeByte(Snapshot.STRING);
+			this.writeString(value);
+		}
+	}
+	
+	/**
+	 * Writes an int property if it is set.
+	 * @param property The property.
+	 * @param value The value or null.
+	 * @throws IOException If the snapshot can not be written.
+	 */
+	private void write(Property property, Integer value) throws IOException {
+		if ( value != null ) {
+			this.out.writeByte(((Enum<?>) property).ordinal());
+			this.out.writeByte(Snapshot.INT);
+			this.out.writeInt(value);
+		}
+	}
+	
+	/**
+	 * Writes a long property if it is set.
+	 * @param property The property.
+	 * @param value The value or null.
+	 * @throws IOException If the snapshot can not be written.
+	 */
+	private void write(Property property, Long value) throws IOException {
+		if ( value != null ) {
+			this.out.writeByte(((Enum<?>) property).ordinal());
+			this.out.writeByte(Snapshot.LONG);
+			this.out.writeLong(value);
+		}
+	}
+	
+	/**
+	 * Writes a boolean property if it is set.
+	 * @param property The property.
+	 * @param value The value or null.
+	 * @throws IOException If the snapshot can not be written.
+	 */
+	private void write(Property property, Boolean value) throws IOException {
+		if ( value != null ) {
+			this.out.writeByte(((Enum<?>) property).ordinal());
+			this.out.writeByte(value ? Snapshot.TRUE : Snapshot.FALSE);
+		}
+	}
+	
+	/**
+	 * Writes a date property if it is set.
+	 * @param property The property.
+	 * @param value The value or null.
+	 * @throws IOException If the snapshot can not be written.
+	 */
+	private void write(Property property, Date value) throws IOException {
+		if ( value != null ) {
+			this.out.writeByte(((Enum<?>) property).ordinal());
+			this.out.writeByte(Snapshot.DATE);
+			this.out.writeLong(value.getTime());
+		}
+	}
+	
+	/**
+	 * Writes a URL property if it is set.
+	 * @param property The property.
+	 * @param value The value or null.
+	 * @throws IOException If the snapshot can not be written.
+	 */
+	private void write(Property property, URL value) throws IOException {
+		this.write(property, value == null ? null : value.toString());
+	}
+}
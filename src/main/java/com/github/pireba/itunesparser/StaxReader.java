@@ -0,0 +1,238 @@
+package com.github.pireba.itunesparser;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads an iTunes Library XML File with a {@linkplain XMLStreamReader}.<br>
+ * The key-value pairs of the plist are read straight into the {@linkplain Library},
+ * {@linkplain Track} and {@linkplain Playlist} objects of the given {@linkplain Parser}.<br>
+ * No Element tree is built, so only the object which is currently read is held in memory besides the results.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see Engine#STAX
+ */
+class StaxReader {
+	/**
+	 * The factory to create the {@linkplain XMLStreamReader}.<br>
+	 * The DTD of the plist is not needed and must not be loaded from the internet.
+	 */
+	private static final XMLInputFactory FACTORY = XMLInputFactory.newInstance();
+	static {
+		FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		FACTORY.setProperty(XMLInputFactory.IS_COALESCING, true);
+	}
+	
+	/**
+	 * The Parser to add the properties to.
+	 */
+	private final Parser parser;
+	
+	/**
+	 * The reader of the XML File which is currently read.
+	 */
+	private XMLStreamReader reader;
+	
+	/**
+	 * The value object which is reused for every key-value pair.
+	 */
+	private final StringValue value = new StringValue();
+	
+	/**
+	 * The Track IDs of the Playlist items which are currently read.<br>
+	 * The array is reused for every Playlist.
+	 */
+	private int[] ids = new int[1024];
+	
+	/**
+	 * Creates a new StaxReader which adds all properties to the given Parser.
+	 * @param parser The {@linkplain Parser}.
+	 */
+	StaxReader(Parser parser) {
+		this.parser = parser;
+	}
+	
+	/**
+	 * Reads the given XML File.
+	 * @param file The XML File.
+	 * @throws XMLStreamException If the XML File is not a valid plist.
+	 * @throws IOException If the XML File can not be read.
+	 */
+	void read(File file) throws XMLStreamException, IOException {
+		try ( InputStream in = new BufferedInputStream(new FileInputStream(file)) ) {
+			this.reader = FACTORY.createXMLStreamReader(in);
+			try {
+				// Skip the prolog and the DOCTYPE up to the plist element.
+				while ( this.reader.next() != XMLStreamConstants.START_ELEMENT ) {}
+				// The root dict contains the Library properties.
+				this.reader.nextTag();
+				this.readLibrary();
+			} finally {
+				this.reader.close();
+			}
+		}
+	}
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Reads the root dict of the plist.<br>
+	 * The "Tracks" dict and the "Playlists" array are read by their own methods.
+	 * @throws XMLStreamException If the XML File is not a valid plist.
+	 */
+	private void readLibrary() throws XMLStreamException {
+		Library library = this.parser.getLibrary();
+		
+		while ( this.reader.nextTag() == XMLStreamConstants.START_ELEMENT ) {
+			String key = this.reader.getElementText();
+			this.reader.nextTag();
+			String name = this.reader.getLocalName();
+			
+			if ( key.equals("Tracks") && name.equals("dict") ) {
+				this.readTracks();
+			} else if ( key.equals("Playlists") && name.equals("array") ) {
+				this.readPlaylists();
+			} else {
+				this.parser.addProperty(library, key, this.value.set(this.readValue(), name));
+			}
+		}
+	}
+	
+	/**
+	 * Reads the "Tracks" dict.<br>
+	 * Every key is the Track ID and every value is the dict of a Track.
+	 * @throws XMLStreamException If the XML File is not a valid plist.
+	 */
+	private void readTracks() throws XMLStreamException {
+		while ( this.reader.nextTag() == XMLStreamConstants.START_ELEMENT ) {
+			// Skip the key, the Track ID is also part of the Track dict.
+			this.reader.getElementText();
+			this.reader.nextTag();
+			
+			Track track = this.parser.newTrack();
+			this.readDict(track);
+			this.parser.addTrack(track);
+		}
+	}
+	
+	/**
+	 * Reads the "Playlists" array.<br>
+	 * Every value is the dict of a Playlist.
+	 * @throws XMLStreamException If the XML File is not a valid plist.
+	 */
+	private void readPlaylists() throws XMLStreamException {
+		while ( this.reader.nextTag() == XMLStreamConstants.START_ELEMENT ) {
+			Playlist playlist = new Playlist();
+			this.readDict(playlist);
+			this.parser.addPlaylist(playlist);
+		}
+	}
+	
+	/**
+	 * Reads the key-value pairs of a dict and adds them to the given object.<br>
+	 * The reader must be positioned on the start of the dict and is positioned on its end afterwards.
+	 * @param object The {@linkplain Track} or {@linkplain Playlist} object to add the properties.
+	 * @throws XMLStreamException If the XML File is not a valid plist.
+	 */
+	private void readDict(Object object) throws XMLStreamException {
+		while ( this.reader.nextTag() == XMLStreamConstants.START_ELEMENT ) {
+			String key = this.reader.getElementText();
+			this.reader.nextTag();
+			
+			if ( ! this.parser.isSelected(object, key) ) {
+				this.skipElement();
+			} else if ( object instanceof Playlist && this.reader.getLocalName().equals("array") ) {
+				this.readPlaylistItems((Playlist) object);
+			} else {
+				String name = this.reader.getLocalName();
+				this.parser.addProperty(object, key, this.value.set(this.readValue(), name));
+			}
+		}
+	}
+	
+	/**
+	 * Reads the "Playlist Items" array of a Playlist.<br>
+	 * Every value is a dict with the Track ID of a Track which has already been read.
+	 * @param playlist The {@linkplain Playlist} object.
+	 * @throws XMLStreamException If the XML File is not a valid plist.
+	 */
+	private void readPlaylistItems(Playlist playlist) throws XMLStreamException {
+		int count = 0;
+		
+		while ( this.reader.nextTag() == XMLStreamConstants.START_ELEMENT ) {
+			while ( this.reader.nextTag() == XMLStreamConstants.START_ELEMENT ) {
+				String key = this.reader.getElementText();
+				this.reader.nextTag();
+				String name = this.reader.getLocalName();
+				String value = this.readValue();
+				if ( key.equals("Track ID") ) {
+					if ( count == this.ids.length ) {
+						this.ids = Arrays.copyOf(this.ids, count * 2);
+					}
+					try {
+						this.ids[count] = Integer.parseInt(value);
+						count++;
+					} catch (NumberFormatException e) {
+						this.parser.addMalformedItem(playlist, this.value.set(value, name), e);
+					}
+				}
+			}
+		}
+		
+		this.parser.addPlaylistItems(playlist, this.ids, count);
+	}
+	
+	/**
+	 * Reads the value of a key-value pair.<br>
+	 * The reader must be positioned on the start of the value and is positioned on its end afterwards.<br>
+	 * If the value is a boolean the element has no text. The element name defines true or false.
+	 * Nested dicts and arrays are skipped and read as an empty value.
+	 * @return The value.
+	 * @throws XMLStreamException If the XML File is not a valid plist.
+	 */
+	private String readValue() throws XMLStreamException {
+		String name = this.reader.getLocalName();
+		
+		switch (name) {
+		case "true":
+		case "false":
+			this.reader.nextTag();
+			return name;
+		case "dict":
+		case "array":
+			this.skipElement();
+			return "";
+		default:
+			return this.reader.getElementText();
+		}
+	}
+	
+	/**
+	 * Skips the current element including all of its children.
+	 * @throws XMLStreamException If the XML File is not a valid plist.
+	 */
+	private void skipElement() throws XMLStreamException {
+		int depth = 1;
+		while ( depth > 0 ) {
+			int event = this.reader.next();
+			if ( event == XMLStreamConstants.START_ELEMENT ) {
+				depth++;
+			} else if ( event == XMLStreamConstants.END_ELEMENT ) {
+				depth--;
+			}
+		}
+	}
+}
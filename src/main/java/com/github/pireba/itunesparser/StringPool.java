@@ -0,0 +1,199 @@
+package com.github.pireba.itunesparser;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded pool of String values which repeat across the Tracks of a Library, like the Artist, Album or Genre.<br>
+ * Identical values of a parse share a single String instance instead of one per Track.
+ * The pool is a hash table with a fixed number of entries, an entry is replaced by a newer value with the same slot.
+ * Values which repeat often stay in the pool, values which are unique per Track just pass through.<br>
+ * The {@linkplain Engine#PLIST} engine looks up the values by their raw bytes, so a value in the pool is never decoded again.
+ * The other engines look up the Strings they have already read.<br>
+ * The pool may be used by several threads. Concurrent updates of the same entry may only miss a match.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see Parser#setStringPoolSize(int)
+ */
+public class StringPool {
+	/**
+	 * The default number of entries.
+	 */
+	public static final int DEFAULT_SIZE = 4096;
+	
+	/**
+	 * The entries by their slot.
+	 */
+	private final Entry[] entries;
+	
+	/**
+	 * The number of values which have been found in the pool.
+	 */
+	private final LongAdder hits = new LongAdder();
+	
+	/**
+	 * The number of values which have been added to the pool.
+	 */
+	private final LongAdder misses = new LongAdder();
+	
+	/**
+	 * The estimated number of bytes of the String instances which have been shared instead of created.
+	 */
+	private final LongAdder savedBytes = new LongAdder();
+	
+	/**
+	 * Creates a new pool with the given number of entries.
+	 * @param size The number of entries, rounded up to a power of two.
+	 */
+	StringPool(int size) {
+		this.entries = new Entry[Integer.highestOneBit(Math.max(size, 1) * 2 - 1)];
+	}
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Get the pooled instance of the given String.
+	 * @param value The String.
+	 * @return The instance in the pool, or the given String after it has been added.
+	 */
+	String intern(String value) {
+		int hash = value.hashCode();
+		int slot = (hash ^ (hash >>> 16)) & (this.entries.length - 1);
+		
+		Entry entry = this.entries[slot];
+		if ( entry != null && entry.raw == null && entry.hash == hash && entry.value.equals(value) ) {
+			this.hit(value.length());
+			return entry.value;
+		}
+		
+		this.entries[slot] = new Entry(hash, null, value);
+		this.misses.increment();
+		return value;
+	}
+	
+	/**
+	 * Get the pooled String of the raw bytes in the given range of the buffer.<br>
+	 * The bytes are only decoded by the given value if they are not in the pool.
+	 * @param buffer The buffer with the raw bytes of the XML File.
+	 * @param start The position of the first byte.
+	 * @param end The end of the bytes (exclusive).
+	 * @param value The value which decodes the bytes.
+	 * @return The String.
+	 */
+	String intern(ByteBuffer buffer, int start, int end, Value value) {
+		int hash = 0;
+		for ( int i=start; i<end; i++ ) {
+			hash = hash * 31 + buffer.get(i);
+		}
+		int slot = (hash ^ (hash >>> 16)) & (this.entries.length - 1);
+		
+		Entry entry = this.entries[slot];
+		if ( entry != null && entry.hash == hash && entry.matches(buffer, start, end) ) {
+			this.hit(end - start);
+			return entry.value;
+		}
+		
+		byte[] raw = new byte[end - start];
+		for ( int i=0; i<raw.length; i++ ) {
+			raw[i] = buffer.get(start+i);
+		}
+		String string = value.stringValue();
+		this.entries[slot] = new Entry(hash, raw, string);
+		this.misses.increment();
+		return string;
+	}
+	
+	/**
+	 * Counts a value which has been found in the pool.
+	 * @param length The length of the value.
+	 */
+	private void hit(int length) {
+		this.hits.increment();
+		// A String object, its byte array header and one byte per Latin-1 character, aligned to 8 bytes.
+		this.savedBytes.add(24 + ((16 + length + 7) & ~7));
+	}
+	
+	/**
+	 * Get the number of values which have been shared with an earlier identical value.
+	 * @return The number of hits.
+	 */
+	public long getHits() {
+		return this.hits.sum();
+	}
+	
+	/**
+	 * Get the number of values which have not been found in the pool.
+	 * @return The number of misses.
+	 */
+	public long getMisses() {
+		return this.misses.sum();
+	}
+	
+	/**
+	 * Get the estimated number of heap bytes which have been saved by sharing identical values.
+	 * @return The saved bytes.
+	 */
+	public long getSavedBytes() {
+		return this.savedBytes.sum();
+	}
+	
+	@Override
+	public String toString() {
+		return "StringPool [hits="+this.getHits()+", misses="+this.getMisses()+", savedBytes="+this.getSavedBytes()+"]";
+	}
+	
+	/**
+	 * An immutable entry of the pool, so it can be read by other threads without synchronization.
+	 */
+	private static class Entry {
+		/**
+		 * The hash of the String or of the raw bytes.
+		 */
+		private final int hash;
+		
+		/**
+		 * The raw bytes of the value, or null if the entry has been added as a String.
+		 */
+		private final byte[] raw;
+		
+		/**
+		 * The String.
+		 */
+		private final String value;
+		
+		/**
+		 * Creates a new entry.
+		 * @param hash The hash of the String or of the raw bytes.
+		 * @param raw The raw bytes or null.
+		 * @param value The String.
+		 */
+		Entry(int hash, byte[] raw, String value) {
+			this.hash = hash;
+			this.raw = raw;
+			this.value = value;
+		}
+		
+		/**
+		 * Returns true if the entry has the raw bytes in the given range of the buffer.
+		 * @param buffer The buffer.
+		 * @param start The position of the first byte.
+		 * @param end The end of the bytes (exclusive).
+		 * @return True if the bytes are equal.
+		 */
+		boolean matches(ByteBuffer buffer, int start, int end) {
+			byte[] raw = this.raw;
+			if ( raw == null || raw.length != end - start ) {
+				return false;
+			}
+			for ( int i=0; i<raw.length; i++ ) {
+				if ( raw[i] != buffer.get(start+i) ) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
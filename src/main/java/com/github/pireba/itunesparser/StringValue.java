@@ -0,0 +1,96 @@
+package com.github.pireba.itunesparser;
+
+import java.text.ParseException;
+
+/**
+ * A {@linkplain Value} which is read from the XML File as a String.<br>
+ * The object can be reused for every key-value pair by setting a new String.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+class StringValue implements Value {
+	/**
+	 * The value as a String.
+	 */
+	private String value;
+	
+	/**
+	 * The name of the plist element of the value, or null if it is not known.
+	 */
+	private String element;
+	
+	/**
+	 * Set the String of the value.
+	 * @param value The value as a String.
+	 * @return This object.
+	 */
+	StringValue set(String value) {
+		return this.set(value, null);
+	}
+	
+	/**
+	 * Set the String of the value and the name of its plist element.
+	 * @param value The value as a String.
+	 * @param element The name of the element, e.g. "integer", or null if it is not known.
+	 * @return This object.
+	 */
+	StringValue set(String value, String element) {
+		this.value = value;
+		this.element = element;
+		return this;
+	}
+	
+	@Override
+	public String stringValue() {
+		return this.value;
+	}
+	
+	@Override
+	public int intValue() {
+		return Integer.parseInt(this.value);
+	}
+	
+	@Override
+	public long longValue() {
+		return Long.parseLong(this.value);
+	}
+	
+	@Override
+	public boolean booleanValue() {
+		return Boolean.parseBoolean(this.value);
+	}
+	
+	@Override
+	public long timeValue() throws ParseException {
+		return DateDecoder.decode(this.value);
+	}
+	
+	@Override
+	public Object objectValue() throws ParseException {
+		if ( this.element == null ) {
+			return this.value;
+		}
+		switch (this.element) {
+		case "integer":
+			return Long.valueOf(this.value);
+		case "real":
+			return Double.valueOf(this.value);
+		case "date":
+			return this.dateValue();
+		case "true":
+		case "false":
+			return Boolean.valueOf(this.element);
+		case "dict":
+		case "array":
+			return null;
+		default:
+			return this.value;
+		}
+	}
+	
+	@Override
+	public String toString() {
+		return this.value;
+	}
+}
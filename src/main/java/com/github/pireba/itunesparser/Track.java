@@ -28,8 +28,8 @@ public class Track {
 	private String comments;
 	private Boolean compilation;
 	private String composer;
-	private Date dateAdded;
-	private Date dateModified;
+	private Long dateAdded;
+	private Long dateModified;
 	private Boolean disabled;
 	private Integer discCount;
 	private Integer discNumber;
@@ -43,23 +43,24 @@ public class Track {
 	private String grouping;
 	private String kind;
 	private Integer libraryFolderCount;
-	private URL location;
+	private String locationDirectory;
+	private String locationFile;
 	private Boolean loved;
 	private String name;
 	private Boolean partOfGaplessAlbum;
 	private String persistentID;
 	private Integer playCount;
 	private Long playDate;
-	private Date playDateUTC;
+	private Long playDateUTC;
 	private Boolean purchased;
 	private Integer rating;
-	private Date releaseDate;
+	private Long releaseDate;
 	private Integer sampleRate;
 	private Integer season;
 	private String series;
 	private Long size;
 	private Integer skipCount;
-	private Date skipDate;
+	private Long skipDate;
 	private String sortAlbum;
 	private String sortAlbumArtist;
 	private String sortArtist;
@@ -83,6 +84,134 @@ public class Track {
 	private Boolean podcast;
     private Integer normalization;
     private String work;
+	private Extensions extensions;
+	private boolean frozen;
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Copies every property of the given Track into this Track.<br>
+	 * Used by an incremental update, see {@link Parser#update()}.
+	 * @param track The {@linkplain Track} object to copy.
+	 */
+	void copy(Track track) {
+		this.checkFrozen();
+		this.album = track.album;
+		this.albumArtist = track.albumArtist;
+		this.albumRating = track.albumRating;
+		this.albumRatingComputed = track.albumRatingComputed;
+		this.artist = track.artist;
+		this.artworkCount = track.artworkCount;
+		this.bitrate = track.bitrate;
+		this.bpm = track.bpm;
+		this.clean = track.clean;
+		this.comments = track.comments;
+		this.compilation = track.compilation;
+		this.composer = track.composer;
+		this.dateAdded = track.dateAdded;
+		this.dateModified = track.dateModified;
+		this.disabled = track.disabled;
+		this.discCount = track.discCount;
+		this.discNumber = track.discNumber;
+		this.episode = track.episode;
+		this.episodeOrder = track.episodeOrder;
+		this.equalizer = track.equalizer;
+		this.explicit = track.explicit;
+		this.fileFolderCount = track.fileFolderCount;
+		this.fileType = track.fileType;
+		this.genre = track.genre;
+		this.grouping = track.grouping;
+		this.kind = track.kind;
+		this.libraryFolderCount = track.libraryFolderCount;
+		this.locationDirectory = track.locationDirectory;
+		this.locationFile = track.locationFile;
+		this.loved = track.loved;
+		this.name = track.name;
+		this.partOfGaplessAlbum = track.partOfGaplessAlbum;
+		this.persistentID = track.persistentID;
+		this.playCount = track.playCount;
+		this.playDate = track.playDate;
+		this.playDateUTC = track.playDateUTC;
+		this.purchased = track.purchased;
+		this.rating = track.rating;
+		this.releaseDate = track.releaseDate;
+		this.sampleRate = track.sampleRate;
+		this.season = track.season;
+		this.series = track.series;
+		this.size = track.size;
+		this.skipCount = track.skipCount;
+		this.skipDate = track.skipDate;
+		this.sortAlbum = track.sortAlbum;
+		this.sortAlbumArtist = track.sortAlbumArtist;
+		this.sortArtist = track.sortArtist;
+		this.sortComposer = track.sortComposer;
+		this.sortName = track.sortName;
+		this.sortSeries = track.sortSeries;
+		this.startTime = track.startTime;
+		this.stopTime = track.stopTime;
+		this.totalTime = track.totalTime;
+		this.trackCount = track.trackCount;
+		this.trackID = track.trackID;
+		this.trackNumber = track.trackNumber;
+		this.trackType = track.trackType;
+		this.volumeAdjustment = track.volumeAdjustment;
+		this.year = track.year;
+		this.video = track.video;
+		this.movie = track.movie;
+		this.videoHeight = track.videoHeight;
+		this.videoWidth = track.videoWidth;
+		this.unplayed = track.unplayed;
+		this.podcast = track.podcast;
+		this.normalization = track.normalization;
+		this.work = track.work;
+		this.extensions = track.extensions;
+	}
+	
+	/**
+	 * Freezes this Track, every setter throws an {@linkplain UnsupportedOperationException} afterwards.<br>
+	 * See {@link Parser#getResult()}.
+	 */
+	void freeze() {
+		this.frozen = true;
+	}
+	
+	/**
+	 * Returns true if this Track is frozen and can not be changed anymore.
+	 * @return True if this Track is frozen.
+	 */
+	public boolean isFrozen() {
+		return this.frozen;
+	}
+	
+	/**
+	 * Throws an {@linkplain UnsupportedOperationException} if this Track is frozen.
+	 */
+	void checkFrozen() {
+		if ( this.frozen ) {
+			throw new UnsupportedOperationException("The Track is frozen");
+		}
+	}
+	
+	/**
+	 * Creates a new Date of the given milliseconds since the epoch.<br>
+	 * The Dates are stored as milliseconds, so a caller can not modify a Date of a frozen object.
+	 * @param millis The milliseconds, or null.
+	 * @return The new Date, or null.
+	 */
+	static Date toDate(Long millis) {
+		return millis == null ? null : new Date(millis);
+	}
+	
+	/**
+	 * Get the milliseconds since the epoch of the given Date.
+	 * @param date The Date, or null.
+	 * @return The milliseconds, or null.
+	 */
+	static Long toMillis(Date date) {
+		return date == null ? null : date.getTime();
+	}
 	
 	// --------------------------------------------------
 	// Getter
@@ -145,11 +274,11 @@ public class Track {
 	}
 	
 	public Date getDateAdded() {
-		return this.dateAdded;
+		return toDate(this.dateAdded);
 	}
 	
 	public Date getDateModified() {
-		return this.dateModified;
+		return toDate(this.dateModified);
 	}
 	
 	public Boolean isDisabled() {
@@ -205,7 +334,18 @@ public class Track {
 	}
 	
 	public URL getLocation() {
-		return this.location;
+		String directory = this.getLocationDirectory();
+		return directory == null ? null : Locations.toURL(directory+this.getLocationFile());
+	}
+	
+	// The directory of the Location, shared by the Tracks in the same directory.
+	String getLocationDirectory() {
+		return this.locationDirectory;
+	}
+	
+	// The file name of the Location.
+	String getLocationFile() {
+		return this.locationFile;
 	}
 	
 	public Boolean isLoved() {
@@ -233,7 +373,7 @@ public class Track {
 	}
 	
 	public Date getPlayDateUTC() {
-		return this.playDateUTC;
+		return toDate(this.playDateUTC);
 	}
 	
 	public Boolean isPurchased() {
@@ -245,7 +385,7 @@ public class Track {
 	}
 	
 	public Date getReleaseDate() {
-		return this.releaseDate;
+		return toDate(this.releaseDate);
 	}
 	
 	public Integer getSampleRate() {
@@ -269,7 +409,7 @@ public class Track {
 	}
 	
 	public Date getSkipDate() {
-		return this.skipDate;
+		return toDate(this.skipDate);
 	}
 	
 	public String getSortAlbum() {
@@ -364,276 +504,369 @@ public class Track {
 	    return work;
 	}
 	
+	/**
+	 * Get the key-value pairs of this Track whose keys are not known by the Parser, e.g. the keys of a newer iTunes version.
+	 * @return The {@linkplain Extensions}, which are {@linkplain Extensions#EMPTY} if the Track has no unknown keys.
+	 */
+	public Extensions getExtensions() {
+		return this.extensions == null ? Extensions.EMPTY : this.extensions;
+	}
+	
 	// --------------------------------------------------
 	// Setter
 	// --------------------------------------------------
 	
 	public void setAlbum(String album) {
+		this.checkFrozen();
 		this.album = album;
 	}
 	
 	public void setAlbumArtist(String albumArtist) {
+		this.checkFrozen();
 		this.albumArtist = albumArtist;
 	}
 	
 	public void setAlbumRating(Integer albumRating) {
+		this.checkFrozen();
 		this.albumRating = albumRating;
 	}
 	
 	public void setAlbumRatingComputed(Boolean albumRatingComputed) {
+		this.checkFrozen();
 		this.albumRatingComputed = albumRatingComputed;
 	}
 	
 	public void setArtist(String artist) {
+		this.checkFrozen();
 		this.artist = artist;
 	}
 	
 	public void setArtworkCount(Integer artworkCount) {
+		this.checkFrozen();
 		this.artworkCount = artworkCount;
 	}
 
     public void setBitrate(Integer bitrate) {
+        this.checkFrozen();
         this.bitrate = bitrate;
     }
 	
 	public void setBpm(Integer bpm) {
+		this.checkFrozen();
 		this.bpm = bpm;
 	}
 	
 	public void setClean(Boolean clean) {
+		this.checkFrozen();
 		this.clean = clean;
 	}
 	
 	public void setComments(String comments) {
+		this.checkFrozen();
 		this.comments = comments;
 	}
 	
 	public void setCompilation(Boolean compilation) {
+		this.checkFrozen();
 		this.compilation = compilation;
 	}
 	
 	public void setComposer(String composer) {
+		this.checkFrozen();
 		this.composer = composer;
 	}
 	
 	public void setDateAdded(Date dateAdded) {
-		this.dateAdded = dateAdded;
+		this.checkFrozen();
+		this.dateAdded = toMillis(dateAdded);
 	}
 	
 	public void setDateModified(Date dateModified) {
-		this.dateModified = dateModified;
+		this.checkFrozen();
+		this.dateModified = toMillis(dateModified);
 	}
 	
 	public void setDisabled(Boolean disabled) {
+		this.checkFrozen();
 		this.disabled = disabled;
 	}
 	
 	public void setDiscCount(Integer discCount) {
+		this.checkFrozen();
 		this.discCount = discCount;
 	}
 	
 	public void setDiscNumber(Integer discNumber) {
+		this.checkFrozen();
 		this.discNumber = discNumber;
 	}
 	
 	public void setEpisode(String episode) {
+		this.checkFrozen();
 		this.episode = episode;
 	}
 	
 	public void setEpisodeOrder(Integer episodeOrder) {
+		this.checkFrozen();
 		this.episodeOrder = episodeOrder;
 	}
 	
 	public void setEqualizer(String equalizer) {
+		this.checkFrozen();
 		this.equalizer = equalizer;
 	}
 	
 	public void setExplicit(Boolean explicit) {
+		this.checkFrozen();
 		this.explicit = explicit;
 	}
 	
 	public void setFileFolderCount(Integer fileFolderCount) {
+		this.checkFrozen();
 		this.fileFolderCount = fileFolderCount;
 	}
 	
 	public void setFileType(Long fileType) {
+		this.checkFrozen();
 		this.fileType = fileType;
 	}
 	
 	public void setGenre(String genre) {
+		this.checkFrozen();
 		this.genre = genre;
 	}
 	
 	public void setGrouping(String grouping) {
+		this.checkFrozen();
 		this.grouping = grouping;
 	}
 	
 	public void setKind(String kind) {
+		this.checkFrozen();
 		this.kind = kind;
 	}
 	
 	public void setLibraryFolderCount(Integer libraryFolderCount) {
+		this.checkFrozen();
 		this.libraryFolderCount = libraryFolderCount;
 	}
 	
 	public void setLocation(URL location) {
-		this.location = location;
+		this.checkFrozen();
+		if ( location == null ) {
+			this.setLocation(null, null);
+		} else {
+			String string = location.toString();
+			int length = Locations.directoryLength(string);
+			this.setLocation(string.substring(0, length), string.substring(length));
+		}
+	}
+	
+	// Sets the Location as the directory and file name of its URL.
+	void setLocation(String directory, String file) {
+		this.checkFrozen();
+		this.locationDirectory = directory;
+		this.locationFile = file;
 	}
 	
 	public void setLoved(Boolean loved) {
+		this.checkFrozen();
 		this.loved = loved;
 	}
 	
 	public void setName(String name) {
+		this.checkFrozen();
 		this.name = name;
 	}
 	
 	public void setPartOfGaplessAlbum(Boolean partOfGaplessAlbum) {
+		this.checkFrozen();
 		this.partOfGaplessAlbum = partOfGaplessAlbum;
 	}
 	
 	public void setPersistentID(String persistentID) {
+		this.checkFrozen();
 		this.persistentID = persistentID;
 	}
 	
 	public void setPlayCount(Integer playCount) {
+		this.checkFrozen();
 		this.playCount = playCount;
 	}
 	
 	public void setPlayDate(Long playDate) {
+		this.checkFrozen();
 		this.playDate = playDate;
 	}
 	
 	public void setPlayDateUTC(Date playDateUTC) {
-		this.playDateUTC = playDateUTC;
+		this.checkFrozen();
+		this.playDateUTC = toMillis(playDateUTC);
 	}
 	
 	public void setPurchased(Boolean purchased) {
+		this.checkFrozen();
 		this.purchased = purchased;
 	}
 	
 	public void setRating(Integer rating) {
+		this.checkFrozen();
 		this.rating = rating;
 	}
 	
 	public void setReleaseDate(Date releaseDate) {
-		this.releaseDate = releaseDate;
+		this.checkFrozen();
+		this.releaseDate = toMillis(releaseDate);
 	}
 	
 	public void setSampleRate(Integer sampleRate) {
+		this.checkFrozen();
 		this.sampleRate = sampleRate;
 	}
 	
 	public void setSeason(Integer season) {
+		this.checkFrozen();
 		this.season = season;
 	}
 	
 	public void setSeries(String series) {
+		this.checkFrozen();
 		this.series = series;
 	}
 	
 	public void setSize(Long size) {
+		this.checkFrozen();
 		this.size = size;
 	}
 	
 	public void setSkipCount(Integer skipCount) {
+		this.checkFrozen();
 		this.skipCount = skipCount;
 	}
 	
 	public void setSkipDate(Date skipDate) {
-		this.skipDate = skipDate;
+		this.checkFrozen();
+		this.skipDate = toMillis(skipDate);
 	}
 	
 	public void setSortAlbum(String sortAlbum) {
+		this.checkFrozen();
 		this.sortAlbum = sortAlbum;
 	}
 	
 	public void setSortAlbumArtist(String sortAlbumArtist) {
+		this.checkFrozen();
 		this.sortAlbumArtist = sortAlbumArtist;
 	}
 	
 	public void setSortArtist(String sortArtist) {
+		this.checkFrozen();
 		this.sortArtist = sortArtist;
 	}
 	
 	public void setSortComposer(String sortComposer) {
+		this.checkFrozen();
 		this.sortComposer = sortComposer;
 	}
 	
 	public void setSortName(String sortName) {
+		this.checkFrozen();
 		this.sortName = sortName;
 	}
 	
 	public void setSortSeries(String sortSeries) {
+		this.checkFrozen();
 		this.sortSeries = sortSeries;
 	}
 	
 	public void setStartTime(Long startTime) {
+		this.checkFrozen();
 		this.startTime = startTime;
 	}
 	
 	public void setStopTime(Long stopTime) {
+		this.checkFrozen();
 		this.stopTime = stopTime;
 	}
 	
 	public void setTotalTime(Long totalTime) {
+		this.checkFrozen();
 		this.totalTime = totalTime;
 	}
 	
 	public void setTrackCount(Integer trackCount) {
+		this.checkFrozen();
 		this.trackCount = trackCount;
 	}
 	
 	public void setTrackID(Integer trackID) {
+		this.checkFrozen();
 		this.trackID = trackID;
 	}
 	
 	public void setTrackNumber(Integer trackNumber) {
+		this.checkFrozen();
 		this.trackNumber = trackNumber;
 	}
 	
 	public void setTrackType(String trackType) {
+		this.checkFrozen();
 		this.trackType = trackType;
 	}
 	
 	public void setVolumeAdjustment(Integer volumeAdjustment) {
+		this.checkFrozen();
 		this.volumeAdjustment = volumeAdjustment;
 	}
 	
 	public void setYear(Integer year) {
+		this.checkFrozen();
 		this.year = year;
 	}
 	
 	public void setVideo(Boolean isVideo){
+		this.checkFrozen();
 		this.video = isVideo;				
 	}
 	
 	public void setMovie(Boolean isMovie){
+		this.checkFrozen();
 		this.movie = isMovie;				
 	}
 	
 	public void setVideoHeight(Integer videoHeight){
+		this.checkFrozen();
 		this.videoHeight = videoHeight;				
 	}
 	
 	public void setVideoWidth(Integer videoWidth){
+		this.checkFrozen();
 		this.videoWidth = videoWidth;	
 	}
 	
 	public void setUnplayed(Boolean isUnplayed){
+		this.checkFrozen();
 		this.unplayed = isUnplayed;				
 	}
 	
 	public void setPodcast(Boolean isPodcast){
+		this.checkFrozen();
 		this.podcast = isPodcast;
 	}
 	
 	public void setNormalization(Integer normalization) {
+        this.checkFrozen();
         this.normalization = normalization;
     }
 	
 	public void setWork(String work) {
+	    this.checkFrozen();
 	    this.work = work;
 	}
 	
+	void setExtensions(Extensions extensions) {
+		this.checkFrozen();
+		this.extensions = extensions;
+	}
+	
 }
\ No newline at end of file
@@ -0,0 +1,254 @@
+package com.github.pireba.itunesparser;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The Track Map of a lazy parse.<br>
+ * Only the Track ID and the byte range of the Track dict in the mapped XML File are stored for every Track.
+ * A {@linkplain LazyTrack} is created the first time a Track is requested
+ * and decodes its properties the first time one of its methods is called.<br>
+ * The Tracks are iterated in the order of the XML File. The Map is read-only.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see Parser#setLazy(boolean)
+ */
+class TrackIndex extends AbstractMap<Integer, Track> {
+	/**
+	 * The reader which decodes the Track dicts from the mapped XML File.
+	 */
+	private final PlistReader reader;
+	
+	/**
+	 * The Track IDs in the order of the XML File.
+	 */
+	private int[] ids = new int[1024];
+	
+	/**
+	 * The position of the Track dicts in the XML File.
+	 */
+	private int[] starts = new int[1024];
+	
+	/**
+	 * The end of the Track dicts in the XML File (exclusive).
+	 */
+	private int[] ends = new int[1024];
+	
+	/**
+	 * The Track objects which have already been requested, by their index.
+	 */
+	private Track[] tracks;
+	
+	/**
+	 * The open addressing hash table from the Track ID to the index + 1. Empty slots are 0.
+	 */
+	private int[] slots;
+	
+	/**
+	 * The number of indexed Track dicts.
+	 */
+	private int count;
+	
+	/**
+	 * The number of different Track IDs.
+	 */
+	private int size;
+	
+	/**
+	 * True if every Track object is frozen.
+	 */
+	private boolean frozen = false;
+	
+	/**
+	 * Creates a new empty index.
+	 * @param reader The {@linkplain PlistReader} which decodes the Track dicts.
+	 */
+	TrackIndex(PlistReader reader) {
+		this.reader = reader;
+	}
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Adds a Track dict to the index.<br>
+	 * If the Track ID has already been added, the new Track dict replaces the old one.
+	 * @param trackID The Track ID.
+	 * @param start The position of the Track dict in the XML File.
+	 * @param end The end of the Track dict in the XML File (exclusive).
+	 */
+	void add(int trackID, int start, int end) {
+		if ( this.count == this.ids.length ) {
+			this.ids = Arrays.copyOf(this.ids, this.count * 2);
+			this.starts = Arrays.copyOf(this.starts, this.count * 2);
+			this.ends = Arrays.copyOf(this.ends, this.count * 2);
+		}
+		this.ids[this.count] = trackID;
+		this.starts[this.count] = start;
+		this.ends[this.count] = end;
+		this.count++;
+	}
+	
+	/**
+	 * Builds the hash table after the last Track dict has been added.
+	 */
+	void finish() {
+		int capacity = Integer.highestOneBit(Math.max(this.count, 1) * 2 - 1) * 2;
+		int mask = capacity - 1;
+		int[] slots = new int[capacity];
+		int size = 0;
+		
+		for ( int i=0; i<this.count; i++ ) {
+			int slot = this.slot(slots, mask, this.ids[i]);
+			if ( slots[slot] == 0 ) {
+				size++;
+			}
+			slots[slot] = i + 1;
+		}
+		
+		this.slots = slots;
+		this.size = size;
+		this.tracks = new Track[this.count];
+	}
+	
+	/**
+	 * Freezes every Track object which has already been requested and every Track object which is requested afterwards.<br>
+	 * See {@link Parser#getResult()}.
+	 */
+	synchronized void freeze() {
+		this.frozen = true;
+		for ( Track track : this.tracks ) {
+			if ( track != null ) {
+				track.freeze();
+			}
+		}
+	}
+	
+	/**
+	 * Get the slot of the given Track ID, or the empty slot where it belongs.
+	 * @param slots The hash table.
+	 * @param mask The mask of the table size.
+	 * @param trackID The Track ID.
+	 * @return The slot.
+	 */
+	private int slot(int[] slots, int mask, int trackID) {
+		int hash = trackID * 0x9E3779B9;
+		int slot = (hash ^ (hash >>> 16)) & mask;
+		while ( slots[slot] != 0 && this.ids[slots[slot] - 1] != trackID ) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+	
+	/**
+	 * Get the index of the given Track ID.
+	 * @param key The Track ID.
+	 * @return The index, or -1 if the Track ID is unknown.
+	 */
+	private int indexOf(Object key) {
+		if ( ! (key instanceof Integer) ) {
+			return -1;
+		}
+		return this.slots[this.slot(this.slots, this.slots.length - 1, (Integer) key)] - 1;
+	}
+	
+	/**
+	 * Get the Track object at the given index and create it if it has not been requested yet.
+	 * @param index The index.
+	 * @return The {@linkplain LazyTrack} object.
+	 */
+	private Track track(int index) {
+		Track track = this.tracks[index];
+		if ( track == null ) {
+			synchronized ( this ) {
+				track = this.tracks[index];
+				if ( track == null ) {
+					track = new LazyTrack(this.reader, this.ids[index], this.starts[index], this.ends[index]);
+					if ( this.frozen ) {
+						track.freeze();
+					}
+					this.tracks[index] = track;
+				}
+			}
+		}
+		return track;
+	}
+	
+	/**
+	 * Hands a new Track object for every Track dict to the given visitor in the order of the XML File.<br>
+	 * The Track objects are not kept by the index, so they can be released by the visitor.
+	 * @param visitor The {@linkplain TrackVisitor}.
+	 */
+	void visit(TrackVisitor visitor) {
+		for ( int i=0; i<this.count; i++ ) {
+			visitor.visit(new LazyTrack(this.reader, this.ids[i], this.starts[i], this.ends[i]));
+		}
+	}
+	
+	@Override
+	public Track get(Object key) {
+		int index = this.indexOf(key);
+		return index < 0 ? null : this.track(index);
+	}
+	
+	@Override
+	public boolean containsKey(Object key) {
+		return this.indexOf(key) >= 0;
+	}
+	
+	@Override
+	public int size() {
+		return this.size;
+	}
+	
+	@Override
+	public Set<Entry<Integer, Track>> entrySet() {
+		return new AbstractSet<Entry<Integer, Track>>() {
+			@Override
+			public Iterator<Entry<Integer, Track>> iterator() {
+				return new Iterator<Entry<Integer, Track>>() {
+					private int next = this.skip(0);
+					
+					@Override
+					public boolean hasNext() {
+						return this.next < TrackIndex.this.count;
+					}
+					
+					@Override
+					public Entry<Integer, Track> next() {
+						if ( ! this.hasNext() ) {
+							throw new NoSuchElementException();
+						}
+						int index = this.next;
+						this.next = this.skip(index + 1);
+						return new SimpleImmutableEntry<>(TrackIndex.this.ids[index], TrackIndex.this.track(index));
+					}
+					
+					/**
+					 * Skips the Track dicts which have been replaced by a later one with the same Track ID.
+					 * @param from The first index to check.
+					 * @return The next index which is in the Map.
+					 */
+					private int skip(int from) {
+						int index = from;
+						while ( index < TrackIndex.this.count && TrackIndex.this.indexOf(TrackIndex.this.ids[index]) != index ) {
+							index++;
+						}
+						return index;
+					}
+				};
+			}
+			
+			@Override
+			public int size() {
+				return TrackIndex.this.size;
+			}
+		};
+	}
+}
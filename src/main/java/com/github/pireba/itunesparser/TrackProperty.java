@@ -0,0 +1,105 @@
+package com.github.pireba.itunesparser;
+
+/**
+ * The properties of a {@linkplain Track} in the iTunes Library XML File.<br>
+ * Every constant names the key of the property in the XML File.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+public enum TrackProperty implements Property {
+	ALBUM("Album"),
+	ALBUM_ARTIST("Album Artist"),
+	ALBUM_RATING("Album Rating"),
+	ALBUM_RATING_COMPUTED("Album Rating Computed"),
+	ARTIST("Artist"),
+	ARTWORK_COUNT("Artwork Count"),
+	BIT_RATE("Bit Rate"),
+	BPM("BPM"),
+	COMMENTS("Comments"),
+	COMPILATION("Compilation"),
+	COMPOSER("Composer"),
+	CLEAN("Clean"),
+	DATE_ADDED("Date Added"),
+	DATE_MODIFIED("Date Modified"),
+	DISC_COUNT("Disc Count"),
+	DISC_NUMBER("Disc Number"),
+	DISABLED("Disabled"),
+	EPISODE("Episode"),
+	EPISODE_ORDER("Episode Order"),
+	EQUALIZER("Equalizer"),
+	EXPLICIT("Explicit"),
+	FILE_FOLDER_COUNT("File Folder Count"),
+	FILE_TYPE("File Type"),
+	GENRE("Genre"),
+	GROUPING("Grouping"),
+	KIND("Kind"),
+	LIBRARY_FOLDER_COUNT("Library Folder Count"),
+	LOCATION("Location"),
+	LOVED("Loved"),
+	NAME("Name"),
+	PART_OF_GAPLESS_ALBUM("Part Of Gapless Album"),
+	PERSISTENT_ID("Persistent ID"),
+	PLAY_COUNT("Play Count"),
+	PLAY_DATE("Play Date"),
+	PLAY_DATE_UTC("Play Date UTC"),
+	PURCHASED("Purchased"),
+	RATING("Rating"),
+	RELEASE_DATE("Release Date"),
+	SAMPLE_RATE("Sample Rate"),
+	SIZE("Size"),
+	SKIP_COUNT("Skip Count"),
+	SKIP_DATE("Skip Date"),
+	SEASON("Season"),
+	SERIES("Series"),
+	SORT_ALBUM("Sort Album"),
+	SORT_ALBUM_ARTIST("Sort Album Artist"),
+	SORT_ARTIST("Sort Artist"),
+	SORT_COMPOSER("Sort Composer"),
+	SORT_NAME("Sort Name"),
+	SORT_SERIES("Sort Series"),
+	START_TIME("Start Time"),
+	STOP_TIME("Stop Time"),
+	TOTAL_TIME("Total Time"),
+	TRACK_COUNT("Track Count"),
+	TRACK_ID("Track ID"),
+	TRACK_NUMBER("Track Number"),
+	TRACK_TYPE("Track Type"),
+	VOLUME_ADJUSTMENT("Volume Adjustment"),
+	YEAR("Year"),
+	HAS_VIDEO("Has Video"),
+	MOVIE("Movie"),
+	VIDEO_HEIGHT("Video Height"),
+	VIDEO_WIDTH("Video Width"),
+	UNPLAYED("Unplayed"),
+	PODCAST("Podcast"),
+	NORMALIZATION("Normalization"),
+	WORK("Work");
+	
+	/**
+	 * The table to look up a property by its key in the XML File.
+	 */
+	static final KeyTable<TrackProperty> KEYS = new KeyTable<>(values());
+	
+	/**
+	 * The key of the property in the XML File.
+	 */
+	private final String key;
+	
+	/**
+	 * Creates a new property constant.
+	 * @param key The key of the property in the XML File.
+	 */
+	private TrackProperty(String key) {
+		this.key = key;
+	}
+	
+	/**
+	 * Get the key of the property in the XML File.
+	 * @return The key.
+	 */
+	@Override
+	public String getKey() {
+		return this.key;
+	}
+}
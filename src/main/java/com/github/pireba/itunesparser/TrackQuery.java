@@ -0,0 +1,273 @@
+package com.github.pireba.itunesparser;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A query of the Tracks of a {@linkplain TrackSearch}, which matches the Tracks that fulfill all its conditions.<br>
+ * A condition on a String property of {@link TrackSearch#HASHED} requires an equal value,
+ * a condition on a numeric or Date property of {@link TrackSearch#SORTED} requires a value in a range.
+ * A Track without a value of a property never fulfills a condition on it.<br>
+ * The query starts with the positions of its most selective condition and checks the others only for these Tracks.
+ * The Tracks are returned in the order of the Track Map.<br>
+ * A TrackQuery must not be used by several threads at the same time, every thread creates its own by {@link TrackSearch#query()}.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see TrackSearch
+ */
+public class TrackQuery {
+	/**
+	 * The TrackSearch with the indexes.
+	 */
+	private final TrackSearch search;
+	
+	/**
+	 * The ascending positions of every equality condition.
+	 */
+	private final List<int[]> equals = new ArrayList<int[]>();
+	
+	/**
+	 * The properties of the range conditions.
+	 */
+	private final List<TrackProperty> ranges = new ArrayList<TrackProperty>();
+	
+	/**
+	 * The inclusive minimum and maximum of every range condition.
+	 */
+	private long[] bounds = new long[8];
+	
+	/**
+	 * Creates a new query without conditions.
+	 * @param search The {@linkplain TrackSearch} with the indexes.
+	 */
+	TrackQuery(TrackSearch search) {
+		this.search = search;
+	}
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Adds the condition that the given String property equals the given value.
+	 * @param property A property of {@link TrackSearch#HASHED}.
+	 * @param value The value.
+	 * @return This query.
+	 * @throws IllegalArgumentException If the property has no hash index.
+	 */
+	public TrackQuery equal(TrackProperty property, String value) {
+		this.equals.add(this.search.positions(property, value));
+		return this;
+	}
+	
+	/**
+	 * Adds the condition that the given numeric property is within the given range.
+	 * @param property A property of {@link TrackSearch#SORTED}.
+	 * @param min The inclusive minimum, e.g. {@code Long.MIN_VALUE + 1} for no minimum.
+	 * @param max The inclusive maximum, e.g. {@code Long.MAX_VALUE} for no maximum.
+	 * @return This query.
+	 * @throws IllegalArgumentException If the property has no sorted index.
+	 */
+	public TrackQuery range(TrackProperty property, long min, long max) {
+		this.search.values(property);
+		int index = this.ranges.size();
+		if ( index * 2 == this.bounds.length ) {
+			this.bounds = Arrays.copyOf(this.bounds, this.bounds.length * 2);
+		}
+		this.ranges.add(property);
+		this.bounds[index * 2] = Math.max(min, TrackSearch.MISSING + 1);
+		this.bounds[index * 2 + 1] = max;
+		return this;
+	}
+	
+	/**
+	 * Adds the condition that the given Date property is within the given range.
+	 * @param property A Date property of {@link TrackSearch#SORTED}, e.g. {@linkplain TrackProperty#DATE_ADDED}.
+	 * @param from The inclusive start or null for no start.
+	 * @param to The inclusive end or null for no end.
+	 * @return This query.
+	 * @throws IllegalArgumentException If the property has no sorted index.
+	 */
+	public TrackQuery range(TrackProperty property, Date from, Date to) {
+		return this.range(property, from == null ? Long.MIN_VALUE : from.getTime(), to == null ? Long.MAX_VALUE : to.getTime());
+	}
+	
+	/**
+	 * Get the number of matching Tracks.
+	 * @return The number of Tracks.
+	 */
+	public int count() {
+		return this.execute().length;
+	}
+	
+	/**
+	 * Get the matching Tracks in the order of the Track Map.
+	 * @return The read-only List of {@linkplain Track} objects.
+	 */
+	public List<Track> list() {
+		return new Tracks(this.execute());
+	}
+	
+	/**
+	 * Finds the ascending positions of the matching Tracks.
+	 * @return The positions.
+	 */
+	private int[] execute() {
+		int[] result = null;
+		int count = 0;
+		int skip = -1;
+		
+		// Start with the smallest list of positions.
+		for ( int[] positions : this.equals ) {
+			if ( result == null || positions.length < count ) {
+				result = positions;
+				count = positions.length;
+			}
+		}
+		
+		// Without an equality condition start with the narrowest range, sorted by position.
+		if ( result == null && ! this.ranges.isEmpty() ) {
+			int from = 0, to = Integer.MAX_VALUE;
+			for ( int i=0; i<this.ranges.size(); i++ ) {
+				long[] values = this.search.values(this.ranges.get(i));
+				int start = lowerBound(values, this.bounds[i * 2]);
+				int end = this.bounds[i * 2 + 1] == Long.MAX_VALUE ? values.length : lowerBound(values, this.bounds[i * 2 + 1] + 1);
+				if ( end - start < to - from ) {
+					from = start;
+					to = Math.max(start, end);
+					skip = i;
+				}
+			}
+			result = Arrays.copyOfRange(this.search.positions(this.ranges.get(skip)), from, to);
+			Arrays.sort(result);
+			count = result.length;
+		}
+		
+		// Without any condition every Track matches.
+		if ( result == null ) {
+			result = new int[this.search.size()];
+			for ( int i=0; i<result.length; i++ ) {
+				result[i] = i;
+			}
+			return result;
+		}
+		
+		int[] matches = new int[count];
+		System.arraycopy(result, 0, matches, 0, count);
+		for ( int[] positions : this.equals ) {
+			if ( positions != result ) {
+				count = intersect(matches, count, positions);
+			}
+		}
+		for ( int i=0; i<this.ranges.size(); i++ ) {
+			if ( i != skip ) {
+				count = this.filter(matches, count, i);
+			}
+		}
+		return count == matches.length ? matches : Arrays.copyOf(matches, count);
+	}
+	
+	/**
+	 * Removes the positions whose value of the given range condition is out of its range.
+	 * @param matches The ascending positions, which are compacted in place.
+	 * @param count The number of positions.
+	 * @param range The index of the range condition.
+	 * @return The number of remaining positions.
+	 */
+	private int filter(int[] matches, int count, int range) {
+		long[] column = this.search.column(this.ranges.get(range));
+		long min = this.bounds[range * 2];
+		long max = this.bounds[range * 2 + 1];
+		int kept = 0;
+		for ( int i=0; i<count; i++ ) {
+			long value = column[matches[i]];
+			if ( value >= min && value <= max ) {
+				matches[kept++] = matches[i];
+			}
+		}
+		return kept;
+	}
+	
+	/**
+	 * Removes the positions which are not in the given positions.<br>
+	 * Every position is searched by galloping, so a short list is intersected with a long one in logarithmic time per position.
+	 * @param matches The ascending positions, which are compacted in place.
+	 * @param count The number of positions.
+	 * @param positions The other ascending positions.
+	 * @return The number of remaining positions.
+	 */
+	private static int intersect(int[] matches, int count, int[] positions) {
+		int kept = 0;
+		int low = 0;
+		for ( int i=0; i<count && low<positions.length; i++ ) {
+			int position = matches[i];
+			int step = 1;
+			int high = low;
+			while ( high < positions.length && positions[high] < position ) {
+				low = high + 1;
+				high += step;
+				step *= 2;
+			}
+			int index = Arrays.binarySearch(positions, low, Math.min(high + 1, positions.length), position);
+			if ( index >= 0 ) {
+				matches[kept++] = position;
+				low = index + 1;
+			} else {
+				low = -index - 1;
+			}
+		}
+		return kept;
+	}
+	
+	/**
+	 * Get the index of the first value which is not less than the given value.
+	 * @param values The ascending values.
+	 * @param value The value.
+	 * @return The index, or the length of the values.
+	 */
+	private static int lowerBound(long[] values, long value) {
+		int low = 0, high = values.length;
+		while ( low < high ) {
+			int middle = (low + high) >>> 1;
+			if ( values[middle] < value ) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+	
+	/**
+	 * The read-only List of the matching Tracks, resolved by their positions.
+	 */
+	private class Tracks extends AbstractList<Track> implements RandomAccess {
+		/**
+		 * The ascending positions of the Tracks.
+		 */
+		private final int[] positions;
+		
+		/**
+		 * Creates a new List of the given positions.
+		 * @param positions The ascending positions.
+		 */
+		private Tracks(int[] positions) {
+			this.positions = positions;
+		}
+		
+		@Override
+		public Track get(int index) {
+			return TrackQuery.this.search.track(this.positions[index]);
+		}
+		
+		@Override
+		public int size() {
+			return this.positions.length;
+		}
+	}
+}
@@ -0,0 +1,776 @@
+package com.github.pireba.itunesparser;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.text.ParseException;
+import java.util.Date;
+
+/**
+ * A flyweight {@linkplain Track} view of a row of a {@linkplain TrackTable}.<br>
+ * The view has no properties itself, every getter and setter reads and writes the columns of the table.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+class TrackRow extends Track {
+	/**
+	 * The table of the row.
+	 */
+	private final TrackTable table;
+	
+	/**
+	 * The row in the table.
+	 */
+	private final int row;
+	
+	/**
+	 * Creates a new view of the given row.
+	 * @param table The {@linkplain TrackTable}.
+	 * @param row The row.
+	 */
+	TrackRow(TrackTable table, int row) {
+		this.table = table;
+		this.row = row;
+	}
+	
+	/**
+	 * Sets the value of the given property from a value of the XML File.
+	 * @param property The property.
+	 * @param value The value.
+	 * @throws ParseException If the value is not a valid date.
+	 * @throws MalformedURLException If the value is not a valid Location.
+	 */
+	void set(TrackProperty property, Value value) throws ParseException, MalformedURLException {
+		this.table.set(this.row, property, value);
+	}
+	
+	/**
+	 * Adds the row to the Track ID lookup of the table once the Track dict has been read.
+	 */
+	void index() {
+		this.table.index(this.row);
+	}
+	
+	/**
+	 * A row is frozen with its table, see {@link TrackTable#isFrozen()}.
+	 */
+	@Override
+	void freeze() {
+		this.table.freeze();
+	}
+	
+	@Override
+	public boolean isFrozen() {
+		return this.table.isFrozen();
+	}
+	
+	// --------------------------------------------------
+	// Getter & Setter
+	// --------------------------------------------------
+	
+	@Override
+	String getLocationDirectory() {
+		return this.table.getLocationDirectory(this.row);
+	}
+	
+	@Override
+	String getLocationFile() {
+		return this.table.getLocationFile(this.row);
+	}
+	
+	@Override
+	void setLocation(String directory, String file) {
+		this.table.setLocation(this.row, directory, file);
+	}
+	
+	@Override
+	public Boolean getAlbumRatingComputed() {
+		return (Boolean) this.table.get(this.row, TrackProperty.ALBUM_RATING_COMPUTED);
+	}
+	
+	@Override
+	public Integer getBitrate() {
+		return (Integer) this.table.get(this.row, TrackProperty.BIT_RATE);
+	}
+	
+	@Override
+	public String getAlbum() {
+		return (String) this.table.get(this.row, TrackProperty.ALBUM);
+	}
+	
+	@Override
+	public String getAlbumArtist() {
+		return (String) this.table.get(this.row, TrackProperty.ALBUM_ARTIST);
+	}
+	
+	@Override
+	public Integer getAlbumRating() {
+		return (Integer) this.table.get(this.row, TrackProperty.ALBUM_RATING);
+	}
+	
+	@Override
+	public Boolean isAlbumRatingComputed() {
+		return (Boolean) this.table.get(this.row, TrackProperty.ALBUM_RATING_COMPUTED);
+	}
+	
+	@Override
+	public String getArtist() {
+		return (String) this.table.get(this.row, TrackProperty.ARTIST);
+	}
+	
+	@Override
+	public Integer getArtworkCount() {
+		return (Integer) this.table.get(this.row, TrackProperty.ARTWORK_COUNT);
+	}
+	
+	@Override
+	public Integer getBitRate() {
+		return (Integer) this.table.get(this.row, TrackProperty.BIT_RATE);
+	}
+	
+	@Override
+	public Integer getBpm() {
+		return (Integer) this.table.get(this.row, TrackProperty.BPM);
+	}
+	
+	@Override
+	public Boolean isClean() {
+		return (Boolean) this.table.get(this.row, TrackProperty.CLEAN);
+	}
+	
+	@Override
+	public String getComments() {
+		return (String) this.table.get(this.row, TrackProperty.COMMENTS);
+	}
+	
+	@Override
+	public Boolean isCompilation() {
+		return (Boolean) this.table.get(this.row, TrackProperty.COMPILATION);
+	}
+	
+	@Override
+	public String getComposer() {
+		return (String) this.table.get(this.row, TrackProperty.COMPOSER);
+	}
+	
+	@Override
+	public Date getDateAdded() {
+		return (Date) this.table.get(this.row, TrackProperty.DATE_ADDED);
+	}
+	
+	@Override
+	public Date getDateModified() {
+		return (Date) this.table.get(this.row, TrackProperty.DATE_MODIFIED);
+	}
+	
+	@Override
+	public Boolean isDisabled() {
+		return (Boolean) this.table.get(this.row, TrackProperty.DISABLED);
+	}
+	
+	@Override
+	public Integer getDiscCount() {
+		return (Integer) this.table.get(this.row, TrackProperty.DISC_COUNT);
+	}
+	
+	@Override
+	public Integer getDiscNumber() {
+		return (Integer) this.table.get(this.row, TrackProperty.DISC_NUMBER);
+	}
+	
+	@Override
+	public String getEpisode() {
+		return (String) this.table.get(this.row, TrackProperty.EPISODE);
+	}
+	
+	@Override
+	public Integer getEpisodeOrder() {
+		return (Integer) this.table.get(this.row, TrackProperty.EPISODE_ORDER);
+	}
+	
+	@Override
+	public String getEqualizer() {
+		return (String) this.table.get(this.row, TrackProperty.EQUALIZER);
+	}
+	
+	@Override
+	public Boolean isExplicit() {
+		return (Boolean) this.table.get(this.row, TrackProperty.EXPLICIT);
+	}
+	
+	@Override
+	public Integer getFileFolderCount() {
+		return (Integer) this.table.get(this.row, TrackProperty.FILE_FOLDER_COUNT);
+	}
+	
+	@Override
+	public Long getFileType() {
+		return (Long) this.table.get(this.row, TrackProperty.FILE_TYPE);
+	}
+	
+	@Override
+	public String getGenre() {
+		return (String) this.table.get(this.row, TrackProperty.GENRE);
+	}
+	
+	@Override
+	public String getGrouping() {
+		return (String) this.table.get(this.row, TrackProperty.GROUPING);
+	}
+	
+	@Override
+	public String getKind() {
+		return (String) this.table.get(this.row, TrackProperty.KIND);
+	}
+	
+	@Override
+	public Integer getLibraryFolderCount() {
+		return (Integer) this.table.get(this.row, TrackProperty.LIBRARY_FOLDER_COUNT);
+	}
+	
+	@Override
+	public URL getLocation() {
+		return (URL) this.table.get(this.row, TrackProperty.LOCATION);
+	}
+	
+	@Override
+	public Boolean isLoved() {
+		return (Boolean) this.table.get(this.row, TrackProperty.LOVED);
+	}
+	
+	@Override
+	public String getName() {
+		return (String) this.table.get(this.row, TrackProperty.NAME);
+	}
+	
+	@Override
+	public Boolean isPartOfGaplessAlbum() {
+		return (Boolean) this.table.get(this.row, TrackProperty.PART_OF_GAPLESS_ALBUM);
+	}
+	
+	@Override
+	public String getPersistentID() {
+		return (String) this.table.get(this.row, TrackProperty.PERSISTENT_ID);
+	}
+	
+	@Override
+	public Integer getPlayCount() {
+		return (Integer) this.table.get(this.row, TrackProperty.PLAY_COUNT);
+	}
+	
+	@Override
+	public Long getPlayDate() {
+		return (Long) this.table.get(this.row, TrackProperty.PLAY_DATE);
+	}
+	
+	@Override
+	public Date getPlayDateUTC() {
+		return (Date) this.table.get(this.row, TrackProperty.PLAY_DATE_UTC);
+	}
+	
+	@Override
+	public Boolean isPurchased() {
+		return (Boolean) this.table.get(this.row, TrackProperty.PURCHASED);
+	}
+	
+	@Override
+	public Integer getRating() {
+		return (Integer) this.table.get(this.row, TrackProperty.RATING);
+	}
+	
+	@Override
+	public Date getReleaseDate() {
+		return (Date) this.table.get(this.row, TrackProperty.RELEASE_DATE);
+	}
+	
+	@Override
+	public Integer getSampleRate() {
+		return (Integer) this.table.get(this.row, TrackProperty.SAMPLE_RATE);
+	}
+	
+	@Override
+	public Integer getSeason() {
+		return (Integer) this.table.get(this.row, TrackProperty.SEASON);
+	}
+	
+	@Override
+	public String getSeries() {
+		return (String) this.table.get(this.row, TrackProperty.SERIES);
+	}
+	
+	@Override
+	public Long getSize() {
+		return (Long) this.table.get(this.row, TrackProperty.SIZE);
+	}
+	
+	@Override
+	public Integer getSkipCount() {
+		return (Integer) this.table.get(this.row, TrackProperty.SKIP_COUNT);
+	}
+	
+	@Override
+	public Date getSkipDate() {
+		return (Date) this.table.get(this.row, TrackProperty.SKIP_DATE);
+	}
+	
+	@Override
+	public String getSortAlbum() {
+		return (String) this.table.get(this.row, TrackProperty.SORT_ALBUM);
+	}
+	
+	@Override
+	public String getSortAlbumArtist() {
+		return (String) this.table.get(this.row, TrackProperty.SORT_ALBUM_ARTIST);
+	}
+	
+	@Override
+	public String getSortArtist() {
+		return (String) this.table.get(this.row, TrackProperty.SORT_ARTIST);
+	}
+	
+	@Override
+	public String getSortComposer() {
+		return (String) this.table.get(this.row, TrackProperty.SORT_COMPOSER);
+	}
+	
+	@Override
+	public String getSortName() {
+		return (String) this.table.get(this.row, TrackProperty.SORT_NAME);
+	}
+	
+	@Override
+	public String getSortSeries() {
+		return (String) this.table.get(this.row, TrackProperty.SORT_SERIES);
+	}
+	
+	@Override
+	public Long getStartTime() {
+		return (Long) this.table.get(this.row, TrackProperty.START_TIME);
+	}
+	
+	@Override
+	public Long getStopTime() {
+		return (Long) this.table.get(this.row, TrackProperty.STOP_TIME);
+	}
+	
+	@Override
+	public Long getTotalTime() {
+		return (Long) this.table.get(this.row, TrackProperty.TOTAL_TIME);
+	}
+	
+	@Override
+	public Integer getTrackCount() {
+		return (Integer) this.table.get(this.row, TrackProperty.TRACK_COUNT);
+	}
+	
+	@Override
+	public Integer getTrackID() {
+		return (Integer) this.table.get(this.row, TrackProperty.TRACK_ID);
+	}
+	
+	@Override
+	public Integer getTrackNumber() {
+		return (Integer) this.table.get(this.row, TrackProperty.TRACK_NUMBER);
+	}
+	
+	@Override
+	public String getTrackType() {
+		return (String) this.table.get(this.row, TrackProperty.TRACK_TYPE);
+	}
+	
+	@Override
+	public Integer getVolumeAdjustment() {
+		return (Integer) this.table.get(this.row, TrackProperty.VOLUME_ADJUSTMENT);
+	}
+	
+	@Override
+	public Integer getYear() {
+		return (Integer) this.table.get(this.row, TrackProperty.YEAR);
+	}
+	
+	@Override
+	public Boolean isVideo() {
+		return (Boolean) this.table.get(this.row, TrackProperty.HAS_VIDEO);
+	}
+	
+	@Override
+	public Boolean isMovie() {
+		return (Boolean) this.table.get(this.row, TrackProperty.MOVIE);
+	}
+	
+	@Override
+	public Integer getVideoHeight() {
+		return (Integer) this.table.get(this.row, TrackProperty.VIDEO_HEIGHT);
+	}
+	
+	@Override
+	public Integer getVideoWidth() {
+		return (Integer) this.table.get(this.row, TrackProperty.VIDEO_WIDTH);
+	}
+	
+	@Override
+	public Boolean isUnplayed() {
+		return (Boolean) this.table.get(this.row, TrackProperty.UNPLAYED);
+	}
+	
+	@Override
+	public Boolean isPodcast() {
+		return (Boolean) this.table.get(this.row, TrackProperty.PODCAST);
+	}
+	
+	@Override
+	public Integer getNormalization() {
+		return (Integer) this.table.get(this.row, TrackProperty.NORMALIZATION);
+	}
+	
+	@Override
+	public String getWork() {
+		return (String) this.table.get(this.row, TrackProperty.WORK);
+	}
+	
+	@Override
+	public Extensions getExtensions() {
+		Extensions extensions = this.table.getExtensions(this.row);
+		return extensions == null ? Extensions.EMPTY : extensions;
+	}
+	
+	@Override
+	void setExtensions(Extensions extensions) {
+		this.table.setExtensions(this.row, extensions);
+	}
+	
+	@Override
+	public void setAlbum(String album) {
+		this.table.set(this.row, TrackProperty.ALBUM, album);
+	}
+	
+	@Override
+	public void setAlbumArtist(String albumArtist) {
+		this.table.set(this.row, TrackProperty.ALBUM_ARTIST, albumArtist);
+	}
+	
+	@Override
+	public void setAlbumRating(Integer albumRating) {
+		this.table.set(this.row, TrackProperty.ALBUM_RATING, albumRating);
+	}
+	
+	@Override
+	public void setAlbumRatingComputed(Boolean albumRatingComputed) {
+		this.table.set(this.row, TrackProperty.ALBUM_RATING_COMPUTED, albumRatingComputed);
+	}
+	
+	@Override
+	public void setArtist(String artist) {
+		this.table.set(this.row, TrackProperty.ARTIST, artist);
+	}
+	
+	@Override
+	public void setArtworkCount(Integer artworkCount) {
+		this.table.set(this.row, TrackProperty.ARTWORK_COUNT, artworkCount);
+	}
+	
+	@Override
+	public void setBitrate(Integer bitrate) {
+		this.table.set(this.row, TrackProperty.BIT_RATE, bitrate);
+	}
+	
+	@Override
+	public void setBpm(Integer bpm) {
+		this.table.set(this.row, TrackProperty.BPM, bpm);
+	}
+	
+	@Override
+	public void setClean(Boolean clean) {
+		this.table.set(this.row, TrackProperty.CLEAN, clean);
+	}
+	
+	@Override
+	public void setComments(String comments) {
+		this.table.set(this.row, TrackProperty.COMMENTS, comments);
+	}
+	
+	@Override
+	public void setCompilation(Boolean compilation) {
+		this.table.set(this.row, TrackProperty.COMPILATION, compilation);
+	}
+	
+	@Override
+	public void setComposer(String composer) {
+		this.table.set(this.row, TrackProperty.COMPOSER, composer);
+	}
+	
+	@Override
+	public void setDateAdded(Date dateAdded) {
+		this.table.set(this.row, TrackProperty.DATE_ADDED, dateAdded);
+	}
+	
+	@Override
+	public void setDateModified(Date dateModified) {
+		this.table.set(this.row, TrackProperty.DATE_MODIFIED, dateModified);
+	}
+	
+	@Override
+	public void setDisabled(Boolean disabled) {
+		this.table.set(this.row, TrackProperty.DISABLED, disabled);
+	}
+	
+	@Override
+	public void setDiscCount(Integer discCount) {
+		this.table.set(this.row, TrackProperty.DISC_COUNT, discCount);
+	}
+	
+	@Override
+	public void setDiscNumber(Integer discNumber) {
+		this.table.set(this.row, TrackProperty.DISC_NUMBER, discNumber);
+	}
+	
+	@Override
+	public void setEpisode(String episode) {
+		this.table.set(this.row, TrackProperty.EPISODE, episode);
+	}
+	
+	@Override
+	public void setEpisodeOrder(Integer episodeOrder) {
+		this.table.set(this.row, TrackProperty.EPISODE_ORDER, episodeOrder);
+	}
+	
+	@Override
+	public void setEqualizer(String equalizer) {
+		this.table.set(this.row, TrackProperty.EQUALIZER, equalizer);
+	}
+	
+	@Override
+	public void setExplicit(Boolean explicit) {
+		this.table.set(this.row, TrackProperty.EXPLICIT, explicit);
+	}
+	
+	@Override
+	public void setFileFolderCount(Integer fileFolderCount) {
+		this.table.set(this.row, TrackProperty.FILE_FOLDER_COUNT, fileFolderCount);
+	}
+	
+	@Override
+	public void setFileType(Long fileType) {
+		this.table.set(this.row, TrackProperty.FILE_TYPE, fileType);
+	}
+	
+	@Override
+	public void setGenre(String genre) {
+		this.table.set(this.row, TrackProperty.GENRE, genre);
+	}
+	
+	@Override
+	public void setGrouping(String grouping) {
+		this.table.set(this.row, TrackProperty.GROUPING, grouping);
+	}
+	
+	@Override
+	public void setKind(String kind) {
+		this.table.set(this.row, TrackProperty.KIND, kind);
+	}
+	
+	@Override
+	public void setLibraryFolderCount(Integer libraryFolderCount) {
+		this.table.set(this.row, TrackProperty.LIBRARY_FOLDER_COUNT, libraryFolderCount);
+	}
+	
+	@Override
+	public void setLocation(URL location) {
+		this.table.set(this.row, TrackProperty.LOCATION, location);
+	}
+	
+	@Override
+	public void setLoved(Boolean loved) {
+		this.table.set(this.row, TrackProperty.LOVED, loved);
+	}
+	
+	@Override
+	public void setName(String name) {
+		this.table.set(this.row, TrackProperty.NAME, name);
+	}
+	
+	@Override
+	public void setPartOfGaplessAlbum(Boolean partOfGaplessAlbum) {
+		this.table.set(this.row, TrackProperty.PART_OF_GAPLESS_ALBUM, partOfGaplessAlbum);
+	}
+	
+	@Override
+	public void setPersistentID(String persistentID) {
+		this.table.set(this.row, TrackProperty.PERSISTENT_ID, persistentID);
+	}
+	
+	@Override
+	public void setPlayCount(Integer playCount) {
+		this.table.set(this.row, TrackProperty.PLAY_COUNT, playCount);
+	}
+	
+	@Override
+	public void setPlayDate(Long playDate) {
+		this.table.set(this.row, TrackProperty.PLAY_DATE, playDate);
+	}
+	
+	@Override
+	public void setPlayDateUTC(Date playDateUTC) {
+		this.table.set(this.row, TrackProperty.PLAY_DATE_UTC, playDateUTC);
+	}
+	
+	@Override
+	public void setPurchased(Boolean purchased) {
+		this.table.set(this.row, TrackProperty.PURCHASED, purchased);
+	}
+	
+	@Override
+	public void setRating(Integer rating) {
+		this.table.set(this.row, TrackProperty.RATING, rating);
+	}
+	
+	@Override
+	public void setReleaseDate(Date releaseDate) {
+		this.table.set(this.row, TrackProperty.RELEASE_DATE, releaseDate);
+	}
+	
+	@Override
+	public void setSampleRate(Integer sampleRate) {
+		this.table.set(this.row, TrackProperty.SAMPLE_RATE, sampleRate);
+	}
+	
+	@Override
+	public void setSeason(Integer season) {
+		this.table.set(this.row, TrackProperty.SEASON, season);
+	}
+	
+	@Override
+	public void setSeries(String series) {
+		this.table.set(this.row, TrackProperty.SERIES, series);
+	}
+	
+	@Override
+	public void setSize(Long size) {
+		this.table.set(this.row, TrackProperty.SIZE, size);
+	}
+	
+	@Override
+	public void setSkipCount(Integer skipCount) {
+		this.table.set(this.row, TrackProperty.SKIP_COUNT, skipCount);
+	}
+	
+	@Override
+	public void setSkipDate(Date skipDate) {
+		this.table.set(this.row, TrackProperty.SKIP_DATE, skipDate);
+	}
+	
+	@Override
+	public void setSortAlbum(String sortAlbum) {
+		this.table.set(this.row, TrackProperty.SORT_ALBUM, sortAlbum);
+	}
+	
+	@Override
+	public void setSortAlbumArtist(String sortAlbumArtist) {
+		this.table.set(this.row, TrackProperty.SORT_ALBUM_ARTIST, sortAlbumArtist);
+	}
+	
+	@Override
+	public void setSortArtist(String sortArtist) {
+		this.table.set(this.row, TrackProperty.SORT_ARTIST, sortArtist);
+	}
+	
+	@Override
+	public void setSortComposer(String sortComposer) {
+		this.table.set(this.row, TrackProperty.SORT_COMPOSER, sortComposer);
+	}
+	
+	@Override
+	public void setSortName(String sortName) {
+		this.table.set(this.row, TrackProperty.SORT_NAME, sortName);
+	}
+	
+	@Override
+	public void setSortSeries(String sortSeries) {
+		this.table.set(this.row, TrackProperty.SORT_SERIES, sortSeries);
+	}
+	
+	@Override
+	public void setStartTime(Long startTime) {
+		this.table.set(this.row, TrackProperty.START_TIME, startTime);
+	}
+	
+	@Override
+	public void setStopTime(Long stopTime) {
+		this.table.set(this.row, TrackProperty.STOP_TIME, stopTime);
+	}
+	
+	@Override
+	public void setTotalTime(Long totalTime) {
+		this.table.set(this.row, TrackProperty.TOTAL_TIME, totalTime);
+	}
+	
+	@Override
+	public void setTrackCount(Integer trackCount) {
+		this.table.set(this.row, TrackProperty.TRACK_COUNT, trackCount);
+	}
+	
+	@Override
+	public void setTrackID(Integer trackID) {
+		this.table.setTrackID(this.row, trackID);
+	}
+	
+	@Override
+	public void setTrackNumber(Integer trackNumber) {
+		this.table.set(this.row, TrackProperty.TRACK_NUMBER, trackNumber);
+	}
+	
+	@Override
+	public void setTrackType(String trackType) {
+		this.table.set(this.row, TrackProperty.TRACK_TYPE, trackType);
+	}
+	
+	@Override
+	public void setVolumeAdjustment(Integer volumeAdjustment) {
+		this.table.set(this.row, TrackProperty.VOLUME_ADJUSTMENT, volumeAdjustment);
+	}
+	
+	@Override
+	public void setYear(Integer year) {
+		this.table.set(this.row, TrackProperty.YEAR, year);
+	}
+	
+	@Override
+	public void setVideo(Boolean isVideo) {
+		this.table.set(this.row, TrackProperty.HAS_VIDEO, isVideo);
+	}
+	
+	@Override
+	public void setMovie(Boolean isMovie) {
+		this.table.set(this.row, TrackProperty.MOVIE, isMovie);
+	}
+	
+	@Override
+	public void setVideoHeight(Integer videoHeight) {
+		this.table.set(this.row, TrackProperty.VIDEO_HEIGHT, videoHeight);
+	}
+	
+	@Override
+	public void setVideoWidth(Integer videoWidth) {
+		this.table.set(this.row, TrackProperty.VIDEO_WIDTH, videoWidth);
+	}
+	
+	@Override
+	public void setUnplayed(Boolean isUnplayed) {
+		this.table.set(this.row, TrackProperty.UNPLAYED, isUnplayed);
+	}
+	
+	@Override
+	public void setPodcast(Boolean isPodcast) {
+		this.table.set(this.row, TrackProperty.PODCAST, isPodcast);
+	}
+	
+	@Override
+	public void setNormalization(Integer normalization) {
+		this.table.set(this.row, TrackProperty.NORMALIZATION, normalization);
+	}
+	
+	@Override
+	public void setWork(String work) {
+		this.table.set(this.row, TrackProperty.WORK, work);
+	}
+}
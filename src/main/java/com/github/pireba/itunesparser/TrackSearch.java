@@ -0,0 +1,335 @@
+package com.github.pireba.itunesparser;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Secondary indexes over the Tracks of a parse, which answer filtered queries without scanning every Track.<br>
+ * The Tracks are numbered in the order of the Track Map, every index holds these positions:
+ * <ul>
+ *  <li>A hash index for every String property of {@link #HASHED} from the value to the ascending positions of its Tracks.</li>
+ *  <li>A sorted index for every numeric or Date property of {@link #SORTED} with the values in ascending order
+ *  and the positions of their Tracks, plus a column of the value by position.</li>
+ * </ul>
+ * A {@linkplain TrackQuery} starts with the smallest list of positions of its conditions and intersects it with the others,
+ * so a query costs about the number of Tracks of its most selective condition.<br>
+ * The indexes are built once and are not changed by a later parse or update of the Tracks.
+ * A TrackSearch is read-only and can be queried by any number of threads.
+ * 
+ * <h2>Find the Tracks of an Artist after 2000</h2>
+ * <pre>
+ *  TrackSearch search = parser.getResult().getSearch();
+ *  List&#60;Track&#62; tracks = search.query()
+ *      .equal(TrackProperty.ARTIST, "Artist 1")
+ *      .range(TrackProperty.YEAR, 2001, Long.MAX_VALUE)
+ *      .list();
+ * </pre>
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see ParseResult#getSearch()
+ */
+public class TrackSearch {
+	/**
+	 * The String properties with a hash index.
+	 */
+	public static final Set<TrackProperty> HASHED = Collections.unmodifiableSet(EnumSet.of(
+			TrackProperty.ALBUM, TrackProperty.ALBUM_ARTIST, TrackProperty.ARTIST,
+			TrackProperty.COMPOSER, TrackProperty.GENRE, TrackProperty.KIND));
+	
+	/**
+	 * The numeric and Date properties with a sorted index. Dates are indexed in milliseconds since the epoch.
+	 */
+	public static final Set<TrackProperty> SORTED = Collections.unmodifiableSet(EnumSet.of(
+			TrackProperty.DATE_ADDED, TrackProperty.PLAY_COUNT, TrackProperty.RATING, TrackProperty.YEAR));
+	
+	/**
+	 * The value of the column of a sorted index if a Track has no value.
+	 */
+	static final long MISSING = Long.MIN_VALUE;
+	
+	/**
+	 * The Tracks by their position.
+	 */
+	private final Track[] tracks;
+	
+	/**
+	 * The hash indexes by the ordinal of their property, from the value to the ascending positions.
+	 */
+	private final Map<String, int[]>[] hashes;
+	
+	/**
+	 * The ascending values of the sorted indexes by the ordinal of their property.
+	 */
+	private final long[][] values;
+	
+	/**
+	 * The positions of the values of the sorted indexes by the ordinal of their property.
+	 */
+	private final int[][] positions;
+	
+	/**
+	 * The values by position of the sorted indexes by the ordinal of their property, {@link #MISSING} if a Track has no value.
+	 */
+	private final long[][] columns;
+	
+	/**
+	 * Builds the indexes of the given Tracks.
+	 * @param tracks The Map of {@linkplain Track} objects, e.g. {@link Parser#getTracks()}.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public TrackSearch(Map<Integer, Track> tracks) {
+		this.tracks = tracks.values().toArray(new Track[tracks.size()]);
+		
+		int properties = TrackProperty.values().length;
+		this.hashes = new Map[properties];
+		this.values = new long[properties][];
+		this.positions = new int[properties][];
+		this.columns = new long[properties][];
+		
+		for ( TrackProperty property : HASHED ) {
+			this.hashes[property.ordinal()] = this.hash(property);
+		}
+		for ( TrackProperty property : SORTED ) {
+			this.sort(property);
+		}
+	}
+	
+	// --------------------------------------------------
+	// Methods
+	// --------------------------------------------------
+	
+	/**
+	 * Creates a new query without conditions, which matches every Track.
+	 * @return The {@linkplain TrackQuery}.
+	 */
+	public TrackQuery query() {
+		return new TrackQuery(this);
+	}
+	
+	/**
+	 * Builds the hash index of the given property.
+	 * @param property The String property.
+	 * @return The Map from the value to the ascending positions.
+	 */
+	private Map<String, int[]> hash(TrackProperty property) {
+		// The first element of an array is the number of positions until the arrays are trimmed.
+		Map<String, int[]> hash = new HashMap<String, int[]>();
+		for ( int i=0; i<this.tracks.length; i++ ) {
+			String value = string(this.tracks[i], property);
+			if ( value == null ) {
+				continue;
+			}
+			int[] positions = hash.get(value);
+			if ( positions == null ) {
+				positions = new int[4];
+				hash.put(value, positions);
+			} else if ( positions[0] + 1 == positions.length ) {
+				positions = Arrays.copyOf(positions, positions.length * 2);
+				hash.put(value, positions);
+			}
+			positions[++positions[0]] = i;
+		}
+		
+		for ( Map.Entry<String, int[]> entry : hash.entrySet() ) {
+			int[] positions = entry.getValue();
+			entry.setValue(Arrays.copyOfRange(positions, 1, positions[0] + 1));
+		}
+		return hash;
+	}
+	
+	/**
+	 * Builds the sorted index and the column of the given property.
+	 * @param property The numeric or Date property.
+	 */
+	private void sort(TrackProperty property) {
+		long[] column = new long[this.tracks.length];
+		long[] values = new long[this.tracks.length];
+		int[] positions = new int[this.tracks.length];
+		int count = 0;
+		for ( int i=0; i<this.tracks.length; i++ ) {
+			column[i] = number(this.tracks[i], property);
+			if ( column[i] != MISSING ) {
+				values[count] = column[i];
+				positions[count] = i;
+				count++;
+			}
+		}
+		
+		values = Arrays.copyOf(values, count);
+		positions = Arrays.copyOf(positions, count);
+		mergeSort(values, positions, new long[count], new int[count]);
+		
+		int ordinal = property.ordinal();
+		this.columns[ordinal] = column;
+		this.values[ordinal] = values;
+		this.positions[ordinal] = positions;
+	}
+	
+	/**
+	 * Sorts the values and moves the positions along, the positions of equal values stay in ascending order.
+	 * @param values The values.
+	 * @param positions The positions of the values.
+	 * @param valuesBuffer A buffer of the length of the values.
+	 * @param positionsBuffer A buffer of the length of the positions.
+	 */
+	private static void mergeSort(long[] values, int[] positions, long[] valuesBuffer, int[] positionsBuffer) {
+		long[] fromValues = values, toValues = valuesBuffer;
+		int[] fromPositions = positions, toPositions = positionsBuffer;
+		int length = values.length;
+		
+		for ( int width=1; width<length; width*=2 ) {
+			for ( int start=0; start<length; start+=2*width ) {
+				int middle = Math.min(start + width, length);
+				int end = Math.min(start + 2 * width, length);
+				int left = start, right = middle;
+				for ( int i=start; i<end; i++ ) {
+					if ( left < middle && (right >= end || fromValues[left] <= fromValues[right]) ) {
+						toValues[i] = fromValues[left];
+						toPositions[i] = fromPositions[left++];
+					} else {
+						toValues[i] = fromValues[right];
+						toPositions[i] = fromPositions[right++];
+					}
+				}
+			}
+			long[] swapValues = fromValues; fromValues = toValues; toValues = swapValues;
+			int[] swapPositions = fromPositions; fromPositions = toPositions; toPositions = swapPositions;
+		}
+		
+		if ( fromValues != values ) {
+			System.arraycopy(fromValues, 0, values, 0, length);
+			System.arraycopy(fromPositions, 0, positions, 0, length);
+		}
+	}
+	
+	/**
+	 * Get the value of the given String property of a Track.
+	 * @param track The {@linkplain Track} object.
+	 * @param property The String property.
+	 * @return The value or null.
+	 */
+	private static String string(Track track, TrackProperty property) {
+		switch (property) {
+		case ALBUM:
+			return track.getAlbum();
+		case ALBUM_ARTIST:
+			return track.getAlbumArtist();
+		case ARTIST:
+			return track.getArtist();
+		case COMPOSER:
+			return track.getComposer();
+		case GENRE:
+			return track.getGenre();
+		case KIND:
+			return track.getKind();
+		default:
+			throw new IllegalArgumentException("The property has no hash index: "+property);
+		}
+	}
+	
+	/**
+	 * Get the value of the given numeric or Date property of a Track.
+	 * @param track The {@linkplain Track} object.
+	 * @param property The numeric or Date property.
+	 * @return The value, Dates in milliseconds since the epoch, or {@link #MISSING}.
+	 */
+	private static long number(Track track, TrackProperty property) {
+		switch (property) {
+		case DATE_ADDED:
+			Date date = track.getDateAdded();
+			return date == null ? MISSING : date.getTime();
+		case PLAY_COUNT:
+			return number(track.getPlayCount());
+		case RATING:
+			return number(track.getRating());
+		case YEAR:
+			return number(track.getYear());
+		default:
+			throw new IllegalArgumentException("The property has no sorted index: "+property);
+		}
+	}
+	
+	/**
+	 * Get the given Integer as a long.
+	 * @param value The Integer or null.
+	 * @return The value or {@link #MISSING}.
+	 */
+	private static long number(Integer value) {
+		return value == null ? MISSING : value;
+	}
+	
+	/**
+	 * Get the ascending positions of the Tracks with the given value.
+	 * @param property A property of {@link #HASHED}.
+	 * @param value The value.
+	 * @return The positions, empty if no Track has the value.
+	 * @throws IllegalArgumentException If the property has no hash index.
+	 */
+	int[] positions(TrackProperty property, String value) {
+		Map<String, int[]> hash = this.hashes[property.ordinal()];
+		if ( hash == null ) {
+			throw new IllegalArgumentException("The property has no hash index: "+property);
+		}
+		int[] positions = hash.get(value);
+		return positions == null ? new int[0] : positions;
+	}
+	
+	/**
+	 * Get the ascending values of the sorted index of the given property.
+	 * @param property A property of {@link #SORTED}.
+	 * @return The values.
+	 * @throws IllegalArgumentException If the property has no sorted index.
+	 */
+	long[] values(TrackProperty property) {
+		long[] values = this.values[property.ordinal()];
+		if ( values == null ) {
+			throw new IllegalArgumentException("The property has no sorted index: "+property);
+		}
+		return values;
+	}
+	
+	/**
+	 * Get the positions of the sorted index of the given property in the order of its values.
+	 * @param property A property of {@link #SORTED}.
+	 * @return The positions.
+	 */
+	int[] positions(TrackProperty property) {
+		return this.positions[property.ordinal()];
+	}
+	
+	/**
+	 * Get the values by position of the sorted index of the given property.
+	 * @param property A property of {@link #SORTED}.
+	 * @return The values, {@link #MISSING} if a Track has no value.
+	 */
+	long[] column(TrackProperty property) {
+		return this.columns[property.ordinal()];
+	}
+	
+	/**
+	 * Get the Track at the given position.
+	 * @param position The position.
+	 * @return The {@linkplain Track} object.
+	 */
+	Track track(int position) {
+		return this.tracks[position];
+	}
+	
+	// --------------------------------------------------
+	// Getter
+	// --------------------------------------------------
+	
+	/**
+	 * Get the number of indexed Tracks.
+	 * @return The number of Tracks.
+	 */
+	public int size() {
+		return this.tracks.length;
+	}
+}
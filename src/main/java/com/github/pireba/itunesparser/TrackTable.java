@@ -0,0 +1,778 @@
+package com.github.pireba.itunesparser;
+
+import java.net.MalformedURLException;
+import java.text.ParseException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A columnar store of all Tracks of an iTunes Library.<br>
+ * Every {@linkplain TrackProperty} is stored in its own column with one entry per row instead of in a {@linkplain Track} object:
+ * <ul>
+ *  <li>Integer properties in an {@code int[]}, Long and Date properties in a {@code long[]}.</li>
+ *  <li>Boolean properties in a bitset.</li>
+ *  <li>String properties as codes into a dictionary of the column, so repeated values like Artist or Genre are stored once.</li>
+ *  <li>The Location as the code of its directory and its file name.</li>
+ * </ul>
+ * A bitset per column marks the rows which have a value. A column is only allocated if a Track has the property.<br>
+ * The rows are in the order of the XML File. {@link #get(int)} and {@link #asMap()} return {@linkplain Track} objects
+ * which are flyweight views of a row, their getters and setters read and write the columns.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see Parser#setColumnar(boolean)
+ */
+public class TrackTable {
+	/**
+	 * The column types.
+	 */
+	private static final int INT = 0, LONG = 1, DATE = 2, BOOLEAN = 3, STRING = 4, LOCATION = 5;
+	
+	/**
+	 * The column type of every property by its ordinal.
+	 */
+	private static final int[] TYPES = new int[TrackProperty.values().length];
+	
+	static {
+		for ( TrackProperty property : TrackProperty.values() ) {
+			TYPES[property.ordinal()] = type(property);
+		}
+	}
+	
+	/**
+	 * The int columns by the ordinal of their property. Also holds the dictionary codes of the String columns.
+	 */
+	private final int[][] ints = new int[TYPES.length][];
+	
+	/**
+	 * The long columns by the ordinal of their property. Dates are stored in milliseconds since the epoch.
+	 */
+	private final long[][] longs = new long[TYPES.length][];
+	
+	/**
+	 * The bitsets of the Boolean columns by the ordinal of their property.
+	 */
+	private final long[][] flags = new long[TYPES.length][];
+	
+	/**
+	 * The bitsets of the rows which have a value, by the ordinal of the property.
+	 */
+	private final long[][] present = new long[TYPES.length][];
+	
+	/**
+	 * The dictionaries of the String columns by the ordinal of their property.
+	 */
+	private final Dictionary[] dictionaries = new Dictionary[TYPES.length];
+	
+	/**
+	 * The file names of the Locations by their row. The directories are stored in the dictionary of the Location column.
+	 */
+	private String[] locationFiles;
+	
+	/**
+	 * The {@linkplain Extensions} by their row, or null if no row has an unknown key.
+	 */
+	private Extensions[] extensions;
+	
+	/**
+	 * The number of rows.
+	 */
+	private int rows;
+	
+	/**
+	 * The number of rows the columns can hold.
+	 */
+	private int capacity = 1024;
+	
+	/**
+	 * The open addressing hash table from the Track ID to the row + 1. Empty slots are 0.
+	 */
+	private int[] slots = new int[2048];
+	
+	/**
+	 * The number of different Track IDs in the hash table.
+	 */
+	private int size;
+	
+	/**
+	 * True if the rows can not be changed anymore.
+	 */
+	private boolean frozen = false;
+	
+	/**
+	 * Get the column type of the given property.
+	 * @param property The property.
+	 * @return The column type.
+	 */
+	private static int type(TrackProperty property) {
+		switch (property) {
+		case ALBUM_RATING: case ARTWORK_COUNT: case BIT_RATE: case BPM: case DISC_COUNT: case DISC_NUMBER:
+		case EPISODE_ORDER: case FILE_FOLDER_COUNT: case LIBRARY_FOLDER_COUNT: case PLAY_COUNT: case RATING:
+		case SAMPLE_RATE: case SKIP_COUNT: case SEASON: case TRACK_COUNT: case TRACK_ID: case TRACK_NUMBER:
+		case VOLUME_ADJUSTMENT: case YEAR: case VIDEO_HEIGHT: case VIDEO_WIDTH: case NORMALIZATION:
+			return INT;
+		case FILE_TYPE: case PLAY_DATE: case SIZE: case START_TIME: case STOP_TIME: case TOTAL_TIME:
+			return LONG;
+		case DATE_ADDED: case DATE_MODIFIED: case PLAY_DATE_UTC: case RELEASE_DATE: case SKIP_DATE:
+			return DATE;
+		case ALBUM_RATING_COMPUTED: case COMPILATION: case CLEAN: case DISABLED: case EXPLICIT: case LOVED:
+		case PART_OF_GAPLESS_ALBUM: case PURCHASED: case HAS_VIDEO: case MOVIE: case UNPLAYED: case PODCAST:
+			return BOOLEAN;
+		case LOCATION:
+			return LOCATION;
+		default:
+			return STRING;
+		}
+	}
+	
+	/**
+	 * Returns true if the values of the given property are dates or URLs, which take longer to convert than the other values.
+	 * @param property The property.
+	 * @return True for a Date property and the Location.
+	 */
+	static boolean isConverted(TrackProperty property) {
+		int type = TYPES[property.ordinal()];
+		return type == DATE || type == LOCATION;
+	}
+	
+	// --------------------------------------------------
+	// Rows
+	// --------------------------------------------------
+	
+	/**
+	 * Get the number of rows.<br>
+	 * If the XML File contains a Track ID twice, both rows are kept but only the last one is in {@link #asMap()}.
+	 * A row without a valid Track ID is kept as well, but is not in {@link #asMap()}.
+	 * @return The number of rows.
+	 */
+	public int size() {
+		return this.rows;
+	}
+	
+	/**
+	 * Freezes the table, the setters of its {@linkplain Track} views throw an {@linkplain UnsupportedOperationException} afterwards.<br>
+	 * See {@link Parser#getResult()}.
+	 */
+	void freeze() {
+		this.frozen = true;
+	}
+	
+	/**
+	 * Returns true if the table is frozen and its rows can not be changed anymore.
+	 * @return True if the table is frozen.
+	 */
+	public boolean isFrozen() {
+		return this.frozen;
+	}
+	
+	/**
+	 * Get the row of the Track with the given Track ID.
+	 * @param trackID The Track ID.
+	 * @return The row, or -1 if the Track ID is unknown.
+	 */
+	public int rowOf(int trackID) {
+		return this.slots[this.slot(this.slots, trackID)] - 1;
+	}
+	
+	/**
+	 * Get a flyweight view of the Track with the given Track ID.
+	 * @param trackID The Track ID.
+	 * @return The {@linkplain Track} view, or null if the Track ID is unknown.
+	 */
+	public Track get(int trackID) {
+		int row = this.rowOf(trackID);
+		return row < 0 ? null : new TrackRow(this, row);
+	}
+	
+	/**
+	 * Get a flyweight view of the given row.
+	 * @param row The row.
+	 * @return The {@linkplain Track} view.
+	 */
+	public Track row(int row) {
+		if ( row < 0 || row >= this.rows ) {
+			throw new IndexOutOfBoundsException("Row: "+row+", Size: "+this.rows);
+		}
+		return new TrackRow(this, row);
+	}
+	
+	/**
+	 * Get a read-only Map view of the Tracks by their Track ID in the order of the XML File.
+	 * @return The Map of flyweight {@linkplain Track} views.
+	 */
+	public Map<Integer, Track> asMap() {
+		return new AbstractMap<Integer, Track>() {
+			@Override
+			public Track get(Object key) {
+				return key instanceof Integer ? TrackTable.this.get((Integer) key) : null;
+			}
+			
+			@Override
+			public boolean containsKey(Object key) {
+				return key instanceof Integer && TrackTable.this.rowOf((Integer) key) >= 0;
+			}
+			
+			@Override
+			public int size() {
+				return TrackTable.this.size;
+			}
+			
+			@Override
+			public Set<Entry<Integer, Track>> entrySet() {
+				return new AbstractSet<Entry<Integer, Track>>() {
+					@Override
+					public Iterator<Entry<Integer, Track>> iterator() {
+						return TrackTable.this.iterator();
+					}
+					
+					@Override
+					public int size() {
+						return TrackTable.this.size;
+					}
+				};
+			}
+		};
+	}
+	
+	/**
+	 * Creates an iterator over the indexed rows which skips the rows replaced by a later row with the same Track ID.
+	 * @return The iterator.
+	 */
+	private Iterator<Map.Entry<Integer, Track>> iterator() {
+		return new Iterator<Map.Entry<Integer, Track>>() {
+			private int next = this.skip(0);
+			
+			@Override
+			public boolean hasNext() {
+				return this.next < TrackTable.this.rows;
+			}
+			
+			@Override
+			public Map.Entry<Integer, Track> next() {
+				if ( ! this.hasNext() ) {
+					throw new NoSuchElementException();
+				}
+				int row = this.next;
+				this.next = this.skip(row + 1);
+				return new AbstractMap.SimpleImmutableEntry<Integer, Track>(TrackTable.this.getInt(row, TrackProperty.TRACK_ID), new TrackRow(TrackTable.this, row));
+			}
+			
+			/**
+			 * Get the next row which is in the hash table.
+			 * @param from The first row to check.
+			 * @return The row.
+			 */
+			private int skip(int from) {
+				int row = from;
+				while ( row < TrackTable.this.rows && ! TrackTable.this.isIndexed(row) ) {
+					row++;
+				}
+				return row;
+			}
+		};
+	}
+	
+	/**
+	 * Appends a new empty row.
+	 * @return The {@linkplain TrackRow} view of the new row.
+	 */
+	TrackRow addRow() {
+		if ( this.rows == this.capacity ) {
+			this.grow();
+		}
+		return new TrackRow(this, this.rows++);
+	}
+	
+	/**
+	 * Adds the given row to the hash table by its Track ID.<br>
+	 * A row without Track ID is not added.
+	 * @param row The row.
+	 */
+	void index(int row) {
+		if ( ! this.has(row, TrackProperty.TRACK_ID) ) {
+			return;
+		}
+		if ( (this.size + 1) * 2 > this.slots.length ) {
+			int[] slots = new int[this.slots.length * 2];
+			for ( int slot : this.slots ) {
+				if ( slot != 0 ) {
+					slots[this.slot(slots, this.getInt(slot - 1, TrackProperty.TRACK_ID))] = slot;
+				}
+			}
+			this.slots = slots;
+		}
+		
+		int slot = this.slot(this.slots, this.getInt(row, TrackProperty.TRACK_ID));
+		if ( this.slots[slot] == 0 ) {
+			this.size++;
+		}
+		this.slots[slot] = row + 1;
+	}
+	
+	/**
+	 * Removes the given row from the hash table.<br>
+	 * The following rows of the same cluster are inserted again, so the lookup of every other Track ID still finds its row.
+	 * @param row The row, which must be in the hash table.
+	 */
+	private void unindex(int row) {
+		int mask = this.slots.length - 1;
+		int slot = this.slot(this.slots, this.getInt(row, TrackProperty.TRACK_ID));
+		this.slots[slot] = 0;
+		this.size--;
+		for ( int next=(slot + 1) & mask; this.slots[next] != 0; next=(next + 1) & mask ) {
+			int moved = this.slots[next];
+			this.slots[next] = 0;
+			this.slots[this.slot(this.slots, this.getInt(moved - 1, TrackProperty.TRACK_ID))] = moved;
+		}
+	}
+	
+	/**
+	 * Changes the Track ID of the given row.<br>
+	 * If the row is in the hash table, it is moved to the new Track ID, so the Track is found by its new Track ID only.
+	 * A row with the same Track ID is replaced, like a later row of the XML File with the same Track ID.
+	 * @param row The row.
+	 * @param trackID The new Track ID or null to remove it.
+	 */
+	void setTrackID(int row, Integer trackID) {
+		this.checkFrozen();
+		boolean indexed = this.isIndexed(row);
+		if ( indexed ) {
+			this.unindex(row);
+		}
+		this.set(row, TrackProperty.TRACK_ID, trackID);
+		if ( indexed ) {
+			this.index(row);
+		}
+	}
+	
+	/**
+	 * Returns true if the given row is the one in the hash table for its Track ID.
+	 * @param row The row.
+	 * @return True if the row is indexed.
+	 */
+	private boolean isIndexed(int row) {
+		return this.has(row, TrackProperty.TRACK_ID) && this.rowOf(this.getInt(row, TrackProperty.TRACK_ID)) == row;
+	}
+	
+	/**
+	 * Get the slot of the given Track ID, or the empty slot where it belongs.
+	 * @param slots The hash table.
+	 * @param trackID The Track ID.
+	 * @return The slot.
+	 */
+	private int slot(int[] slots, int trackID) {
+		int mask = slots.length - 1;
+		int hash = trackID * 0x9E3779B9;
+		int slot = (hash ^ (hash >>> 16)) & mask;
+		while ( slots[slot] != 0 && this.getInt(slots[slot] - 1, TrackProperty.TRACK_ID) != trackID ) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+	
+	/**
+	 * Doubles the capacity of all allocated columns.
+	 */
+	private void grow() {
+		this.capacity *= 2;
+		if ( this.locationFiles != null ) {
+			this.locationFiles = Arrays.copyOf(this.locationFiles, this.capacity);
+		}
+		if ( this.extensions != null ) {
+			this.extensions = Arrays.copyOf(this.extensions, this.capacity);
+		}
+		for ( int i=0; i<TYPES.length; i++ ) {
+			if ( this.present[i] == null ) {
+				continue;
+			}
+			this.present[i] = Arrays.copyOf(this.present[i], this.capacity >> 6);
+			if ( this.ints[i] != null ) {
+				this.ints[i] = Arrays.copyOf(this.ints[i], this.capacity);
+			}
+			if ( this.longs[i] != null ) {
+				this.longs[i] = Arrays.copyOf(this.longs[i], this.capacity);
+			}
+			if ( this.flags[i] != null ) {
+				this.flags[i] = Arrays.copyOf(this.flags[i], this.capacity >> 6);
+			}
+		}
+	}
+	
+	// --------------------------------------------------
+	// Columns
+	// --------------------------------------------------
+	
+	/**
+	 * Returns true if the given row has a value for the given property.
+	 * @param row The row.
+	 * @param property The property.
+	 * @return True if the property is set.
+	 */
+	public boolean has(int row, TrackProperty property) {
+		long[] present = this.present[property.ordinal()];
+		return present != null && (present[row >> 6] & (1L << row)) != 0;
+	}
+	
+	/**
+	 * Get the value of an Integer property.
+	 * @param row The row.
+	 * @param property The property.
+	 * @return The value, or 0 if the row has no value.
+	 */
+	public int getInt(int row, TrackProperty property) {
+		int[] column = this.ints[property.ordinal()];
+		return column == null || TYPES[property.ordinal()] != INT ? 0 : column[row];
+	}
+	
+	/**
+	 * Get the value of a Long or Date property. Dates are returned in milliseconds since the epoch.
+	 * @param row The row.
+	 * @param property The property.
+	 * @return The value, or 0 if the row has no value.
+	 */
+	public long getLong(int row, TrackProperty property) {
+		long[] column = this.longs[property.ordinal()];
+		return column == null ? 0 : column[row];
+	}
+	
+	/**
+	 * Get the value of a Boolean property.
+	 * @param row The row.
+	 * @param property The property.
+	 * @return The value, or false if the row has no value.
+	 */
+	public boolean getBoolean(int row, TrackProperty property) {
+		long[] column = this.flags[property.ordinal()];
+		return column != null && (column[row >> 6] & (1L << row)) != 0;
+	}
+	
+	/**
+	 * Get the value of a String property. The Location is returned as a String.
+	 * @param row The row.
+	 * @param property The property.
+	 * @return The value, or null if the row has no value.
+	 */
+	public String getString(int row, TrackProperty property) {
+		if ( property == TrackProperty.LOCATION ) {
+			String directory = this.getLocationDirectory(row);
+			return directory == null ? null : directory+this.locationFiles[row];
+		}
+		Dictionary dictionary = this.dictionaries[property.ordinal()];
+		return dictionary == null || ! this.has(row, property) ? null : dictionary.value(this.ints[property.ordinal()][row]);
+	}
+	
+	/**
+	 * Get the directory of the Location.
+	 * @param row The row.
+	 * @return The directory, or null if the row has no Location.
+	 */
+	String getLocationDirectory(int row) {
+		int i = TrackProperty.LOCATION.ordinal();
+		return ! this.has(row, TrackProperty.LOCATION) ? null : this.dictionaries[i].value(this.ints[i][row]);
+	}
+	
+	/**
+	 * Get the file name of the Location.
+	 * @param row The row.
+	 * @return The file name, or null if the row has no Location.
+	 */
+	String getLocationFile(int row) {
+		return ! this.has(row, TrackProperty.LOCATION) ? null : this.locationFiles[row];
+	}
+	
+	/**
+	 * Sets the Location as the code of its directory and its file name.
+	 * @param row The row.
+	 * @param directory The directory or null to remove the Location.
+	 * @param file The file name.
+	 */
+	void setLocation(int row, String directory, String file) {
+		this.checkFrozen();
+		if ( directory == null ) {
+			this.set(row, TrackProperty.LOCATION, (Object) null);
+			return;
+		}
+		if ( this.locationFiles == null ) {
+			this.locationFiles = new String[this.capacity];
+		}
+		this.setString(row, TrackProperty.LOCATION, directory);
+		this.locationFiles[row] = file;
+	}
+	
+	/**
+	 * Sets the Location from the String of its URL.
+	 * @param row The row.
+	 * @param location The Location.
+	 */
+	private void setLocation(int row, String location) {
+		int length = Locations.directoryLength(location);
+		this.setLocation(row, location.substring(0, length), location.substring(length));
+	}
+	
+	/**
+	 * Get the key-value pairs with unknown keys.
+	 * @param row The row.
+	 * @return The {@linkplain Extensions}, or null if the row has none.
+	 */
+	Extensions getExtensions(int row) {
+		return this.extensions == null ? null : this.extensions[row];
+	}
+	
+	/**
+	 * Sets the key-value pairs with unknown keys.
+	 * @param row The row.
+	 * @param extensions The {@linkplain Extensions} or null.
+	 */
+	void setExtensions(int row, Extensions extensions) {
+		this.checkFrozen();
+		if ( this.extensions == null ) {
+			this.extensions = new Extensions[this.capacity];
+		}
+		this.extensions[row] = extensions;
+	}
+	
+	/**
+	 * Throws an {@linkplain UnsupportedOperationException} if the table is frozen.
+	 */
+	private void checkFrozen() {
+		if ( this.frozen ) {
+			throw new UnsupportedOperationException("The TrackTable is frozen");
+		}
+	}
+	
+	/**
+	 * Get the value of the given property as the type of the {@linkplain Track} getter.
+	 * @param row The row.
+	 * @param property The property.
+	 * @return The value, or null if the row has no value.
+	 */
+	Object get(int row, TrackProperty property) {
+		if ( ! this.has(row, property) ) {
+			return null;
+		}
+		switch (TYPES[property.ordinal()]) {
+		case INT:
+			return this.getInt(row, property);
+		case LONG:
+			return this.getLong(row, property);
+		case DATE:
+			return new Date(this.getLong(row, property));
+		case BOOLEAN:
+			return this.getBoolean(row, property);
+		case LOCATION:
+			return Locations.toURL(this.getString(row, property));
+		default:
+			return this.getString(row, property);
+		}
+	}
+	
+	/**
+	 * Sets the value of the given property from the type of the {@linkplain Track} setter.
+	 * @param row The row.
+	 * @param property The property.
+	 * @param value The value or null to remove the value.
+	 */
+	void set(int row, TrackProperty property, Object value) {
+		this.checkFrozen();
+		if ( value == null ) {
+			long[] present = this.present[property.ordinal()];
+			if ( present != null ) {
+				present[row >> 6] &= ~(1L << row);
+			}
+			return;
+		}
+		switch (TYPES[property.ordinal()]) {
+		case INT:
+			this.setInt(row, property, (Integer) value);
+			break;
+		case LONG:
+			this.setLong(row, property, (Long) value);
+			break;
+		case DATE:
+			this.setLong(row, property, ((Date) value).getTime());
+			break;
+		case BOOLEAN:
+			this.setBoolean(row, property, (Boolean) value);
+			break;
+		case LOCATION:
+			this.setLocation(row, value.toString());
+			break;
+		default:
+			this.setString(row, property, value.toString());
+			break;
+		}
+	}
+	
+	/**
+	 * Sets the value of the given property from a value of the XML File.<br>
+	 * The value is written straight into the column, without creating a boxed or Date object.
+	 * @param row The row.
+	 * @param property The property.
+	 * @param value The value.
+	 * @throws ParseException If the value is not a valid date.
+	 * @throws MalformedURLException If the value is not a valid Location.
+	 */
+	void set(int row, TrackProperty property, Value value) throws ParseException, MalformedURLException {
+		switch (TYPES[property.ordinal()]) {
+		case INT:
+			this.setInt(row, property, value.intValue());
+			break;
+		case LONG:
+			this.setLong(row, property, value.longValue());
+			break;
+		case DATE:
+			this.setLong(row, property, value.timeValue());
+			break;
+		case BOOLEAN:
+			this.setBoolean(row, property, value.booleanValue());
+			break;
+		case LOCATION:
+			this.setLocation(row, Locations.check(value.stringValue()));
+			break;
+		default:
+			this.setString(row, property, value.stringValue());
+			break;
+		}
+	}
+	
+	/**
+	 * Sets the value of an int column.
+	 * @param row The row.
+	 * @param property The property.
+	 * @param value The value.
+	 */
+	private void setInt(int row, TrackProperty property, int value) {
+		int i = property.ordinal();
+		if ( this.ints[i] == null ) {
+			this.ints[i] = new int[this.capacity];
+		}
+		this.ints[i][row] = value;
+		this.setPresent(row, i);
+	}
+	
+	/**
+	 * Sets the value of a long column.
+	 * @param row The row.
+	 * @param property The property.
+	 * @param value The value.
+	 */
+	private void setLong(int row, TrackProperty property, long value) {
+		int i = property.ordinal();
+		if ( this.longs[i] == null ) {
+			this.longs[i] = new long[this.capacity];
+		}
+		this.longs[i][row] = value;
+		this.setPresent(row, i);
+	}
+	
+	/**
+	 * Sets the value of a Boolean column.
+	 * @param row The row.
+	 * @param property The property.
+	 * @param value The value.
+	 */
+	private void setBoolean(int row, TrackProperty property, boolean value) {
+		int i = property.ordinal();
+		if ( this.flags[i] == null ) {
+			this.flags[i] = new long[this.capacity >> 6];
+		}
+		if ( value ) {
+			this.flags[i][row >> 6] |= 1L << row;
+		} else {
+			this.flags[i][row >> 6] &= ~(1L << row);
+		}
+		this.setPresent(row, i);
+	}
+	
+	/**
+	 * Sets the value of a String column.
+	 * @param row The row.
+	 * @param property The property.
+	 * @param value The value.
+	 */
+	private void setString(int row, TrackProperty property, String value) {
+		int i = property.ordinal();
+		if ( this.ints[i] == null ) {
+			this.ints[i] = new int[this.capacity];
+			this.dictionaries[i] = new Dictionary();
+		}
+		this.ints[i][row] = this.dictionaries[i].code(value, this.rows);
+		this.setPresent(row, i);
+	}
+	
+	/**
+	 * Marks the given row as having a value for the column.
+	 * @param row The row.
+	 * @param column The ordinal of the property.
+	 */
+	private void setPresent(int row, int column) {
+		if ( this.present[column] == null ) {
+			this.present[column] = new long[this.capacity >> 6];
+		}
+		this.present[column][row >> 6] |= 1L << row;
+	}
+	
+	/**
+	 * The values of a String column.<br>
+	 * Every distinct value is stored once and the rows store its code.
+	 * If the column turns out to have mostly distinct values, like the Location or the Persistent ID,
+	 * the lookup of the codes is dropped and every value gets its own code.
+	 */
+	private static class Dictionary {
+		/**
+		 * The values by their code.
+		 */
+		private String[] values = new String[64];
+		
+		/**
+		 * The number of codes.
+		 */
+		private int size;
+		
+		/**
+		 * The codes by their value, or null if the values are no longer deduplicated.
+		 */
+		private Map<String, Integer> codes = new HashMap<String, Integer>();
+		
+		/**
+		 * Get the code of the given value and add the value if it is new.
+		 * @param value The value.
+		 * @param rows The number of rows of the table.
+		 * @return The code.
+		 */
+		int code(String value, int rows) {
+			if ( this.codes != null ) {
+				Integer code = this.codes.get(value);
+				if ( code != null ) {
+					return code;
+				}
+				this.codes.put(value, this.size);
+				if ( this.size > 1024 && this.size > rows / 2 ) {
+					this.codes = null;
+				}
+			}
+			
+			if ( this.size == this.values.length ) {
+				this.values = Arrays.copyOf(this.values, this.size * 2);
+			}
+			this.values[this.size] = value;
+			return this.size++;
+		}
+		
+		/**
+		 * Get the value of the given code.
+		 * @param code The code.
+		 * @return The value.
+		 */
+		String value(int code) {
+			return this.values[code];
+		}
+	}
+}
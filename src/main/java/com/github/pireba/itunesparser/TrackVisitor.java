@@ -0,0 +1,18 @@
+package com.github.pireba.itunesparser;
+
+/**
+ * Receives the {@linkplain Track} objects of a streaming parse.<br>
+ * Every Track is handed over as soon as it has been decoded and is not kept by the Parser afterwards.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ * @see Parser#parse(TrackVisitor, PlaylistVisitor, LibraryVisitor)
+ */
+@FunctionalInterface
+public interface TrackVisitor {
+	/**
+	 * Called for the parsed {@linkplain Track}.
+	 * @param track The {@linkplain Track} object.
+	 */
+	void visit(Track track);
+}
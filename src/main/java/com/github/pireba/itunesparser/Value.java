@@ -0,0 +1,77 @@
+package com.github.pireba.itunesparser;
+
+import java.text.ParseException;
+import java.util.Date;
+
+/**
+ * The value of a key-value pair in the XML File.<br>
+ * The value is converted into the data type which is needed by the property it belongs to.
+ * This way every engine can provide the value in the representation it reads anyway,
+ * e.g. as a String from an XML Element or as the raw bytes of the XML File.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+interface Value {
+	/**
+	 * Get the value as a String.
+	 * @return The value as a String.
+	 */
+	String stringValue();
+	
+	/**
+	 * Get the value as a String which is shared with identical values by the given pool.
+	 * @param pool The {@linkplain StringPool} or null to get a new String.
+	 * @return The value as a String.
+	 */
+	default String stringValue(StringPool pool) {
+		return pool == null ? this.stringValue() : pool.intern(this.stringValue());
+	}
+	
+	/**
+	 * Get the value as an int.
+	 * @return The value as an int.
+	 * @throws NumberFormatException If the value is not an integer.
+	 */
+	int intValue();
+	
+	/**
+	 * Get the value as a long.
+	 * @return The value as a long.
+	 * @throws NumberFormatException If the value is not an integer.
+	 */
+	long longValue();
+	
+	/**
+	 * Get the value as a boolean.
+	 * @return The value as a boolean.
+	 */
+	boolean booleanValue();
+	
+	/**
+	 * Get the value as a date in milliseconds since the epoch.
+	 * @return The value as milliseconds since the epoch.
+	 * @throws ParseException If the value is not a date in the format of the XML File.
+	 */
+	long timeValue() throws ParseException;
+	
+	/**
+	 * Get the value as a Date.
+	 * @return The value as a Date.
+	 * @throws ParseException If the value is not a date in the format of the XML File.
+	 */
+	default Date dateValue() throws ParseException {
+		return new Date(this.timeValue());
+	}
+	
+	/**
+	 * Get the value in the data type of its plist element, see {@linkplain Extensions}.<br>
+	 * The default is the value as a String, for a value whose element is not known.
+	 * @return A String, Long, Double, Boolean or Date, or null for a nested dict or array.
+	 * @throws ParseException If the value is not a date in the format of the XML File.
+	 * @throws NumberFormatException If the value is not an integer or a real.
+	 */
+	default Object objectValue() throws ParseException {
+		return this.stringValue();
+	}
+}
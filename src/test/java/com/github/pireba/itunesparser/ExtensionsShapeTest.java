@@ -0,0 +1,78 @@
+package com.github.pireba.itunesparser;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Test;
+
+/**
+ * Parses an XML File with an unknown key in every Track twice.<br>
+ * The Tracks of a parse must share the shape of their Extensions, but two parses must not share any shape,
+ * and neither the static empty Extensions nor a shape without shared shapes may keep any transitions.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+public class ExtensionsShapeTest {
+	@Test
+	public void testShapePerParse() throws Exception {
+		File sample = new File(ExtensionsShapeTest.class.getResource("/iTunes Library.xml").toURI());
+		String text = new String(Files.readAllBytes(sample.toPath()), StandardCharsets.UTF_8);
+		text = text.replace("<key>Date Added</key>", "<key>Weird Key</key><string>x</string><key>Date Added</key>");
+		File file = File.createTempFile("extensions", ".xml");
+		try {
+			Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+			for ( Engine engine : Engine.values() ) {
+				Parser first = parser(file, engine);
+				Parser second = parser(file, engine);
+				Object shape = shape(first.getTracks().get(76).getExtensions());
+				assertSame(engine.toString(), shape, shape(first.getTracks().get(78).getExtensions()));
+				assertNotSame(engine.toString(), shape, shape(second.getTracks().get(76).getExtensions()));
+			}
+			assertNull(transitions(shape(Extensions.EMPTY)));
+		} finally {
+			file.delete();
+		}
+	}
+	
+	/**
+	 * Parses the given XML File with the given engine.
+	 * @param file The XML File.
+	 * @param engine The engine.
+	 * @return The Parser.
+	 */
+	private static Parser parser(File file, Engine engine) throws Exception {
+		Parser parser = new Parser(file);
+		parser.setEngine(engine);
+		parser.parse();
+		return parser;
+	}
+	
+	/**
+	 * Get the shape of the given Extensions.
+	 * @param extensions The Extensions.
+	 * @return The shape.
+	 */
+	private static Object shape(Extensions extensions) throws ReflectiveOperationException {
+		Field field = Extensions.class.getDeclaredField("shape");
+		field.setAccessible(true);
+		return field.get(extensions);
+	}
+	
+	/**
+	 * Get the transitions of the given shape.
+	 * @param shape The shape.
+	 * @return The transitions, or null if they have not been created.
+	 */
+	private static Object transitions(Object shape) throws ReflectiveOperationException {
+		Field field = shape.getClass().getDeclaredField("transitions");
+		field.setAccessible(true);
+		return field.get(shape);
+	}
+}
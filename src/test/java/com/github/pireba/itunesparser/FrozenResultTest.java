@@ -0,0 +1,110 @@
+package com.github.pireba.itunesparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Modifies the Dates and the Playlist item arrays returned by a frozen {@linkplain ParseResult}.<br>
+ * The Library, the Tracks, their Extensions and the Playlists must keep their values.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+public class FrozenResultTest {
+	private static File file;
+	
+	@BeforeClass
+	public static void setUp() throws IOException, URISyntaxException {
+		File sample = new File(FrozenResultTest.class.getResource("/iTunes Library.xml").toURI());
+		String text = new String(Files.readAllBytes(sample.toPath()), StandardCharsets.UTF_8);
+		text = text.replaceFirst("<key>Date Added</key>", "<key>Date Synced</key><date>2018-06-07T12:13:36Z</date><key>Date Added</key>");
+		file = File.createTempFile("frozen", ".xml");
+		Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	@AfterClass
+	public static void tearDown() {
+		file.delete();
+	}
+	
+	@Test
+	public void testEngines() throws Exception {
+		for ( Engine engine : Engine.values() ) {
+			Parser parser = new Parser(file);
+			parser.setEngine(engine);
+			parser.parse();
+			this.check(parser.getResult(), engine.toString());
+		}
+	}
+	
+	@Test
+	public void testLazy() throws Exception {
+		Parser parser = new Parser(file);
+		parser.setEngine(Engine.PLIST);
+		parser.setLazy(true);
+		parser.parse();
+		this.check(parser.getResult(), "lazy");
+	}
+	
+	@Test
+	public void testPlaylistItemIDs() throws Exception {
+		Parser parser = new Parser(file);
+		parser.setEngine(Engine.PLIST);
+		parser.parse();
+		for ( Playlist playlist : parser.getResult().getPlaylists().values() ) {
+			int[] ids = playlist.getPlaylistItemIDs();
+			if ( ids == null || ids.length == 0 ) {
+				continue;
+			}
+			int first = ids[0];
+			List<Track> items = playlist.getPlaylistItemList();
+			Track track = items.get(0);
+			ids[0] = -1;
+			assertEquals(first, playlist.getPlaylistItemIDs()[0]);
+			assertSame(track, playlist.getPlaylistItemList().get(0));
+			assertTrue(playlist.getPlaylistItems().containsKey(first));
+		}
+	}
+	
+	/**
+	 * Modifies every returned Date and checks that the frozen result keeps its Dates.
+	 * @param result The frozen result.
+	 * @param mode The name of the engine and mode for the messages.
+	 */
+	private void check(ParseResult result, String mode) {
+		Library library = result.getLibrary();
+		long date = library.getDate().getTime();
+		library.getDate().setTime(0);
+		assertEquals(mode, date, library.getDate().getTime());
+		
+		int extensions = 0;
+		for ( Track track : result.getTracks().values() ) {
+			if ( track.getDateAdded() != null ) {
+				long added = track.getDateAdded().getTime();
+				track.getDateAdded().setTime(0);
+				assertEquals(mode, added, track.getDateAdded().getTime());
+			}
+			Date synced = track.getExtensions().getDate("Date Synced");
+			if ( synced != null ) {
+				extensions++;
+				synced.setTime(0);
+				((Date) track.getExtensions().asMap().get("Date Synced")).setTime(0);
+				assertEquals(mode, 1528373616000L, track.getExtensions().getDate("Date Synced").getTime());
+			}
+		}
+		assertEquals(mode, 1, extensions);
+	}
+}
@@ -0,0 +1,137 @@
+package com.github.pireba.itunesparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dom4j.DocumentException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Parses the sample XML File with malformed numbers of the Library, a Track and a Playlist item.<br>
+ * Every engine and mode must collect them as {@linkplain DiagnosticKind#MALFORMED_VALUE} and fail in strict mode.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+public class MalformedValueTest {
+	private static File file;
+	
+	@BeforeClass
+	public static void setUp() throws IOException, URISyntaxException {
+		File sample = new File(MalformedValueTest.class.getResource("/iTunes Library.xml").toURI());
+		String text = new String(Files.readAllBytes(sample.toPath()), StandardCharsets.UTF_8);
+		text = text.replaceFirst("<key>Major Version</key><integer>1</integer>", "<key>Major Version</key><integer> 2001 </integer>");
+		text = text.replaceFirst("<key>Play Count</key><integer>2</integer>", "<key>Play Count</key><integer>abc</integer>");
+		text = text.replaceFirst("<key>Track ID</key><integer>78</integer>\\s*</dict>", "<key>Track ID</key><integer>x78</integer></dict>");
+		file = File.createTempFile("malformed", ".xml");
+		Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	@AfterClass
+	public static void tearDown() {
+		file.delete();
+	}
+	
+	@Test
+	public void testEngines() throws Exception {
+		for ( Engine engine : Engine.values() ) {
+			this.check(parser(engine), engine.toString());
+			
+			Parser columnar = parser(engine);
+			columnar.setColumnar(true);
+			this.check(columnar, engine+" columnar");
+		}
+	}
+	
+	@Test
+	public void testLazy() throws Exception {
+		Parser parser = parser(Engine.PLIST);
+		parser.setLazy(true);
+		this.check(parser, "lazy");
+	}
+	
+	@Test
+	public void testStreaming() throws Exception {
+		for ( Engine engine : Engine.values() ) {
+			Parser parser = parser(engine);
+			parser.parse(track -> track.getPlayCount(), null, null);
+			assertEquals(engine.toString(), expected(), keys(parser.getDiagnostics()));
+		}
+	}
+	
+	@Test
+	public void testStrict() throws Exception {
+		for ( Engine engine : Engine.values() ) {
+			Parser parser = parser(engine);
+			parser.setStrict(true);
+			try {
+				parser.parse();
+				fail("No DocumentException in strict mode with "+engine);
+			} catch (DocumentException e) {
+				assertEquals(DiagnosticException.class, e.getCause().getClass());
+			}
+		}
+	}
+	
+	/**
+	 * Parses the XML File and checks the Diagnostics and the skipped values.
+	 * @param parser The Parser.
+	 * @param mode The name of the engine and mode for the messages.
+	 */
+	private void check(Parser parser, String mode) throws DocumentException {
+		parser.parse();
+		for ( Track track : parser.getTracks().values() ) {
+			track.getPlayCount();
+		}
+		assertNull(mode, parser.getLibrary().getMajorVersion());
+		assertEquals(mode, expected(), keys(parser.getDiagnostics()));
+	}
+	
+	/**
+	 * Get the expected keys of the malformed values.
+	 * @return The sorted keys.
+	 */
+	private static List<String> expected() {
+		List<String> keys = new ArrayList<String>();
+		keys.add("Major Version");
+		keys.add("Play Count");
+		keys.add("Track ID");
+		return keys;
+	}
+	
+	/**
+	 * Get the sorted keys of the malformed values of the given Diagnostics.
+	 * @param diagnostics The Diagnostics.
+	 * @return The keys.
+	 */
+	private static List<String> keys(Diagnostics diagnostics) {
+		List<String> keys = new ArrayList<String>();
+		for ( Diagnostic diagnostic : diagnostics.list(DiagnosticKind.MALFORMED_VALUE) ) {
+			keys.add(diagnostic.getKey());
+		}
+		keys.sort(null);
+		return keys;
+	}
+	
+	/**
+	 * Creates a new Parser of the given engine for the XML File.
+	 * @param engine The engine.
+	 * @return The Parser.
+	 */
+	private static Parser parser(Engine engine) {
+		Parser parser = new Parser(file);
+		parser.setEngine(engine);
+		return parser;
+	}
+}
@@ -0,0 +1,108 @@
+package com.github.pireba.itunesparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dom4j.DocumentException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Truncates the memory-mapped XML File while it is read, which the JVM reports as an InternalError.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+public class MappedFileTest {
+	private File directory;
+	private File file;
+	
+	@Before
+	public void setUp() throws IOException, URISyntaxException {
+		this.directory = Files.createTempDirectory("mapped").toFile();
+		this.file = new File(this.directory, "iTunes Library.xml");
+		File sample = new File(MappedFileTest.class.getResource("/iTunes Library.xml").toURI());
+		Files.copy(sample.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+	
+	@After
+	public void tearDown() {
+		this.file.delete();
+		this.directory.delete();
+	}
+	
+	@Test
+	public void testLazyTrackOfTruncatedFile() throws Exception {
+		Parser parser = new Parser(this.file);
+		parser.setEngine(Engine.PLIST);
+		parser.setLazy(true);
+		parser.parse();
+		
+		try ( RandomAccessFile access = new RandomAccessFile(this.file, "rw") ) {
+			access.setLength(0);
+		}
+		
+		// The Tracks can not be decoded anymore, but no InternalError escapes.
+		for ( Track track : parser.getTracks().values() ) {
+			assertNull(track.getName());
+		}
+	}
+	
+	@Test(timeout = 30000)
+	public void testWatcherSurvivesError() throws Exception {
+		AtomicInteger parses = new AtomicInteger();
+		Parser parser = new Parser(this.file) {
+			@Override
+			public void parse() throws DocumentException {
+				if ( parses.incrementAndGet() == 1 ) {
+					throw new InternalError("a fault occurred in an unsafe memory access operation");
+				}
+				super.parse();
+			}
+		};
+		parser.setEngine(Engine.PLIST);
+		
+		try ( LibraryWatcher watcher = new LibraryWatcher(parser, 100) ) {
+			watcher.start();
+			while ( parses.get() == 0 ) {
+				Thread.sleep(10);
+			}
+			assertNull(watcher.getResult());
+			
+			// The watcher is still alive and parses the XML File after the next change.
+			while ( watcher.getResult() == null ) {
+				this.file.setLastModified(System.currentTimeMillis());
+				Files.write(this.file.toPath(), Files.readAllBytes(this.file.toPath()));
+				Thread.sleep(500);
+			}
+			assertNotNull(watcher.getResult().getTracks());
+			assertEquals(parser.getTracks().size(), watcher.getResult().getTracks().size());
+		}
+	}
+	
+	@Test
+	public void testTruncatedFileIsNoSuccess() throws Exception {
+		byte[] bytes = Files.readAllBytes(this.file.toPath());
+		Files.write(this.file.toPath(), Arrays.copyOf(bytes, bytes.length / 2));
+		Parser parser = new Parser(this.file);
+		parser.setEngine(Engine.PLIST);
+		try {
+			parser.parse();
+			fail("A half-written XML File has been parsed");
+		} catch (DocumentException e) {
+			// expected
+		}
+	}
+}
@@ -0,0 +1,172 @@
+package com.github.pireba.itunesparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dom4j.DocumentException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Parses the sample XML File with a Track dict without Track ID, a Track dict with a malformed Track ID
+ * and a Playlist dict without Playlist ID.<br>
+ * Every engine and mode must skip these objects, collect them as {@linkplain DiagnosticKind#MISSING_ID}
+ * and fail in strict mode.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+public class MissingIDTest {
+	private static final int TRACKS = 9;
+	private static final int PLAYLISTS = 9;
+	
+	private static File file;
+	
+	@BeforeClass
+	public static void setUp() throws IOException, URISyntaxException {
+		File sample = new File(MissingIDTest.class.getResource("/iTunes Library.xml").toURI());
+		String text = new String(Files.readAllBytes(sample.toPath()), StandardCharsets.UTF_8);
+		text = text.replaceFirst("<key>Track ID</key><integer>76</integer>", "");
+		text = text.replaceFirst("<key>Track ID</key><integer>80</integer>", "<key>Track ID</key><integer>abc</integer>");
+		text = text.replaceFirst("<key>Playlist ID</key><integer>112</integer>", "");
+		
+		// The Track ID of a lazy parse is not always the first key.
+		String trackID = "<key>Track ID</key><integer>84</integer>";
+		int index = text.indexOf(trackID);
+		text = text.substring(0, index) + text.substring(index + trackID.length());
+		index = text.indexOf("</dict>", index);
+		text = text.substring(0, index) + trackID + text.substring(index);
+		
+		file = File.createTempFile("missing", ".xml");
+		Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	@AfterClass
+	public static void tearDown() {
+		file.delete();
+	}
+	
+	@Test
+	public void testEngines() throws Exception {
+		for ( Engine engine : Engine.values() ) {
+			this.check(parser(engine), engine.toString());
+			
+			Parser columnar = parser(engine);
+			columnar.setColumnar(true);
+			this.check(columnar, engine+" columnar");
+			
+			Parser parallel = parser(engine);
+			parallel.setParallelism(4);
+			this.check(parallel, engine+" parallel");
+		}
+	}
+	
+	@Test
+	public void testLazy() throws Exception {
+		Parser parser = parser(Engine.PLIST);
+		parser.setLazy(true);
+		this.check(parser, "lazy");
+		assertTrue(parser.getTracks().containsKey(84));
+		assertEquals(Integer.valueOf(84), parser.getTracks().get(84).getTrackID());
+	}
+	
+	@Test
+	public void testUpdate() throws Exception {
+		Parser parser = parser(Engine.PLIST);
+		parser.update();
+		this.check(parser, "update");
+		parser.update();
+		this.check(parser, "second update");
+	}
+	
+	@Test
+	public void testStreaming() throws Exception {
+		for ( Engine engine : Engine.values() ) {
+			List<Track> tracks = new ArrayList<>();
+			List<Playlist> playlists = new ArrayList<>();
+			Parser parser = parser(engine);
+			parser.parse(tracks::add, playlists::add, null);
+			assertEquals(engine.toString(), TRACKS, tracks.size());
+			assertEquals(engine.toString(), PLAYLISTS, playlists.size());
+			assertEquals(engine.toString(), expected(), keys(parser.getDiagnostics()));
+		}
+	}
+	
+	@Test
+	public void testStrict() throws Exception {
+		for ( Engine engine : Engine.values() ) {
+			Parser parser = parser(engine);
+			parser.setStrict(true);
+			try {
+				parser.parse();
+				fail("No DocumentException in strict mode with "+engine);
+			} catch (DocumentException e) {
+				assertEquals(DiagnosticException.class, e.getCause().getClass());
+			}
+		}
+	}
+	
+	/**
+	 * Parses the XML File, unless it has already been parsed by an update, and checks the skipped objects and the Diagnostics.
+	 * @param parser The Parser.
+	 * @param mode The name of the engine and mode for the messages.
+	 */
+	private void check(Parser parser, String mode) throws DocumentException {
+		if ( ! mode.contains("update") ) {
+			parser.parse();
+		}
+		assertEquals(mode, TRACKS, parser.getTracks().size());
+		assertEquals(mode, PLAYLISTS, parser.getPlaylists().size());
+		assertFalse(mode, parser.getTracks().containsKey(76));
+		assertFalse(mode, parser.getTracks().containsKey(80));
+		assertFalse(mode, parser.getPlaylists().containsKey(112));
+		assertEquals(mode, expected(), keys(parser.getDiagnostics()));
+	}
+	
+	/**
+	 * Get the expected Diagnostics.
+	 * @return The kinds, object types and keys.
+	 */
+	private static List<String> expected() {
+		List<String> keys = new ArrayList<String>();
+		keys.add("MALFORMED_VALUE Track ID");
+		keys.add("MISSING_ID Track ID");
+		keys.add("MISSING_ID Playlist ID");
+		return keys;
+	}
+	
+	/**
+	 * Get the kinds and keys of the given Diagnostics, sorted by the kind and the object type.
+	 * @param diagnostics The Diagnostics.
+	 * @return The kinds and keys.
+	 */
+	private static List<String> keys(Diagnostics diagnostics) {
+		List<String> keys = new ArrayList<String>();
+		for ( Diagnostic diagnostic : diagnostics.list() ) {
+			keys.add(diagnostic.getKind()+" "+diagnostic.getKey());
+		}
+		return keys;
+	}
+	
+	/**
+	 * Creates a new Parser of the given engine for the XML File.
+	 * @param engine The engine.
+	 * @return The Parser.
+	 */
+	private static Parser parser(Engine engine) {
+		Parser parser = new Parser(file);
+		parser.setEngine(engine);
+		return parser;
+	}
+}
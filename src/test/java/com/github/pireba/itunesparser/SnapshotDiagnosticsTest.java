@@ -0,0 +1,98 @@
+package com.github.pireba.itunesparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.dom4j.DocumentException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Reads the snapshot of an XML File with an unknown key and a malformed value.<br>
+ * A warm start must return the Diagnostics of the parse which has written the snapshot,
+ * and a strict parse must fail on them like on the XML File.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+public class SnapshotDiagnosticsTest {
+	private File directory;
+	private File cache;
+	private File file;
+	
+	@Before
+	public void setUp() throws IOException, URISyntaxException {
+		this.directory = Files.createTempDirectory("snapshot").toFile();
+		this.cache = new File(this.directory, "cache");
+		this.file = new File(this.directory, "iTunes Library.xml");
+		File sample = new File(SnapshotDiagnosticsTest.class.getResource("/iTunes Library.xml").toURI());
+		String text = new String(Files.readAllBytes(sample.toPath()), StandardCharsets.UTF_8);
+		text = text.replace("<key>Date Added</key>", "<key>Weird Key</key><string>x</string><key>Date Added</key>");
+		text = text.replaceFirst("<key>Play Count</key><integer>2</integer>", "<key>Play Count</key><integer>abc</integer>");
+		Files.write(this.file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	@After
+	public void tearDown() {
+		for ( File snapshot : this.cache.listFiles() ) {
+			snapshot.delete();
+		}
+		this.cache.delete();
+		this.file.delete();
+		this.directory.delete();
+	}
+	
+	@Test
+	public void testWarmStart() throws Exception {
+		Parser cold = this.parser();
+		cold.parse();
+		assertFalse(cold.isSnapshotLoaded());
+		
+		Parser warm = this.parser();
+		warm.parse();
+		assertTrue(warm.isSnapshotLoaded());
+		assertEquals(cold.getDiagnostics().toString(), warm.getDiagnostics().toString());
+		assertEquals(2, warm.getDiagnostics().size());
+		assertEquals(cold.getDiagnostics().getCount(), warm.getDiagnostics().getCount());
+	}
+	
+	@Test
+	public void testStrict() throws Exception {
+		this.parser().parse();
+		
+		Parser strict = this.parser();
+		strict.setStrict(true);
+		try {
+			strict.parse();
+			fail("A strict parse has read the snapshot of an XML File with Diagnostics");
+		} catch (DocumentException e) {
+			assertEquals(DiagnosticException.class, e.getCause().getClass());
+			assertEquals("Weird Key", ((DiagnosticException) e.getCause()).getDiagnostic().getKey());
+		}
+		
+		// The snapshot is not damaged, a lenient parse still reads it.
+		Parser lenient = this.parser();
+		lenient.parse();
+		assertTrue(lenient.isSnapshotLoaded());
+	}
+	
+	/**
+	 * Creates a new Parser of the PLIST engine with the cache directory.
+	 * @return The Parser.
+	 */
+	private Parser parser() {
+		Parser parser = new Parser(this.file);
+		parser.setEngine(Engine.PLIST);
+		parser.setCacheDirectory(this.cache);
+		return parser;
+	}
+}
@@ -0,0 +1,87 @@
+package com.github.pireba.itunesparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Changes the Track ID of a {@linkplain TrackRow} of a columnar parse.<br>
+ * The row must be found by its new Track ID, and every other Track must still be found by its Track ID.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+public class TrackRowTest {
+	@Test
+	public void testSetTrackID() throws Exception {
+		for ( Engine engine : Engine.values() ) {
+			Parser parser = parser(engine);
+			Map<Integer, Track> tracks = parser.getTracks();
+			List<Integer> ids = new ArrayList<>(tracks.keySet());
+			int size = tracks.size();
+			String name = tracks.get(78).getName();
+			
+			tracks.get(78).setTrackID(999999);
+			assertFalse(engine.toString(), tracks.containsKey(78));
+			assertTrue(engine.toString(), tracks.containsKey(999999));
+			assertEquals(engine.toString(), name, tracks.get(999999).getName());
+			assertEquals(engine.toString(), size, tracks.size());
+			for ( Integer id : ids ) {
+				if ( id != 78 ) {
+					assertEquals(engine.toString(), id, tracks.get(id).getTrackID());
+				}
+			}
+			assertTrue(engine.toString(), new ArrayList<>(tracks.keySet()).contains(999999));
+		}
+	}
+	
+	@Test
+	public void testSetExistingTrackID() throws Exception {
+		Parser parser = parser(Engine.PLIST);
+		Map<Integer, Track> tracks = parser.getTracks();
+		int size = tracks.size();
+		String name = tracks.get(78).getName();
+		
+		// The row replaces the row with the same Track ID, like a later Track dict with the same Track ID.
+		tracks.get(78).setTrackID(80);
+		assertEquals(size - 1, tracks.size());
+		assertEquals(name, tracks.get(80).getName());
+		assertNull(tracks.get(78));
+		assertEquals(size - 1, new ArrayList<>(tracks.keySet()).size());
+	}
+	
+	@Test
+	public void testFrozen() throws Exception {
+		Parser parser = parser(Engine.PLIST);
+		Map<Integer, Track> tracks = parser.getResult().getTracks();
+		try {
+			tracks.get(78).setTrackID(999999);
+			fail("The Track ID of a frozen TrackRow has been changed");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+		assertTrue(tracks.containsKey(78));
+	}
+	
+	/**
+	 * Parses the sample XML File in columnar mode with the given engine.
+	 * @param engine The engine.
+	 * @return The Parser.
+	 */
+	private static Parser parser(Engine engine) throws Exception {
+		Parser parser = new Parser(new File(TrackRowTest.class.getResource("/iTunes Library.xml").toURI()));
+		parser.setEngine(engine);
+		parser.setColumnar(true);
+		parser.parse();
+		return parser;
+	}
+}
@@ -0,0 +1,155 @@
+package com.github.pireba.itunesparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.dom4j.DocumentException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Parses the sample XML File cut at every byte before the end of its root dict.<br>
+ * Every engine and mode must fail with a DocumentException, never hang, never throw an unchecked exception
+ * and never return a partial result as a success.
+ * 
+ * @author Phillip Remmert
+ * @version 1.2
+ */
+public class TruncatedFileTest {
+	private static byte[] sample;
+	private static int rootEnd;
+	private static File file;
+	
+	@BeforeClass
+	public static void setUp() throws IOException, URISyntaxException {
+		sample = Files.readAllBytes(new File(TruncatedFileTest.class.getResource("/iTunes Library.xml").toURI()).toPath());
+		String text = new String(sample, StandardCharsets.UTF_8);
+		rootEnd = text.lastIndexOf("</dict>") + "</dict>".length();
+		file = File.createTempFile("truncated", ".xml");
+	}
+	
+	@AfterClass
+	public static void tearDown() {
+		file.delete();
+	}
+	
+	@Test
+	public void testCompleteFile() throws Exception {
+		Parser parser = parser(sample.length);
+		parser.parse();
+		assertEquals(false, parser.getTracks().isEmpty());
+		assertEquals(false, parser.getPlaylists().isEmpty());
+	}
+	
+	@Test(timeout = 60000)
+	public void testEveryOffset() throws Exception {
+		for ( int length=0; length<rootEnd; length++ ) {
+			expectFailure(parser(length), length);
+		}
+	}
+	
+	@Test(timeout = 60000)
+	public void testReportedOffsets() throws Exception {
+		for ( int length : new int[] {1, 5, 40, 615, 1000, 30000} ) {
+			expectFailure(parser(length), length);
+			
+			Parser lazy = parser(length);
+			lazy.setLazy(true);
+			expectFailure(lazy, length);
+			
+			Parser parallel = parser(length);
+			parallel.setParallelism(4);
+			expectFailure(parallel, length);
+			
+			Parser columnar = parser(length);
+			columnar.setColumnar(true);
+			expectFailure(columnar, length);
+		}
+	}
+	
+	@Test(timeout = 60000)
+	public void testUpdateAndStreaming() throws Exception {
+		for ( int length=0; length<rootEnd; length+=7 ) {
+			Parser parser = parser(length);
+			try {
+				parser.update();
+				fail("No DocumentException for an update of "+length+" bytes");
+			} catch (DocumentException e) {
+				// expected
+			}
+			try {
+				parser.parse(track -> {}, playlist -> {}, null);
+				fail("No DocumentException for a streaming parse of "+length+" bytes");
+			} catch (DocumentException e) {
+				// expected
+			}
+		}
+	}
+	
+	@Test(timeout = 60000)
+	public void testOtherEngines() throws Exception {
+		for ( int length : new int[] {1, 5, 40, 615, 1000, 30000} ) {
+			for ( Engine engine : Engine.values() ) {
+				Parser parser = parser(length);
+				parser.setEngine(engine);
+				expectFailure(parser, length);
+			}
+		}
+	}
+	
+	@Test(timeout = 60000)
+	public void testReuseAfterFailure() throws Exception {
+		Parser expected = parser(sample.length);
+		expected.parse();
+		for ( Engine engine : Engine.values() ) {
+			Parser parser = parser(sample.length);
+			parser.setEngine(engine);
+			for ( int length : new int[] {615, 1000, 30000} ) {
+				Files.write(file.toPath(), Arrays.copyOf(sample, length));
+				expectFailure(parser, length);
+				
+				// The same Parser must read the complete file after a failure, also in bounded memory mode.
+				Files.write(file.toPath(), sample);
+				parser.setBoundedMemory(length == 1000);
+				parser.parse();
+				assertEquals(engine.toString(), expected.getTracks().keySet(), parser.getTracks().keySet());
+				assertEquals(engine.toString(), expected.getPlaylists().keySet(), parser.getPlaylists().keySet());
+				assertEquals(engine.toString(), String.valueOf(expected.getLibrary().getMusicFolder()), String.valueOf(parser.getLibrary().getMusicFolder()));
+			}
+		}
+	}
+	
+	/**
+	 * Writes the first bytes of the sample into the temporary file.
+	 * @param length The number of bytes.
+	 * @return A new Parser of the PLIST engine for the file.
+	 */
+	private static Parser parser(int length) throws IOException {
+		Files.write(file.toPath(), Arrays.copyOf(sample, length));
+		Parser parser = new Parser(file);
+		parser.setEngine(Engine.PLIST);
+		return parser;
+	}
+	
+	/**
+	 * Parses the file and expects a DocumentException.
+	 * @param parser The Parser.
+	 * @param length The number of bytes of the file.
+	 */
+	private static void expectFailure(Parser parser, int length) {
+		try {
+			parser.parse();
+			fail(parser.getEngine()+" parsed "+length+" bytes with "+parser.getTracks().size()+" Tracks");
+		} catch (DocumentException e) {
+			// expected
+		}
+	}
+}